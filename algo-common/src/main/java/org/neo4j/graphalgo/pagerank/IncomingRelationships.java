@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.pagerank;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.core.loading.InverseAdjacencyBuilder;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+
+import static org.neo4j.graphalgo.pagerank.PageRank.DEFAULT_WEIGHT;
+
+/**
+ * Gathers values from the source nodes of all incoming relationships of a node.
+ * <p>
+ * Undirected graphs are their own reverse. All other graphs are read through their inverse topology,
+ * which is derived once and shared with all other users of the graph.
+ * The inverse does not store relationship weights, so weights are only supported for undirected graphs.
+ */
+final class IncomingRelationships implements RelationshipConsumer, RelationshipWithPropertyConsumer {
+
+    private final Graph graph;
+    private final boolean weighted;
+
+    private HugeDoubleArray values;
+    private double sum;
+
+    private IncomingRelationships(Graph graph, boolean weighted) {
+        this.graph = graph;
+        this.weighted = weighted;
+    }
+
+    static IncomingRelationships of(Graph graph, boolean weighted, int concurrency) {
+        if (weighted && !graph.isUndirected()) {
+            throw new IllegalArgumentException("Incoming relationship weights are only supported for undirected graphs.");
+        }
+        graph.prepareIncomingRelationships(concurrency);
+        return new IncomingRelationships(graph, weighted);
+    }
+
+    /**
+     * The inverse topology is only built once per graph, the estimation covers the case that it does not exist yet.
+     */
+    static MemoryEstimation memoryEstimation() {
+        return InverseAdjacencyBuilder.memoryEstimation();
+    }
+
+    /**
+     * Returns the sum of {@code values[source]} for all incoming relationships,
+     * each multiplied by the relationship weight if weights are being used.
+     * Relationships with non-positive weights are skipped.
+     */
+    double gather(long nodeId, HugeDoubleArray values) {
+        this.values = values;
+        this.sum = 0.0;
+        if (!graph.isUndirected()) {
+            graph.forEachIncomingRelationship(nodeId, (RelationshipConsumer) this);
+        } else if (weighted) {
+            graph.forEachRelationship(nodeId, DEFAULT_WEIGHT, (RelationshipWithPropertyConsumer) this);
+        } else {
+            graph.forEachRelationship(nodeId, (RelationshipConsumer) this);
+        }
+        return sum;
+    }
+
+    int degree(long nodeId) {
+        return graph.inDegree(nodeId);
+    }
+
+    /**
+     * Returns an instance that can be used by a single thread.
+     */
+    IncomingRelationships concurrentCopy() {
+        return new IncomingRelationships((Graph) graph.concurrentCopy(), weighted);
+    }
+
+    @Override
+    public boolean accept(long nodeId, long sourceNodeId) {
+        sum += values.get(sourceNodeId);
+        return true;
+    }
+
+    @Override
+    public boolean accept(long nodeId, long sourceNodeId, double property) {
+        if (property > 0) {
+            sum += values.get(sourceNodeId) * property;
+        }
+        return true;
+    }
+}
@@ -25,6 +25,7 @@ import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.IdMapping;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.LazyBatchCollection;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 import org.neo4j.graphalgo.core.utils.partition.Partition;
@@ -34,6 +35,7 @@ import org.neo4j.logging.Log;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
@@ -95,6 +97,13 @@ import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfObjectArray;
  * in order to batch partitions and keep the number of threads in use predictable/configurable.
  * </p>
  * <p>
+ * Alternatively, when {@link Config#pullBased} is set, every node gathers the deltas of its neighbours
+ * along its incoming relationships. This only requires the inverse topology of the graph, which is shared
+ * with other algorithms, and a few node-sized arrays, so neither the memory usage nor the synchronization
+ * cost depends on the concurrency. Weighted PageRank uses the pull-based computation only for
+ * undirected graphs, the inverse of a directed graph does not store relationship weights.
+ * </p>
+ * <p>
  * [1]: <a href="http://delab.csd.auth.gr/~dimitris/courses/ir_spring06/page_rank_computing/01531136.pdf">An Efficient Partition-Based Parallel PageRank Algorithm</a><br>
  * [2]: <a href="https://www.cs.purdue.edu/homes/dgleich/publications/gleich2004-parallel.pdf">Fast Parallel PageRank: A Linear System Approach</a>
  * </p>
@@ -117,9 +126,11 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
     private final Graph graph;
     private final LongStream sourceNodeIds;
     private final PageRankVariant pageRankVariant;
+    private final boolean pullBased;
 
     private Log log;
     private ComputeSteps computeSteps;
+    private PullComputeSteps pullComputeSteps;
 
     private final HugeDoubleArray result;
 
@@ -128,6 +139,7 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
         public final double dampingFactor;
         public final double toleranceValue;
         public final boolean cacheWeights;
+        public final boolean pullBased;
 
         public Config(final int iterations, final double dampingFactor, final double toleranceValue) {
             this(iterations, dampingFactor, toleranceValue, false);
@@ -138,10 +150,20 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
                 final double dampingFactor,
                 final double toleranceValue,
                 boolean cacheWeights) {
+            this(iterations, dampingFactor, toleranceValue, cacheWeights, false);
+        }
+
+        public Config(
+                final int iterations,
+                final double dampingFactor,
+                final double toleranceValue,
+                boolean cacheWeights,
+                boolean pullBased) {
             this.iterations = iterations;
             this.dampingFactor = dampingFactor;
             this.toleranceValue = toleranceValue;
             this.cacheWeights = cacheWeights;
+            this.pullBased = pullBased;
         }
     }
 
@@ -174,6 +196,8 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
         this.toleranceValue = algoConfig.toleranceValue;
         this.sourceNodeIds = sourceNodeIds;
         this.pageRankVariant = pageRankVariant;
+        // the inverse topology has no weights, weighted PageRank on a directed graph pushes its scores instead
+        this.pullBased = algoConfig.pullBased && (graph.isUndirected() || !pageRankVariant.weighted());
         this.result = HugeDoubleArray.newArray(graph.nodeCount(), tracker);
     }
 
@@ -194,6 +218,11 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
      */
     @Override
     public PageRank compute() {
+        if (pullBased) {
+            initializePullSteps();
+            pullComputeSteps.run(maxIterations);
+            return this;
+        }
         initializeSteps();
         computeSteps.run(maxIterations);
         computeSteps.mergeResults();
@@ -232,6 +261,19 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
                 executor);
     }
 
+    private void initializePullSteps() {
+        if (pullComputeSteps != null) {
+            return;
+        }
+
+        ExecutorService executor = ParallelUtil.canRunInParallel(this.executor)
+                ? this.executor : null;
+
+        pullComputeSteps = new PullComputeSteps(
+                sourceNodeIds.map(graph::toMappedNodeId).filter(mappedId -> mappedId != -1L).toArray(),
+                executor);
+    }
+
     private int adjustBatchSize(int batchSize) {
         if (batchSize == 0) {
             return Partition.MAX_NODE_COUNT;
@@ -425,7 +467,143 @@ public class PageRank extends Algorithm<PageRank, PageRank> {
 
     @Override
     public void release() {
-        computeSteps.release();
+        if (pullComputeSteps != null) {
+            pullComputeSteps.release();
+        } else {
+            computeSteps.release();
+        }
+    }
+
+    /**
+     * Gather-style computation: every node pulls the deltas of its neighbours
+     * along its incoming relationships and only ever writes its own score.
+     * <p>
+     * Unlike {@link ComputeSteps}, there are no per-partition score buffers that
+     * need to be exchanged between iterations. Memory usage is therefore linear
+     * in the size of the graph and independent of the concurrency.
+     */
+    private final class PullComputeSteps {
+        private final PullVariant variant;
+        private final IncomingRelationships incomingRelationships;
+        private final HugeDoubleArray deltas;
+        private final HugeDoubleArray contributions;
+        private final List<GatherStep> gatherSteps;
+        private final double dampingFactor;
+        private final ExecutorService pool;
+        private final int concurrency;
+        private final long batchSize;
+
+        private double deltaScale;
+
+        private PullComputeSteps(long[] sourceNodeIds, ExecutorService pool) {
+            long nodeCount = graph.nodeCount();
+            this.pool = pool;
+            this.concurrency = PageRank.this.concurrency > 0
+                    ? PageRank.this.concurrency
+                    : Runtime.getRuntime().availableProcessors();
+            this.batchSize = ParallelUtil.adjustedBatchSize(nodeCount, concurrency, ParallelUtil.DEFAULT_BATCH_SIZE);
+
+            DegreeCache degreeCache = pageRankVariant.degreeComputer(graph).degree(pool, concurrency, tracker);
+            this.variant = pageRankVariant.pullVariant(graph, degreeCache, nodeCount);
+            this.dampingFactor = variant.dampingFactor(PageRank.this.dampingFactor);
+            this.incomingRelationships = IncomingRelationships.of(graph, variant.weighted(), concurrency);
+
+            double initialValue = variant.initialValue(1.0 - PageRank.this.dampingFactor);
+            if (sourceNodeIds.length == 0) {
+                result.fill(initialValue);
+            } else {
+                result.fill(0.0);
+                for (long sourceNodeId : sourceNodeIds) {
+                    result.set(sourceNodeId, initialValue);
+                }
+            }
+            this.deltas = result.copyOf(nodeCount, tracker);
+            this.contributions = HugeDoubleArray.newArray(nodeCount, tracker);
+            this.deltaScale = 1.0;
+
+            List<Partition> partitions = PartitionUtils.degreeBalancedPartitioning(
+                    incomingRelationships::degree,
+                    nodeCount,
+                    graph.relationshipCount(),
+                    concurrency,
+                    PageRank.this.batchSize);
+            this.gatherSteps = new ArrayList<>(partitions.size());
+            for (Partition partition : partitions) {
+                gatherSteps.add(new GatherStep(partition, incomingRelationships.concurrentCopy()));
+            }
+        }
+
+        private void run(int iterations) {
+            didConverge = false;
+            for (int i = 0; i < iterations && !didConverge; i++) {
+                computeContributions();
+                ParallelUtil.runWithWorkStealing(concurrency, gatherSteps, terminationFlag, pool);
+                didConverge = gatherSteps.stream().allMatch(step -> step.isStable);
+                if (variant.normalizeDeltas()) {
+                    double l2Norm = computeNorm();
+                    deltaScale = l2Norm > 0 ? 1.0 / l2Norm : 1.0;
+                }
+                ranIterations++;
+                getProgressLogger().logProgress(i + 1, iterations, tracker);
+            }
+        }
+
+        private void computeContributions() {
+            double deltaScale = this.deltaScale;
+            Collection<Runnable> tasks = LazyBatchCollection.of(
+                    graph.nodeCount(),
+                    batchSize,
+                    (start, length) -> () -> {
+                        for (long nodeId = start; nodeId < start + length; nodeId++) {
+                            double delta = deltas.get(nodeId) * deltaScale;
+                            contributions.set(nodeId, delta > 0.0 ? delta * variant.sourceFactor(nodeId) : 0.0);
+                        }
+                    });
+            ParallelUtil.runWithConcurrency(concurrency, tasks, terminationFlag, pool);
+        }
+
+        private double computeNorm() {
+            double l2Norm = ParallelUtil.parallelStream(
+                    LongStream.range(0, graph.nodeCount()),
+                    concurrency,
+                    (stream) -> stream.mapToDouble(nodeId -> {
+                        double delta = deltas.get(nodeId);
+                        return delta * delta;
+                    }).sum());
+            return Math.sqrt(l2Norm);
+        }
+
+        private void release() {
+            deltas.release();
+            contributions.release();
+            gatherSteps.clear();
+        }
+
+        private final class GatherStep implements Runnable {
+            private final Partition partition;
+            private final IncomingRelationships incomingRelationships;
+            private boolean isStable;
+
+            private GatherStep(Partition partition, IncomingRelationships incomingRelationships) {
+                this.partition = partition;
+                this.incomingRelationships = incomingRelationships;
+            }
+
+            @Override
+            public void run() {
+                boolean isStable = true;
+                long endNode = partition.startNode + partition.nodeCount;
+                for (long nodeId = partition.startNode; nodeId < endNode; nodeId++) {
+                    double delta = dampingFactor * incomingRelationships.gather(nodeId, contributions);
+                    if (delta > toleranceValue) {
+                        isStable = false;
+                    }
+                    result.addTo(nodeId, delta);
+                    deltas.set(nodeId, delta);
+                }
+                this.isStable = isStable;
+            }
+        }
     }
 
     public final class ComputeSteps {
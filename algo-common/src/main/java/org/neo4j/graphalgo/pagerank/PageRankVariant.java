@@ -37,6 +37,19 @@ public interface PageRankVariant {
     );
 
     DegreeComputer degreeComputer(Graph graph);
+
+    /**
+     * Whether the scores are distributed along the relationships proportional to their weights.
+     */
+    default boolean weighted() {
+        return false;
+    }
+
+    /**
+     * Returns the gather-style counterpart of this variant, which is used
+     * when PageRank runs in {@link PageRank.Config#pullBased pull-based} mode.
+     */
+    PullVariant pullVariant(Graph graph, DegreeCache degreeCache, long nodeCount);
 }
 
 
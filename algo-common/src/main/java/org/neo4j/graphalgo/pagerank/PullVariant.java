@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.pagerank;
+
+/**
+ * Describes a PageRank variant in terms of the values that are pulled along incoming relationships.
+ * <p>
+ * In every iteration, each node computes its new delta as
+ * {@code dampingFactor * sum(delta[source] * sourceFactor(source) [* weight])}
+ * over all of its incoming relationships.
+ */
+public interface PullVariant {
+
+    /**
+     * The factor by which the delta of a node is scaled before it is pulled by its neighbours,
+     * e.g. the inverse out-degree for PageRank.
+     */
+    double sourceFactor(long nodeId);
+
+    /**
+     * Whether pulled values are multiplied by the relationship weight.
+     */
+    default boolean weighted() {
+        return false;
+    }
+
+    default double initialValue(double alpha) {
+        return alpha;
+    }
+
+    default double dampingFactor(double dampingFactor) {
+        return dampingFactor;
+    }
+
+    /**
+     * Whether deltas are normalized by their L2 norm after each iteration.
+     */
+    default boolean normalizeDeltas() {
+        return false;
+    }
+}
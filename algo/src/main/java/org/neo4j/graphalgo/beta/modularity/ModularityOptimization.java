@@ -30,15 +30,20 @@ import org.neo4j.graphalgo.beta.k1coloring.K1Coloring;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongLongMap;
 import org.neo4j.graphalgo.core.utils.paged.PageFiller;
+import org.neo4j.graphalgo.core.utils.paged.SparseDoubleAccumulator;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 import org.neo4j.logging.Log;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.stream.LongStream;
 
@@ -56,12 +61,14 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
     private final int maxIterations;
     private final long nodeCount;
     private final long batchSize;
+    private final List<Partition> partitions;
     private final double tolerance;
     private final Graph graph;
     private final NodeProperties seedProperty;
     private final ExecutorService executor;
     private final AllocationTracker tracker;
     private final Log log;
+    private final boolean leiden;
 
     private int iterationCounter;
     private boolean didConverge = false;
@@ -76,6 +83,12 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
     private HugeDoubleArray nodeCommunityInfluences;
     private HugeAtomicDoubleArray communityWeights;
     private HugeAtomicDoubleArray communityWeightUpdates;
+    private HugeAtomicBitSet activeNodes;
+    private HugeAtomicBitSet nextActiveNodes;
+    private HugeLongArray refinedCommunities;
+    private boolean refinedEqualsCommunities;
+    private double refinedModularity;
+    private SparseDoubleAccumulator.Pool communityInfluences;
 
     public ModularityOptimization(
         final Graph graph,
@@ -87,6 +100,26 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
         final ExecutorService executor,
         final AllocationTracker tracker,
         final Log log
+    ) {
+        this(graph, maxIterations, tolerance, seedProperty, concurrency, minBatchSize, executor, tracker, log, false);
+    }
+
+    /**
+     * @param leiden if true, only nodes with a neighbour that changed its community are visited
+     *               in subsequent iterations and the communities are refined after the last iteration
+     *               following the Leiden algorithm, see {@link #getRefinedCommunityId(long)}.
+     */
+    public ModularityOptimization(
+        final Graph graph,
+        int maxIterations,
+        double tolerance,
+        NodeProperties seedProperty,
+        final int concurrency,
+        final int minBatchSize,
+        final ExecutorService executor,
+        final AllocationTracker tracker,
+        final Log log,
+        final boolean leiden
     ) {
         this.graph = graph;
         this.nodeCount = graph.nodeCount();
@@ -97,12 +130,14 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
         this.concurrency = concurrency;
         this.tracker = tracker;
         this.log = log;
+        this.leiden = leiden;
         this.batchSize = ParallelUtil.adjustedBatchSize(
             nodeCount,
             concurrency,
             minBatchSize,
             Integer.MAX_VALUE
         );
+        this.partitions = PartitionUtils.degreeBalancedPartitioning(graph, concurrency, minBatchSize);
 
         if (maxIterations < 1) {
             throw new IllegalArgumentException(String.format(
@@ -130,7 +165,10 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
                 iterationCounter + 1,
                 millis
             ))) {
-                nodeCommunityInfluences.fill(0.0);
+                // in Leiden mode, skipped nodes keep their influence from the iteration they were last visited in
+                if (!leiden) {
+                    nodeCommunityInfluences.fill(0.0);
+                }
 
                 long currentColor = colorsUsed.nextSetBit(0);
                 while (currentColor != -1) {
@@ -140,6 +178,14 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
                 }
 
                 hasConverged = !updateModularity();
+
+                if (leiden) {
+                    HugeAtomicBitSet visitedNodes = activeNodes;
+                    activeNodes = nextActiveNodes;
+                    nextActiveNodes = visitedNodes;
+                    nextActiveNodes.clear();
+                    hasConverged |= activeNodes.cardinality() == 0L;
+                }
             }
 
             if (hasConverged) {
@@ -149,6 +195,15 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
             }
         }
 
+        if (leiden) {
+            try (ProgressTimer timer = ProgressTimer.start(millis -> log.info(
+                "Modularity Optimization - Refinement finished after %dms",
+                millis
+            ))) {
+                refine();
+            }
+        }
+
         log.info("Modularity Optimization - Finished");
         return this;
     }
@@ -204,6 +259,7 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
         this.nodeCommunityInfluences = HugeDoubleArray.newArray(nodeCount, tracker);
         this.communityWeights = HugeAtomicDoubleArray.newArray(nodeCount, tracker);
         this.communityWeightUpdates = HugeAtomicDoubleArray.newArray(nodeCount, tracker);
+        this.communityInfluences = new SparseDoubleAccumulator.Pool(nodeCount, tracker);
 
         final ThreadLocal<RelationshipIterator> graphCopy = ThreadLocal.withInitial(graph::concurrentCopy);
         double doubleTotalNodeWeight = ParallelUtil.parallelStream(
@@ -237,13 +293,20 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
 
         totalNodeWeight = doubleTotalNodeWeight / 2.0;
         currentCommunities.copyTo(nextCommunities, nodeCount);
+
+        if (leiden) {
+            this.activeNodes = HugeAtomicBitSet.create(nodeCount, tracker);
+            this.activeNodes.set(0, nodeCount);
+            this.nextActiveNodes = HugeAtomicBitSet.create(nodeCount, tracker);
+        }
     }
 
     private void optimizeForColor(long currentColor) {
         // run optimization tasks for every node
-        ParallelUtil.runWithConcurrency(
+        ParallelUtil.runWithWorkStealing(
             concurrency,
             createModularityOptimizationTasks(currentColor),
+            terminationFlag,
             executor
         );
 
@@ -264,14 +327,14 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
         communityWeightUpdates = HugeAtomicDoubleArray.newArray(nodeCount, PageFiller.allZeros(concurrency), tracker);
     }
 
-    private Collection<ModularityOptimizationTask> createModularityOptimizationTasks(long currentColor) {
-        final Collection<ModularityOptimizationTask> tasks = new ArrayList<>(concurrency);
-        for (long i = 0L; i < this.nodeCount; i += batchSize) {
+    private List<ModularityOptimizationTask> createModularityOptimizationTasks(long currentColor) {
+        final List<ModularityOptimizationTask> tasks = new ArrayList<>(partitions.size());
+        for (Partition partition : partitions) {
             tasks.add(
                 new ModularityOptimizationTask(
                     graph,
-                    i,
-                    Math.min(i + batchSize, nodeCount),
+                    partition.startNode,
+                    partition.startNode + partition.nodeCount,
                     currentColor,
                     totalNodeWeight,
                     colors,
@@ -280,13 +343,75 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
                     cumulativeNodeWeights,
                     nodeCommunityInfluences,
                     communityWeights,
-                    communityWeightUpdates
+                    communityWeightUpdates,
+                    activeNodes,
+                    nextActiveNodes,
+                    communityInfluences
                 )
             );
         }
         return tasks;
     }
 
+    private void refine() {
+        this.refinedCommunities = HugeLongArray.newArray(nodeCount, tracker);
+        refinedCommunities.setAll(nodeId -> nodeId);
+        HugeAtomicLongArray refinedCommunitySizes = HugeAtomicLongArray.newArray(
+            nodeCount,
+            PageFiller.of(concurrency, nodeId -> 1L),
+            tracker
+        );
+        HugeAtomicDoubleArray refinedCommunityWeights = HugeAtomicDoubleArray.newArray(
+            nodeCount,
+            PageFiller.longToDouble(concurrency, cumulativeNodeWeights::get),
+            tracker
+        );
+
+        long currentColor = colorsUsed.nextSetBit(0);
+        while (currentColor != -1) {
+            assertRunning();
+            final List<RefinementTask> tasks = new ArrayList<>(partitions.size());
+            for (Partition partition : partitions) {
+                tasks.add(new RefinementTask(
+                    graph,
+                    partition.startNode,
+                    partition.startNode + partition.nodeCount,
+                    currentColor,
+                    totalNodeWeight,
+                    colors,
+                    currentCommunities,
+                    communityWeights,
+                    cumulativeNodeWeights,
+                    refinedCommunities,
+                    refinedCommunitySizes,
+                    refinedCommunityWeights,
+                    communityInfluences
+                ));
+            }
+            ParallelUtil.runWithWorkStealing(concurrency, tasks, terminationFlag, executor);
+            currentColor = colorsUsed.nextSetBit(currentColor + 1);
+        }
+
+        // every refined community is a subset of a community, so both are equal if there are as many of them
+        long refinedCommunityCount = ParallelUtil.parallelStream(
+            LongStream.range(0, nodeCount),
+            concurrency,
+            nodeStream -> nodeStream.filter(id -> refinedCommunitySizes.get(id) > 0L).count()
+        );
+        // the active nodes are no longer needed, their bit set is reused to collect the communities
+        nextActiveNodes.clear();
+        ParallelUtil.parallelStreamConsume(
+            LongStream.range(0, nodeCount),
+            concurrency,
+            nodeStream -> nodeStream.forEach(nodeId -> nextActiveNodes.set(currentCommunities.get(nodeId)))
+        );
+        this.refinedEqualsCommunities = refinedCommunityCount == nextActiveNodes.cardinality();
+        this.refinedModularity = calculateRefinedModularity(refinedCommunityWeights);
+
+        refinedCommunitySizes.release();
+        refinedCommunityWeights.release();
+    }
+
     private boolean updateModularity() {
         double oldModularity = this.modularity;
         this.modularity = calculateModularity();
@@ -318,6 +443,39 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
         return (ex / (2 * totalNodeWeight)) - (ax / (Math.pow(2 * totalNodeWeight, 2)));
     }
 
+    private double calculateRefinedModularity(HugeAtomicDoubleArray refinedCommunityWeights) {
+        final ThreadLocal<RelationshipIterator> graphCopy = ThreadLocal.withInitial(graph::concurrentCopy);
+        double ex = ParallelUtil.parallelStream(
+            LongStream.range(0, nodeCount),
+            concurrency,
+            nodeStream ->
+                nodeStream
+                    .mapToDouble(nodeId -> {
+                        long refinedCommunity = refinedCommunities.get(nodeId);
+                        MutableDouble refinedCommunityInfluence = new MutableDouble(0.0D);
+                        graphCopy.get().forEachRelationship(nodeId, 1.0, (s, t, w) -> {
+                            if (refinedCommunities.get(t) == refinedCommunity) {
+                                refinedCommunityInfluence.add(w);
+                            }
+                            return true;
+                        });
+                        return refinedCommunityInfluence.doubleValue();
+                    })
+                    .sum()
+        );
+
+        double ax = ParallelUtil.parallelStream(
+            LongStream.range(0, nodeCount),
+            concurrency,
+            nodeStream ->
+                nodeStream
+                    .mapToDouble(refinedCommunity -> Math.pow(refinedCommunityWeights.get(refinedCommunity), 2.0))
+                    .sum()
+        );
+
+        return (ex / (2 * totalNodeWeight)) - (ax / (Math.pow(2 * totalNodeWeight, 2)));
+    }
+
     @Override
     public ModularityOptimization me() {
         return this;
@@ -331,7 +489,12 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
         this.cumulativeNodeWeights.release();
         this.nodeCommunityInfluences.release();
         this.colors.release();
+        this.communityInfluences.release();
         this.colorsUsed = null;
+        if (leiden) {
+            this.activeNodes.release();
+            this.nextActiveNodes.release();
+        }
     }
 
     public long getCommunityId(long nodeId) {
@@ -341,6 +504,31 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
         return reverseSeedCommunityMapping.get(currentCommunities.get(nodeId));
     }
 
+    /**
+     * Returns the refined community of the given node, which is a connected subset of its community.
+     * The id of a refined community is the id of one of its nodes, its community is the community of that node.
+     * Only available in Leiden mode.
+     */
+    public long getRefinedCommunityId(long nodeId) {
+        return refinedCommunities.get(nodeId);
+    }
+
+    /**
+     * Returns whether the refinement did not split any community, in which case all communities are connected.
+     * Only available in Leiden mode.
+     */
+    public boolean refinedEqualsCommunities() {
+        return refinedEqualsCommunities;
+    }
+
+    /**
+     * Returns the modularity of the refined communities.
+     * Only available in Leiden mode.
+     */
+    public double getRefinedModularity() {
+        return refinedModularity;
+    }
+
     public int getIterations() {
         return this.iterationCounter;
     }
@@ -27,9 +27,12 @@ import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.SparseDoubleAccumulator;
 import org.neo4j.logging.Log;
 
 public class ModularityOptimizationFactory<T extends ModularityOptimizationConfig> extends AlgorithmFactory<ModularityOptimization, T> {
@@ -49,17 +52,21 @@ public class ModularityOptimizationFactory<T extends ModularityOptimizationConfi
             )
             .perNode("communityWeightUpdates", HugeAtomicDoubleArray::memoryEstimation)
             .perThread("ModularityOptimizationTask", MemoryEstimations.builder()
-                .rangePerNode(
-                    "communityInfluences",
-                    (nodeCount) -> MemoryRange.of(
-                        MemoryUsage.sizeOfLongDoubleHashMap(50),
-                        MemoryUsage.sizeOfLongDoubleHashMap(Math.max(50, nodeCount))
-                    )
-                )
+                .rangePerNode("communityInfluences", SparseDoubleAccumulator::memoryEstimation)
                 .build()
             )
             .build();
 
+    // additional memory used by the Leiden mode
+    public static final MemoryEstimation LEIDEN_MEMORY_ESTIMATION =
+        MemoryEstimations.builder(ModularityOptimization.class)
+            .perNode("activeNodes", HugeAtomicBitSet::memoryEstimation)
+            .perNode("nextActiveNodes", HugeAtomicBitSet::memoryEstimation)
+            .perNode("refinedCommunities", HugeLongArray::memoryEstimation)
+            .perNode("refinedCommunitySizes", HugeAtomicLongArray::memoryEstimation)
+            .perNode("refinedCommunityWeights", HugeAtomicDoubleArray::memoryEstimation)
+            .build();
+
     @Override
     public MemoryEstimation memoryEstimation(T configuration) {
         return MEMORY_ESTIMATION;
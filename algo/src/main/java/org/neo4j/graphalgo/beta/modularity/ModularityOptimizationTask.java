@@ -19,19 +19,19 @@
  */
 package org.neo4j.graphalgo.beta.modularity;
 
-import com.carrotsearch.hppc.LongDoubleHashMap;
-import com.carrotsearch.hppc.LongDoubleMap;
-import com.carrotsearch.hppc.cursors.LongDoubleCursor;
 import org.apache.commons.lang3.mutable.MutableDouble;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.SparseDoubleAccumulator;
 
 final class ModularityOptimizationTask implements Runnable {
 
-    private final Graph graph;
     private final RelationshipIterator localGraph;
     private final long batchStart;
     private final long batchEnd;
@@ -44,6 +44,9 @@ final class ModularityOptimizationTask implements Runnable {
     private final HugeDoubleArray nodeCommunityInfluences;
     private final HugeAtomicDoubleArray communityWeights;
     private final HugeAtomicDoubleArray communityWeightUpdates;
+    private final @Nullable HugeAtomicBitSet activeNodes;
+    private final @Nullable HugeAtomicBitSet nextActiveNodes;
+    private final SparseDoubleAccumulator.Pool accumulators;
 
     ModularityOptimizationTask(
         Graph graph,
@@ -57,9 +60,11 @@ final class ModularityOptimizationTask implements Runnable {
         HugeDoubleArray cumulativeNodeWeights,
         HugeDoubleArray nodeCommunityInfluences,
         HugeAtomicDoubleArray communityWeights,
-        HugeAtomicDoubleArray communityWeightUpdates
+        HugeAtomicDoubleArray communityWeightUpdates,
+        @Nullable HugeAtomicBitSet activeNodes,
+        @Nullable HugeAtomicBitSet nextActiveNodes,
+        SparseDoubleAccumulator.Pool accumulators
     ) {
-        this.graph = graph;
         this.batchStart = batchStart;
         this.batchEnd = batchEnd;
         this.color = color;
@@ -72,38 +77,37 @@ final class ModularityOptimizationTask implements Runnable {
         this.cumulativeNodeWeights = cumulativeNodeWeights;
         this.nodeCommunityInfluences = nodeCommunityInfluences;
         this.colors = colors;
+        this.activeNodes = activeNodes;
+        this.nextActiveNodes = nextActiveNodes;
+        this.accumulators = accumulators;
     }
 
     @Override
     public void run() {
-        LongDoubleMap reuseCommunityInfluences = new LongDoubleHashMap(50);
+        SparseDoubleAccumulator communityInfluences = accumulators.acquire();
+        MutableDouble selfWeight = new MutableDouble(0.0D);
+
+        // calculate influence of a node w.r.t its neighbours communities
+        RelationshipWithPropertyConsumer influenceConsumer = (s, t, w) -> {
+            if (s == t) {
+                selfWeight.add(w);
+            }
+            long targetCommunity = currentCommunities.get(t);
+            communityInfluences.add(targetCommunity, w);
+            return true;
+        };
+
         for (long nodeId = batchStart; nodeId < batchEnd; nodeId++) {
 
-            if (colors.get(nodeId) != color) {
+            if (colors.get(nodeId) != color || (activeNodes != null && !activeNodes.get(nodeId))) {
                 continue;
             }
 
             long currentCommunity = currentCommunities.get(nodeId);
-            final int degree = graph.degree(nodeId);
-
-            LongDoubleMap communityInfluences;
-            if (degree < 50) {
-                reuseCommunityInfluences.clear();
-                communityInfluences = reuseCommunityInfluences;
-            } else {
-                communityInfluences = new LongDoubleHashMap(degree);
-            }
-            MutableDouble selfWeight = new MutableDouble(0.0D);
 
-            // calculate influence of this node w.r.t its neighbours communities
-            localGraph.forEachRelationship(nodeId, 1.0D, (s, t, w) -> {
-                if (s == t) {
-                    selfWeight.add(w);
-                }
-                long targetCommunity = currentCommunities.get(t);
-                communityInfluences.addTo(targetCommunity, w);
-                return true;
-            });
+            communityInfluences.clear();
+            selfWeight.setValue(0.0D);
+            localGraph.forEachRelationship(nodeId, 1.0D, influenceConsumer);
 
             long nextCommunity = currentCommunity;
             double currentGain;
@@ -115,12 +119,12 @@ final class ModularityOptimizationTask implements Runnable {
             double ay;
 
             long communityCandidate;
-            for (LongDoubleCursor cursor : communityInfluences) {
-                communityCandidate = cursor.key;
+            for (int i = 0; i < communityInfluences.size(); i++) {
+                communityCandidate = communityInfluences.key(i);
 
                 if (currentCommunity != communityCandidate) {
                     ay = communityWeights.get(communityCandidate);
-                    eiy = cursor.value;
+                    eiy = communityInfluences.get(communityCandidate);
                     currentGain =
                         (eiy - eix) / totalNodeWeight
                         + (2 * cumulativeNodeWeight * ax - 2 * cumulativeNodeWeight * ay) / Math.pow(
@@ -140,7 +144,15 @@ final class ModularityOptimizationTask implements Runnable {
             nextCommunities.set(nodeId, nextCommunity);
             communityWeightUpdates.update(currentCommunity, agg -> agg - cumulativeNodeWeight);
             communityWeightUpdates.update(nextCommunity, agg -> agg + cumulativeNodeWeight);
-        }
 
+            // the neighbourhood of all neighbours changed, they need to be visited again
+            if (nextActiveNodes != null && nextCommunity != currentCommunity) {
+                localGraph.forEachRelationship(nodeId, (s, t) -> {
+                    nextActiveNodes.set(t);
+                    return true;
+                });
+            }
+        }
+        accumulators.recycle(communityInfluences);
     }
 }
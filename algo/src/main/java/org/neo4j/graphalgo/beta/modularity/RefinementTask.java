@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.modularity;
+
+import org.apache.commons.lang3.mutable.MutableDouble;
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.SparseDoubleAccumulator;
+
+/**
+ * Refinement step of the Leiden algorithm, based on:
+ *
+ * Traag, V.A., Waltman, L. and van Eck, N.J.
+ * "From Louvain to Leiden: guaranteeing well-connected communities."
+ * Scientific Reports 9, 5233 (2019).
+ * https://arxiv.org/pdf/1810.08473.pdf
+ *
+ * Every node that is still in a singleton refined community and that is well connected to its community
+ * joins the refined community of a neighbour within the same community that yields the largest modularity gain.
+ * Nodes only join refined communities they have a relationship to, so refined communities are always connected.
+ * Nodes of the same color are not adjacent, so the refined communities of their neighbours do not change while
+ * a color is processed.
+ */
+final class RefinementTask implements Runnable {
+
+    private final RelationshipIterator localGraph;
+    private final long batchStart;
+    private final long batchEnd;
+    private final long color;
+    private final double totalNodeWeight;
+    private final HugeLongArray colors;
+    private final HugeLongArray communities;
+    private final HugeAtomicDoubleArray communityWeights;
+    private final HugeDoubleArray cumulativeNodeWeights;
+    private final HugeLongArray refinedCommunities;
+    private final HugeAtomicLongArray refinedCommunitySizes;
+    private final HugeAtomicDoubleArray refinedCommunityWeights;
+    private final SparseDoubleAccumulator.Pool accumulators;
+
+    RefinementTask(
+        Graph graph,
+        long batchStart,
+        long batchEnd,
+        long color,
+        double totalNodeWeight,
+        HugeLongArray colors,
+        HugeLongArray communities,
+        HugeAtomicDoubleArray communityWeights,
+        HugeDoubleArray cumulativeNodeWeights,
+        HugeLongArray refinedCommunities,
+        HugeAtomicLongArray refinedCommunitySizes,
+        HugeAtomicDoubleArray refinedCommunityWeights,
+        SparseDoubleAccumulator.Pool accumulators
+    ) {
+        this.localGraph = graph.concurrentCopy();
+        this.batchStart = batchStart;
+        this.batchEnd = batchEnd;
+        this.color = color;
+        this.totalNodeWeight = totalNodeWeight;
+        this.colors = colors;
+        this.communities = communities;
+        this.communityWeights = communityWeights;
+        this.cumulativeNodeWeights = cumulativeNodeWeights;
+        this.refinedCommunities = refinedCommunities;
+        this.refinedCommunitySizes = refinedCommunitySizes;
+        this.refinedCommunityWeights = refinedCommunityWeights;
+        this.accumulators = accumulators;
+    }
+
+    @Override
+    public void run() {
+        SparseDoubleAccumulator refinedInfluences = accumulators.acquire();
+        MutableDouble communityInfluence = new MutableDouble(0.0D);
+        MutableLong community = new MutableLong();
+
+        // calculate influence of a node w.r.t the refined communities of its neighbours in the same community
+        RelationshipWithPropertyConsumer influenceConsumer = (s, t, w) -> {
+            if (s != t && communities.get(t) == community.longValue()) {
+                communityInfluence.add(w);
+                refinedInfluences.add(refinedCommunities.get(t), w);
+            }
+            return true;
+        };
+
+        for (long nodeId = batchStart; nodeId < batchEnd; nodeId++) {
+
+            if (colors.get(nodeId) != color) {
+                continue;
+            }
+
+            long refinedCommunity = refinedCommunities.get(nodeId);
+            if (refinedCommunitySizes.get(refinedCommunity) != 1L) {
+                continue;
+            }
+
+            community.setValue(communities.get(nodeId));
+            refinedInfluences.clear();
+            communityInfluence.setValue(0.0D);
+            localGraph.forEachRelationship(nodeId, 1.0D, influenceConsumer);
+
+            double cumulativeNodeWeight = cumulativeNodeWeights.get(nodeId);
+            double doubleTotalNodeWeight = 2 * totalNodeWeight;
+
+            // only move nodes that are well connected to the rest of their community
+            double remainingCommunityWeight = communityWeights.get(community.longValue()) - cumulativeNodeWeight;
+            if (communityInfluence.doubleValue() < cumulativeNodeWeight * remainingCommunityWeight / doubleTotalNodeWeight) {
+                continue;
+            }
+
+            long nextRefinedCommunity = refinedCommunity;
+            double maxGain = 0.0;
+            for (int i = 0; i < refinedInfluences.size(); i++) {
+                long candidate = refinedInfluences.key(i);
+                if (candidate == refinedCommunity) {
+                    continue;
+                }
+                double gain = refinedInfluences.get(candidate) - cumulativeNodeWeight * refinedCommunityWeights.get(candidate) / doubleTotalNodeWeight;
+                if (gain > maxGain || (gain == maxGain && nextRefinedCommunity != refinedCommunity && nextRefinedCommunity > candidate)) {
+                    maxGain = gain;
+                    nextRefinedCommunity = candidate;
+                }
+            }
+
+            if (nextRefinedCommunity != refinedCommunity) {
+                refinedCommunities.set(nodeId, nextRefinedCommunity);
+                refinedCommunitySizes.getAndAdd(refinedCommunity, -1L);
+                refinedCommunitySizes.getAndAdd(nextRefinedCommunity, 1L);
+                refinedCommunityWeights.update(refinedCommunity, agg -> agg - cumulativeNodeWeight);
+                refinedCommunityWeights.update(nextRefinedCommunity, agg -> agg + cumulativeNodeWeight);
+            }
+        }
+        accumulators.recycle(refinedInfluences);
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.neo4j.collection.primitive.PrimitiveLongIterable;
+import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.LazyMappingCollection;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.PageFiller;
+
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Stores the messages of a Pregel computation in primitive arrays.
+ * <p>
+ * Every node owns a contiguous region of message slots which is as large as its
+ * in-degree, i.e. the number of messages it can receive within a single superstep.
+ * The regions are laid out in CSR fashion using offsets that are derived from
+ * the in-degrees of all nodes.
+ * <p>
+ * Messages are double-buffered: messages that are sent during a superstep are
+ * written into one buffer while the messages of the previous superstep are read
+ * from the other one. The buffers are swapped between supersteps.
+ * <p>
+ * In asynchronous mode, a node additionally receives the messages of the current
+ * superstep that have already been written when the node is being computed.
+ * Free message slots are marked with {@link Double#NaN}, which is therefore not
+ * a valid message in asynchronous mode.
+ */
+final class ArrayMessageQueues extends MessageQueues {
+
+    private static final double EMPTY_SLOT = Double.NaN;
+
+    private final boolean isAsynchronous;
+    // offsets.get(nodeId + 1) - offsets.get(nodeId) is the in-degree of a node
+    private final HugeLongArray offsets;
+    private final Buffer[] buffers;
+
+    private int readIndex;
+
+    static ArrayMessageQueues of(
+        Graph graph,
+        Collection<PrimitiveLongIterable> nodeBatches,
+        boolean isAsynchronous,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        HugeLongArray offsets = computeOffsets(graph, nodeBatches, concurrency, executor, tracker);
+        long capacity = offsets.get(graph.nodeCount());
+
+        Buffer[] buffers = {
+            new Buffer(graph.nodeCount(), capacity, isAsynchronous, concurrency, tracker),
+            new Buffer(graph.nodeCount(), capacity, isAsynchronous, concurrency, tracker)
+        };
+
+        return new ArrayMessageQueues(isAsynchronous, offsets, buffers);
+    }
+
+    private ArrayMessageQueues(boolean isAsynchronous, HugeLongArray offsets, Buffer[] buffers) {
+        this.isAsynchronous = isAsynchronous;
+        this.offsets = offsets;
+        this.buffers = buffers;
+        this.readIndex = 0;
+    }
+
+    @Override
+    void swap() {
+        readIndex ^= 1;
+    }
+
+    @Override
+    void push(long targetNodeId, double message) {
+        Buffer buffer = buffers[readIndex ^ 1];
+        long offset = offsets.get(targetNodeId);
+        long index = buffer.counts.getAndAdd(targetNodeId, 1L);
+        if (offset + index >= offsets.get(targetNodeId + 1)) {
+            throw new IllegalStateException(String.format(
+                "Node %d received more messages than it has incoming relationships within a single superstep.",
+                targetNodeId
+            ));
+        }
+        buffer.messages.set(offset + index, message);
+    }
+
+    @Override
+    MessageIterator newIterator() {
+        return new ArrayMessageIterator();
+    }
+
+    @Override
+    void release() {
+        offsets.release();
+        for (Buffer buffer : buffers) {
+            buffer.release();
+        }
+    }
+
+    private static HugeLongArray computeOffsets(
+        Graph graph,
+        Collection<PrimitiveLongIterable> nodeBatches,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        long nodeCount = graph.nodeCount();
+        HugeLongArray offsets = HugeLongArray.newArray(nodeCount + 1, tracker);
+
+        if (graph.isUndirected()) {
+            long offset = 0L;
+            for (long nodeId = 0L; nodeId < nodeCount; nodeId++) {
+                offsets.set(nodeId, offset);
+                offset += graph.degree(nodeId);
+            }
+            offsets.set(nodeCount, offset);
+            return offsets;
+        }
+
+        HugeAtomicLongArray inDegrees = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        Collection<Runnable> tasks = LazyMappingCollection.of(
+            nodeBatches,
+            nodeBatch -> () -> {
+                RelationshipIterator relationshipIterator = graph.concurrentCopy();
+                PrimitiveLongIterator nodes = nodeBatch.iterator();
+                while (nodes.hasNext()) {
+                    relationshipIterator.forEachRelationship(nodes.next(), (sourceNodeId, targetNodeId) -> {
+                        inDegrees.getAndAdd(targetNodeId, 1L);
+                        return true;
+                    });
+                }
+            }
+        );
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executor);
+
+        long offset = 0L;
+        for (long nodeId = 0L; nodeId < nodeCount; nodeId++) {
+            offsets.set(nodeId, offset);
+            offset += inDegrees.get(nodeId);
+        }
+        offsets.set(nodeCount, offset);
+        tracker.remove(inDegrees.release());
+
+        return offsets;
+    }
+
+    private static final class Buffer {
+        // message slots, laid out according to the offsets
+        private final HugeAtomicDoubleArray messages;
+        // number of messages written per node
+        private final HugeAtomicLongArray counts;
+        // number of messages per node that have already been read
+        // within the superstep they have been sent (asynchronous mode only)
+        private final HugeLongArray consumed;
+
+        Buffer(long nodeCount, long capacity, boolean isAsynchronous, int concurrency, AllocationTracker tracker) {
+            this.messages = isAsynchronous
+                ? HugeAtomicDoubleArray.newArray(capacity, PageFiller.longToDouble(concurrency, i -> EMPTY_SLOT), tracker)
+                : HugeAtomicDoubleArray.newArray(capacity, tracker);
+            this.counts = HugeAtomicLongArray.newArray(nodeCount, tracker);
+            this.consumed = isAsynchronous ? HugeLongArray.newArray(nodeCount, tracker) : null;
+        }
+
+        void release() {
+            messages.release();
+            counts.release();
+            if (consumed != null) {
+                consumed.release();
+            }
+        }
+    }
+
+    private final class ArrayMessageIterator extends MessageIterator {
+
+        private long nodeId;
+        private Buffer readBuffer;
+        private Buffer writeBuffer;
+        private long position;
+        private long end;
+        private long asyncPosition;
+        private long asyncEnd;
+
+        @Override
+        void init(long nodeId) {
+            this.nodeId = nodeId;
+            this.readBuffer = buffers[readIndex];
+            this.writeBuffer = buffers[readIndex ^ 1];
+
+            long offset = offsets.get(nodeId);
+            this.position = isAsynchronous ? offset + readBuffer.consumed.get(nodeId) : offset;
+            this.end = offset + readBuffer.counts.get(nodeId);
+
+            if (isAsynchronous) {
+                this.asyncPosition = offset + writeBuffer.consumed.get(nodeId);
+                this.asyncEnd = offsets.get(nodeId + 1);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (position < end) {
+                return true;
+            }
+            return isAsynchronous
+                   && asyncPosition < asyncEnd
+                   && !Double.isNaN(writeBuffer.messages.get(asyncPosition));
+        }
+
+        @Override
+        public double next() {
+            if (position < end) {
+                return readBuffer.messages.get(position++);
+            }
+            return writeBuffer.messages.get(asyncPosition++);
+        }
+
+        @Override
+        void reset() {
+            long offset = offsets.get(nodeId);
+            long count = readBuffer.counts.get(nodeId);
+            if (count > 0) {
+                if (isAsynchronous) {
+                    for (long slot = offset; slot < offset + count; slot++) {
+                        readBuffer.messages.set(slot, EMPTY_SLOT);
+                    }
+                    readBuffer.consumed.set(nodeId, 0L);
+                }
+                readBuffer.counts.set(nodeId, 0L);
+            }
+            if (isAsynchronous) {
+                writeBuffer.consumed.set(nodeId, asyncPosition - offset);
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.PageFiller;
+
+/**
+ * Message queues that fold all messages which are sent to a node within
+ * a superstep into a single slot using a {@link MessageCombiner}.
+ * <p>
+ * Two slot arrays are used alternately, one for the messages of the previous
+ * superstep and one for the messages of the current superstep.
+ * Empty slots are marked with {@link Double#NaN}, which is therefore not a valid message.
+ */
+final class CombiningMessageQueues extends MessageQueues {
+
+    private static final double EMPTY_SLOT = Double.NaN;
+
+    private final MessageCombiner combiner;
+    private final boolean isAsynchronous;
+    private final HugeAtomicDoubleArray[] buffers;
+
+    private int readIndex;
+
+    static CombiningMessageQueues of(
+        long nodeCount,
+        MessageCombiner combiner,
+        boolean isAsynchronous,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        HugeAtomicDoubleArray[] buffers = {
+            HugeAtomicDoubleArray.newArray(nodeCount, PageFiller.longToDouble(concurrency, i -> EMPTY_SLOT), tracker),
+            HugeAtomicDoubleArray.newArray(nodeCount, PageFiller.longToDouble(concurrency, i -> EMPTY_SLOT), tracker)
+        };
+        return new CombiningMessageQueues(combiner, isAsynchronous, buffers);
+    }
+
+    private CombiningMessageQueues(MessageCombiner combiner, boolean isAsynchronous, HugeAtomicDoubleArray[] buffers) {
+        this.combiner = combiner;
+        this.isAsynchronous = isAsynchronous;
+        this.buffers = buffers;
+        this.readIndex = 0;
+    }
+
+    @Override
+    void swap() {
+        readIndex ^= 1;
+    }
+
+    @Override
+    void push(long targetNodeId, double message) {
+        // CAS loop instead of update(..) to avoid allocating a capturing lambda per message
+        HugeAtomicDoubleArray buffer = buffers[readIndex ^ 1];
+        double currentMessage;
+        double combinedMessage;
+        do {
+            currentMessage = buffer.get(targetNodeId);
+            combinedMessage = Double.isNaN(currentMessage) ? message : combiner.combine(currentMessage, message);
+        } while (!buffer.compareAndSet(targetNodeId, currentMessage, combinedMessage));
+    }
+
+    @Override
+    MessageIterator newIterator() {
+        return new CombiningMessageIterator();
+    }
+
+    @Override
+    void release() {
+        for (HugeAtomicDoubleArray buffer : buffers) {
+            buffer.release();
+        }
+    }
+
+    private final class CombiningMessageIterator extends MessageIterator {
+
+        private long nodeId;
+        private HugeAtomicDoubleArray readBuffer;
+        private HugeAtomicDoubleArray writeBuffer;
+        private double message;
+        private boolean hasConsumedWriteBuffer;
+
+        @Override
+        void init(long nodeId) {
+            this.nodeId = nodeId;
+            this.readBuffer = buffers[readIndex];
+            this.writeBuffer = buffers[readIndex ^ 1];
+            this.message = readBuffer.get(nodeId);
+            this.hasConsumedWriteBuffer = !isAsynchronous;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!Double.isNaN(message)) {
+                return true;
+            }
+            if (!hasConsumedWriteBuffer) {
+                // take the message that has been combined so far,
+                // later messages will be received in the next superstep
+                hasConsumedWriteBuffer = true;
+                double currentMessage;
+                do {
+                    currentMessage = writeBuffer.get(nodeId);
+                } while (!Double.isNaN(currentMessage) && !writeBuffer.compareAndSet(nodeId, currentMessage, EMPTY_SLOT));
+                message = currentMessage;
+            }
+            return !Double.isNaN(message);
+        }
+
+        @Override
+        public double next() {
+            double next = message;
+            message = EMPTY_SLOT;
+            return next;
+        }
+
+        @Override
+        void reset() {
+            if (!Double.isNaN(readBuffer.get(nodeId))) {
+                readBuffer.set(nodeId, EMPTY_SLOT);
+            }
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import com.carrotsearch.hppc.LongArrayList;
+import org.neo4j.collection.primitive.PrimitiveLongIterable;
+import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the active nodes of a superstep, i.e. the nodes that received messages
+ * or did not vote to halt in the previous superstep.
+ * <p>
+ * Membership is tracked in a dense, shared {@link HugeAtomicBitSet}. In addition,
+ * every compute step collects the nodes it activates in a sparse list, as long as
+ * the total number of active nodes stays below a fraction of the node count.
+ * If it does, the next superstep only iterates the sparse lists and costs
+ * {@code O(active)}. Otherwise, it falls back to scanning the dense bit set.
+ * <p>
+ * Two bit sets are used alternately, one for the current superstep and
+ * one for the next superstep. Iterating the current superstep clears the
+ * visited bits, so that the bit set can be reused afterwards.
+ */
+final class Frontier {
+
+    // the frontier is sparse if at most 1/SPARSE_DIVISOR of all nodes are active
+    private static final long SPARSE_DIVISOR = 20L;
+    // capacity that a compute step reserves for its sparse list at once
+    private static final long CAPACITY_CHUNK = 1024L;
+
+    private final long nodeCount;
+    private final List<Partition> partitions;
+    private final int batchSize;
+    private final AtomicLong sparseCapacity;
+
+    private HugeAtomicBitSet current;
+    private HugeAtomicBitSet next;
+    private Collection<PrimitiveLongIterable> nodeBatches;
+
+    /**
+     * @param partitions the node ranges that are scanned when the frontier is dense
+     * @param batchSize  the number of active nodes per batch when the frontier is sparse
+     */
+    Frontier(long nodeCount, List<Partition> partitions, int batchSize, AllocationTracker tracker) {
+        this.nodeCount = nodeCount;
+        this.partitions = partitions;
+        this.batchSize = batchSize;
+        this.sparseCapacity = new AtomicLong();
+        this.current = HugeAtomicBitSet.create(nodeCount, tracker);
+        this.next = HugeAtomicBitSet.create(nodeCount, tracker);
+    }
+
+    /**
+     * Marks all nodes as active for the first superstep.
+     */
+    void activateAll() {
+        current.clear();
+        next.clear();
+        current.set(0, nodeCount);
+        nodeBatches = denseBatches();
+        sparseCapacity.set(nodeCount / SPARSE_DIVISOR);
+    }
+
+    /**
+     * @return the batches of active nodes for the current superstep
+     */
+    Collection<PrimitiveLongIterable> nodeBatches() {
+        return nodeBatches;
+    }
+
+    Activations newActivations() {
+        return new Activations();
+    }
+
+    /**
+     * Makes the nodes that have been activated during the current superstep
+     * the active nodes of the next superstep.
+     * Must not be called while compute steps are running.
+     */
+    void advance(Collection<Activations> activations) {
+        HugeAtomicBitSet tmp = current;
+        current = next;
+        next = tmp;
+
+        boolean isSparse = activations.stream().noneMatch(activation -> activation.hasOverflown);
+        nodeBatches = isSparse ? sparseBatches(activations) : denseBatches();
+        sparseCapacity.set(nodeCount / SPARSE_DIVISOR);
+    }
+
+    void release() {
+        current.release();
+        next.release();
+    }
+
+    private Collection<PrimitiveLongIterable> denseBatches() {
+        List<PrimitiveLongIterable> batches = new ArrayList<>(partitions.size());
+        for (Partition partition : partitions) {
+            long start = partition.startNode;
+            long end = start + partition.nodeCount;
+            batches.add(() -> new DenseIterator(start, end));
+        }
+        return batches;
+    }
+
+    private Collection<PrimitiveLongIterable> sparseBatches(Collection<Activations> activations) {
+        List<PrimitiveLongIterable> batches = new ArrayList<>();
+        for (Activations activation : activations) {
+            LongArrayList nodes = activation.nodes;
+            if (nodes == null) {
+                continue;
+            }
+            for (int start = 0; start < nodes.size(); start += batchSize) {
+                int end = Math.min(start + batchSize, nodes.size());
+                int batchStart = start;
+                batches.add(() -> new SparseIterator(nodes.buffer, batchStart, end));
+            }
+        }
+        return batches;
+    }
+
+    /**
+     * Collects the nodes that are activated by a single compute step.
+     * Not thread-safe, every compute step needs its own instance.
+     */
+    final class Activations {
+
+        private LongArrayList nodes;
+        private long reservedCapacity;
+        private boolean hasOverflown;
+
+        private Activations() {}
+
+        void activate(long nodeId) {
+            if (next.getAndSet(nodeId) || hasOverflown) {
+                return;
+            }
+            if (reservedCapacity == 0 && !reserveCapacity()) {
+                hasOverflown = true;
+                nodes = null;
+                return;
+            }
+            if (nodes == null) {
+                nodes = new LongArrayList();
+            }
+            nodes.add(nodeId);
+            reservedCapacity--;
+        }
+
+        /**
+         * Returns the unused sparse capacity, so that other compute steps can use it.
+         */
+        void close() {
+            if (reservedCapacity > 0) {
+                sparseCapacity.addAndGet(reservedCapacity);
+                reservedCapacity = 0;
+            }
+        }
+
+        private boolean reserveCapacity() {
+            long remaining, reserved;
+            do {
+                remaining = sparseCapacity.get();
+                if (remaining <= 0) {
+                    return false;
+                }
+                // leave some capacity for concurrently running compute steps
+                reserved = Math.min(CAPACITY_CHUNK, (remaining + 1) / 2);
+            } while (!sparseCapacity.compareAndSet(remaining, remaining - reserved));
+            reservedCapacity = reserved;
+            return true;
+        }
+    }
+
+    private final class DenseIterator implements PrimitiveLongIterator {
+
+        private final long end;
+        private long nextNodeId;
+
+        DenseIterator(long start, long end) {
+            this.end = end;
+            this.nextNodeId = current.nextSetBit(start, end);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextNodeId != -1;
+        }
+
+        @Override
+        public long next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            long nodeId = nextNodeId;
+            current.clear(nodeId);
+            nextNodeId = current.nextSetBit(nodeId + 1, end);
+            return nodeId;
+        }
+    }
+
+    private final class SparseIterator implements PrimitiveLongIterator {
+
+        private final long[] nodes;
+        private final int end;
+        private int position;
+
+        SparseIterator(long[] nodes, int start, int end) {
+            this.nodes = nodes;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < end;
+        }
+
+        @Override
+        public long next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            long nodeId = nodes[position++];
+            current.clear(nodeId);
+            return nodeId;
+        }
+    }
+}
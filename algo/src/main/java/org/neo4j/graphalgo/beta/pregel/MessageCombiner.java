@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+/**
+ * Combines two messages that are sent to the same node into a single message.
+ * <p>
+ * A combiner is applied on the sender side as soon as a message is sent.
+ * A receiving node will therefore see at most one message per superstep
+ * (or two in asynchronous mode), which reduces the memory required for
+ * storing messages from one slot per relationship to one slot per node.
+ * <p>
+ * Combiners must be commutative and associative, as messages can be
+ * combined in any order.
+ */
+@FunctionalInterface
+public interface MessageCombiner {
+
+    MessageCombiner SUM = Double::sum;
+
+    MessageCombiner MIN = Math::min;
+
+    MessageCombiner MAX = Math::max;
+
+    double combine(double currentMessage, double newMessage);
+}
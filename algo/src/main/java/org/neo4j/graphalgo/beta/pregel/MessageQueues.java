@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.neo4j.collection.primitive.PrimitiveLongIterable;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Stores the messages that are sent between nodes during a Pregel computation.
+ * <p>
+ * Messages that are sent during a superstep become visible to their receivers
+ * after the queues have been {@link #swap() swapped}. In asynchronous mode,
+ * a receiver might also see messages of the current superstep.
+ */
+abstract class MessageQueues {
+
+    static MessageQueues of(
+        Graph graph,
+        PregelConfig config,
+        Collection<PrimitiveLongIterable> nodeBatches,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        return config.getMessageCombiner()
+            .<MessageQueues>map(combiner -> CombiningMessageQueues.of(
+                graph.nodeCount(),
+                combiner,
+                config.isAsynchronous(),
+                concurrency,
+                tracker
+            ))
+            .orElseGet(() -> ArrayMessageQueues.of(
+                graph,
+                nodeBatches,
+                config.isAsynchronous(),
+                concurrency,
+                executor,
+                tracker
+            ));
+    }
+
+    /**
+     * Makes the messages sent in the current superstep available
+     * to the next superstep. Must not be called while compute steps are running.
+     */
+    abstract void swap();
+
+    abstract void push(long targetNodeId, double message);
+
+    abstract MessageIterator newIterator();
+
+    abstract void release();
+
+    /**
+     * Iterates the messages of a single node. An iterator is bound to a node via
+     * {@link #init(long)} and must be {@link #reset() reset} after the node has been
+     * computed, which frees the messages of the node for the next superstep.
+     */
+    abstract static class MessageIterator implements Messages {
+
+        abstract void init(long nodeId);
+
+        abstract void reset();
+    }
+}
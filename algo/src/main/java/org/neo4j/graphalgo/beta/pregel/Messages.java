@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+/**
+ * A primitive iterator over the messages that have been sent to a node.
+ * <p>
+ * Instances are reused by the compute steps and must not be
+ * referenced beyond a single {@link PregelComputation#compute} call.
+ */
+public interface Messages {
+
+    /**
+     * @return true, iff there is at least one more message for the node
+     */
+    boolean hasNext();
+
+    /**
+     * @return the next message for the node
+     */
+    double next();
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Declares the named, typed values that are stored for each node in a Pregel computation.
+ * <p>
+ * Every schema contains the {@link #DEFAULT_KEY default} double column, which is read and
+ * written by {@link PregelContext#getNodeValue(long)} and {@link PregelContext#setNodeValue(long, double)}.
+ * Additional columns are stored column-wise, i.e. one huge array per key.
+ */
+public final class NodeSchema {
+
+    public static final String DEFAULT_KEY = "value";
+
+    public enum ValueType {
+        DOUBLE,
+        LONG,
+        LONG_ARRAY,
+        DOUBLE_ARRAY
+    }
+
+    private static final NodeSchema DEFAULT = new Builder().build();
+
+    private final Map<String, ValueType> elements;
+
+    private NodeSchema(Map<String, ValueType> elements) {
+        this.elements = Collections.unmodifiableMap(elements);
+    }
+
+    public static NodeSchema defaultSchema() {
+        return DEFAULT;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns all columns including the default column in declaration order.
+     */
+    public Map<String, ValueType> elements() {
+        return elements;
+    }
+
+    public ValueType type(String key) {
+        ValueType type = elements.get(key);
+        if (type == null) {
+            throw new IllegalArgumentException(String.format("Node schema does not contain key `%s`.", key));
+        }
+        return type;
+    }
+
+    public static final class Builder {
+        private final Map<String, ValueType> elements;
+
+        private Builder() {
+            this.elements = new LinkedHashMap<>();
+            this.elements.put(DEFAULT_KEY, ValueType.DOUBLE);
+        }
+
+        public Builder putDouble(String key) {
+            return put(key, ValueType.DOUBLE);
+        }
+
+        public Builder putLong(String key) {
+            return put(key, ValueType.LONG);
+        }
+
+        public Builder putLongArray(String key) {
+            return put(key, ValueType.LONG_ARRAY);
+        }
+
+        public Builder putDoubleArray(String key) {
+            return put(key, ValueType.DOUBLE_ARRAY);
+        }
+
+        public Builder put(String key, ValueType type) {
+            if (elements.containsKey(key)) {
+                throw new IllegalArgumentException(String.format("Node schema already contains key `%s`.", key));
+            }
+            elements.put(key, type);
+            return this;
+        }
+
+        public NodeSchema build() {
+            return new NodeSchema(new LinkedHashMap<>(elements));
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.write.NodePropertyExporter;
+import org.neo4j.graphalgo.core.write.PropertyTranslator;
+import org.neo4j.values.storable.Values;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-wise storage of the node values declared in a {@link NodeSchema}.
+ * <p>
+ * Double and long columns are zero-initialized, array columns are initialized with {@code null}.
+ */
+public final class NodeValues {
+
+    // unset array values are skipped instead of being written as empty arrays
+    private static final PropertyTranslator<HugeObjectArray<long[]>> LONG_ARRAY_TRANSLATOR =
+        (propertyId, data, nodeId) -> {
+            long[] value = data.get(nodeId);
+            return value == null ? null : Values.longArray(value);
+        };
+
+    private static final PropertyTranslator<HugeObjectArray<double[]>> DOUBLE_ARRAY_TRANSLATOR =
+        (propertyId, data, nodeId) -> {
+            double[] value = data.get(nodeId);
+            return value == null ? null : Values.doubleArray(value);
+        };
+
+    private final NodeSchema schema;
+    // one map per value type, so that an access is a single lookup without a type check
+    private final Map<String, HugeDoubleArray> doubleColumns;
+    private final Map<String, HugeLongArray> longColumns;
+    private final Map<String, HugeObjectArray<long[]>> longArrayColumns;
+    private final Map<String, HugeObjectArray<double[]>> doubleArrayColumns;
+
+    private NodeValues(NodeSchema schema) {
+        this.schema = schema;
+        this.doubleColumns = new HashMap<>();
+        this.longColumns = new HashMap<>();
+        this.longArrayColumns = new HashMap<>();
+        this.doubleArrayColumns = new HashMap<>();
+    }
+
+    static NodeValues of(NodeSchema schema, long nodeCount, AllocationTracker tracker) {
+        NodeValues nodeValues = new NodeValues(schema);
+        schema.elements().forEach((key, type) -> {
+            switch (type) {
+                case DOUBLE:
+                    nodeValues.doubleColumns.put(key, HugeDoubleArray.newArray(nodeCount, tracker));
+                    break;
+                case LONG:
+                    nodeValues.longColumns.put(key, HugeLongArray.newArray(nodeCount, tracker));
+                    break;
+                case LONG_ARRAY:
+                    nodeValues.longArrayColumns.put(key, HugeObjectArray.newArray(long[].class, nodeCount, tracker));
+                    break;
+                case DOUBLE_ARRAY:
+                    nodeValues.doubleArrayColumns.put(key, HugeObjectArray.newArray(double[].class, nodeCount, tracker));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported value type: " + type);
+            }
+        });
+        return nodeValues;
+    }
+
+    public NodeSchema schema() {
+        return schema;
+    }
+
+    public HugeDoubleArray doubleProperties(String key) {
+        return column(doubleColumns, key, NodeSchema.ValueType.DOUBLE);
+    }
+
+    public HugeLongArray longProperties(String key) {
+        return column(longColumns, key, NodeSchema.ValueType.LONG);
+    }
+
+    public HugeObjectArray<long[]> longArrayProperties(String key) {
+        return column(longArrayColumns, key, NodeSchema.ValueType.LONG_ARRAY);
+    }
+
+    public HugeObjectArray<double[]> doubleArrayProperties(String key) {
+        return column(doubleArrayColumns, key, NodeSchema.ValueType.DOUBLE_ARRAY);
+    }
+
+    /**
+     * Maps the given columns to node properties, which can be written by a
+     * {@link NodePropertyExporter} in a single pass over all nodes.
+     *
+     * @param propertyKeys maps schema keys to the property keys that are written
+     */
+    public List<NodePropertyExporter.NodeProperty<?>> nodeProperties(Map<String, String> propertyKeys) {
+        List<NodePropertyExporter.NodeProperty<?>> properties = new ArrayList<>(propertyKeys.size());
+        propertyKeys.forEach((key, propertyKey) -> {
+            switch (schema.type(key)) {
+                case DOUBLE:
+                    properties.add(NodePropertyExporter.NodeProperty.of(
+                        propertyKey,
+                        doubleProperties(key),
+                        HugeDoubleArray.Translator.INSTANCE));
+                    break;
+                case LONG:
+                    properties.add(NodePropertyExporter.NodeProperty.of(
+                        propertyKey,
+                        longProperties(key),
+                        HugeLongArray.Translator.INSTANCE));
+                    break;
+                case LONG_ARRAY:
+                    properties.add(NodePropertyExporter.NodeProperty.of(
+                        propertyKey,
+                        longArrayProperties(key),
+                        LONG_ARRAY_TRANSLATOR));
+                    break;
+                case DOUBLE_ARRAY:
+                    properties.add(NodePropertyExporter.NodeProperty.of(
+                        propertyKey,
+                        doubleArrayProperties(key),
+                        DOUBLE_ARRAY_TRANSLATOR));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported value type: " + schema.type(key));
+            }
+        });
+        return properties;
+    }
+
+    public void release() {
+        doubleColumns.values().forEach(HugeDoubleArray::release);
+        longColumns.values().forEach(HugeLongArray::release);
+        longArrayColumns.values().forEach(HugeObjectArray::release);
+        doubleArrayColumns.values().forEach(HugeObjectArray::release);
+    }
+
+    private <T> T column(Map<String, T> columns, String key, NodeSchema.ValueType expectedType) {
+        T column = columns.get(key);
+        if (column == null) {
+            throw new IllegalArgumentException(String.format(
+                "Node value `%s` is of type %s, but %s was requested.",
+                key,
+                schema.type(key),
+                expectedType));
+        }
+        return column;
+    }
+}
@@ -19,46 +19,46 @@
  */
 package org.neo4j.graphalgo.beta.pregel;
 
-import com.carrotsearch.hppc.BitSet;
-import org.jctools.queues.MpscLinkedQueue;
 import org.neo4j.collection.primitive.PrimitiveLongCollections;
 import org.neo4j.collection.primitive.PrimitiveLongIterable;
 import org.neo4j.collection.primitive.PrimitiveLongIterator;
 import org.neo4j.graphalgo.api.Degrees;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.RelationshipConsumer;
 import org.neo4j.graphalgo.api.RelationshipIterator;
-import org.neo4j.graphalgo.core.utils.LazyBatchCollection;
-import org.neo4j.graphalgo.core.utils.LazyMappingCollection;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.Queue;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 
 public final class Pregel {
 
-    // Marks the end of messages from the previous iteration in synchronous mode.
-    private static final Double TERMINATION_SYMBOL = Double.NaN;
-
     private final PregelConfig config;
 
     private final PregelComputation computation;
 
     private final Graph graph;
 
-    private final HugeDoubleArray nodeValues;
+    private final NodeValues nodeValues;
 
-    private final HugeObjectArray<MpscLinkedQueue<Double>> messageQueues;
+    private final MessageQueues messageQueues;
 
-    private final int batchSize;
+    private final Collection<PrimitiveLongIterable> nodeBatches;
+    private final Frontier frontier;
     private final int concurrency;
     private final ExecutorService executor;
 
@@ -75,7 +75,8 @@ public final class Pregel {
 
         // HugeDoubleArray is faster for set operations compared to HugeNodePropertyMap
         double defaultNodeValue = config.getInitialNodeValue();
-        HugeDoubleArray hugeDoubleArray = HugeDoubleArray.newArray(graph.nodeCount(), tracker);
+        NodeValues nodeValues = NodeValues.of(config.getNodeSchema(), graph.nodeCount(), tracker);
+        HugeDoubleArray hugeDoubleArray = nodeValues.doubleProperties(NodeSchema.DEFAULT_KEY);
         ParallelUtil.parallelStreamConsume(
                 LongStream.range(0, graph.nodeCount()),
                 concurrency,
@@ -86,7 +87,7 @@ public final class Pregel {
                 graph,
                 config,
                 computation,
-                hugeDoubleArray,
+                nodeValues,
                 batchSize,
                 concurrency,
                 executor,
@@ -105,7 +106,8 @@ public final class Pregel {
             final AllocationTracker tracker) {
 
         // HugeDoubleArray is faster for set operations compared to HugeNodePropertyMap
-        HugeDoubleArray hugeDoubleArray = HugeDoubleArray.newArray(graph.nodeCount(), tracker);
+        NodeValues nodeValues = NodeValues.of(config.getNodeSchema(), graph.nodeCount(), tracker);
+        HugeDoubleArray hugeDoubleArray = nodeValues.doubleProperties(NodeSchema.DEFAULT_KEY);
         ParallelUtil.parallelStreamConsume(
                 LongStream.range(0, graph.nodeCount()),
                 concurrency,
@@ -116,7 +118,7 @@ public final class Pregel {
                 graph,
                 config,
                 computation,
-                hugeDoubleArray,
+                nodeValues,
                 batchSize,
                 concurrency,
                 executor,
@@ -128,7 +130,7 @@ public final class Pregel {
             final Graph graph,
             final PregelConfig config,
             final PregelComputation computation,
-            final HugeDoubleArray initialNodeValues,
+            final NodeValues initialNodeValues,
             final int batchSize,
             final int concurrency,
             final ExecutorService executor,
@@ -137,41 +139,59 @@ public final class Pregel {
         this.config = config;
         this.computation = computation;
         this.nodeValues = initialNodeValues;
-        this.batchSize = batchSize;
         this.concurrency = concurrency;
         this.executor = executor;
 
-        this.messageQueues = initLinkedQueues(graph, tracker);
+        // Partitions carry about the same number of relationships, so that
+        // compute steps for super nodes do not dominate the superstep.
+        List<Partition> partitions = PartitionUtils.degreeBalancedPartitioning(graph, concurrency, batchSize);
+        this.nodeBatches = partitions
+                .stream()
+                .map(partition -> (PrimitiveLongIterable) () -> PrimitiveLongCollections.range(
+                        partition.startNode,
+                        partition.startNode + partition.nodeCount - 1L))
+                .collect(Collectors.toList());
+
+        this.messageQueues = MessageQueues.of(
+                graph,
+                config,
+                nodeBatches,
+                concurrency,
+                executor,
+                tracker);
+
+        this.frontier = new Frontier(graph.nodeCount(), partitions, batchSize, tracker);
     }
 
     public HugeDoubleArray run(final int maxIterations) {
         iterations = 0;
         boolean canHalt = false;
-        // Tracks if a node received messages in the previous iteration
-        // TODO: try RoaringBitSet instead
-        BitSet receiverBits = new BitSet(graph.nodeCount());
-        // Tracks if a node voted to halt in the previous iteration
-        BitSet voteBits = new BitSet(graph.nodeCount());
-
-        // TODO: maybe try degree partitioning or clustering (better locality)
-        Collection<PrimitiveLongIterable> nodeBatches = LazyBatchCollection.of(
-                graph.nodeCount(),
-                batchSize,
-                (start, length) -> () -> PrimitiveLongCollections.range(start, start + length - 1L));
+        // All nodes are active in the first iteration
+        frontier.activateAll();
 
         while (iterations < maxIterations && !canHalt) {
             int iteration = iterations++;
 
-            final List<ComputeStep> computeSteps = runComputeSteps(nodeBatches, iteration, receiverBits, voteBits);
-
-            receiverBits = unionBitSets(computeSteps, ComputeStep::getSenders);
-            voteBits = unionBitSets(computeSteps, ComputeStep::getVotes);
+            final List<ComputeStep> computeSteps = runComputeSteps(iteration);
+            // Synchronization barrier:
+            // Messages sent in this iteration become visible in the next one.
+            messageQueues.swap();
+            // Nodes that received messages or did not vote to halt
+            // are the active nodes in the next iteration.
+            frontier.advance(computeSteps.stream().map(ComputeStep::getActivations).collect(Collectors.toList()));
 
             // No messages have been sent
-            if (receiverBits.nextSetBit(0) == -1) {
+            if (computeSteps.stream().noneMatch(ComputeStep::hasSentMessages)) {
                 canHalt = true;
             }
         }
+        return nodeValues.doubleProperties(NodeSchema.DEFAULT_KEY);
+    }
+
+    /**
+     * Returns all node values that are declared in the {@link NodeSchema} of the computation.
+     */
+    public NodeValues nodeValues() {
         return nodeValues;
     }
 
@@ -179,117 +199,84 @@ public final class Pregel {
         return iterations;
     }
 
-    private BitSet unionBitSets(Collection<ComputeStep> computeSteps, Function<ComputeStep, BitSet> fn) {
-        return ParallelUtil.parallelStream(computeSteps.stream(), concurrency, stream ->
-                stream.map(fn).reduce((bitSet1, bitSet2) -> {
-                    bitSet1.union(bitSet2);
-                    return bitSet1;
-                }).orElseGet(BitSet::new));
+    public void release() {
+        messageQueues.release();
+        frontier.release();
     }
 
-    private List<ComputeStep> runComputeSteps(
-            Collection<PrimitiveLongIterable> nodeBatches,
-            final int iteration,
-            BitSet messageBits,
-            BitSet voteToHaltBits) {
-
-        final List<ComputeStep> tasks = new ArrayList<>(nodeBatches.size());
-
-        if (!config.isAsynchronous()) {
-            // Synchronization barrier:
-            // Add termination flag to message queues that
-            // received messages in the previous iteration.
-            if (iteration > 0) {
-                ParallelUtil.parallelStreamConsume(
-                        LongStream.range(0, graph.nodeCount()),
-                        concurrency,
-                        nodeIds -> nodeIds.forEach(nodeId -> {
-                            if (messageBits.get(nodeId)) {
-                                messageQueues.get(nodeId).add(TERMINATION_SYMBOL);
-                            }
-                        }));
-            }
+    private List<ComputeStep> runComputeSteps(final int iteration) {
+        Collection<PrimitiveLongIterable> activeNodeBatches = frontier.nodeBatches();
+        final List<ComputeStep> tasks = new ArrayList<>(activeNodeBatches.size());
+        for (PrimitiveLongIterable nodeBatch : activeNodeBatches) {
+            tasks.add(new ComputeStep(
+                    computation,
+                    config,
+                    iteration,
+                    nodeBatch,
+                    graph,
+                    nodeValues,
+                    frontier.newActivations(),
+                    messageQueues,
+                    graph));
         }
 
-        Collection<ComputeStep> computeSteps = LazyMappingCollection.of(
-                nodeBatches,
-                nodeBatch -> {
-                    ComputeStep task = new ComputeStep(
-                            computation,
-                            config,
-                            graph.nodeCount(),
-                            iteration,
-                            nodeBatch,
-                            graph,
-                            nodeValues,
-                            messageBits,
-                            voteToHaltBits,
-                            messageQueues,
-                            graph);
-                    tasks.add(task);
-                    return task;
-                });
-
-        ParallelUtil.runWithConcurrency(concurrency, computeSteps, executor);
+        ParallelUtil.runWithWorkStealing(concurrency, tasks, TerminationFlag.RUNNING_TRUE, executor);
         return tasks;
     }
 
-    @SuppressWarnings({"unchecked"})
-    private HugeObjectArray<MpscLinkedQueue<Double>> initLinkedQueues(Graph graph, AllocationTracker tracker) {
-        Class<MpscLinkedQueue<Double>> queueClass = (Class<MpscLinkedQueue<Double>>) MpscLinkedQueue
-                .newMpscLinkedQueue()
-                .getClass();
-
-        HugeObjectArray<MpscLinkedQueue<Double>> messageQueues = HugeObjectArray.newArray(
-                queueClass,
-                graph.nodeCount(),
-                tracker);
-
-        ParallelUtil.parallelStreamConsume(
-                LongStream.range(0, graph.nodeCount()),
-                concurrency,
-                nodeIds -> nodeIds.forEach(nodeId -> messageQueues.set(nodeId, MpscLinkedQueue.newMpscLinkedQueue())));
-
-        return messageQueues;
-    }
-
     public static final class ComputeStep implements Runnable {
 
         private final int iteration;
         private final PregelComputation computation;
         private final PregelContext pregelContext;
-        private final BitSet senderBits;
-        private final BitSet receiverBits;
-        private final BitSet voteBits;
+        private final Frontier.Activations activations;
         private final PrimitiveLongIterable nodeBatch;
         private final Degrees degrees;
-        private final HugeDoubleArray nodeValues;
-        private final HugeObjectArray<? extends Queue<Double>> messageQueues;
+        private final HugeDoubleArray defaultNodeValues;
+        private final ResolvedColumns<HugeDoubleArray> doubleColumns;
+        private final ResolvedColumns<HugeLongArray> longColumns;
+        private final ResolvedColumns<HugeObjectArray<long[]>> longArrayColumns;
+        private final ResolvedColumns<HugeObjectArray<double[]>> doubleArrayColumns;
+        private final MessageQueues messageQueues;
+        private final MessageQueues.MessageIterator messageIterator;
         private final RelationshipIterator relationshipIterator;
+        // reused for all nodes of the step, sendMessages sets the message that is pushed
+        private final RelationshipConsumer messageConsumer;
+
+        private long haltedNodeId;
+        private boolean hasSentMessages;
+        private double message;
 
         private ComputeStep(
                 final PregelComputation computation,
                 final PregelConfig config,
-                final long globalNodeCount,
                 final int iteration,
                 final PrimitiveLongIterable nodeBatch,
                 final Degrees degrees,
-                final HugeDoubleArray nodeValues,
-                final BitSet receiverBits,
-                final BitSet voteBits,
-                final HugeObjectArray<? extends Queue<Double>> messageQueues,
+                final NodeValues nodeValues,
+                final Frontier.Activations activations,
+                final MessageQueues messageQueues,
                 final RelationshipIterator relationshipIterator) {
             this.iteration = iteration;
             this.computation = computation;
-            this.senderBits = new BitSet(globalNodeCount);
-            this.receiverBits = receiverBits;
-            this.voteBits = voteBits;
+            this.activations = activations;
             this.nodeBatch = nodeBatch;
             this.degrees = degrees;
-            this.nodeValues = nodeValues;
+            this.defaultNodeValues = nodeValues.doubleProperties(NodeSchema.DEFAULT_KEY);
+            this.doubleColumns = new ResolvedColumns<>(nodeValues::doubleProperties);
+            this.longColumns = new ResolvedColumns<>(nodeValues::longProperties);
+            this.longArrayColumns = new ResolvedColumns<>(nodeValues::longArrayProperties);
+            this.doubleArrayColumns = new ResolvedColumns<>(nodeValues::doubleArrayProperties);
             this.messageQueues = messageQueues;
+            this.messageIterator = messageQueues.newIterator();
             this.relationshipIterator = relationshipIterator.concurrentCopy();
             this.pregelContext = new PregelContext(this, config);
+            this.messageConsumer = (sourceNodeId, targetNodeId) -> {
+                this.messageQueues.push(targetNodeId, message);
+                this.activations.activate(targetNodeId);
+                hasSentMessages = true;
+                return true;
+            };
         }
 
         @Override
@@ -299,19 +286,24 @@ public final class Pregel {
             while (nodesIterator.hasNext()) {
                 final long nodeId = nodesIterator.next();
 
-                if (receiverBits.get(nodeId) || !voteBits.get(nodeId)) {
-                    voteBits.clear(nodeId);
-                    computation.compute(pregelContext, nodeId, receiveMessages(nodeId));
+                haltedNodeId = -1L;
+                messageIterator.init(nodeId);
+                computation.compute(pregelContext, nodeId, messageIterator);
+                messageIterator.reset();
+
+                if (haltedNodeId != nodeId) {
+                    activations.activate(nodeId);
                 }
             }
+            activations.close();
         }
 
-        BitSet getSenders() {
-            return senderBits;
+        Frontier.Activations getActivations() {
+            return activations;
         }
 
-        BitSet getVotes() {
-            return voteBits;
+        boolean hasSentMessages() {
+            return hasSentMessages;
         }
 
         public int getIteration() {
@@ -323,27 +315,87 @@ public final class Pregel {
         }
 
         double getNodeValue(final long nodeId) {
-            return nodeValues.get(nodeId);
+            return defaultNodeValues.get(nodeId);
         }
 
         void setNodeValue(final long nodeId, final double value) {
-            nodeValues.set(nodeId, value);
+            defaultNodeValues.set(nodeId, value);
+        }
+
+        double doubleNodeValue(final String key, final long nodeId) {
+            return doubleColumns.get(key).get(nodeId);
+        }
+
+        void setDoubleNodeValue(final String key, final long nodeId, final double value) {
+            doubleColumns.get(key).set(nodeId, value);
+        }
+
+        long longNodeValue(final String key, final long nodeId) {
+            return longColumns.get(key).get(nodeId);
+        }
+
+        void setLongNodeValue(final String key, final long nodeId, final long value) {
+            longColumns.get(key).set(nodeId, value);
+        }
+
+        long[] longArrayNodeValue(final String key, final long nodeId) {
+            return longArrayColumns.get(key).get(nodeId);
         }
 
+        void setLongArrayNodeValue(final String key, final long nodeId, final long[] value) {
+            longArrayColumns.get(key).set(nodeId, value);
+        }
+
+        double[] doubleArrayNodeValue(final String key, final long nodeId) {
+            return doubleArrayColumns.get(key).get(nodeId);
+        }
+
+        void setDoubleArrayNodeValue(final String key, final long nodeId, final double[] value) {
+            doubleArrayColumns.get(key).set(nodeId, value);
+        }
+
+        // A node can only vote for itself, a vote for any other node than the computed one has no effect.
         void voteToHalt(long nodeId) {
-            voteBits.set(nodeId);
+            haltedNodeId = nodeId;
         }
 
         void sendMessages(final long nodeId, final double message) {
-            relationshipIterator.forEachRelationship(nodeId, (sourceNodeId, targetNodeId) -> {
-                messageQueues.get(targetNodeId).add(message);
-                senderBits.set(targetNodeId);
-                return true;
-            });
+            this.message = message;
+            relationshipIterator.forEachRelationship(nodeId, messageConsumer);
+        }
+    }
+
+    /**
+     * The columns that a compute step has accessed. A computation uses a handful of keys,
+     * so each key is resolved once per step and found again by a linear scan without hashing.
+     */
+    private static final class ResolvedColumns<T> {
+        private final Function<String, T> resolver;
+        private String[] keys;
+        private Object[] columns;
+        private int size;
+
+        ResolvedColumns(Function<String, T> resolver) {
+            this.resolver = resolver;
+            this.keys = new String[2];
+            this.columns = new Object[2];
         }
 
-        private Queue<Double> receiveMessages(final long nodeId) {
-            return receiverBits.get(nodeId) ? messageQueues.get(nodeId) : null;
+        @SuppressWarnings("unchecked")
+        T get(String key) {
+            for (int i = 0; i < size; i++) {
+                if (keys[i].equals(key)) {
+                    return (T) columns[i];
+                }
+            }
+            T column = resolver.apply(key);
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                columns = Arrays.copyOf(columns, size * 2);
+            }
+            keys[size] = key;
+            columns[size++] = column;
+            return column;
         }
     }
 }
@@ -19,10 +19,8 @@
  */
 package org.neo4j.graphalgo.beta.pregel;
 
-import java.util.Queue;
-
 @FunctionalInterface
 public interface PregelComputation {
 
-    void compute(PregelContext context, long nodeId, Queue<Double> messages);
+    void compute(PregelContext context, long nodeId, Messages messages);
 }
@@ -19,13 +19,24 @@
  */
 package org.neo4j.graphalgo.beta.pregel;
 
+import java.util.Optional;
+
 public final class PregelConfig {
     private final double initialNodeValue;
     private final boolean isAsynchronous;
+    private final MessageCombiner messageCombiner;
+    private final NodeSchema nodeSchema;
 
-    private PregelConfig(double initialNodeValue, boolean isAsynchronous) {
+    private PregelConfig(
+        double initialNodeValue,
+        boolean isAsynchronous,
+        MessageCombiner messageCombiner,
+        NodeSchema nodeSchema
+    ) {
         this.initialNodeValue = initialNodeValue;
         this.isAsynchronous = isAsynchronous;
+        this.messageCombiner = messageCombiner;
+        this.nodeSchema = nodeSchema;
     }
 
     double getInitialNodeValue() {
@@ -36,9 +47,19 @@ public final class PregelConfig {
         return isAsynchronous;
     }
 
+    Optional<MessageCombiner> getMessageCombiner() {
+        return Optional.ofNullable(messageCombiner);
+    }
+
+    NodeSchema getNodeSchema() {
+        return nodeSchema;
+    }
+
     public static class Builder {
         private double initialNodeValue = -1.0;
         private boolean isAsynchronous = false;
+        private MessageCombiner messageCombiner = null;
+        private NodeSchema nodeSchema = NodeSchema.defaultSchema();
 
         public Builder withInitialNodeValue(double initialNodeValue) {
             this.initialNodeValue = initialNodeValue;
@@ -50,8 +71,26 @@ public final class PregelConfig {
             return this;
         }
 
+        /**
+         * Folds all messages that are sent to a node within a superstep into a single message.
+         * Computations then receive at most one message per superstep.
+         */
+        public Builder withMessageCombiner(MessageCombiner messageCombiner) {
+            this.messageCombiner = messageCombiner;
+            return this;
+        }
+
+        /**
+         * Declares additional typed values that are stored for each node.
+         * The initial node value only applies to the default column.
+         */
+        public Builder withNodeSchema(NodeSchema nodeSchema) {
+            this.nodeSchema = nodeSchema;
+            return this;
+        }
+
         public PregelConfig build() {
-            return new PregelConfig(initialNodeValue, isAsynchronous);
+            return new PregelConfig(initialNodeValue, isAsynchronous, messageCombiner, nodeSchema);
         }
     }
 }
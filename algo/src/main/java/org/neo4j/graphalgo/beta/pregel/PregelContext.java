@@ -29,6 +29,10 @@ public final class PregelContext {
         this.config = config;
     }
 
+    /**
+     * Deactivates the computed node until it receives messages again.
+     * A vote for any other node than the computed one has no effect.
+     */
     public void voteToHalt(long nodeId) {
         computeStep.voteToHalt(nodeId);
     }
@@ -49,6 +53,47 @@ public final class PregelContext {
         computeStep.setNodeValue(nodeId, value);
     }
 
+    public double doubleNodeValue(String key, long nodeId) {
+        return computeStep.doubleNodeValue(key, nodeId);
+    }
+
+    public void setDoubleNodeValue(String key, long nodeId, double value) {
+        computeStep.setDoubleNodeValue(key, nodeId, value);
+    }
+
+    public long longNodeValue(String key, long nodeId) {
+        return computeStep.longNodeValue(key, nodeId);
+    }
+
+    public void setLongNodeValue(String key, long nodeId, long value) {
+        computeStep.setLongNodeValue(key, nodeId, value);
+    }
+
+    public long[] longArrayNodeValue(String key, long nodeId) {
+        return computeStep.longArrayNodeValue(key, nodeId);
+    }
+
+    public void setLongArrayNodeValue(String key, long nodeId, long[] value) {
+        computeStep.setLongArrayNodeValue(key, nodeId, value);
+    }
+
+    public double[] doubleArrayNodeValue(String key, long nodeId) {
+        return computeStep.doubleArrayNodeValue(key, nodeId);
+    }
+
+    public void setDoubleArrayNodeValue(String key, long nodeId, double[] value) {
+        computeStep.setDoubleArrayNodeValue(key, nodeId, value);
+    }
+
+    /**
+     * Sends the given message to all neighbours of the node.
+     * <p>
+     * Without a {@link MessageCombiner}, every node has room for as many messages
+     * per superstep as it has incoming relationships. Calling this method more than
+     * once for the same node within a single superstep therefore fails with an
+     * {@link IllegalStateException}. Computations that need to send multiple
+     * messages along a relationship must configure a combiner.
+     */
     public void sendMessages(long nodeId, double message) {
         computeStep.sendMessages(nodeId, message);
     }
@@ -19,15 +19,14 @@
  */
 package org.neo4j.graphalgo.beta.pregel.examples;
 
+import org.neo4j.graphalgo.beta.pregel.Messages;
 import org.neo4j.graphalgo.beta.pregel.PregelComputation;
 import org.neo4j.graphalgo.beta.pregel.PregelContext;
 
-import java.util.Queue;
-
 public class ConnectedComponentsPregel implements PregelComputation {
 
     @Override
-    public void compute(PregelContext pregel, final long nodeId, Queue<Double> messages) {
+    public void compute(PregelContext pregel, final long nodeId, Messages messages) {
         if (pregel.isInitialSuperStep()) {
             // Inremental computation
             double currentValue = pregel.getNodeValue(nodeId);
@@ -41,13 +40,11 @@ public class ConnectedComponentsPregel implements PregelComputation {
             long newComponentId = (long) pregel.getNodeValue(nodeId);
             boolean hasChanged = false;
 
-            if (messages != null) {
-                Double message;
-                while ((message = messages.poll()) != null) {
-                    if (message < newComponentId) {
-                        newComponentId = message.longValue();
-                        hasChanged = true;
-                    }
+            while (messages.hasNext()) {
+                double message = messages.next();
+                if (message < newComponentId) {
+                    newComponentId = (long) message;
+                    hasChanged = true;
                 }
             }
 
@@ -19,24 +19,24 @@
  */
 package org.neo4j.graphalgo.beta.pregel.examples;
 
+import org.neo4j.graphalgo.beta.pregel.Messages;
 import org.neo4j.graphalgo.beta.pregel.PregelComputation;
 import org.neo4j.graphalgo.beta.pregel.PregelContext;
 
 import java.util.Arrays;
-import java.util.Queue;
 
 public class MaximumNumber implements PregelComputation {
 
     @Override
-    public void compute(PregelContext pregel, long nodeId, Queue<Double> messages) {
-        if (messages != null) {
+    public void compute(PregelContext pregel, long nodeId, Messages messages) {
+        if (messages.hasNext()) {
             long oldValue = (long) pregel.getNodeValue(nodeId);
             long newValue = oldValue;
 
-            Double nextMessage;
-            while (!(nextMessage = messages.poll()).isNaN()) {
-                if (nextMessage.longValue() > newValue) {
-                    newValue = nextMessage.longValue();
+            while (messages.hasNext()) {
+                long nextMessage = (long) messages.next();
+                if (nextMessage > newValue) {
+                    newValue = nextMessage;
                 }
             }
 
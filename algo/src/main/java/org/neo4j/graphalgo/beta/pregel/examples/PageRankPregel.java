@@ -19,11 +19,10 @@
  */
 package org.neo4j.graphalgo.beta.pregel.examples;
 
+import org.neo4j.graphalgo.beta.pregel.Messages;
 import org.neo4j.graphalgo.beta.pregel.PregelComputation;
 import org.neo4j.graphalgo.beta.pregel.PregelContext;
 
-import java.util.Queue;
-
 public class PageRankPregel implements PregelComputation {
 
     private final long nodeCount;
@@ -37,17 +36,14 @@ public class PageRankPregel implements PregelComputation {
     }
 
     @Override
-    public void compute(PregelContext pregel, final long nodeId, Queue<Double> messages) {
+    public void compute(PregelContext pregel, final long nodeId, Messages messages) {
         double newRank = pregel.getNodeValue(nodeId);
 
         // compute new rank based on neighbor ranks
         if (!pregel.isInitialSuperStep()) {
             double sum = 0;
-            if (messages != null) {
-                Double nextMessage;
-                while (!(nextMessage = messages.poll()).isNaN()) {
-                    sum += nextMessage;
-                }
+            while (messages.hasNext()) {
+                sum += messages.next();
             }
             newRank = (jumpProbability / nodeCount) + dampingFactor * sum;
         }
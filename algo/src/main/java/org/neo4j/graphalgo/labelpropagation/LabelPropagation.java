@@ -25,17 +25,16 @@ import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.core.loading.NullPropertyMap;
-import org.neo4j.graphalgo.core.utils.LazyBatchCollection;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 
-import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static org.neo4j.graphalgo.compat.StatementConstantsProxy.NO_SUCH_LABEL;
 
 public class LabelPropagation extends Algorithm<LabelPropagation, LabelPropagation> {
@@ -122,7 +121,7 @@ public class LabelPropagation extends Algorithm<LabelPropagation, LabelPropagati
 
         long currentIteration = 0L;
         while (currentIteration < config.maxIterations()) {
-            ParallelUtil.runWithConcurrency(config.concurrency(), stepRunners, 1L, MICROSECONDS, terminationFlag, executor);
+            ParallelUtil.runWithWorkStealing(config.concurrency(), stepRunners, terminationFlag, executor);
             ++currentIteration;
         }
 
@@ -147,18 +146,14 @@ public class LabelPropagation extends Algorithm<LabelPropagation, LabelPropagati
     }
 
     private List<StepRunner> stepRunners() {
-        long nodeCount = graph.nodeCount();
-        long batchSize = ParallelUtil.adjustedBatchSize(nodeCount, this.batchSize);
-
-        Collection<PrimitiveLongIterable> nodeBatches = LazyBatchCollection.of(
-            nodeCount,
-            batchSize,
-            (start, length) -> () -> PrimitiveLongCollections.range(start, start + length - 1L)
-        );
-
-        int threads = nodeBatches.size();
-        List<StepRunner> tasks = new ArrayList<>(threads);
-        for (PrimitiveLongIterable iter : nodeBatches) {
+        List<Partition> partitions = PartitionUtils.degreeBalancedPartitioning(graph, config.concurrency(), batchSize);
+
+        List<StepRunner> tasks = new ArrayList<>(partitions.size());
+        for (Partition partition : partitions) {
+            PrimitiveLongIterable iter = () -> PrimitiveLongCollections.range(
+                partition.startNode,
+                partition.startNode + partition.nodeCount - 1L
+            );
             InitStep initStep = new InitStep(
                 graph,
                 nodeProperties,
@@ -171,7 +166,7 @@ public class LabelPropagation extends Algorithm<LabelPropagation, LabelPropagati
             StepRunner task = new StepRunner(initStep);
             tasks.add(task);
         }
-        ParallelUtil.runWithConcurrency(config.concurrency(), tasks, 1, MICROSECONDS, terminationFlag, executor);
+        ParallelUtil.runWithWorkStealing(config.concurrency(), tasks, terminationFlag, executor);
         return tasks;
     }
 
@@ -23,6 +23,8 @@ import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimization;
 import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.loading.HugeGraphUtil;
@@ -31,11 +33,17 @@ import org.neo4j.graphalgo.core.loading.IdMap;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.SparseDoubleAccumulator;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 import org.neo4j.logging.Log;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.Collectors;
 
 import static org.neo4j.graphalgo.core.concurrency.ParallelUtil.DEFAULT_BATCH_SIZE;
 
@@ -48,6 +56,9 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
     private final Log log;
     private final AllocationTracker tracker;
 
+    // Leiden only: the refined community of every node on the current level, i.e. its node in the working graph
+    private HugeLongArray refinedCommunities;
+
     // results
     private HugeLongArray[] dendrograms;
     private double[] modularities;
@@ -78,6 +89,8 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
 
         long oldNodeCount = rootGraph.nodeCount();
         for (ranLevels = 0; ranLevels < config.maxLevels(); ranLevels++) {
+            boolean refinedEqualsCommunities = true;
+            double refinedModularity = 0.0;
             try (ProgressTimer timer = ProgressTimer.start(millis -> log.info("Louvain - Level %d finished after %dms", ranLevels + 1, millis)))  {
 
                 assertRunning();
@@ -92,11 +105,42 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
                 dendrograms[ranLevels] = HugeLongArray.newArray(rootGraph.nodeCount(), tracker);
                 long maxCommunityId = buildDendrogram(workingGraph, ranLevels, modularityOptimization);
 
-                workingGraph = summarizeGraph(workingGraph, modularityOptimization, maxCommunityId);
-                nextSeedingValues = new OriginalIdNodeProperties(workingGraph);
+                if (config.leiden()) {
+                    refinedEqualsCommunities = modularityOptimization.refinedEqualsCommunities();
+                    refinedModularity = modularityOptimization.getRefinedModularity();
+                    // aggregate the refined communities and start the next level from the unrefined ones
+                    workingGraph = summarizeGraph(
+                        workingGraph,
+                        modularityOptimization::getRefinedCommunityId,
+                        Math.max(0L, workingGraph.nodeCount() - 1)
+                    );
+                    nextSeedingValues = new RefinedCommunityNodeProperties(workingGraph, modularityOptimization);
+                } else {
+                    workingGraph = summarizeGraph(
+                        workingGraph,
+                        modularityOptimization::getCommunityId,
+                        maxCommunityId
+                    );
+                    nextSeedingValues = new OriginalIdNodeProperties(workingGraph);
+                }
             }
 
-            if (workingGraph.nodeCount() == oldNodeCount
+            if (config.leiden()) {
+                if (isLastLeidenLevel(workingGraph.nodeCount(), oldNodeCount, refinedEqualsCommunities)) {
+                    // communities are only guaranteed to be connected if they equal their refinement
+                    if (!refinedEqualsCommunities) {
+                        refinedCommunities.copyTo(dendrograms[ranLevels], rootGraph.nodeCount());
+                        modularities[ranLevels] = refinedModularity;
+                    }
+                    // other than Louvain, the last level is kept as it starts from the communities of the previous one
+                    ranLevels++;
+                    if (ranLevels < config.maxLevels()) {
+                        resizeResultArrays();
+                    }
+                    log.info("Louvain - Finished after %d levels", levels());
+                    break;
+                }
+            } else if (workingGraph.nodeCount() == oldNodeCount
                 || workingGraph.nodeCount() == 1
                 || hasConverged()
             ) {
@@ -110,6 +154,17 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
         return this;
     }
 
+    /**
+     * Leiden keeps aggregating the refined communities until they equal the communities,
+     * unless the refinement no longer merges any nodes or the maximum number of levels is reached.
+     */
+    private boolean isLastLeidenLevel(long nodeCount, long oldNodeCount, boolean refinedEqualsCommunities) {
+        return nodeCount == oldNodeCount
+               || nodeCount == 1
+               || ranLevels + 1 == config.maxLevels()
+               || (refinedEqualsCommunities && hasConverged());
+    }
+
     private void resizeResultArrays() {
         int numLevels = levels();
         HugeLongArray[] resizedDendrogram = new HugeLongArray[numLevels];
@@ -128,14 +183,25 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
         ModularityOptimization modularityOptimization
     ) {
         AtomicLong maxCommunityId = new AtomicLong(0L);
+        if (config.leiden() && level == 0) {
+            refinedCommunities = HugeLongArray.newArray(rootGraph.nodeCount(), tracker);
+        }
         ParallelUtil.parallelForEachNode(rootGraph, config.concurrency(), (nodeId) -> {
-            long prevId = level == 0
-                ? nodeId
-                : workingGraph.toMappedNodeId(dendrograms[level - 1].get(nodeId));
+            long prevId;
+            if (level == 0) {
+                prevId = nodeId;
+            } else if (config.leiden()) {
+                prevId = workingGraph.toMappedNodeId(refinedCommunities.get(nodeId));
+            } else {
+                prevId = workingGraph.toMappedNodeId(dendrograms[level - 1].get(nodeId));
+            }
 
             final long communityId = modularityOptimization.getCommunityId(prevId);
             maxCommunityId.updateAndGet(currentMaxId -> Math.max(communityId, currentMaxId));
             dendrograms[level].set(nodeId, communityId);
+            if (config.leiden()) {
+                refinedCommunities.set(nodeId, modularityOptimization.getRefinedCommunityId(prevId));
+            }
         });
 
         return maxCommunityId.get();
@@ -151,7 +217,8 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
             DEFAULT_BATCH_SIZE,
             executorService,
             tracker,
-            log
+            log,
+            config.leiden()
         )
             .withProgressLogger(progressLogger)
             .withTerminationFlag(terminationFlag);
@@ -161,18 +228,16 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
         return modularityOptimization;
     }
 
-    private Graph summarizeGraph(Graph workingGraph, ModularityOptimization modularityOptimization, long maxCommunityId) {
-        HugeGraphUtil.IdMapBuilder idMapBuilder = HugeGraphUtil.idMapBuilder(
+    private Graph summarizeGraph(Graph workingGraph, LongUnaryOperator communities, long maxCommunityId) {
+        HugeGraphUtil.ConcurrentIdMapBuilder idMapBuilder = HugeGraphUtil.concurrentIdMapBuilder(
             maxCommunityId,
-            executorService,
             tracker
         );
 
         assertRunning();
 
-        workingGraph.forEachNode((nodeId) -> {
-            idMapBuilder.addNode(modularityOptimization.getCommunityId(nodeId));
-            return true;
+        ParallelUtil.parallelForEachNode(workingGraph, config.concurrency(), (nodeId) -> {
+            idMapBuilder.addNode(communities.applyAsLong(nodeId));
         });
 
         assertRunning();
@@ -184,18 +249,31 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
             orientation,
             true,
             Aggregation.SUM,
+            config.concurrency(),
             executorService,
             tracker
         );
 
-        workingGraph.forEachNode((nodeId) -> {
-            long communityId = modularityOptimization.getCommunityId(nodeId);
-            workingGraph.forEachRelationship(nodeId, 1.0, (source, target, property) -> {
-                relationshipsBuilder.add(communityId, modularityOptimization.getCommunityId(target), property);
-                return true;
-            });
-            return true;
-        });
+        long batchSize = ParallelUtil.adjustedBatchSize(
+            workingGraph.relationshipCount(),
+            config.concurrency(),
+            DEFAULT_BATCH_SIZE,
+            Integer.MAX_VALUE
+        );
+        SparseDoubleAccumulator.Pool communityWeights = new SparseDoubleAccumulator.Pool(idMap.nodeCount(), tracker);
+        List<Runnable> tasks = PartitionUtils.degreePartition(workingGraph, batchSize)
+            .stream()
+            .map(partition -> new SummarizeTask(
+                workingGraph.concurrentCopy(),
+                communities,
+                idMap,
+                relationshipsBuilder.localBuilder(),
+                partition,
+                communityWeights
+            ))
+            .collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(config.concurrency(), tasks, terminationFlag, executorService);
+        communityWeights.release();
 
         return HugeGraphUtil.create(idMap, relationshipsBuilder.build(), tracker);
     }
@@ -247,6 +325,9 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
     @Override
     public void release() {
         this.rootGraph.releaseTopology();
+        if (refinedCommunities != null) {
+            this.refinedCommunities.release();
+        }
     }
 
     @Override
@@ -254,6 +335,65 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
         return this;
     }
 
+    /**
+     * Adds the relationships of a range of nodes as relationships between their communities.
+     * Relationships of a node to the same community are summed up before they are added to the local builder.
+     */
+    private static final class SummarizeTask implements Runnable {
+
+        private final RelationshipIterator relationshipIterator;
+        private final LongUnaryOperator communities;
+        private final IdMap idMap;
+        private final HugeGraphUtil.LocalRelationshipsBuilder relationshipsBuilder;
+        private final Partition partition;
+        private final SparseDoubleAccumulator.Pool accumulators;
+
+        SummarizeTask(
+            RelationshipIterator relationshipIterator,
+            LongUnaryOperator communities,
+            IdMap idMap,
+            HugeGraphUtil.LocalRelationshipsBuilder relationshipsBuilder,
+            Partition partition,
+            SparseDoubleAccumulator.Pool accumulators
+        ) {
+            this.relationshipIterator = relationshipIterator;
+            this.communities = communities;
+            this.idMap = idMap;
+            this.relationshipsBuilder = relationshipsBuilder;
+            this.partition = partition;
+            this.accumulators = accumulators;
+        }
+
+        @Override
+        public void run() {
+            // community ids can be arbitrary seed values, the weights are accumulated by the node id of the community in the summarized graph
+            SparseDoubleAccumulator communityWeights = accumulators.acquire();
+            RelationshipWithPropertyConsumer weightConsumer = (source, target, property) -> {
+                communityWeights.add(idMap.toMappedNodeId(communities.applyAsLong(target)), property);
+                return true;
+            };
+
+            long endNode = partition.startNode + partition.nodeCount;
+            for (long nodeId = partition.startNode; nodeId < endNode; nodeId++) {
+                long communityId = communities.applyAsLong(nodeId);
+
+                communityWeights.clear();
+                relationshipIterator.forEachRelationship(nodeId, 1.0, weightConsumer);
+
+                for (int i = 0; i < communityWeights.size(); i++) {
+                    long targetCommunity = communityWeights.key(i);
+                    relationshipsBuilder.add(
+                        communityId,
+                        idMap.toOriginalNodeId(targetCommunity),
+                        communityWeights.get(targetCommunity)
+                    );
+                }
+            }
+            relationshipsBuilder.flush();
+            accumulators.recycle(communityWeights);
+        }
+    }
+
     static class OriginalIdNodeProperties implements NodeProperties {
         private final Graph graph;
 
@@ -266,4 +406,23 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
             return graph.toOriginalNodeId(nodeId);
         }
     }
+
+    /**
+     * Seeds every node of a graph that has been summarized by refined communities
+     * with the unrefined community of its refined community.
+     */
+    static class RefinedCommunityNodeProperties implements NodeProperties {
+        private final Graph graph;
+        private final ModularityOptimization modularityOptimization;
+
+        RefinedCommunityNodeProperties(Graph graph, ModularityOptimization modularityOptimization) {
+            this.graph = graph;
+            this.modularityOptimization = modularityOptimization;
+        }
+
+        @Override
+        public double nodeProperty(long nodeId) {
+            return modularityOptimization.getCommunityId(graph.toOriginalNodeId(nodeId));
+        }
+    }
 }
@@ -51,7 +51,7 @@ public class LouvainFactory<CONFIG extends LouvainBaseConfig> extends AlgorithmF
 
     @Override
     public MemoryEstimation memoryEstimation(CONFIG config) {
-        return MemoryEstimations.builder(Louvain.class)
+        MemoryEstimations.Builder builder = MemoryEstimations.builder(Louvain.class)
             .add("modularityOptimization()", ModularityOptimizationFactory.MEMORY_ESTIMATION)
             .rangePerGraphDimension("subGraph", (graphDimensions, concurrency) -> {
                 // TODO: copy graphDimensions but keep only one node and rel property
@@ -65,7 +65,12 @@ public class LouvainFactory<CONFIG extends LouvainBaseConfig> extends AlgorithmF
             .rangePerNode("dendrograms", (nodeCount) -> MemoryRange.of(
                 HugeLongArray.memoryEstimation(nodeCount),
                 HugeLongArray.memoryEstimation(nodeCount) * config.maxLevels()
-            ))
-            .build();
+            ));
+        if (config.leiden()) {
+            builder
+                .add("leiden", ModularityOptimizationFactory.LEIDEN_MEMORY_ESTIMATION)
+                .perNode("refinedCommunities", HugeLongArray::memoryEstimation);
+        }
+        return builder.build();
     }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.louvain;
+
+import org.immutables.value.Value;
+import org.neo4j.graphalgo.annotation.Configuration;
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.config.MutateConfig;
+
+import java.util.Optional;
+
+@ValueClass
+@Configuration("LouvainMutateConfigImpl")
+@SuppressWarnings("immutables:subtype")
+public interface LouvainMutateConfig extends LouvainBaseConfig, MutateConfig {
+
+    static LouvainMutateConfig of(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper userInput
+    ) {
+        LouvainMutateConfig config = new LouvainMutateConfigImpl(
+            graphName,
+            maybeImplicitCreate,
+            username,
+            userInput
+        );
+        config.validateIntermediateCommunities();
+        return config;
+    }
+
+    @Value.Check
+    default void validateIntermediateCommunities() {
+        if (includeIntermediateCommunities()) {
+            throw new IllegalArgumentException(
+                "Intermediate communities cannot be stored as a node property of the in-memory graph."
+            );
+        }
+    }
+}
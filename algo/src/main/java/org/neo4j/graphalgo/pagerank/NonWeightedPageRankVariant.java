@@ -54,6 +54,14 @@ public class NonWeightedPageRankVariant implements PageRankVariant {
         return new NoOpDegreeComputer();
     }
 
+    @Override
+    public PullVariant pullVariant(Graph graph, DegreeCache degreeCache, long nodeCount) {
+        return nodeId -> {
+            int degree = graph.degree(nodeId);
+            return degree > 0 ? 1.0 / degree : 0.0;
+        };
+    }
+
     class NoOpDegreeComputer implements DegreeComputer {
         @Override
         public DegreeCache degree(
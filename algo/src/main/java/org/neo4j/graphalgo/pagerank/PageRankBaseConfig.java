@@ -56,13 +56,20 @@ public interface PageRankBaseConfig extends
         return false;
     }
 
+    // gathers scores along incoming relationships instead of using per-thread score buffers
+    @Value.Default
+    default boolean pullBased() {
+        return false;
+    }
+
     @Configuration.Ignore
     default PageRank.Config toOldConfig() {
         return new PageRank.Config(
             maxIterations(),
             dampingFactor(),
             tolerance(),
-            cacheWeights()
+            cacheWeights(),
+            pullBased()
         );
     }
 }
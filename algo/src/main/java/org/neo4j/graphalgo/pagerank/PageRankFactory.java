@@ -26,6 +26,7 @@ import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 import org.neo4j.graphalgo.core.utils.partition.Partition;
 import org.neo4j.logging.Log;
 
@@ -62,6 +63,16 @@ public class PageRankFactory<CONFIG extends PageRankBaseConfig> extends Algorith
 
     @Override
     public MemoryEstimation memoryEstimation(CONFIG config) {
+        // weighted PageRank falls back to the partition based computation for directed graphs
+        if (config.pullBased() && algorithmType != PageRankAlgorithmType.WEIGHTED) {
+            return MemoryEstimations.builder(PageRank.class)
+                .perNode("pageRank", HugeDoubleArray::memoryEstimation)
+                .perNode("deltas", HugeDoubleArray::memoryEstimation)
+                .perNode("contributions", HugeDoubleArray::memoryEstimation)
+                .add("incoming relationships", IncomingRelationships.memoryEstimation())
+                .build();
+        }
+
         return MemoryEstimations.builder(PageRank.class)
             .add(MemoryEstimations.setup("computeSteps", (dimensions, concurrency) -> {
                 // adjust concurrency, if necessary
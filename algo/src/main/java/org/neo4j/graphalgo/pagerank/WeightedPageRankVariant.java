@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.pagerank;
 
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 
 public class WeightedPageRankVariant implements PageRankVariant {
     private final boolean cacheWeights;
@@ -56,4 +57,26 @@ public class WeightedPageRankVariant implements PageRankVariant {
     public DegreeComputer degreeComputer(Graph graph) {
         return new WeightedDegreeComputer(graph, cacheWeights);
     }
+
+    @Override
+    public boolean weighted() {
+        return true;
+    }
+
+    @Override
+    public PullVariant pullVariant(Graph graph, DegreeCache degreeCache, long nodeCount) {
+        HugeDoubleArray aggregatedDegrees = degreeCache.aggregatedDegrees();
+        return new PullVariant() {
+            @Override
+            public double sourceFactor(long nodeId) {
+                double sumOfWeights = aggregatedDegrees.get(nodeId);
+                return sumOfWeights > 0 ? 1.0 / sumOfWeights : 0.0;
+            }
+
+            @Override
+            public boolean weighted() {
+                return true;
+            }
+        };
+    }
 }
@@ -19,6 +19,9 @@
  */
 package org.neo4j.graphalgo.wcc;
 
+import com.carrotsearch.hppc.LongIntHashMap;
+import com.carrotsearch.hppc.LongIntMap;
+import com.carrotsearch.hppc.cursors.LongIntCursor;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
@@ -31,10 +34,14 @@ import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.dss.DisjointSetStruct;
 import org.neo4j.graphalgo.core.utils.paged.dss.HugeAtomicDisjointSetStruct;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.List;
+import java.util.Random;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Parallel Union-Find Algorithm based on the
@@ -45,13 +52,17 @@ import java.util.concurrent.ExecutorService;
  */
 public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
 
+    // number of neighbours per node that are linked before sampling the largest component
+    static final int NEIGHBOR_ROUNDS = 2;
+    // number of nodes that are sampled to find the largest component
+    static final int SAMPLING_SIZE = 1024;
+
     private final WccBaseConfig config;
     private final NodeProperties initialComponents;
     private final ExecutorService executor;
     private final AllocationTracker tracker;
     private final long nodeCount;
-    private final long batchSize;
-    private final int threadSize;
+    private final int minBatchSize;
 
     private Graph graph;
 
@@ -77,23 +88,7 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
         this.executor = executor;
         this.tracker = tracker;
         this.nodeCount = graph.nodeCount();
-        this.batchSize = ParallelUtil.adjustedBatchSize(
-            nodeCount,
-            config.concurrency(),
-            minBatchSize,
-            Integer.MAX_VALUE
-        );
-
-        long threadSize = ParallelUtil.threadCount(batchSize, nodeCount);
-        if (threadSize > Integer.MAX_VALUE) {
-            throw new IllegalArgumentException(String.format(
-                "Too many nodes (%d) to run union find with the given concurrency (%d) and batchSize (%d)",
-                nodeCount,
-                config.concurrency(),
-                batchSize
-            ));
-        }
-        this.threadSize = (int) threadSize;
+        this.minBatchSize = minBatchSize;
     }
 
     public static double defaultWeight(double threshold) {
@@ -107,21 +102,82 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
     public DisjointSetStruct compute(double threshold) {
         long nodeCount = graph.nodeCount();
 
-        DisjointSetStruct dss = config.isIncremental()
+        HugeAtomicDisjointSetStruct dss = config.isIncremental()
             ? new HugeAtomicDisjointSetStruct(nodeCount, initialComponents, tracker, config.concurrency())
             : new HugeAtomicDisjointSetStruct(nodeCount, tracker, config.concurrency());
 
-        final Collection<Runnable> tasks = new ArrayList<>(threadSize);
-        for (long i = 0L; i < this.nodeCount; i += batchSize) {
+        List<Partition> partitions = PartitionUtils.degreeBalancedPartitioning(
+            graph,
+            config.concurrency(),
+            minBatchSize
+        );
+
+        if (config.sampling()) {
+            boolean filtersRelationships = !Double.isNaN(threshold) && graph.hasRelationshipProperty();
+            computeSampled(dss, partitions, filtersRelationships ? threshold : Double.NaN);
+            return dss;
+        }
+
+        final List<Runnable> tasks = new ArrayList<>(partitions.size());
+        for (Partition partition : partitions) {
             WCCTask wccTask = Double.isNaN(threshold)
-                ? new WCCTask(dss, i)
-                : new WCCWithThresholdTask(threshold, dss, i);
+                ? new WCCTask(dss, partition)
+                : new WCCWithThresholdTask(threshold, dss, partition);
             tasks.add(wccTask);
         }
-        ParallelUtil.run(tasks, executor);
+        ParallelUtil.runWithWorkStealing(config.concurrency(), tasks, terminationFlag, executor);
         return dss;
     }
 
+    /**
+     * Afforest-style computation, based on
+     * "Afforest: A Fast Concurrent Algorithm for Connected Components" by Sutton et al.
+     * <p>
+     * Every node is first linked with its first {@link #NEIGHBOR_ROUNDS} neighbours,
+     * which usually connects most of the nodes of the largest component.
+     * That component is then identified by sampling {@link #SAMPLING_SIZE} nodes.
+     * The remaining relationships are only processed for nodes outside of it.
+     * Only outgoing relationships are traversed, so that no inverse index has to be built.
+     * For directed graphs, relationships from the largest component into other components
+     * would be missed that way, so all nodes process their remaining relationships.
+     */
+    private void computeSampled(HugeAtomicDisjointSetStruct dss, List<Partition> partitions, double threshold) {
+        List<Runnable> linkTasks = new ArrayList<>(partitions.size());
+        for (Partition partition : partitions) {
+            linkTasks.add(new SampledLinkTask(dss, partition, threshold, true, -1L));
+        }
+        ParallelUtil.runWithWorkStealing(config.concurrency(), linkTasks, terminationFlag, executor);
+
+        long largestComponent = graph.isUndirected() ? sampleLargestComponent(dss) : -1L;
+
+        List<Runnable> finishTasks = new ArrayList<>(partitions.size());
+        for (Partition partition : partitions) {
+            finishTasks.add(new SampledLinkTask(dss, partition, threshold, false, largestComponent));
+        }
+        ParallelUtil.runWithWorkStealing(config.concurrency(), finishTasks, terminationFlag, executor);
+    }
+
+    private long sampleLargestComponent(HugeAtomicDisjointSetStruct dss) {
+        if (nodeCount == 0) {
+            return -1L;
+        }
+        LongIntMap sampleCounts = new LongIntHashMap(SAMPLING_SIZE);
+        Random random = ThreadLocalRandom.current();
+        for (int i = 0; i < SAMPLING_SIZE; i++) {
+            long node = (long) (random.nextDouble() * nodeCount);
+            sampleCounts.addTo(dss.find(node), 1);
+        }
+        long largestComponent = -1L;
+        int largestCount = 0;
+        for (LongIntCursor cursor : sampleCounts) {
+            if (cursor.value > largestCount) {
+                largestCount = cursor.value;
+                largestComponent = cursor.key;
+            }
+        }
+        return largestComponent;
+    }
+
     public double threshold() {
         return config.threshold();
     }
@@ -148,11 +204,11 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
         private final long offset;
         private final long end;
 
-        WCCTask(DisjointSetStruct struct, long offset) {
+        WCCTask(DisjointSetStruct struct, Partition partition) {
             this.struct = struct;
             this.rels = graph.concurrentCopy();
-            this.offset = offset;
-            this.end = Math.min(offset + batchSize, nodeCount);
+            this.offset = partition.startNode;
+            this.end = partition.startNode + partition.nodeCount;
         }
 
         @Override
@@ -177,12 +233,90 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
         }
     }
 
+    private final class SampledLinkTask implements Runnable, RelationshipConsumer, RelationshipWithPropertyConsumer {
+
+        private final HugeAtomicDisjointSetStruct struct;
+        private final RelationshipIterator rels;
+        private final long offset;
+        private final long end;
+        private final double threshold;
+        // true for the first phase that only links the first neighbours of every node
+        private final boolean linkNeighbors;
+        private final long skipComponent;
+
+        private int linkedNeighbors;
+
+        SampledLinkTask(
+            HugeAtomicDisjointSetStruct struct,
+            Partition partition,
+            double threshold,
+            boolean linkNeighbors,
+            long skipComponent
+        ) {
+            this.struct = struct;
+            this.rels = graph.concurrentCopy();
+            this.offset = partition.startNode;
+            this.end = partition.startNode + partition.nodeCount;
+            this.threshold = threshold;
+            this.linkNeighbors = linkNeighbors;
+            this.skipComponent = skipComponent;
+        }
+
+        @Override
+        public void run() {
+            for (long node = offset; node < end; node++) {
+                if (linkNeighbors || struct.find(node) != skipComponent) {
+                    compute(node);
+                }
+                if (node % RUN_CHECK_NODE_COUNT == 0) {
+                    assertRunning();
+                }
+            }
+            if (!linkNeighbors) {
+                getProgressLogger().logProgress((end - 1.0) / (nodeCount - 1.0));
+            }
+        }
+
+        private void compute(long node) {
+            linkedNeighbors = 0;
+            if (Double.isNaN(threshold)) {
+                rels.forEachRelationship(node, this);
+            } else {
+                rels.forEachRelationship(node, Wcc.defaultWeight(threshold), this);
+            }
+        }
+
+        @Override
+        public boolean accept(long sourceNodeId, long targetNodeId) {
+            return link(sourceNodeId, targetNodeId);
+        }
+
+        @Override
+        public boolean accept(long sourceNodeId, long targetNodeId, double property) {
+            return property <= threshold || link(sourceNodeId, targetNodeId);
+        }
+
+        private boolean link(long sourceNodeId, long targetNodeId) {
+            if (linkNeighbors) {
+                struct.union(sourceNodeId, targetNodeId);
+                return ++linkedNeighbors < NEIGHBOR_ROUNDS;
+            }
+            // the first neighbours have already been linked in the first phase
+            if (linkedNeighbors < NEIGHBOR_ROUNDS) {
+                linkedNeighbors++;
+            } else {
+                struct.union(sourceNodeId, targetNodeId);
+            }
+            return true;
+        }
+    }
+
     private class WCCWithThresholdTask extends WCCTask implements RelationshipWithPropertyConsumer {
 
         private final double threshold;
 
-        WCCWithThresholdTask(double threshold, DisjointSetStruct struct, long offset) {
-            super(struct, offset);
+        WCCWithThresholdTask(double threshold, DisjointSetStruct struct, Partition partition) {
+            super(struct, partition);
             this.threshold = threshold;
         }
 
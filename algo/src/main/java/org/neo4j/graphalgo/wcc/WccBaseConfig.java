@@ -37,6 +37,11 @@ public interface WccBaseConfig extends AlgoBaseConfig, SeedConfig, RelationshipW
         return 0D;
     }
 
+    @Value.Default
+    default boolean sampling() {
+        return false;
+    }
+
     @Configuration.Ignore
     default boolean isIncremental() {
         return seedProperty() != null;
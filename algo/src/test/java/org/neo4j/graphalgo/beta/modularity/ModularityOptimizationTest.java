@@ -291,9 +291,9 @@ class ModularityOptimizationTest extends AlgoTestBase {
 
     static Stream<Arguments> memoryEstimationTuples() {
         return Stream.of(
-            arguments(1, 5_614_088, 8_413_120),
-            arguments(4, 5_617_376, 14_413_384),
-            arguments(42, 5_659_024, 90_416_728)
+            arguments(1, 6_426_152, 8_025_680),
+            arguments(4, 8_865_584, 12_863_576),
+            arguments(42, 39_765_056, 74_143_592)
         );
     }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.graphalgo.TestGraph.Builder.fromGdl;
+
+class ArrayMessageQueuesTest {
+
+    private static final String GRAPH =
+        "(a), (b), (c)" +
+        ", (a)-->(c)" +
+        ", (b)-->(c)" +
+        ", (c)-->(a)";
+
+    private static final long A = 0L;
+    private static final long B = 1L;
+    private static final long C = 2L;
+
+    @Test
+    void shouldDeliverMessagesInNextSuperstep() {
+        ArrayMessageQueues queues = messageQueues(false);
+        MessageQueues.MessageIterator iterator = queues.newIterator();
+
+        queues.push(C, 42.0);
+        queues.push(C, 1337.0);
+        queues.push(A, 23.0);
+
+        iterator.init(C);
+        assertFalse(iterator.hasNext());
+        iterator.reset();
+
+        queues.swap();
+
+        assertEquals(listOf(42.0, 1337.0), messages(iterator, C));
+        assertEquals(listOf(23.0), messages(iterator, A));
+        assertEquals(listOf(), messages(iterator, B));
+
+        queues.swap();
+
+        assertEquals(listOf(), messages(iterator, C));
+        assertEquals(listOf(), messages(iterator, A));
+    }
+
+    @Test
+    void shouldReuseMessageSlotsAcrossSupersteps() {
+        ArrayMessageQueues queues = messageQueues(false);
+        MessageQueues.MessageIterator iterator = queues.newIterator();
+
+        for (int superstep = 0; superstep < 5; superstep++) {
+            queues.push(C, superstep);
+            queues.push(C, -superstep);
+            queues.swap();
+            assertEquals(listOf((double) superstep, (double) -superstep), messages(iterator, C));
+        }
+    }
+
+    @Test
+    void shouldFailIfMoreMessagesThanIncomingRelationshipsAreSent() {
+        ArrayMessageQueues queues = messageQueues(false);
+
+        queues.push(A, 1.0);
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> queues.push(A, 2.0));
+        assertEquals(
+            "Node 0 received more messages than it has incoming relationships within a single superstep.",
+            exception.getMessage()
+        );
+    }
+
+    @Test
+    void shouldDeliverMessagesOfCurrentSuperstepInAsynchronousMode() {
+        ArrayMessageQueues queues = messageQueues(true);
+        MessageQueues.MessageIterator iterator = queues.newIterator();
+
+        queues.push(C, 42.0);
+        assertEquals(listOf(42.0), messages(iterator, C));
+
+        queues.push(C, 1337.0);
+        queues.swap();
+
+        // 42.0 has already been received in the previous superstep
+        assertEquals(listOf(1337.0), messages(iterator, C));
+
+        queues.push(C, 23.0);
+        queues.swap();
+
+        assertEquals(listOf(23.0), messages(iterator, C));
+    }
+
+    private static ArrayMessageQueues messageQueues(boolean isAsynchronous) {
+        Graph graph = fromGdl(GRAPH);
+        return ArrayMessageQueues.of(
+            graph,
+            graph.batchIterables(1),
+            isAsynchronous,
+            1,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+    }
+
+    private static List<Double> messages(MessageQueues.MessageIterator iterator, long nodeId) {
+        List<Double> messages = new ArrayList<>();
+        iterator.init(nodeId);
+        while (iterator.hasNext()) {
+            messages.add(iterator.next());
+        }
+        iterator.reset();
+        return messages;
+    }
+
+    private static List<Double> listOf(double... values) {
+        List<Double> list = new ArrayList<>();
+        for (double value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+}
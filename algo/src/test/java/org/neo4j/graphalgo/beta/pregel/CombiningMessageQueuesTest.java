@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CombiningMessageQueuesTest {
+
+    @Test
+    void shouldCombineMessagesOfASuperstep() {
+        MessageQueues queues = messageQueues(MessageCombiner.SUM, false);
+        MessageQueues.MessageIterator iterator = queues.newIterator();
+
+        queues.push(0L, 42.0);
+        queues.push(0L, 1337.0);
+        queues.push(1L, 23.0);
+
+        assertEquals(listOf(), messages(iterator, 0L));
+
+        queues.swap();
+
+        assertEquals(listOf(1379.0), messages(iterator, 0L));
+        assertEquals(listOf(23.0), messages(iterator, 1L));
+        assertEquals(listOf(), messages(iterator, 2L));
+
+        queues.swap();
+
+        assertEquals(listOf(), messages(iterator, 0L));
+        assertEquals(listOf(), messages(iterator, 1L));
+    }
+
+    @Test
+    void shouldApplyMessageCombiner() {
+        MessageQueues queues = messageQueues(MessageCombiner.MIN, false);
+        MessageQueues.MessageIterator iterator = queues.newIterator();
+
+        queues.push(0L, 42.0);
+        queues.push(0L, -1337.0);
+        queues.push(0L, 23.0);
+        queues.swap();
+
+        assertEquals(listOf(-1337.0), messages(iterator, 0L));
+    }
+
+    @Test
+    void shouldDeliverMessagesOfCurrentSuperstepInAsynchronousMode() {
+        MessageQueues queues = messageQueues(MessageCombiner.MAX, true);
+        MessageQueues.MessageIterator iterator = queues.newIterator();
+
+        queues.push(0L, 42.0);
+        assertEquals(listOf(42.0), messages(iterator, 0L));
+
+        queues.push(0L, 1337.0);
+        queues.push(0L, 23.0);
+        queues.swap();
+        queues.push(0L, 84.0);
+
+        // 42.0 has already been received in the previous superstep
+        assertEquals(listOf(1337.0, 84.0), messages(iterator, 0L));
+
+        queues.swap();
+
+        assertEquals(listOf(), messages(iterator, 0L));
+    }
+
+    private static MessageQueues messageQueues(MessageCombiner combiner, boolean isAsynchronous) {
+        return CombiningMessageQueues.of(3L, combiner, isAsynchronous, 1, AllocationTracker.EMPTY);
+    }
+
+    private static List<Double> messages(MessageQueues.MessageIterator iterator, long nodeId) {
+        List<Double> messages = new ArrayList<>();
+        iterator.init(nodeId);
+        while (iterator.hasNext()) {
+            messages.add(iterator.next());
+        }
+        iterator.reset();
+        return messages;
+    }
+
+    private static List<Double> listOf(double... values) {
+        List<Double> list = new ArrayList<>();
+        for (double value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.collection.primitive.PrimitiveLongIterable;
+import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrontierTest {
+
+    private static final long NODE_COUNT = 1000L;
+    private static final int BATCH_SIZE = 10;
+
+    @Test
+    void shouldActivateAllNodesInitially() {
+        Frontier frontier = newFrontier();
+        frontier.activateAll();
+
+        List<Long> activeNodes = activeNodes(frontier.nodeBatches());
+        assertEquals(NODE_COUNT, activeNodes.size());
+        for (long nodeId = 0; nodeId < NODE_COUNT; nodeId++) {
+            assertEquals(nodeId, (long) activeNodes.get((int) nodeId));
+        }
+    }
+
+    @Test
+    void shouldOnlyIterateActivatedNodes() {
+        Frontier frontier = newFrontier();
+        frontier.activateAll();
+        activeNodes(frontier.nodeBatches());
+
+        Frontier.Activations activations1 = frontier.newActivations();
+        Frontier.Activations activations2 = frontier.newActivations();
+        activations1.activate(42L);
+        activations1.activate(1L);
+        activations2.activate(42L);
+        activations2.activate(999L);
+        activations1.close();
+        activations2.close();
+
+        frontier.advance(Arrays.asList(activations1, activations2));
+
+        Collection<PrimitiveLongIterable> nodeBatches = frontier.nodeBatches();
+        // sparse frontier, only activated nodes are part of a batch
+        assertTrue(nodeBatches.size() <= 2);
+        List<Long> activeNodes = activeNodes(nodeBatches);
+        Collections.sort(activeNodes);
+        assertEquals(Arrays.asList(1L, 42L, 999L), activeNodes);
+
+        frontier.advance(Collections.singletonList(frontier.newActivations()));
+        assertEquals(Collections.emptyList(), activeNodes(frontier.nodeBatches()));
+    }
+
+    @Test
+    void shouldFallBackToDenseIterationForLargeFrontiers() {
+        Frontier frontier = newFrontier();
+        frontier.activateAll();
+        activeNodes(frontier.nodeBatches());
+
+        Frontier.Activations activations = frontier.newActivations();
+        for (long nodeId = NODE_COUNT - 1; nodeId >= 0; nodeId -= 2) {
+            activations.activate(nodeId);
+        }
+        activations.close();
+
+        frontier.advance(Collections.singletonList(activations));
+
+        Collection<PrimitiveLongIterable> nodeBatches = frontier.nodeBatches();
+        assertEquals(NODE_COUNT / BATCH_SIZE, nodeBatches.size());
+        List<Long> activeNodes = activeNodes(nodeBatches);
+        assertEquals(NODE_COUNT / 2, activeNodes.size());
+        for (int i = 0; i < activeNodes.size(); i++) {
+            assertEquals(2L * i + 1, (long) activeNodes.get(i));
+        }
+    }
+
+    private static Frontier newFrontier() {
+        List<Partition> partitions = new ArrayList<>();
+        for (long start = 0; start < NODE_COUNT; start += BATCH_SIZE) {
+            partitions.add(new Partition(start, Math.min(BATCH_SIZE, NODE_COUNT - start)));
+        }
+        return new Frontier(NODE_COUNT, partitions, BATCH_SIZE, AllocationTracker.EMPTY);
+    }
+
+    private static List<Long> activeNodes(Collection<PrimitiveLongIterable> nodeBatches) {
+        List<Long> nodes = new ArrayList<>();
+        for (PrimitiveLongIterable nodeBatch : nodeBatches) {
+            PrimitiveLongIterator iterator = nodeBatch.iterator();
+            while (iterator.hasNext()) {
+                nodes.add(iterator.next());
+            }
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.write.NodePropertyExporter;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.graphalgo.TestGraph.Builder.fromGdl;
+
+class NodeValuesTest {
+
+    private static final String GRAPH =
+        "(a), (b), (c), (d)" +
+        ", (a)-->(b)" +
+        ", (a)-->(c)" +
+        ", (b)-->(c)";
+
+    private static final NodeSchema SCHEMA = NodeSchema.builder()
+        .putLong("degree")
+        .putDouble("half")
+        .putLongArray("senders")
+        .putDoubleArray("received")
+        .build();
+
+    @Test
+    void shouldStoreTypedNodeValues() {
+        Graph graph = fromGdl(GRAPH);
+
+        PregelConfig config = new PregelConfig.Builder()
+            .withInitialNodeValue(42.0)
+            .withNodeSchema(SCHEMA)
+            .build();
+
+        Pregel pregelJob = Pregel.withDefaultNodeValues(
+            graph,
+            config,
+            new SchemaComputation(),
+            10,
+            1,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+
+        HugeDoubleArray defaultValues = pregelJob.run(10);
+        NodeValues nodeValues = pregelJob.nodeValues();
+
+        HugeLongArray degrees = nodeValues.longProperties("degree");
+        HugeDoubleArray halves = nodeValues.doubleProperties("half");
+        HugeObjectArray<long[]> senders = nodeValues.longArrayProperties("senders");
+        HugeObjectArray<double[]> received = nodeValues.doubleArrayProperties("received");
+
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            assertEquals(42.0, defaultValues.get(nodeId));
+            assertEquals(graph.degree(nodeId), degrees.get(nodeId));
+            assertEquals(nodeId / 2.0, halves.get(nodeId));
+        }
+
+        assertNull(senders.get(0L));
+        assertArrayEquals(new long[]{0L}, senders.get(1L));
+        assertArrayEquals(new long[]{0L, 1L}, senders.get(2L));
+        assertNull(senders.get(3L));
+
+        assertNull(received.get(0L));
+        assertArrayEquals(new double[]{0.0}, received.get(1L));
+        assertArrayEquals(new double[]{0.0, 1.0}, received.get(2L));
+        assertNull(received.get(3L));
+    }
+
+    @Test
+    void shouldFailOnTypeMismatch() {
+        NodeValues nodeValues = NodeValues.of(SCHEMA, 4, AllocationTracker.EMPTY);
+        assertThrows(IllegalArgumentException.class, () -> nodeValues.doubleProperties("degree"));
+        assertThrows(IllegalArgumentException.class, () -> nodeValues.longProperties("unknown"));
+    }
+
+    @Test
+    void shouldFailOnDuplicateKey() {
+        assertThrows(IllegalArgumentException.class, () -> NodeSchema.builder().putLong(NodeSchema.DEFAULT_KEY));
+    }
+
+    @Test
+    void shouldMapColumnsToNodeProperties() {
+        NodeValues nodeValues = NodeValues.of(SCHEMA, 4, AllocationTracker.EMPTY);
+        Map<String, String> propertyKeys = new LinkedHashMap<>();
+        propertyKeys.put("degree", "outDegree");
+        propertyKeys.put("senders", "senderIds");
+
+        List<NodePropertyExporter.NodeProperty<?>> properties = nodeValues.nodeProperties(propertyKeys);
+
+        assertEquals(2, properties.size());
+        assertEquals("outDegree", properties.get(0).propertyKey());
+        assertEquals("senderIds", properties.get(1).propertyKey());
+    }
+
+    private static class SchemaComputation implements PregelComputation {
+
+        @Override
+        public void compute(PregelContext context, long nodeId, Messages messages) {
+            if (context.isInitialSuperStep()) {
+                context.setLongNodeValue("degree", nodeId, context.getDegree(nodeId));
+                context.setDoubleNodeValue("half", nodeId, nodeId / 2.0);
+                context.sendMessages(nodeId, nodeId);
+            } else {
+                double[] received = new double[0];
+                while (messages.hasNext()) {
+                    received = Arrays.copyOf(received, received.length + 1);
+                    received[received.length - 1] = messages.next();
+                }
+                Arrays.sort(received);
+                context.setDoubleArrayNodeValue("received", nodeId, received);
+                context.setLongArrayNodeValue("senders", nodeId, Arrays.stream(received).mapToLong(d -> (long) d).toArray());
+            }
+            context.voteToHalt(nodeId);
+        }
+    }
+}
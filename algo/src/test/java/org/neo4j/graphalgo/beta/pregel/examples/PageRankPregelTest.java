@@ -26,6 +26,7 @@ import org.neo4j.graphalgo.AlgoTestBase;
 import org.neo4j.graphalgo.StoreLoaderBuilder;
 import org.neo4j.graphalgo.TestDatabaseCreator;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.pregel.MessageCombiner;
 import org.neo4j.graphalgo.beta.pregel.Pregel;
 import org.neo4j.graphalgo.beta.pregel.PregelConfig;
 import org.neo4j.graphalgo.config.AlgoBaseConfig;
@@ -96,15 +97,30 @@ class PageRankPregelTest extends AlgoTestBase {
 
     @Test
     void runPR() {
-        int batchSize = 10;
-        int maxIterations = 10;
-        float dampingFactor = 0.85f;
+        PregelConfig config = new PregelConfig.Builder()
+            .withInitialNodeValue(1.0 / graph.nodeCount())
+            .isAsynchronous(false)
+            .build();
+
+        assertPageRanks(config);
+    }
 
+    @Test
+    void runPRWithMessageCombiner() {
         PregelConfig config = new PregelConfig.Builder()
             .withInitialNodeValue(1.0 / graph.nodeCount())
             .isAsynchronous(false)
+            .withMessageCombiner(MessageCombiner.SUM)
             .build();
 
+        assertPageRanks(config);
+    }
+
+    private void assertPageRanks(PregelConfig config) {
+        int batchSize = 10;
+        int maxIterations = 10;
+        float dampingFactor = 0.85f;
+
         Pregel pregelJob = Pregel.withDefaultNodeValues(
             graph,
             config,
@@ -26,6 +26,7 @@ import org.neo4j.graphalgo.AlgoTestBase;
 import org.neo4j.graphalgo.StoreLoaderBuilder;
 import org.neo4j.graphalgo.TestDatabaseCreator;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.pregel.MessageCombiner;
 import org.neo4j.graphalgo.beta.pregel.Pregel;
 import org.neo4j.graphalgo.beta.pregel.PregelConfig;
 import org.neo4j.graphalgo.config.AlgoBaseConfig;
@@ -88,13 +89,27 @@ class SingleSourceShortestPathPregelTest extends AlgoTestBase {
 
     @Test
     void runSSSP() {
-        int batchSize = 10;
-        int maxIterations = 10;
+        PregelConfig config = new PregelConfig.Builder()
+            .isAsynchronous(true)
+            .build();
+
+        assertShortestPaths(config);
+    }
 
+    @Test
+    void runSSSPWithMessageCombiner() {
         PregelConfig config = new PregelConfig.Builder()
             .isAsynchronous(true)
+            .withMessageCombiner(MessageCombiner.MIN)
             .build();
 
+        assertShortestPaths(config);
+    }
+
+    private void assertShortestPaths(PregelConfig config) {
+        int batchSize = 10;
+        int maxIterations = 10;
+
         Pregel pregelJob = Pregel.withDefaultNodeValues(
             graph,
             config,
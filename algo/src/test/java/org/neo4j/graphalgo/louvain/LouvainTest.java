@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.louvain;
 
+import com.carrotsearch.hppc.BitSet;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -52,7 +53,9 @@ import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.logging.NullLog;
 
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -244,6 +247,101 @@ class LouvainTest extends AlgoTestBase {
         assertEquals(0.38, modularities[modularities.length - 1], 0.01);
     }
 
+    @AllGraphTypesTest
+    void leidenLouvainProducesConnectedCommunities(Class<? extends GraphStoreFactory> graphImpl) {
+        Graph graph = loadGraph(graphImpl, DB_CYPHER, false);
+
+        Louvain algorithm = new Louvain(
+            graph,
+            defaultConfigBuilder().leiden(true).build(),
+            Pools.DEFAULT,
+            NullLog.getInstance(),
+            AllocationTracker.EMPTY
+        ).withProgressLogger(TestProgressLogger.INSTANCE).withTerminationFlag(TerminationFlag.RUNNING_TRUE);
+
+        algorithm.compute();
+
+        HugeLongArray communities = algorithm.finalDendrogram();
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            long community = communities.get(nodeId);
+            long communitySize = 0;
+            for (long other = 0; other < graph.nodeCount(); other++) {
+                if (communities.get(other) == community) {
+                    communitySize++;
+                }
+            }
+            assertEquals(communitySize, reachableWithinCommunity(graph, communities, nodeId));
+        }
+
+        double[] modularities = algorithm.modularities();
+        assertEquals(0.38, modularities[modularities.length - 1], 0.02);
+    }
+
+    @AllGraphTypesTest
+    void leidenLouvainSplitsDisconnectedCommunities(Class<? extends GraphStoreFactory> graphImpl) {
+        assumeFalse(graphImpl == CypherFactory.class);
+
+        // two triangles that are seeded into the same community, which local moving cannot split
+        Graph graph = loadGraph(
+            graphImpl,
+            "CREATE" +
+            "  (a:Node {seed: 1})" +
+            ", (b:Node {seed: 1})" +
+            ", (c:Node {seed: 1})" +
+            ", (d:Node {seed: 1})" +
+            ", (e:Node {seed: 1})" +
+            ", (f:Node {seed: 1})" +
+            ", (a)-[:TYPE]->(b)" +
+            ", (b)-[:TYPE]->(c)" +
+            ", (c)-[:TYPE]->(a)" +
+            ", (d)-[:TYPE]->(e)" +
+            ", (e)-[:TYPE]->(f)" +
+            ", (f)-[:TYPE]->(d)",
+            "seed"
+        );
+
+        Louvain louvain = new Louvain(
+            graph,
+            defaultConfigBuilder().seedProperty("seed").build(),
+            Pools.DEFAULT,
+            NullLog.getInstance(),
+            AllocationTracker.EMPTY
+        ).withProgressLogger(TestProgressLogger.INSTANCE).withTerminationFlag(TerminationFlag.RUNNING_TRUE);
+        louvain.compute();
+
+        assertCommunities(louvain.finalDendrogram(), new long[]{0L, 1L, 2L, 3L, 4L, 5L});
+
+        Louvain leiden = new Louvain(
+            graph,
+            defaultConfigBuilder().seedProperty("seed").leiden(true).build(),
+            Pools.DEFAULT,
+            NullLog.getInstance(),
+            AllocationTracker.EMPTY
+        ).withProgressLogger(TestProgressLogger.INSTANCE).withTerminationFlag(TerminationFlag.RUNNING_TRUE);
+        leiden.compute();
+
+        assertCommunities(leiden.finalDendrogram(), new long[]{0L, 1L, 2L}, new long[]{3L, 4L, 5L});
+        double[] modularities = leiden.modularities();
+        assertEquals(0.5, modularities[modularities.length - 1], 0.01);
+    }
+
+    private static long reachableWithinCommunity(Graph graph, HugeLongArray communities, long startNode) {
+        long community = communities.get(startNode);
+        BitSet visited = new BitSet(graph.nodeCount());
+        Deque<Long> queue = new ArrayDeque<>();
+        visited.set(startNode);
+        queue.add(startNode);
+        while (!queue.isEmpty()) {
+            graph.forEachRelationship(queue.poll(), (source, target) -> {
+                if (communities.get(target) == community && !visited.getAndSet(target)) {
+                    queue.add(target);
+                }
+                return true;
+            });
+        }
+        return visited.cardinality();
+    }
+
     @AllGraphTypesTest
     void testTolerance(Class<? extends GraphStoreFactory> graphImpl) {
         Graph graph = loadGraph(graphImpl, DB_CYPHER);
@@ -358,12 +456,12 @@ class LouvainTest extends AlgoTestBase {
 
     static Stream<Arguments> memoryEstimationTuples() {
         return Stream.of(
-            arguments(1, 1, 6414185, 13585992),
-            arguments(1, 10, 6414185, 20786352),
-            arguments(4, 1, 6417473, 19488312),
-            arguments(4, 10, 6417473, 26688672),
-            arguments(42, 1, 6459121, 95476728),
-            arguments(42, 10, 6459121, 102677088)
+            arguments(1, 1, 7226257, 13198568),
+            arguments(1, 10, 7226257, 20398928),
+            arguments(4, 1, 9665689, 17938520),
+            arguments(4, 10, 9665689, 25138880),
+            arguments(42, 1, 40565161, 79203608),
+            arguments(42, 10, 40565161, 86403968)
         );
     }
 
@@ -22,6 +22,8 @@ package org.neo4j.graphalgo.pagerank;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.neo4j.graphalgo.AlgoTestBase;
 import org.neo4j.graphalgo.CypherLoaderBuilder;
 import org.neo4j.graphalgo.Orientation;
@@ -32,10 +34,14 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.GraphStoreFactory;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.loading.CypherFactory;
+import org.neo4j.graphalgo.core.loading.InverseAdjacencyBuilder;
+import org.neo4j.graphalgo.core.loading.NativeFactory;
 import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 import org.neo4j.graphalgo.results.CentralityResult;
 import org.neo4j.graphdb.Label;
 
@@ -48,6 +54,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.applyInTransaction;
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.findNode;
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.runInTransaction;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
 
 final class PageRankTest extends AlgoTestBase {
 
@@ -272,6 +279,53 @@ final class PageRankTest extends AlgoTestBase {
         // should not throw
     }
 
+    @ParameterizedTest
+    @EnumSource(Orientation.class)
+    void pullBasedShouldMatchPartitionBased(Orientation orientation) {
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel(LABEL.name())
+            .addRelationshipType(RELATIONSHIP_TYPE)
+            .globalOrientation(orientation)
+            .build()
+            .graph(NativeFactory.class);
+
+        CentralityResult expected = PageRankAlgorithmType.NON_WEIGHTED
+            .create(graph, DEFAULT_CONFIG, LongStream.empty())
+            .compute()
+            .result();
+
+        PageRank.Config pullConfig = defaultConfigBuilder().pullBased(true).build().toOldConfig();
+        PageRank pullPageRank = PageRankAlgorithmType.NON_WEIGHTED
+            .create(graph, LongStream.empty(), pullConfig, 4, Pools.DEFAULT, 2, AllocationTracker.EMPTY)
+            .compute();
+        CentralityResult actual = pullPageRank.result();
+
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            assertEquals(expected.score(nodeId), actual.score(nodeId), 1e-4, "Node#" + nodeId);
+        }
+        pullPageRank.release();
+    }
+
+    @Test
+    void shouldComputePullBasedMemoryEstimation() {
+        long nodeCount = 100_000L;
+        long relationshipCount = 500_000L;
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(nodeCount)
+            .maxRelCount(relationshipCount)
+            .build();
+
+        MemoryRange actual = new PageRankFactory<>(PageRankAlgorithmType.NON_WEIGHTED)
+            .memoryEstimation(defaultConfigBuilder().pullBased(true).build())
+            .estimate(dimensions, 42)
+            .memoryUsage();
+
+        long pageRank = sizeOfInstance(PageRank.class) + 3 * HugeDoubleArray.memoryEstimation(nodeCount);
+        MemoryRange inverse = InverseAdjacencyBuilder.memoryEstimation().estimate(dimensions, 42).memoryUsage();
+        assertEquals(inverse.add(MemoryRange.of(pageRank)), actual);
+    }
+
     @Test
     void shouldComputeMemoryEstimation1Thread() {
         long nodeCount = 100_000L;
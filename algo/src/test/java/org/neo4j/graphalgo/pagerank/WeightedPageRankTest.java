@@ -290,6 +290,25 @@ final class WeightedPageRankTest extends AlgoTestBase {
 
     @AllGraphTypesTest
     void higherWeightsLeadToHigherPageRank(Class<? extends GraphStoreFactory> graphStoreFactory) {
+        assertHigherWeightsLeadToHigherPageRank(graphStoreFactory, DEFAULT_CONFIG);
+    }
+
+    @AllGraphTypesTest
+    void higherWeightsLeadToHigherPullBasedPageRank(Class<? extends GraphStoreFactory> graphStoreFactory) {
+        PageRank.Config config = new PageRank.Config(
+            DEFAULT_CONFIG.iterations,
+            DEFAULT_CONFIG.dampingFactor,
+            DEFAULT_CONFIG.toleranceValue,
+            false,
+            true
+        );
+        assertHigherWeightsLeadToHigherPageRank(graphStoreFactory, config);
+    }
+
+    private void assertHigherWeightsLeadToHigherPageRank(
+        Class<? extends GraphStoreFactory> graphStoreFactory,
+        PageRank.Config config
+    ) {
         final Label label = Label.label("Label1");
         final Map<Long, Double> expected = new HashMap<>();
 
@@ -328,7 +347,7 @@ final class WeightedPageRankTest extends AlgoTestBase {
         }
 
         final CentralityResult rankResult = PageRankAlgorithmType.WEIGHTED
-                .create(graph, DEFAULT_CONFIG, LongStream.empty())
+                .create(graph, config, LongStream.empty())
                 .compute()
                 .result();
 
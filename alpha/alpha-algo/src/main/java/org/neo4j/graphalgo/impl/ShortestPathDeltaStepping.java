@@ -24,17 +24,16 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.container.Buckets;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
 
 import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicIntegerArray;
-import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
-import static org.neo4j.graphalgo.core.heavyweight.Converters.longToIntConsumer;
-
 /**
  * parallel non-negative single source shortest path algorithm
  * <p>
@@ -53,7 +52,7 @@ import static org.neo4j.graphalgo.core.heavyweight.Converters.longToIntConsumer;
 public class ShortestPathDeltaStepping extends Algorithm<ShortestPathDeltaStepping, ShortestPathDeltaStepping> {
 
     // distance array
-    private AtomicIntegerArray distance;
+    private HugeAtomicDoubleArray distance;
     // bucket impl
     private Buckets buckets;
     private Graph graph;
@@ -65,23 +64,21 @@ public class ShortestPathDeltaStepping extends Algorithm<ShortestPathDeltaSteppi
     private final long startNode;
     // delta parameter
     private final double delta;
-    private final int nodeCount;
-    // scaled delta
-    private int iDelta;
+    private final long nodeCount;
 
     private ExecutorService executorService;
 
-    // multiplier used to scale an double to int
-    private double multiplier = 100_000D; // double type is intended
-
     public ShortestPathDeltaStepping(Graph graph, long startNode, double delta) {
+        this(graph, startNode, delta, AllocationTracker.EMPTY);
+    }
+
+    public ShortestPathDeltaStepping(Graph graph, long startNode, double delta, AllocationTracker tracker) {
         this.graph = graph;
         this.startNode = startNode;
         this.delta = delta;
-        this.iDelta = (int) (multiplier * delta);
-        nodeCount = Math.toIntExact(graph.nodeCount());
-        distance = new AtomicIntegerArray(nodeCount);
-        buckets = new Buckets(nodeCount);
+        nodeCount = graph.nodeCount();
+        distance = HugeAtomicDoubleArray.newArray(nodeCount, tracker);
+        buckets = new Buckets(nodeCount, tracker);
         heavy = new ArrayDeque<>(1024);
         light = new ArrayDeque<>(1024);
         futures = new ArrayDeque<>(128);
@@ -98,31 +95,16 @@ public class ShortestPathDeltaStepping extends Algorithm<ShortestPathDeltaSteppi
         return this;
     }
 
-    /**
-     * set the multiplier used to scale up double weights to integers
-     *
-     * @param multiplier the multiplier
-     * @return itself for method chaining
-     */
-    public ShortestPathDeltaStepping withMultiplier(int multiplier) {
-        if (multiplier < 1) {
-            throw new IllegalArgumentException("multiplier must be >= 1");
-        }
-        this.multiplier = multiplier;
-        this.iDelta = (int) (multiplier * delta);
-        return this;
-    }
-
     @Override
     public ShortestPathDeltaStepping compute() {
         // reset
-        for (int i = 0; i < nodeCount; i++) {
-            distance.set(i, Integer.MAX_VALUE);
+        for (long i = 0; i < nodeCount; i++) {
+            distance.set(i, Double.POSITIVE_INFINITY);
         }
         buckets.reset();
 
         // basically assign start node to bucket 0
-        relax(Math.toIntExact(graph.toMappedNodeId(startNode)), 0);
+        relax(graph.toMappedNodeId(startNode), 0.0D);
 
         // as long as the bucket contains any value
         while (!buckets.isEmpty() && running()) {
@@ -131,20 +113,20 @@ public class ShortestPathDeltaStepping extends Algorithm<ShortestPathDeltaSteppi
             heavy.clear();
 
             // get next bucket index
-            final int phase = buckets.nextNonEmptyBucket();
+            final long phase = buckets.nextNonEmptyBucket();
 
             // for each node in bucket
             buckets.forEachInBucket(phase, node -> {
                 // relax each outgoing light edge
-                RelationshipWithPropertyConsumer relationshipConsumer = longToIntConsumer((sourceNodeId, targetNodeId, cost) -> {
-                    final int iCost = (int) (cost * multiplier + distance.get(sourceNodeId));
+                RelationshipWithPropertyConsumer relationshipConsumer = (sourceNodeId, targetNodeId, cost) -> {
+                    final double costSum = cost + distance.get(sourceNodeId);
                     if (cost <= delta) { // determine if light or heavy edge
-                        light.add(() -> relax(targetNodeId, iCost));
+                        light.add(() -> relax(targetNodeId, costSum));
                     } else {
-                        heavy.add(() -> relax(targetNodeId, iCost));
+                        heavy.add(() -> relax(targetNodeId, costSum));
                     }
                     return true;
-                });
+                };
 
                 graph.forEachRelationship(node, 0.0D, relationshipConsumer);
                 return true;
@@ -155,17 +137,6 @@ public class ShortestPathDeltaStepping extends Algorithm<ShortestPathDeltaSteppi
         return this;
     }
 
-    /**
-     * get downscaled sum of distance
-     *
-     * @param nodeId the mapped node-id
-     * @return the overall distance from source to nodeId
-     */
-    private double get(int nodeId) {
-        int distance = this.distance.get(nodeId);
-        return distance == Integer.MAX_VALUE ? Double.POSITIVE_INFINITY : distance / multiplier;
-    }
-
     /**
      * compare and set. tries to store the new calculated costs
      * as long as no other thread has already written a value
@@ -175,15 +146,16 @@ public class ShortestPathDeltaStepping extends Algorithm<ShortestPathDeltaSteppi
      *
      * @param nodeId
      * @param cost
+     * @return true if the cost has been stored
      */
-    private void cas(int nodeId, int cost) {
-        boolean stored = false;
-        while (!stored) {
-            int oldC = distance.get(nodeId);
-            if (cost < oldC) {
-                stored = distance.compareAndSet(nodeId, oldC, cost);
-            } else {
-                break;
+    private boolean cas(long nodeId, double cost) {
+        while (true) {
+            double oldC = distance.get(nodeId);
+            if (cost >= oldC) {
+                return false;
+            }
+            if (distance.compareAndSet(nodeId, oldC, cost)) {
+                return true;
             }
         }
     }
@@ -196,26 +168,17 @@ public class ShortestPathDeltaStepping extends Algorithm<ShortestPathDeltaSteppi
      * @param nodeId node id
      * @param cost   the summed cost
      */
-    private void relax(int nodeId, int cost) {
-        if (cost >= distance.get(nodeId)) {
-            return;
+    private void relax(long nodeId, double cost) {
+        if (cas(nodeId, cost)) {
+            buckets.set(nodeId, (long) (cost / delta)); // calculate bucket index
         }
-        int bucketIndex = (cost / iDelta); // calculate bucket index
-        buckets.set(nodeId, bucketIndex);
-        cas(nodeId, cost);
     }
 
     /**
-     * scale down integer representation to double[]
-     *
-     * @return mapped-id to costSum array
+     * @return mapped-id to costSum array, unreachable nodes have a cost of {@link Double#POSITIVE_INFINITY}
      */
-    public double[] getShortestPaths() {
-        double[] d = new double[nodeCount];
-        for (int i = nodeCount - 1; i >= 0; i--) {
-            d[i] = get(i);
-        }
-        return d;
+    public HugeAtomicDoubleArray getShortestPaths() {
+        return distance;
     }
 
     /**
@@ -224,9 +187,9 @@ public class ShortestPathDeltaStepping extends Algorithm<ShortestPathDeltaSteppi
      * @return Stream of results containing neo4j-NodeId and Sum of Costs of the shortest path
      */
     public Stream<DeltaSteppingResult> resultStream() {
-        return IntStream.range(0, nodeCount)
+        return LongStream.range(0, nodeCount)
                 .mapToObj(node ->
-                        new DeltaSteppingResult(graph.toOriginalNodeId(node), get(node)));
+                        new DeltaSteppingResult(graph.toOriginalNodeId(node), distance.get(node)));
     }
 
     @Override
@@ -21,22 +21,17 @@ package org.neo4j.graphalgo.impl.shortestpaths;
 
 import com.carrotsearch.hppc.BitSet;
 import com.carrotsearch.hppc.DoubleArrayDeque;
-import com.carrotsearch.hppc.IntArrayDeque;
-import com.carrotsearch.hppc.IntDoubleMap;
-import com.carrotsearch.hppc.IntDoubleScatterMap;
-import com.carrotsearch.hppc.IntIntMap;
-import com.carrotsearch.hppc.IntIntScatterMap;
+import com.carrotsearch.hppc.LongArrayDeque;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
-import org.neo4j.graphalgo.core.utils.queue.IntPriorityQueue;
-import org.neo4j.graphalgo.core.utils.queue.SharedIntPriorityQueue;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.queue.HugeLongPriorityQueue;
 
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
-import static org.neo4j.graphalgo.core.heavyweight.Converters.longToIntConsumer;
-
 /**
  * Dijkstra single source - single target shortest path algorithm
  * <p>
@@ -46,41 +41,41 @@ import static org.neo4j.graphalgo.core.heavyweight.Converters.longToIntConsumer;
  */
 public class ShortestPathDijkstra extends Algorithm<ShortestPathDijkstra, ShortestPathDijkstra> {
 
-    private static final int PATH_END = -1;
+    private static final long PATH_END = -1L;
     public static final double NO_PATH_FOUND = -1.0;
     public static final int UNUSED = 42;
 
     private Graph graph;
 
-    // node to cost map
-    private IntDoubleMap costs;
-    // next node priority queue
-    private IntPriorityQueue queue;
+    // next node priority queue, also holds the costs of all reached nodes
+    private HugeLongPriorityQueue queue;
     // auxiliary path map
-    private IntIntMap path;
+    private HugeLongArray path;
     // path map (stores the resulting shortest path)
-    private IntArrayDeque finalPath;
+    private LongArrayDeque finalPath;
     private DoubleArrayDeque finalPathCosts;
     // visited set
     private BitSet visited;
-    private final int nodeCount;
+    private final long nodeCount;
     private final DijkstraConfig config;
+    private final AllocationTracker tracker;
     // overall cost of the path
     private double totalCost;
     private ProgressLogger progressLogger;
 
     public ShortestPathDijkstra(Graph graph, DijkstraConfig config) {
+        this(graph, config, AllocationTracker.EMPTY);
+    }
+
+    public ShortestPathDijkstra(Graph graph, DijkstraConfig config, AllocationTracker tracker) {
         this.graph = graph;
-        this.nodeCount = Math.toIntExact(graph.nodeCount());
+        this.nodeCount = graph.nodeCount();
         this.config = config;
-        this.costs = new IntDoubleScatterMap();
-        this.queue = SharedIntPriorityQueue.min(
-                IntPriorityQueue.DEFAULT_CAPACITY,
-                costs,
-                Double.MAX_VALUE);
-        this.path = new IntIntScatterMap();
-        this.visited = new BitSet();
-        this.finalPath = new IntArrayDeque();
+        this.tracker = tracker;
+        this.queue = HugeLongPriorityQueue.min(nodeCount, tracker);
+        this.path = HugeLongArray.newArray(nodeCount, tracker);
+        this.visited = new BitSet(nodeCount);
+        this.finalPath = new LongArrayDeque();
         this.finalPathCosts = new DoubleArrayDeque();
         this.progressLogger = getProgressLogger();
     }
@@ -92,25 +87,21 @@ public class ShortestPathDijkstra extends Algorithm<ShortestPathDijkstra, Shorte
     public ShortestPathDijkstra compute(long startNode, long goalNode) {
         reset();
 
-        int node = Math.toIntExact(graph.toMappedNodeId(startNode));
-        int goal = Math.toIntExact(graph.toMappedNodeId(goalNode));
-        costs.put(node, 0.0);
+        long node = graph.toMappedNodeId(startNode);
+        long goal = graph.toMappedNodeId(goalNode);
+        path.set(node, PATH_END);
         queue.add(node, 0.0);
         run(goal);
-        if (!path.containsKey(goal)) {
+        if (!visited.get(goal)) {
             return this;
         }
-        totalCost = costs.get(goal);
-        int last = goal;
+        totalCost = queue.cost(goal);
+        long last = goal;
         while (last != PATH_END) {
             finalPath.addFirst(last);
-            finalPathCosts.addFirst(costs.get(last));
-            last = path.getOrDefault(last, PATH_END);
+            finalPathCosts.addFirst(queue.cost(last));
+            last = path.get(last);
         }
-        // destroy costs and path to remove the data for nodes that are not part of the graph
-        // since clear never downsizes the buffer array
-        costs.release();
-        path.release();
         return this;
     }
 
@@ -125,7 +116,7 @@ public class ShortestPathDijkstra extends Algorithm<ShortestPathDijkstra, Shorte
                 .map(cursor -> new Result(graph.toOriginalNodeId(cursor.value), costs[cursor.index]));
     }
 
-    public IntArrayDeque getFinalPath() {
+    public LongArrayDeque getFinalPath() {
         return finalPath;
     }
 
@@ -151,40 +142,37 @@ public class ShortestPathDijkstra extends Algorithm<ShortestPathDijkstra, Shorte
         return finalPath.size();
     }
 
-    private void run(int goal) {
+    private void run(long goal) {
         while (!queue.isEmpty() && running()) {
-            int node = queue.pop();
+            long node = queue.pop();
+            visited.set(node);
             if (node == goal) {
                 return;
             }
 
-            visited.set(node);
-            double costs = this.costs.getOrDefault(node, Double.MAX_VALUE);
+            double costs = queue.cost(node);
             graph.forEachRelationship(
                     node,
                     1.0D,
-                    longToIntConsumer((source, target, weight) -> {
+                    (source, target, weight) -> {
                         updateCosts(source, target, weight + costs);
                         return true;
-                    }));
+                    });
             progressLogger.logProgress((double) node / (nodeCount - 1));
         }
     }
 
-    private void updateCosts(int source, int target, double newCosts) {
-
-        if (costs.containsKey(target)) {
-            if (newCosts < costs.getOrDefault(target, Double.MAX_VALUE)) {
-                costs.put(target, newCosts);
-                path.put(target, source);
-                queue.update(target);
-            }
-        } else  {
-            if (newCosts < costs.getOrDefault(target, Double.MAX_VALUE)) {
-                costs.put(target, newCosts);
-                path.put(target, source);
-                queue.add(target, newCosts);
+    private void updateCosts(long source, long target, double newCosts) {
+        // the queue keeps the costs of popped nodes, so visited nodes are only
+        // added again if a cheaper path to them has been found
+        if (visited.get(target) || queue.containsElement(target)) {
+            if (newCosts < queue.cost(target)) {
+                path.set(target, source);
+                queue.set(target, newCosts);
             }
+        } else {
+            path.set(target, source);
+            queue.add(target, newCosts);
         }
     }
 
@@ -195,18 +183,23 @@ public class ShortestPathDijkstra extends Algorithm<ShortestPathDijkstra, Shorte
 
     @Override
     public void release() {
-        costs = null;
-        queue = null;
-        path = null;
+        // called by both the procedure and AlgoBaseProc, only the first call frees the tracked memory
+        if (queue != null) {
+            tracker.remove(queue.release());
+            queue = null;
+        }
+        if (path != null) {
+            tracker.remove(path.release());
+            path = null;
+        }
         visited = null;
     }
 
     private void reset() {
         visited.clear();
         queue.clear();
-        costs.clear();
-        path.clear();
         finalPath.clear();
+        finalPathCosts.clear();
         totalCost = NO_PATH_FOUND;
     }
 
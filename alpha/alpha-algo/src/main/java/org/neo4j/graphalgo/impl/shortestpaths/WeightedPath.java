@@ -21,12 +21,11 @@ package org.neo4j.graphalgo.impl.shortestpaths;
 
 import org.apache.lucene.util.ArrayUtil;
 import org.neo4j.graphalgo.api.RelationshipProperties;
-import org.neo4j.graphalgo.core.utils.RawValues;
 
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.function.IntConsumer;
-import java.util.function.IntPredicate;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
 
 /**
  * array based path of nodes and a weight
@@ -34,24 +33,24 @@ import java.util.function.IntPredicate;
 public class WeightedPath {
 
     public interface EdgeConsumer<E extends Exception> {
-        void accept(int sourceNode, int targetNode) throws E;
+        void accept(long sourceNode, long targetNode) throws E;
     }
 
-    private int[] nodes;
+    private long[] nodes;
     private int offset = 0;
     private double weight = .0;
 
     public WeightedPath(int initialCapacity) {
-        this(new int[initialCapacity], 0);
+        this(new long[initialCapacity], 0);
     }
 
-    public WeightedPath(int[] data, int offset) {
+    public WeightedPath(long[] data, int offset) {
         nodes = data;
         this.offset = offset;
     }
 
     // append a node to the path
-    public void append(int nodeId) {
+    public void append(long nodeId) {
         nodes = ArrayUtil.grow(nodes, offset + 1);
         nodes[offset++] = nodeId;
     }
@@ -65,7 +64,7 @@ public class WeightedPath {
         return this;
     }
 
-    public int node(int index) {
+    public long node(int index) {
         return nodes[index];
     }
 
@@ -78,16 +77,16 @@ public class WeightedPath {
         return this;
     }
 
-    public boolean containsNode(int node) {
-        for (int i : nodes) {
-            if (i == node) {
+    public boolean containsNode(long node) {
+        for (int i = 0; i < offset; i++) {
+            if (nodes[i] == node) {
                 return true;
             }
         }
         return false;
     }
 
-    public void forEach(IntPredicate consumer) {
+    public void forEach(LongPredicate consumer) {
         for (int i = 0; i < offset; i++) {
             if (!consumer.test(nodes[i])) {
                 return;
@@ -101,7 +100,7 @@ public class WeightedPath {
         }
     }
 
-    public void forEachDo(IntConsumer consumer) {
+    public void forEachDo(LongConsumer consumer) {
         for (int i = 0; i < offset; i++) {
             consumer.accept(nodes[i]);
         }
@@ -126,13 +125,9 @@ public class WeightedPath {
         return new WeightedPath(Arrays.copyOf(nodes, end + 1), end + 1);
     }
 
-    public long edge(int i) {
-        return RawValues.combineIntInt(nodes[i], nodes[i + 1]);
-    }
-
     public WeightedPath reverse() {
         for (int i = 0; i < offset / 2; i++) {
-            int temp = nodes[i];
+            long temp = nodes[i];
             nodes[i] = nodes[offset - 1 - i];
             nodes[offset - 1 - i] = temp;
         }
@@ -165,7 +160,7 @@ public class WeightedPath {
         return true;
     }
 
-    public int[] toArray() {
+    public long[] toArray() {
         return Arrays.copyOf(nodes, offset);
     }
 
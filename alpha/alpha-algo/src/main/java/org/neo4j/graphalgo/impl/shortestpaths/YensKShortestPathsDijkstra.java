@@ -20,21 +20,19 @@
 package org.neo4j.graphalgo.impl.shortestpaths;
 
 import com.carrotsearch.hppc.BitSet;
-import com.carrotsearch.hppc.IntDoubleMap;
-import com.carrotsearch.hppc.IntDoubleScatterMap;
-import com.carrotsearch.hppc.IntIntMap;
-import com.carrotsearch.hppc.IntIntScatterMap;
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.cursors.LongCursor;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
-import org.neo4j.graphalgo.core.utils.queue.IntPriorityQueue;
-import org.neo4j.graphalgo.core.utils.queue.SharedIntPriorityQueue;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.queue.HugeLongPriorityQueue;
 
-import java.util.Arrays;
 import java.util.Optional;
 
-import static org.neo4j.graphalgo.core.heavyweight.Converters.longToIntConsumer;
-
 /**
  * specialized dijkstra impl. for YensKShortestPath
  */
@@ -42,34 +40,40 @@ public class YensKShortestPathsDijkstra {
 
     // initial weighted path capacity
     public static final int INITIAL_CAPACITY = 64;
-    private static final int PATH_END = -1;
+    private static final long PATH_END = -1L;
     private final Graph graph;
-    private final int nodeCount;
     private TerminationFlag terminationFlag = TerminationFlag.RUNNING_TRUE;
     // node to cost map
-    private final IntDoubleMap costs;
+    private final HugeDoubleArray costs;
+    // nodes with a valid entry in costs and path
+    private final BitSet reached;
+    // the reached nodes of the last search, which are the only ones to reset for the next search
+    private final LongArrayList reachedNodes;
     // next node priority queue
-    private final IntPriorityQueue queue;
+    private final HugeLongPriorityQueue queue;
     // auxiliary path map
-    private final IntIntMap path;
+    private final HugeLongArray path;
     // visited set
     private final BitSet visited;
     // visited filter
     private RelationshipConsumer filter = (sourceNodeId, targetNodeId) -> true;
-    // iteration depth
-    private int[] depth;
+    // iteration depth, only valid for reached nodes
+    private final HugeIntArray depth;
 
     public YensKShortestPathsDijkstra(Graph graph) {
+        this(graph, AllocationTracker.EMPTY);
+    }
+
+    public YensKShortestPathsDijkstra(Graph graph, AllocationTracker tracker) {
         this.graph = graph;
-        nodeCount = Math.toIntExact(graph.nodeCount());
-        costs = new IntDoubleScatterMap(nodeCount);
-        queue = SharedIntPriorityQueue.min(
-                nodeCount,
-                costs,
-                Double.MAX_VALUE);
-        path = new IntIntScatterMap(nodeCount);
+        long nodeCount = graph.nodeCount();
+        costs = HugeDoubleArray.newArray(nodeCount, tracker);
+        reached = new BitSet(nodeCount);
+        reachedNodes = new LongArrayList();
+        queue = HugeLongPriorityQueue.min(nodeCount, tracker);
+        path = HugeLongArray.newArray(nodeCount, tracker);
         visited = new BitSet(nodeCount);
-        depth = new int[nodeCount];
+        depth = HugeIntArray.newArray(nodeCount, tracker);
     }
 
     /**
@@ -101,29 +105,27 @@ public class YensKShortestPathsDijkstra {
      * @param targetNode mapped target node id
      * @return an optional path
      */
-    public Optional<WeightedPath> compute(int sourceNode, int targetNode) {
+    public Optional<WeightedPath> compute(long sourceNode, long targetNode) {
         return compute(sourceNode, targetNode, Integer.MAX_VALUE);
     }
 
     /**
      * compute shortest path from sourceNode to targetNode
      *
-     * @param sourceNodeId mapped source node id
-     * @param targetNodeId mapped target node id
-     * @param maxDepth     maximum traversal depth
+     * @param sourceNode mapped source node id
+     * @param targetNode mapped target node id
+     * @param maxDepth   maximum traversal depth
      * @return an optional path
      */
-    public Optional<WeightedPath> compute(long sourceNodeId, long targetNodeId, int maxDepth) {
-        int sourceNode = Math.toIntExact(sourceNodeId);
-        int targetNode = Math.toIntExact(targetNodeId);
+    public Optional<WeightedPath> compute(long sourceNode, long targetNode, int maxDepth) {
         if (!dijkstra(sourceNode, targetNode, maxDepth)) {
             return Optional.empty();
         }
-        int last = targetNode;
+        long last = targetNode;
         final WeightedPath resultPath = new WeightedPath(INITIAL_CAPACITY);
         while (last != PATH_END) {
             resultPath.append(last);
-            last = path.getOrDefault(last, PATH_END);
+            last = path.get(last);
         }
         return Optional.of(resultPath
                 .withWeight(costs.get(targetNode))
@@ -135,18 +137,17 @@ public class YensKShortestPathsDijkstra {
      *
      * @return true if a path has been found, false otherwise
      */
-    private boolean dijkstra(int source, int target, int maxDepth) {
-        costs.clear();
-        queue.clear();
-        path.clear();
-        visited.clear();
-        costs.put(source, 0.0);
+    private boolean dijkstra(long source, long target, int maxDepth) {
+        reset();
+        reached.set(source);
+        reachedNodes.add(source);
+        costs.set(source, 0.0);
+        path.set(source, PATH_END);
         queue.add(source, 0.0);
-        Arrays.fill(depth, 0);
-        depth[source] = 1;
+        depth.set(source, 1);
         while (!queue.isEmpty() && terminationFlag.running()) {
-            int node = queue.pop();
-            final int d = depth[node];
+            long node = queue.pop();
+            final int d = depth.get(node);
             if (d >= maxDepth) {
                 continue;
             }
@@ -154,50 +155,64 @@ public class YensKShortestPathsDijkstra {
                 return true;
             }
             visited.set(node);
-            double costs = this.costs.getOrDefault(node, Double.MAX_VALUE);
+            double costs = this.costs.get(node);
             graph.forEachRelationship(
                     node,
                     0.0D,
-                    longToIntConsumer((s, t, w) -> {
+                    (s, t, w) -> {
                         if (!filter.accept(s, t)) {
                             return true;
                         }
-                        final UpdateResult updateCosts = updateCosts(s, t, w + costs);
+                        final double newCosts = w + costs;
+                        final UpdateResult updateCosts = updateCosts(s, t, newCosts);
                         if (!visited.get(t)) {
                             switch (updateCosts) {
                                 case NO_PREVIOUS_COSTS:
-                                    queue.add(t, w);
+                                    queue.add(t, newCosts);
                                     break;
                                 case UPDATED_COST:
-                                    queue.update(t);
+                                    queue.set(t, newCosts);
                                     break;
                                 default:
                                     break;
                             }
-                            depth[t] = depth[s] + 1;
+                            depth.set(t, depth.get(s) + 1);
                         }
                         return terminationFlag.running();
-                    }));
+                    });
         }
         return false;
     }
 
 
+    /**
+     * Clears the state of the previous search. Spur searches usually reach a small part of the graph,
+     * so only the reached nodes are cleared, visited nodes are always reached as well.
+     * Costs, paths and depths are written when a node is reached and need no reset.
+     */
+    private void reset() {
+        queue.clear();
+        for (LongCursor cursor : reachedNodes) {
+            reached.clear(cursor.value);
+            visited.clear(cursor.value);
+        }
+        reachedNodes.clear();
+    }
+
     /**
      * update cost map
      */
-    private UpdateResult updateCosts(int source, int target, double newCosts) {
-        double oldCosts = costs.getOrDefault(target, Double.MAX_VALUE);
-        if (oldCosts == Double.MAX_VALUE) {
-            if (!costs.containsKey(target)) {
-                costs.put(target, newCosts);
-                path.put(target, source);
-                return UpdateResult.NO_PREVIOUS_COSTS;
-            }
+    private UpdateResult updateCosts(long source, long target, double newCosts) {
+        if (!reached.get(target)) {
+            reached.set(target);
+            reachedNodes.add(target);
+            costs.set(target, newCosts);
+            path.set(target, source);
+            return UpdateResult.NO_PREVIOUS_COSTS;
         }
-        if (newCosts < oldCosts) {
-            costs.put(target, newCosts);
-            path.put(target, source);
+        if (newCosts < costs.get(target)) {
+            costs.set(target, newCosts);
+            path.set(target, source);
             return UpdateResult.UPDATED_COST;
         }
         return UpdateResult.COST_NOT_COMPETITIVE;
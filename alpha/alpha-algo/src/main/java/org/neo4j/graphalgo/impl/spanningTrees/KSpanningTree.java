@@ -25,7 +25,9 @@ import org.neo4j.graphalgo.api.IdMapping;
 import org.neo4j.graphalgo.api.RelationshipProperties;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.container.UndirectedTree;
-import org.neo4j.graphalgo.core.utils.queue.IntPriorityQueue;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.queue.HugeLongPriorityQueue;
 
 import java.util.function.DoubleUnaryOperator;
 
@@ -43,10 +45,11 @@ public class KSpanningTree extends Algorithm<KSpanningTree, SpanningTree> {
     private IdMapping idMapping;
     private Graph graph;
     private RelationshipProperties weights;
-    private final int nodeCount;
+    private final long nodeCount;
     private final DoubleUnaryOperator minMax;
-    private final int startNodeId;
+    private final long startNodeId;
     private final long k;
+    private final AllocationTracker tracker;
 
     private SpanningTree spanningTree;
 
@@ -57,14 +60,27 @@ public class KSpanningTree extends Algorithm<KSpanningTree, SpanningTree> {
         DoubleUnaryOperator minMax,
         long startNodeId,
         long k
-) {
+    ) {
+        this(idMapping, graph, weights, minMax, startNodeId, k, AllocationTracker.EMPTY);
+    }
+
+    public KSpanningTree(
+        IdMapping idMapping,
+        Graph graph,
+        RelationshipProperties weights,
+        DoubleUnaryOperator minMax,
+        long startNodeId,
+        long k,
+        AllocationTracker tracker
+    ) {
         this.idMapping = idMapping;
         this.graph = graph;
         this.weights = weights;
-        this.nodeCount = Math.toIntExact(idMapping.nodeCount());
+        this.nodeCount = idMapping.nodeCount();
         this.minMax = minMax;
-        this.startNodeId = (int)graph.toMappedNodeId(startNodeId);
+        this.startNodeId = graph.toMappedNodeId(startNodeId);
         this.k = k;
+        this.tracker = tracker;
     }
 
     @Override
@@ -74,15 +90,18 @@ public class KSpanningTree extends Algorithm<KSpanningTree, SpanningTree> {
             idMapping,
             graph,
             minMax,
-            startNodeId
+            startNodeId,
+            tracker
         ).withProgressLogger(getProgressLogger())
             .withTerminationFlag(getTerminationFlag());
 
-        IntPriorityQueue priorityQueue = minMax == Prim.MAX_OPERATOR ? IntPriorityQueue.min() : IntPriorityQueue.max();
+        HugeLongPriorityQueue priorityQueue = minMax == Prim.MAX_OPERATOR
+            ? HugeLongPriorityQueue.min(nodeCount, tracker)
+            : HugeLongPriorityQueue.max(nodeCount, tracker);
         SpanningTree spanningTree = prim.compute();
-        int[] parent = spanningTree.parent;
-        for (int i = 0; i < parent.length && running(); i++) {
-            int p = parent[i];
+        HugeLongArray parent = spanningTree.parent;
+        for (long i = 0; i < nodeCount && running(); i++) {
+            long p = parent.get(i);
             if (p == -1) {
                 continue;
             }
@@ -90,10 +109,11 @@ public class KSpanningTree extends Algorithm<KSpanningTree, SpanningTree> {
             logger.logProgress(i, nodeCount, () -> "reorganization");
         }
         // remove k-1 relationships
-        for (int i = 0; i < k - 1 && running(); i++) {
-            int cutNode = priorityQueue.pop();
-            parent[cutNode] = -1;
+        for (long i = 0; i < k - 1 && !priorityQueue.isEmpty() && running(); i++) {
+            long cutNode = priorityQueue.pop();
+            parent.set(cutNode, -1);
         }
+        tracker.remove(priorityQueue.release());
         this.spanningTree = prim.getSpanningTree();
         return this.spanningTree;
     }
@@ -19,22 +19,19 @@
  */
 package org.neo4j.graphalgo.impl.spanningTrees;
 
-import com.carrotsearch.hppc.IntDoubleMap;
-import com.carrotsearch.hppc.IntDoubleScatterMap;
+import com.carrotsearch.hppc.BitSet;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.IdMapping;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
-import org.neo4j.graphalgo.core.utils.container.SimpleBitSet;
 import org.neo4j.graphalgo.core.utils.container.UndirectedTree;
-import org.neo4j.graphalgo.core.utils.queue.SharedIntPriorityQueue;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.queue.HugeLongPriorityQueue;
 import org.neo4j.graphalgo.results.AbstractResultBuilder;
 
-import java.util.Arrays;
 import java.util.function.DoubleUnaryOperator;
 
-import static org.neo4j.graphalgo.core.heavyweight.Converters.longToIntConsumer;
-
 /**
  * Sequential Single-Source minimum weight spanning tree algorithm (PRIM).
  * <p>
@@ -51,60 +48,62 @@ public class Prim extends Algorithm<Prim, SpanningTree> {
     public static final DoubleUnaryOperator MAX_OPERATOR = (w) -> -w;
     public static final DoubleUnaryOperator MIN_OPERATOR = (w) -> w;
     private final Graph graph;
-    private final int nodeCount;
+    private final long nodeCount;
     private final DoubleUnaryOperator minMax;
-    private final int startNodeId;
+    private final long startNodeId;
+    private final AllocationTracker tracker;
 
     private SpanningTree spanningTree;
 
     public Prim(IdMapping idMapping, Graph graph, DoubleUnaryOperator minMax, long startNodeId) {
+        this(idMapping, graph, minMax, startNodeId, AllocationTracker.EMPTY);
+    }
+
+    public Prim(
+        IdMapping idMapping,
+        Graph graph,
+        DoubleUnaryOperator minMax,
+        long startNodeId,
+        AllocationTracker tracker
+    ) {
         this.graph = graph;
-        this.nodeCount = Math.toIntExact(idMapping.nodeCount());
+        this.nodeCount = idMapping.nodeCount();
         this.minMax = minMax;
-        this.startNodeId = (int)graph.toMappedNodeId(startNodeId);
+        this.startNodeId = graph.toMappedNodeId(startNodeId);
+        this.tracker = tracker;
     }
 
     @Override
     public SpanningTree compute() {
-        int[] parent = new int[nodeCount];
-        IntDoubleMap cost = new IntDoubleScatterMap(nodeCount);
-        SharedIntPriorityQueue queue = SharedIntPriorityQueue.min(
-                nodeCount,
-                cost,
-                Double.MAX_VALUE);
+        HugeLongArray parent = HugeLongArray.newArray(nodeCount, tracker);
+        HugeLongPriorityQueue queue = HugeLongPriorityQueue.min(nodeCount, tracker);
         ProgressLogger logger = getProgressLogger();
-        SimpleBitSet visited = new SimpleBitSet(nodeCount);
-        Arrays.fill(parent, -1);
-        cost.put(startNodeId, 0.0);
-        queue.add(startNodeId, -1.0);
-        int effectiveNodeCount = 0;
+        BitSet visited = new BitSet(nodeCount);
+        parent.fill(-1);
+        queue.add(startNodeId, 0.0);
+        long effectiveNodeCount = 0;
         while (!queue.isEmpty() && running()) {
-            int node = queue.pop();
-            if (visited.contains(node)) {
-                continue;
-            }
+            long node = queue.pop();
             effectiveNodeCount++;
-            visited.put(node);
-            graph.forEachRelationship(node, 0.0D, longToIntConsumer((s, t, w) -> {
-                if (visited.contains(t)) {
+            visited.set(node);
+            graph.forEachRelationship(node, 0.0D, (s, t, w) -> {
+                if (visited.get(t)) {
                     return true;
                 }
                 // invert weight to calculate maximum
                 double weight = minMax.applyAsDouble(w);
-                if (weight < cost.getOrDefault(t, Double.MAX_VALUE)) {
-                    if (cost.containsKey(t)) {
-                        cost.put(t, weight);
-                        queue.update(t);
-                    } else {
-                        cost.put(t, weight);
-                        queue.add(t, -1.0);
-                    }
-                    parent[t] = s;
+                if (!queue.containsElement(t)) {
+                    queue.add(t, weight);
+                    parent.set(t, s);
+                } else if (weight < queue.cost(t)) {
+                    queue.set(t, weight);
+                    parent.set(t, s);
                 }
                 return true;
-            }));
+            });
             logger.logProgress(effectiveNodeCount, nodeCount - 1);
         }
+        tracker.remove(queue.release());
         this.spanningTree = new SpanningTree(startNodeId, nodeCount, effectiveNodeCount, parent);
         return this.spanningTree;
     }
@@ -133,7 +132,7 @@ public class Prim extends Algorithm<Prim, SpanningTree> {
         public Result(long createMillis,
                       long computeMillis,
                       long writeMillis,
-                      int effectiveNodeCount) {
+                      long effectiveNodeCount) {
             this.createMillis = createMillis;
             this.computeMillis = computeMillis;
             this.writeMillis = writeMillis;
@@ -143,9 +142,9 @@ public class Prim extends Algorithm<Prim, SpanningTree> {
 
     public static class Builder extends AbstractResultBuilder<Result> {
 
-        protected int effectiveNodeCount;
+        protected long effectiveNodeCount;
 
-        public Builder withEffectiveNodeCount(int effectiveNodeCount) {
+        public Builder withEffectiveNodeCount(long effectiveNodeCount) {
             this.effectiveNodeCount = effectiveNodeCount;
             return this;
         }
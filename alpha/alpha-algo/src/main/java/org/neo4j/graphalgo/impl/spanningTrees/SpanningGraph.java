@@ -24,8 +24,6 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
 import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
 
-import java.util.Arrays;
-
 public class SpanningGraph extends FilterGraph {
 
     private final SpanningTree spanningTree;
@@ -37,8 +35,14 @@ public class SpanningGraph extends FilterGraph {
 
     @Override
     public int degree(long nodeId) {
-        if (spanningTree.parent[Math.toIntExact(nodeId)] == -1) {
-            return Math.toIntExact(Arrays.stream(spanningTree.parent).filter(i -> i == -1).count());
+        if (spanningTree.parent.get(nodeId) == -1) {
+            int roots = 0;
+            for (long i = 0; i < spanningTree.nodeCount; i++) {
+                if (spanningTree.parent.get(i) == -1) {
+                    roots++;
+                }
+            }
+            return roots;
         } else {
             return 1;
         }
@@ -55,7 +59,7 @@ public class SpanningGraph extends FilterGraph {
 
     @Override
     public void forEachRelationship(long nodeId, double fallbackValue, RelationshipWithPropertyConsumer consumer) {
-        int parent = spanningTree.parent[Math.toIntExact(nodeId)];
+        long parent = spanningTree.parent.get(nodeId);
         if (parent != -1) {
             consumer.accept(parent, nodeId, fallbackValue);
         }
@@ -63,8 +67,6 @@ public class SpanningGraph extends FilterGraph {
 
     @Override
     public boolean exists(long sourceNodeId, long targetNodeId) {
-        int source = Math.toIntExact(sourceNodeId);
-        int target = Math.toIntExact(targetNodeId);
-        return spanningTree.parent[source] != -1 || spanningTree.parent[target] != -1;
+        return spanningTree.parent.get(sourceNodeId) != -1 || spanningTree.parent.get(targetNodeId) != -1;
     }
 }
@@ -20,6 +20,7 @@
 package org.neo4j.graphalgo.impl.spanningTrees;
 
 import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.core.write.PropertyTranslator;
 
 /**
@@ -27,12 +28,12 @@ import org.neo4j.graphalgo.core.write.PropertyTranslator;
  */
 public class SpanningTree {
 
-    public final int head;
-    public final int nodeCount;
-    public final int effectiveNodeCount;
-    public final int[] parent;
+    public final long head;
+    public final long nodeCount;
+    public final long effectiveNodeCount;
+    public final HugeLongArray parent;
 
-    public SpanningTree(int head, int nodeCount, int effectiveNodeCount, int[] parent) {
+    public SpanningTree(long head, long nodeCount, long effectiveNodeCount, HugeLongArray parent) {
         this.head = head;
         this.nodeCount = nodeCount;
         this.effectiveNodeCount = effectiveNodeCount;
@@ -40,8 +41,8 @@ public class SpanningTree {
     }
 
     public void forEach(RelationshipConsumer consumer) {
-        for (int i = 0; i < nodeCount; i++) {
-            final int parent = this.parent[i];
+        for (long i = 0; i < nodeCount; i++) {
+            final long parent = this.parent.get(i);
             if (parent == -1) {
                 continue;
             }
@@ -51,21 +52,21 @@ public class SpanningTree {
         }
     }
 
-    public int head(int node) {
-        int p = node;
-        while (-1 != parent[p]) {
-            p = parent[p];
+    public long head(long node) {
+        long p = node;
+        while (-1 != parent.get(p)) {
+            p = parent.get(p);
         }
         return p;
     }
 
     public static final PropertyTranslator<SpanningTree> TRANSLATOR = new SpanningTreeTranslator();
 
-    public static class SpanningTreeTranslator implements PropertyTranslator.OfInt<SpanningTree> {
+    public static class SpanningTreeTranslator implements PropertyTranslator.OfLong<SpanningTree> {
         @Override
-        public int toInt(final SpanningTree data, final long nodeId) {
-            return data.head((int) nodeId);
+        public long toLong(final SpanningTree data, final long nodeId) {
+            return data.head(nodeId);
         }
     }
 
-}
\ No newline at end of file
+}
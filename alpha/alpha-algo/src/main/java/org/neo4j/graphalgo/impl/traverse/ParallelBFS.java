@@ -0,0 +1,553 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.traverse;
+
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.loading.InverseAdjacencyBuilder;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.PageFiller;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Parallel, direction-optimizing breadth-first search based on:
+ *
+ * Beamer, S., Asanović, K. and Patterson, D.
+ * "Direction-optimizing breadth-first search."
+ * SC '12: Proceedings of the International Conference on High Performance Computing,
+ * Networking, Storage and Analysis (2012).
+ * https://people.csail.mit.edu/jshun/6886-s18/papers/beamer-sc2012.pdf
+ *
+ * Computes the level, i.e. the number of hops from the start node, and the BFS parent of every reachable node.
+ * While the frontier is small, a top-down step expands the outgoing relationships of the frontier nodes,
+ * which are kept in a queue. Once the frontier has more relationships than a fraction of the relationships
+ * of the unvisited nodes, bottom-up steps let every unvisited node look for a parent in the frontier
+ * along its incoming relationships, and stop at the first parent it finds. The frontier is then kept
+ * in a bit set. The search switches back to top-down steps when the frontier shrinks again.
+ * <p>
+ * Undirected graphs use bottom-up steps by default. On directed graphs, bottom-up steps traverse
+ * {@link Graph#forEachIncomingRelationship}, which requires the inverse of the graph. They have to be
+ * enabled explicitly, in which case the inverse is built up front.
+ * The search can be limited to a maximum level, in which case the nodes of that level are not expanded.
+ * Reached nodes are recorded in the order of their levels, so that results and the reset between runs
+ * only touch the reached part of the graph.
+ * The search can be computed repeatedly for different start nodes, the arrays are reused between runs.
+ */
+public final class ParallelBFS extends Algorithm<ParallelBFS, ParallelBFS> {
+
+    public static final long UNREACHED = -1L;
+    public static final long NO_LEVEL_LIMIT = -1L;
+
+    // switch to bottom-up steps when the frontier has more than 1/ALPHA of the unexplored relationships
+    private static final long ALPHA = 14L;
+    // switch back to top-down steps when the frontier has less than 1/BETA of all nodes
+    private static final long BETA = 24L;
+    private static final long MIN_BATCH_SIZE = 1024L;
+    private static final int BUFFER_SIZE = 1024;
+
+    private final Graph graph;
+    private final long nodeCount;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final List<Partition> partitions;
+    private final boolean bottomUpAllowed;
+
+    private final HugeAtomicLongArray parents;
+    private final HugeAtomicLongArray levels;
+    private final HugeLongArray reachedQueue;
+    private HugeLongArray frontierQueue;
+    private HugeLongArray nextQueue;
+    private HugeAtomicBitSet frontierBits;
+    private HugeAtomicBitSet nextBits;
+    private final AtomicLong nextQueueSize;
+
+    private long startNode;
+    private long levelLimit;
+    private long reachedNodes;
+    private long maxLevel;
+    private boolean completed;
+
+    public static MemoryEstimation memoryEstimation() {
+        return memoryEstimation(false);
+    }
+
+    /**
+     * @param bottomUpOnDirectedGraph whether bottom-up steps are enabled for a directed graph, which needs its inverse
+     */
+    public static MemoryEstimation memoryEstimation(boolean bottomUpOnDirectedGraph) {
+        MemoryEstimations.Builder builder = MemoryEstimations.builder(ParallelBFS.class)
+            .perNode("parents", HugeAtomicLongArray::memoryEstimation)
+            .perNode("levels", HugeAtomicLongArray::memoryEstimation)
+            .perNode("reachedQueue", HugeLongArray::memoryEstimation)
+            .perNode("frontierQueue", HugeLongArray::memoryEstimation)
+            .perNode("nextQueue", HugeLongArray::memoryEstimation)
+            .perNode("frontierBits", HugeAtomicBitSet::memoryEstimation)
+            .perNode("nextBits", HugeAtomicBitSet::memoryEstimation)
+            .perThread("buffer", MemoryUsage.sizeOfLongArray(BUFFER_SIZE));
+        if (bottomUpOnDirectedGraph) {
+            // the inverse topology is only built once per graph, this covers the case that it does not exist yet
+            builder.add("incoming relationships", InverseAdjacencyBuilder.memoryEstimation());
+        }
+        return builder.build();
+    }
+
+    /**
+     * @param startNode the mapped id of the node to start the search from
+     */
+    public ParallelBFS(
+        Graph graph,
+        long startNode,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        this(graph, startNode, concurrency, executor, tracker, graph.isUndirected());
+    }
+
+    /**
+     * @param bottomUpAllowed if false, only top-down steps are used. If true for a directed graph,
+     *                        its inverse is built, see {@link #memoryEstimation(boolean)}
+     */
+    public ParallelBFS(
+        Graph graph,
+        long startNode,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker,
+        boolean bottomUpAllowed
+    ) {
+        this.graph = graph;
+        this.nodeCount = graph.nodeCount();
+        this.startNode = startNode;
+        this.levelLimit = NO_LEVEL_LIMIT;
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.bottomUpAllowed = bottomUpAllowed;
+        this.partitions = PartitionUtils.degreeBalancedPartitioning(graph, concurrency, MIN_BATCH_SIZE);
+        this.parents = HugeAtomicLongArray.newArray(nodeCount, PageFiller.of(concurrency, nodeId -> UNREACHED), tracker);
+        this.levels = HugeAtomicLongArray.newArray(nodeCount, PageFiller.of(concurrency, nodeId -> UNREACHED), tracker);
+        this.reachedQueue = HugeLongArray.newArray(nodeCount, tracker);
+        this.frontierQueue = HugeLongArray.newArray(nodeCount, tracker);
+        this.nextQueue = HugeLongArray.newArray(nodeCount, tracker);
+        this.frontierBits = HugeAtomicBitSet.create(nodeCount, tracker);
+        this.nextBits = HugeAtomicBitSet.create(nodeCount, tracker);
+        this.nextQueueSize = new AtomicLong();
+        if (bottomUpAllowed && !graph.isUndirected()) {
+            graph.prepareIncomingRelationships(concurrency);
+        }
+    }
+
+    /**
+     * Resets the results of a previous run and searches from the given start node.
+     *
+     * @param startNode the mapped id of the node to start the search from
+     */
+    public ParallelBFS compute(long startNode) {
+        return compute(startNode, NO_LEVEL_LIMIT);
+    }
+
+    /**
+     * Resets the results of a previous run and searches from the given start node up to the given level.
+     *
+     * @param startNode the mapped id of the node to start the search from
+     * @param maxLevel  the largest level to discover, or {@link #NO_LEVEL_LIMIT}
+     */
+    public ParallelBFS compute(long startNode, long maxLevel) {
+        this.startNode = startNode;
+        this.levelLimit = maxLevel;
+        return compute();
+    }
+
+    @Override
+    public ParallelBFS compute() {
+        if (reachedNodes > 0L) {
+            reset();
+        }
+        completed = false;
+
+        parents.set(startNode, startNode);
+        levels.set(startNode, 0L);
+        reachedQueue.set(0L, startNode);
+        frontierQueue.set(0L, startNode);
+        long frontierSize = 1L;
+        long previousFrontierSize = 0L;
+        long frontierRelationships = graph.degree(startNode);
+        long unexploredRelationships = graph.relationshipCount() - frontierRelationships;
+        boolean bottomUp = false;
+
+        reachedNodes = 1L;
+        maxLevel = 0L;
+        long level = 0L;
+        while (frontierSize > 0L && (levelLimit == NO_LEVEL_LIMIT || level < levelLimit)) {
+            assertRunning();
+
+            if (!bottomUp && bottomUpAllowed && frontierRelationships > unexploredRelationships / ALPHA) {
+                queueToBits(frontierSize);
+                bottomUp = true;
+            } else if (bottomUp && frontierSize < previousFrontierSize && frontierSize < nodeCount / BETA) {
+                frontierSize = bitsToQueue();
+                bottomUp = false;
+            }
+
+            List<? extends Step> steps = bottomUp ? bottomUpSteps(level) : topDownSteps(level, frontierSize);
+            ParallelUtil.runWithWorkStealing(concurrency, steps, terminationFlag, executor);
+
+            previousFrontierSize = frontierSize;
+            frontierSize = 0L;
+            frontierRelationships = 0L;
+            for (Step step : steps) {
+                frontierSize += step.discoveredNodes;
+                frontierRelationships += step.discoveredRelationships;
+            }
+            unexploredRelationships -= frontierRelationships;
+
+            if (bottomUp) {
+                HugeAtomicBitSet visitedBits = frontierBits;
+                frontierBits = nextBits;
+                nextBits = visitedBits;
+                nextBits.clear();
+                // bottom-up steps collect the new frontier in the otherwise unused next queue
+                appendReached(nextQueue, frontierSize);
+                nextQueueSize.set(0L);
+            } else {
+                HugeLongArray visitedQueue = frontierQueue;
+                frontierQueue = nextQueue;
+                nextQueue = visitedQueue;
+                nextQueueSize.set(0L);
+                appendReached(frontierQueue, frontierSize);
+            }
+
+            reachedNodes += frontierSize;
+            level++;
+            if (frontierSize > 0L) {
+                maxLevel = level;
+            }
+            getProgressLogger().logProgress(reachedNodes, nodeCount);
+        }
+
+        if (bottomUp) {
+            frontierBits.clear();
+        }
+        completed = true;
+        return this;
+    }
+
+    /**
+     * @return the number of relationships between the start node and the given node, or {@link #UNREACHED}
+     */
+    public long level(long nodeId) {
+        return levels.get(nodeId);
+    }
+
+    /**
+     * @return the node from which the given node has been discovered, the start node for the start node,
+     *     or {@link #UNREACHED}
+     */
+    public long parent(long nodeId) {
+        return parents.get(nodeId);
+    }
+
+    public HugeAtomicLongArray levels() {
+        return levels;
+    }
+
+    public HugeAtomicLongArray parents() {
+        return parents;
+    }
+
+    /**
+     * @return the number of nodes that are reachable from the start node, including the start node
+     */
+    public long reachedNodes() {
+        return reachedNodes;
+    }
+
+    /**
+     * @param index a position between 0 and {@link #reachedNodes()}
+     * @return the reached node at the given position, nodes are ordered by their level
+     */
+    public long reachedNode(long index) {
+        return reachedQueue.get(index);
+    }
+
+    /**
+     * @return the largest level of any reachable node
+     */
+    public long maxLevel() {
+        return maxLevel;
+    }
+
+    @Override
+    public ParallelBFS me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        parents.release();
+        levels.release();
+        reachedQueue.release();
+        frontierQueue.release();
+        nextQueue.release();
+        frontierBits.release();
+        nextBits.release();
+    }
+
+    private void reset() {
+        List<Runnable> tasks = new ArrayList<>();
+        if (completed) {
+            // only the recorded nodes have been reached
+            long batchSize = ParallelUtil.adjustedBatchSize(reachedNodes, concurrency, MIN_BATCH_SIZE);
+            for (long start = 0L; start < reachedNodes; start += batchSize) {
+                long batchStart = start;
+                long batchEnd = Math.min(reachedNodes, start + batchSize);
+                tasks.add(() -> {
+                    for (long index = batchStart; index < batchEnd; index++) {
+                        long nodeId = reachedQueue.get(index);
+                        parents.set(nodeId, UNREACHED);
+                        levels.set(nodeId, UNREACHED);
+                    }
+                });
+            }
+        } else {
+            // a terminated run has not recorded the nodes of its last level
+            for (Partition partition : partitions) {
+                tasks.add(() -> {
+                    long end = partition.startNode + partition.nodeCount;
+                    for (long nodeId = partition.startNode; nodeId < end; nodeId++) {
+                        parents.set(nodeId, UNREACHED);
+                        levels.set(nodeId, UNREACHED);
+                    }
+                });
+            }
+        }
+        ParallelUtil.runWithWorkStealing(concurrency, tasks, terminationFlag, executor);
+        // a terminated run might have left a frontier behind
+        frontierBits.clear();
+        nextBits.clear();
+        nextQueueSize.set(0L);
+        reachedNodes = 0L;
+    }
+
+    private List<TopDownStep> topDownSteps(long level, long frontierSize) {
+        long batchSize = ParallelUtil.adjustedBatchSize(frontierSize, concurrency, MIN_BATCH_SIZE);
+        List<TopDownStep> steps = new ArrayList<>();
+        for (long start = 0L; start < frontierSize; start += batchSize) {
+            steps.add(new TopDownStep(start, Math.min(frontierSize, start + batchSize), level + 1));
+        }
+        return steps;
+    }
+
+    private List<BottomUpStep> bottomUpSteps(long level) {
+        List<BottomUpStep> steps = new ArrayList<>(partitions.size());
+        for (Partition partition : partitions) {
+            steps.add(new BottomUpStep(partition, level + 1));
+        }
+        return steps;
+    }
+
+    private void queueToBits(long frontierSize) {
+        long batchSize = ParallelUtil.adjustedBatchSize(frontierSize, concurrency, MIN_BATCH_SIZE);
+        List<Runnable> tasks = new ArrayList<>();
+        for (long start = 0L; start < frontierSize; start += batchSize) {
+            long batchStart = start;
+            long batchEnd = Math.min(frontierSize, start + batchSize);
+            tasks.add(() -> {
+                for (long index = batchStart; index < batchEnd; index++) {
+                    frontierBits.set(frontierQueue.get(index));
+                }
+            });
+        }
+        ParallelUtil.runWithWorkStealing(concurrency, tasks, terminationFlag, executor);
+    }
+
+    /**
+     * Records the first {@code size} nodes of the given queue as reached, after the nodes of previous levels.
+     */
+    private void appendReached(HugeLongArray queue, long size) {
+        long offset = reachedNodes;
+        long batchSize = ParallelUtil.adjustedBatchSize(size, concurrency, MIN_BATCH_SIZE);
+        List<Runnable> tasks = new ArrayList<>();
+        for (long start = 0L; start < size; start += batchSize) {
+            long batchStart = start;
+            long batchEnd = Math.min(size, start + batchSize);
+            tasks.add(() -> {
+                for (long index = batchStart; index < batchEnd; index++) {
+                    reachedQueue.set(offset + index, queue.get(index));
+                }
+            });
+        }
+        ParallelUtil.runWithWorkStealing(concurrency, tasks, terminationFlag, executor);
+    }
+
+    private long bitsToQueue() {
+        List<Runnable> tasks = new ArrayList<>(partitions.size());
+        for (Partition partition : partitions) {
+            tasks.add(() -> {
+                QueueBuffer buffer = new QueueBuffer();
+                long end = partition.startNode + partition.nodeCount;
+                long nodeId = frontierBits.nextSetBit(partition.startNode, end);
+                while (nodeId != -1L) {
+                    buffer.add(nodeId);
+                    nodeId = frontierBits.nextSetBit(nodeId + 1, end);
+                }
+                buffer.flush();
+            });
+        }
+        ParallelUtil.runWithWorkStealing(concurrency, tasks, terminationFlag, executor);
+        frontierBits.clear();
+
+        HugeLongArray queue = frontierQueue;
+        frontierQueue = nextQueue;
+        nextQueue = queue;
+        return nextQueueSize.getAndSet(0L);
+    }
+
+    private abstract static class Step implements Runnable {
+        long discoveredNodes;
+        long discoveredRelationships;
+    }
+
+    /**
+     * Expands the outgoing relationships of a range of the frontier queue.
+     * Nodes are claimed by setting their parent, so every node is discovered exactly once.
+     */
+    private final class TopDownStep extends Step implements RelationshipConsumer {
+        private final Graph localGraph;
+        private final long start;
+        private final long end;
+        private final long nextLevel;
+        private final QueueBuffer buffer;
+
+        TopDownStep(long start, long end, long nextLevel) {
+            this.localGraph = (Graph) graph.concurrentCopy();
+            this.start = start;
+            this.end = end;
+            this.nextLevel = nextLevel;
+            this.buffer = new QueueBuffer();
+        }
+
+        @Override
+        public void run() {
+            for (long index = start; index < end; index++) {
+                localGraph.forEachRelationship(frontierQueue.get(index), this);
+            }
+            buffer.flush();
+        }
+
+        @Override
+        public boolean accept(long sourceNodeId, long targetNodeId) {
+            if (parents.get(targetNodeId) == UNREACHED && parents.compareAndSet(targetNodeId, UNREACHED, sourceNodeId)) {
+                levels.set(targetNodeId, nextLevel);
+                buffer.add(targetNodeId);
+                discoveredNodes++;
+                discoveredRelationships += localGraph.degree(targetNodeId);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Lets every unvisited node of a partition look for a parent in the frontier.
+     * Only the step of the partition writes to its nodes, so no synchronization is needed.
+     * Discovered nodes are also appended to the next queue, from which they are recorded as reached.
+     */
+    private final class BottomUpStep extends Step implements RelationshipConsumer {
+        private final Graph localGraph;
+        private final boolean undirected;
+        private final Partition partition;
+        private final long nextLevel;
+        private final QueueBuffer buffer;
+
+        BottomUpStep(Partition partition, long nextLevel) {
+            this.localGraph = (Graph) graph.concurrentCopy();
+            this.undirected = graph.isUndirected();
+            this.partition = partition;
+            this.nextLevel = nextLevel;
+            this.buffer = new QueueBuffer();
+        }
+
+        @Override
+        public void run() {
+            long end = partition.startNode + partition.nodeCount;
+            for (long nodeId = partition.startNode; nodeId < end; nodeId++) {
+                if (parents.get(nodeId) == UNREACHED) {
+                    if (undirected) {
+                        localGraph.forEachRelationship(nodeId, this);
+                    } else {
+                        localGraph.forEachIncomingRelationship(nodeId, this);
+                    }
+                }
+            }
+            buffer.flush();
+        }
+
+        @Override
+        public boolean accept(long nodeId, long sourceNodeId) {
+            if (frontierBits.get(sourceNodeId)) {
+                parents.set(nodeId, sourceNodeId);
+                levels.set(nodeId, nextLevel);
+                nextBits.set(nodeId);
+                buffer.add(nodeId);
+                discoveredNodes++;
+                discoveredRelationships += localGraph.degree(nodeId);
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Collects the nodes of the next frontier locally and appends them to the shared queue in chunks.
+     */
+    private final class QueueBuffer {
+        private final long[] nodes = new long[BUFFER_SIZE];
+        private int size;
+
+        void add(long nodeId) {
+            if (size == BUFFER_SIZE) {
+                flush();
+            }
+            nodes[size++] = nodeId;
+        }
+
+        void flush() {
+            long offset = nextQueueSize.getAndAdd(size);
+            for (int i = 0; i < size; i++) {
+                nextQueue.set(offset + i, nodes[i]);
+            }
+            size = 0;
+        }
+    }
+}
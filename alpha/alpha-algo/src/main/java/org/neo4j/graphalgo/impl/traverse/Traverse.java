@@ -25,7 +25,9 @@ import com.carrotsearch.hppc.LongArrayDeque;
 import com.carrotsearch.hppc.LongHashSet;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 
+import java.util.concurrent.ExecutorService;
 import java.util.function.ObjDoubleConsumer;
 import java.util.function.ObjLongConsumer;
 
@@ -46,6 +48,8 @@ public final class Traverse extends Algorithm<Traverse, Traverse> {
     private final LongArrayDeque sources;
     private DoubleArrayDeque weights;
     private BitSet visited;
+    private ParallelBFS parallelBfs;
+    private final long maxDepth;
 
     private long[] resultNodes;
 
@@ -68,6 +72,21 @@ public final class Traverse extends Algorithm<Traverse, Traverse> {
         this.sources = new LongArrayDeque(nodeCount);
         this.weights = new DoubleArrayDeque(nodeCount);
         this.visited = new BitSet(nodeCount);
+        this.parallelBfs = null;
+        this.maxDepth = -1L;
+    }
+
+    private Traverse(Graph graph, long startNodeId, long maxDepth, ParallelBFS parallelBfs) {
+        this.graph = graph;
+        this.nodeCount = Math.toIntExact(graph.nodeCount());
+        this.startNodeId = startNodeId;
+        this.exitPredicate = null;
+        this.aggregatorFunction = null;
+        this.nodeFunc = null;
+        this.weightFunc = null;
+        this.sources = null;
+        this.parallelBfs = parallelBfs;
+        this.maxDepth = maxDepth;
     }
 
     public static Traverse dfs(
@@ -102,8 +121,33 @@ public final class Traverse extends Algorithm<Traverse, Traverse> {
         );
     }
 
+    /**
+     * BFS that collects all nodes within the given number of hops, or all reachable nodes if maxDepth is -1.
+     * The levels are computed by a {@link ParallelBFS}.
+     */
+    public static Traverse parallelBfs(
+        Graph graph,
+        long startNodeId,
+        long maxDepth,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        ParallelBFS parallelBfs = new ParallelBFS(
+            graph,
+            graph.toMappedNodeId(startNodeId),
+            concurrency,
+            executor,
+            tracker
+        );
+        return new Traverse(graph, startNodeId, maxDepth, parallelBfs);
+    }
+
     @Override
     public Traverse compute() {
+        if (parallelBfs != null) {
+            return computeParallel();
+        }
         long sourceNode = graph.toMappedNodeId(startNodeId);
         final LongHashSet result = new LongHashSet(nodeCount);
         nodes.clear();
@@ -156,6 +200,21 @@ public final class Traverse extends Algorithm<Traverse, Traverse> {
         return me();
     }
 
+    private Traverse computeParallel() {
+        // the search stops expanding at maxDepth, -1 is the same as ParallelBFS.NO_LEVEL_LIMIT
+        parallelBfs
+            .withProgressLogger(getProgressLogger())
+            .withTerminationFlag(terminationFlag)
+            .compute(graph.toMappedNodeId(startNodeId), maxDepth);
+
+        long[] result = new long[Math.toIntExact(parallelBfs.reachedNodes())];
+        for (int index = 0; index < result.length; index++) {
+            result[index] = graph.toOriginalNodeId(parallelBfs.reachedNode(index));
+        }
+        this.resultNodes = result;
+        return me();
+    }
+
     public long[] resultNodes() {
         return resultNodes;
     }
@@ -170,6 +229,10 @@ public final class Traverse extends Algorithm<Traverse, Traverse> {
         nodes = null;
         weights = null;
         visited = null;
+        if (parallelBfs != null) {
+            parallelBfs.release();
+            parallelBfs = null;
+        }
     }
 
     public interface ExitPredicate {
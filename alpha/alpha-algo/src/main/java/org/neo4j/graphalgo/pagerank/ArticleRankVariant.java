@@ -51,4 +51,13 @@ public class ArticleRankVariant implements PageRankVariant {
     public DegreeComputer degreeComputer(Graph graph) {
         return new BasicDegreeComputer(graph);
     }
+
+    @Override
+    public PullVariant pullVariant(Graph graph, DegreeCache degreeCache, long nodeCount) {
+        double averageDegree = degreeCache.average();
+        return nodeId -> {
+            int degree = graph.degree(nodeId);
+            return degree > 0 ? 1.0 / (degree + averageDegree) : 0.0;
+        };
+    }
 }
@@ -51,4 +51,29 @@ public class EigenvectorCentralityVariant implements PageRankVariant {
     public DegreeComputer degreeComputer(Graph graph) {
         return new BasicDegreeComputer(graph);
     }
+
+    @Override
+    public PullVariant pullVariant(Graph graph, DegreeCache degreeCache, long nodeCount) {
+        return new PullVariant() {
+            @Override
+            public double sourceFactor(long nodeId) {
+                return graph.degree(nodeId) > 0 ? 1.0 : 0.0;
+            }
+
+            @Override
+            public double initialValue(double alpha) {
+                return 1.0 / nodeCount;
+            }
+
+            @Override
+            public double dampingFactor(double dampingFactor) {
+                return 1.0;
+            }
+
+            @Override
+            public boolean normalizeDeltas() {
+                return true;
+            }
+        };
+    }
 }
@@ -29,10 +29,12 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.loading.NativeFactory;
 import org.neo4j.graphalgo.compat.GraphDbApi;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
 import org.neo4j.graphalgo.graphbuilder.GraphBuilder;
 import org.neo4j.graphalgo.graphbuilder.GridBuilder;
 
 import java.util.concurrent.Executors;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 
@@ -108,9 +110,10 @@ class ParallelDeltaSteppingTest {
     }
 
     private double[] compute(int threads) {
-        return new ShortestPathDeltaStepping(graph, rootNodeId, 2.5)
+        HugeAtomicDoubleArray shortestPaths = new ShortestPathDeltaStepping(graph, rootNodeId, 2.5)
                 .withExecutorService(Executors.newFixedThreadPool(threads))
                 .compute()
                 .getShortestPaths();
+        return LongStream.range(0, shortestPaths.size()).mapToDouble(shortestPaths::get).toArray();
     }
 }
@@ -28,6 +28,7 @@ import org.neo4j.graphalgo.StoreLoaderBuilder;
 import org.neo4j.graphalgo.TestDatabaseCreator;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.loading.NativeFactory;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
 import org.neo4j.graphdb.Node;
 
 import java.util.concurrent.Executors;
@@ -115,10 +116,10 @@ final class ShortestPathDeltaSteppingTest extends AlgoTestBase {
     void testSequential() {
         final ShortestPathDeltaStepping sssp = new ShortestPathDeltaStepping(graph, head, 3);
 
-        final double[] sp = sssp.compute()
+        final HugeAtomicDoubleArray sp = sssp.compute()
                 .getShortestPaths();
 
-        assertEquals(8, sp[Math.toIntExact(graph.toMappedNodeId(tail))],0.1);
+        assertEquals(8, sp.get(graph.toMappedNodeId(tail)),0.1);
     }
 
     @Test
@@ -126,19 +127,19 @@ final class ShortestPathDeltaSteppingTest extends AlgoTestBase {
         final ShortestPathDeltaStepping sssp = new ShortestPathDeltaStepping(graph, head, 3)
                 .withExecutorService(Executors.newFixedThreadPool(3));
 
-        final double[] sp = sssp.compute()
+        final HugeAtomicDoubleArray sp = sssp.compute()
                 .getShortestPaths();
 
-        assertEquals(8, sp[Math.toIntExact(graph.toMappedNodeId(tail))],0.1);
+        assertEquals(8, sp.get(graph.toMappedNodeId(tail)),0.1);
     }
 
     @Test
     void distanceToNodeInDifferentComponentShouldBeInfinity() {
         final ShortestPathDeltaStepping sssp = new ShortestPathDeltaStepping(graph, head,3);
 
-        final double[] sp = sssp.compute().getShortestPaths();
+        final HugeAtomicDoubleArray sp = sssp.compute().getShortestPaths();
 
-        assertEquals(Double.POSITIVE_INFINITY, sp[Math.toIntExact(graph.toMappedNodeId(getNode("z").getId()))],0.1);
+        assertEquals(Double.POSITIVE_INFINITY, sp.get(graph.toMappedNodeId(getNode("z").getId())),0.1);
     }
 
     Node getNode(String name) {
@@ -473,7 +473,7 @@ class WeightedAllShortestPaths427Test extends AlgoTestBase {
                             double totalCost = spd.getTotalCost();
                             if (totalCost != ShortestPathDijkstra.NO_PATH_FOUND) {
                                 long[] pathIds = Arrays.stream(spd.getFinalPath().toArray())
-                                    .mapToLong(graph::toOriginalNodeId)
+                                    .map(graph::toOriginalNodeId)
                                     .toArray();
                                 algoResult = new Result(neoSourceId, neoTargetId, totalCost, pathIds);
                             }
@@ -129,6 +129,22 @@ class DijkstraTest extends AlgoTestBase {
         assertTrue(weightedPath.containsNode(id("f")));
     }
 
+    @Test
+    void testRepeatedSearchesOnlyDependOnTheirFilter() {
+        edgeBlackList.clear();
+        edgeBlackList.add(RawValues.combineIntInt(id("a"), id("b")));
+        edgeBlackList.add(RawValues.combineIntInt(id("d"), id("e")));
+        WeightedPath filteredPath = dijkstra();
+        assertTrue(filteredPath.containsNode(id("c")));
+
+        edgeBlackList.clear();
+        edgeBlackList.add(RawValues.combineIntInt(id("a"), id("c")));
+        edgeBlackList.add(RawValues.combineIntInt(id("d"), id("f")));
+        WeightedPath otherPath = dijkstra();
+        assertTrue(otherPath.containsNode(id("b")));
+        assertTrue(otherPath.containsNode(id("e")));
+    }
+
     @Test
     void testMaxDepth() {
         assertTrue(dijkstra.compute(id("a"), id("d"), 4).isPresent());
@@ -19,7 +19,7 @@
  */
 package org.neo4j.graphalgo.impl.shortestpaths;
 
-import com.carrotsearch.hppc.procedures.IntProcedure;
+import com.carrotsearch.hppc.procedures.LongProcedure;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -117,7 +117,7 @@ public class DirectedDijkstraSPTest extends AlgoTestBase {
         ShortestPathDijkstra dijkstra = new ShortestPathDijkstra(graph, config);
         dijkstra.compute();
 
-        dijkstra.getFinalPath().forEach((IntProcedure) n -> path.append(name(n)));
+        dijkstra.getFinalPath().forEach((LongProcedure) n -> path.append(name(n)));
         assertEquals("abcf", path.toString());
         assertEquals(6.0, dijkstra.getTotalCost(), 0.1);
         assertEquals(4, dijkstra.getPathLength());
@@ -131,7 +131,7 @@ public class DirectedDijkstraSPTest extends AlgoTestBase {
         ShortestPathDijkstra dijkstra = new ShortestPathDijkstra(graph, config);
         dijkstra.compute();
 
-        dijkstra.getFinalPath().forEach((IntProcedure) n -> path.append(name(n)));
+        dijkstra.getFinalPath().forEach((LongProcedure) n -> path.append(name(n)));
         assertEquals("adef", path.toString());
         assertEquals(3.0, dijkstra.getTotalCost(), 0.1);
         assertEquals(4, dijkstra.getPathLength());
@@ -145,7 +145,7 @@ public class DirectedDijkstraSPTest extends AlgoTestBase {
         ShortestPathDijkstra dijkstra = new ShortestPathDijkstra(graph, config);
         dijkstra.compute(id("a"), id("f"));
 
-        dijkstra.getFinalPath().forEach((IntProcedure) n -> path.append(name(n)));
+        dijkstra.getFinalPath().forEach((LongProcedure) n -> path.append(name(n)));
         System.out.println("path(BOTH) = " + path);
         assertEquals("adef", path.toString());
         assertEquals(3.0, dijkstra.getTotalCost(), 0.1);
@@ -160,7 +160,7 @@ public class DirectedDijkstraSPTest extends AlgoTestBase {
         ShortestPathDijkstra dijkstra = new ShortestPathDijkstra(graph, config);
         dijkstra.compute();
 
-        dijkstra.getFinalPath().forEach((IntProcedure) n -> path.append(name(n)));
+        dijkstra.getFinalPath().forEach((LongProcedure) n -> path.append(name(n)));
         assertEquals(0, path.length());
         assertEquals(0, dijkstra.getPathLength());
         assertEquals(ShortestPathDijkstra.NO_PATH_FOUND, dijkstra.getTotalCost(), 0.1);
@@ -174,7 +174,7 @@ public class DirectedDijkstraSPTest extends AlgoTestBase {
         ShortestPathDijkstra dijkstra = new ShortestPathDijkstra(graph, config);
         dijkstra.compute();
 
-        dijkstra.getFinalPath().forEach((IntProcedure) n -> path.append(name(n)));
+        dijkstra.getFinalPath().forEach((LongProcedure) n -> path.append(name(n)));
         assertEquals(0, path.length());
         assertEquals(0, dijkstra.getPathLength());
         assertEquals(ShortestPathDijkstra.NO_PATH_FOUND, dijkstra.getTotalCost(), 0.1);
@@ -188,7 +188,7 @@ public class DirectedDijkstraSPTest extends AlgoTestBase {
         ShortestPathDijkstra dijkstra = new ShortestPathDijkstra(graph, config);
         dijkstra.compute();
 
-        dijkstra.getFinalPath().forEach((IntProcedure) n -> path.append(name(n)));
+        dijkstra.getFinalPath().forEach((LongProcedure) n -> path.append(name(n)));
         assertEquals(0, path.length());
         assertEquals(0, dijkstra.getPathLength());
         assertEquals(ShortestPathDijkstra.NO_PATH_FOUND, dijkstra.getTotalCost(), 0.1);
@@ -148,7 +148,7 @@ final class ShortestPathDijkstraTest extends AlgoTestBase {
         shortestPathDijkstra.compute();
         long[] path = Arrays
                 .stream(shortestPathDijkstra.getFinalPath().toArray())
-                .mapToLong(graph::toOriginalNodeId)
+                .map(graph::toOriginalNodeId)
                 .toArray();
 
         assertEquals(expected.weight, shortestPathDijkstra.getTotalCost(), 0.1);
@@ -179,7 +179,7 @@ final class ShortestPathDijkstraTest extends AlgoTestBase {
         shortestPathDijkstra.compute();
         long[] path = Arrays
                 .stream(shortestPathDijkstra.getFinalPath().toArray())
-                .mapToLong(graph::toOriginalNodeId)
+                .map(graph::toOriginalNodeId)
                 .toArray();
 
         assertEquals(expected.weight, shortestPathDijkstra.getTotalCost(), 0.1);
@@ -211,7 +211,7 @@ final class ShortestPathDijkstraTest extends AlgoTestBase {
         shortestPathDijkstra.compute();
         long[] path = Arrays
                 .stream(shortestPathDijkstra.getFinalPath().toArray())
-                .mapToLong(graph::toOriginalNodeId)
+                .map(graph::toOriginalNodeId)
                 .toArray();
 
         assertArrayEquals(expected.nodeIds, path);
@@ -139,7 +139,7 @@ class YensTest extends AlgoTestBase {
         final WeightedPath weightedPath = path.get();
         assertEquals(4., weightedPath.getCost(), DELTA);
         assertArrayEquals(
-                new int[]{id("a"), id("e"), id("d"), id("c"), id("f")},
+                new long[]{id("a"), id("e"), id("d"), id("c"), id("f")},
                 weightedPath.toArray());
     }
 
@@ -157,7 +157,7 @@ class YensTest extends AlgoTestBase {
         final WeightedPath weightedPath = path.get();
         assertEquals(4., weightedPath.getCost(), DELTA);
         assertArrayEquals(
-                new int[]{id("a"), id("b"), id("c"), id("d"), id("f")},
+                new long[]{id("a"), id("b"), id("c"), id("d"), id("f")},
                 weightedPath.toArray());
     }
 
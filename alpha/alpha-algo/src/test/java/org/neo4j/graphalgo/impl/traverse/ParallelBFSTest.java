@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.traverse;
+
+import com.carrotsearch.hppc.LongArrayDeque;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class ParallelBFSTest {
+
+    static Stream<Arguments> parameters() {
+        return Stream.of(Orientation.NATURAL, Orientation.UNDIRECTED).flatMap(orientation -> Stream.of(
+            arguments(orientation, 1, true),
+            arguments(orientation, 4, true),
+            arguments(orientation, 4, false)
+        ));
+    }
+
+    @ParameterizedTest
+    @MethodSource("parameters")
+    void shouldComputeSameLevelsAsSequentialBfs(Orientation orientation, int concurrency, boolean bottomUpAllowed) {
+        Graph graph = new RandomGraphGenerator(
+            10_000,
+            5,
+            RelationshipDistribution.POWER_LAW,
+            42L,
+            Optional.empty(),
+            AllocationTracker.EMPTY
+        ).generate(orientation);
+
+        ParallelBFS bfs = new ParallelBFS(
+            graph,
+            0L,
+            concurrency,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY,
+            bottomUpAllowed
+        );
+
+        // the second run checks that the arrays are reset between runs
+        for (long startNode : new long[]{0L, 4242L}) {
+            bfs.compute(startNode);
+            long[] expectedLevels = sequentialLevels(graph, startNode);
+
+            long reached = 0L;
+            long maxLevel = 0L;
+            for (long nodeId = 0L; nodeId < graph.nodeCount(); nodeId++) {
+                long level = expectedLevels[(int) nodeId];
+                assertEquals(level, bfs.level(nodeId), "level of node " + nodeId);
+                if (level == ParallelBFS.UNREACHED) {
+                    assertEquals(ParallelBFS.UNREACHED, bfs.parent(nodeId));
+                    continue;
+                }
+                reached++;
+                maxLevel = Math.max(maxLevel, level);
+                if (nodeId == startNode) {
+                    assertEquals(startNode, bfs.parent(nodeId));
+                } else {
+                    long parent = bfs.parent(nodeId);
+                    assertEquals(level - 1, bfs.level(parent), "level of parent of node " + nodeId);
+                    assertTrue(graph.exists(parent, nodeId), "relationship from parent of node " + nodeId);
+                }
+            }
+            assertEquals(reached, bfs.reachedNodes());
+            assertEquals(maxLevel, bfs.maxLevel());
+        }
+
+        bfs.release();
+    }
+
+    @ParameterizedTest
+    @MethodSource("parameters")
+    void shouldStopAtMaxLevelAndRecordReachedNodes(Orientation orientation, int concurrency, boolean bottomUpAllowed) {
+        Graph graph = new RandomGraphGenerator(
+            10_000,
+            5,
+            RelationshipDistribution.POWER_LAW,
+            42L,
+            Optional.empty(),
+            AllocationTracker.EMPTY
+        ).generate(orientation);
+
+        ParallelBFS bfs = new ParallelBFS(
+            graph,
+            0L,
+            concurrency,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY,
+            bottomUpAllowed
+        );
+
+        // the unlimited run checks that only the nodes of the limited run are reset
+        for (long maxLevel : new long[]{2L, ParallelBFS.NO_LEVEL_LIMIT}) {
+            bfs.compute(0L, maxLevel);
+            long[] expectedLevels = sequentialLevels(graph, 0L);
+
+            Set<Long> expectedNodes = new HashSet<>();
+            for (long nodeId = 0L; nodeId < graph.nodeCount(); nodeId++) {
+                long level = expectedLevels[(int) nodeId];
+                if (level != ParallelBFS.UNREACHED && (maxLevel == ParallelBFS.NO_LEVEL_LIMIT || level <= maxLevel)) {
+                    expectedNodes.add(nodeId);
+                    assertEquals(level, bfs.level(nodeId), "level of node " + nodeId);
+                } else {
+                    assertEquals(ParallelBFS.UNREACHED, bfs.level(nodeId), "level of node " + nodeId);
+                }
+            }
+
+            Set<Long> reachedNodes = new HashSet<>();
+            long previousLevel = 0L;
+            for (long index = 0L; index < bfs.reachedNodes(); index++) {
+                long nodeId = bfs.reachedNode(index);
+                reachedNodes.add(nodeId);
+                assertTrue(bfs.level(nodeId) >= previousLevel, "reached nodes are ordered by level");
+                previousLevel = bfs.level(nodeId);
+            }
+            assertEquals(expectedNodes, reachedNodes);
+            assertEquals(expectedNodes.size(), bfs.reachedNodes());
+        }
+
+        bfs.release();
+    }
+
+    private static long[] sequentialLevels(Graph graph, long startNode) {
+        long[] levels = new long[(int) graph.nodeCount()];
+        Arrays.fill(levels, ParallelBFS.UNREACHED);
+        levels[(int) startNode] = 0L;
+        LongArrayDeque queue = new LongArrayDeque();
+        queue.addLast(startNode);
+        while (!queue.isEmpty()) {
+            long node = queue.removeFirst();
+            graph.forEachRelationship(node, (source, target) -> {
+                if (levels[(int) target] == ParallelBFS.UNREACHED) {
+                    levels[(int) target] = levels[(int) source] + 1;
+                    queue.addLast(target);
+                }
+                return true;
+            });
+        }
+        return levels;
+    }
+}
@@ -30,8 +30,10 @@ import org.neo4j.graphalgo.StoreLoaderBuilder;
 import org.neo4j.graphalgo.TestDatabaseCreator;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.loading.GraphStore;
 import org.neo4j.graphalgo.core.loading.NativeFactory;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.impl.traverse.Traverse.ExitPredicate.Result;
 import org.neo4j.graphdb.Node;
 
@@ -221,6 +223,34 @@ class TraverseTest extends AlgoTestBase {
         assertContains(new String[]{"a", "b", "c", "d"}, nodes);
     }
 
+    @Test
+    void testParallelBfsMaxDepthOut() {
+        Graph graph = graphs.getGraph("REL_OUT", Optional.of("cost"));
+        long[] nodes = Traverse.parallelBfs(
+            graph,
+            id("a"),
+            2L,
+            4,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        ).compute().resultNodes();
+        assertContains(new String[]{"a", "b", "c", "d"}, nodes);
+    }
+
+    @Test
+    void testParallelBfsWithoutMaxDepthVisitsAllReachableNodes() {
+        Graph graph = graphs.getGraph("REL_OUT", Optional.of("cost"));
+        long[] nodes = Traverse.parallelBfs(
+            graph,
+            id("d"),
+            -1L,
+            4,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        ).compute().resultNodes();
+        assertContains(new String[]{"d", "e", "f", "g"}, nodes);
+    }
+
     @Test
     void testBfsMaxCostOut() {
         long source = id("a");
@@ -105,6 +105,22 @@ final class ArticleRankTest extends AlgoTestBase {
 
     @AllGraphTypesTest
     void test(Class<? extends GraphStoreFactory> factoryType) {
+        assertArticleRanks(factoryType, DEFAULT_CONFIG);
+    }
+
+    @AllGraphTypesTest
+    void testPullBased(Class<? extends GraphStoreFactory> factoryType) {
+        PageRank.Config config = new PageRank.Config(
+            DEFAULT_CONFIG.iterations,
+            DEFAULT_CONFIG.dampingFactor,
+            DEFAULT_CONFIG.toleranceValue,
+            false,
+            true
+        );
+        assertArticleRanks(factoryType, config);
+    }
+
+    private void assertArticleRanks(Class<? extends GraphStoreFactory> factoryType, PageRank.Config config) {
         final Label label = Label.label("Label1");
         final Map<Long, Double> expected = new HashMap<>();
 
@@ -139,7 +155,7 @@ final class ArticleRankTest extends AlgoTestBase {
         }
 
         final CentralityResult rankResult = LabsPageRankAlgorithmType.ARTICLE_RANK
-                .create(graph, DEFAULT_CONFIG, LongStream.empty())
+                .create(graph, config, LongStream.empty())
                 .compute()
                 .result();
 
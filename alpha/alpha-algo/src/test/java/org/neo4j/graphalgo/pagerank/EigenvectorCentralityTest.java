@@ -105,6 +105,22 @@ final class EigenvectorCentralityTest extends AlgoTestBase {
 
     @AllGraphTypesTest
     void test(Class<? extends GraphStoreFactory> factoryType) {
+        assertEigenvectorCentralities(factoryType, DEFAULT_EIGENVECTOR_CONFIG);
+    }
+
+    @AllGraphTypesTest
+    void testPullBased(Class<? extends GraphStoreFactory> factoryType) {
+        PageRank.Config config = new PageRank.Config(
+            DEFAULT_EIGENVECTOR_CONFIG.iterations,
+            DEFAULT_EIGENVECTOR_CONFIG.dampingFactor,
+            DEFAULT_EIGENVECTOR_CONFIG.toleranceValue,
+            false,
+            true
+        );
+        assertEigenvectorCentralities(factoryType, config);
+    }
+
+    private void assertEigenvectorCentralities(Class<? extends GraphStoreFactory> factoryType, PageRank.Config config) {
         final Label label = Label.label("Label1");
         final Map<Long, Double> expected = new HashMap<>();
 
@@ -139,7 +155,7 @@ final class EigenvectorCentralityTest extends AlgoTestBase {
         }
 
         final CentralityResult rankResult = LabsPageRankAlgorithmType.EIGENVECTOR_CENTRALITY
-                .create(graph, DEFAULT_EIGENVECTOR_CONFIG, LongStream.empty())
+                .create(graph, config, LongStream.empty())
                 .compute()
                 .result();
 
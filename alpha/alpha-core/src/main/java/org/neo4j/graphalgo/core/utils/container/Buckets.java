@@ -20,18 +20,22 @@
 package org.neo4j.graphalgo.core.utils.container;
 
 
-import java.util.Arrays;
-import java.util.function.IntPredicate;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.function.LongPredicate;
 
 /**
  * container for assigning nodeIds to arbitrary buckets
  */
 public class Buckets {
 
-    private final int[] buckets;
+    private static final long NO_BUCKET = -1L;
+
+    private final HugeLongArray buckets;
 
-    public Buckets(int capacity) {
-        buckets = new int[capacity];
+    public Buckets(long capacity, AllocationTracker tracker) {
+        buckets = HugeLongArray.newArray(capacity, tracker);
         reset();
     }
 
@@ -39,7 +43,7 @@ public class Buckets {
      * reset all buckets
      */
     public void reset() {
-        Arrays.fill(buckets, -1);
+        buckets.fill(NO_BUCKET);
     }
 
     /**
@@ -48,8 +52,8 @@ public class Buckets {
      * @return if the no nodes left, false otherwise
      */
     public boolean isEmpty() {
-        for (int i = 0; i < buckets.length; i++) {
-            if (buckets[i] != -1) {
+        for (long i = 0; i < buckets.size(); i++) {
+            if (buckets.get(i) != NO_BUCKET) {
                 return false;
             }
         }
@@ -62,8 +66,8 @@ public class Buckets {
      * @param nodeId the node id
      * @param bucket the bucket index
      */
-    public void set(int nodeId, int bucket) {
-        buckets[nodeId] = bucket;
+    public void set(long nodeId, long bucket) {
+        buckets.set(nodeId, bucket);
     }
 
     /**
@@ -71,11 +75,11 @@ public class Buckets {
      *
      * @return the index
      */
-    public int nextNonEmptyBucket() {
-        int min = Integer.MAX_VALUE;
-        for (int i = 0; i < buckets.length; i++) {
-            int bucket = buckets[i];
-            if (bucket == -1) {
+    public long nextNonEmptyBucket() {
+        long min = Long.MAX_VALUE;
+        for (long i = 0; i < buckets.size(); i++) {
+            long bucket = buckets.get(i);
+            if (bucket == NO_BUCKET) {
                 continue;
             }
             if (bucket < min) {
@@ -92,11 +96,11 @@ public class Buckets {
      * @param bucket   the bucket index
      * @param consumer the nodeConsumer
      */
-    public void forEachInBucket(int bucket, IntPredicate consumer) {
-        for (int nodeId = 0; nodeId < buckets.length; nodeId++) {
-            int tb = buckets[nodeId];
+    public void forEachInBucket(long bucket, LongPredicate consumer) {
+        for (long nodeId = 0; nodeId < buckets.size(); nodeId++) {
+            long tb = buckets.get(nodeId);
             if (tb == bucket) {
-                buckets[nodeId] = -1; // clear bucket
+                buckets.set(nodeId, NO_BUCKET); // clear bucket
                 if (!consumer.test(nodeId)) {
                     return;
                 }
@@ -136,7 +136,9 @@ public final class ArticleRankProc extends AlgoBaseProc<PageRank, PageRank, Arti
                 PageRank.Config algoConfig = new PageRank.Config(
                     configuration.maxIterations(),
                     configuration.dampingFactor(),
-                    configuration.tolerance()
+                    configuration.tolerance(),
+                    false,
+                    configuration.pullBased()
                 );
                 return LabsPageRankAlgorithmType.ARTICLE_RANK.create(
                     graph,
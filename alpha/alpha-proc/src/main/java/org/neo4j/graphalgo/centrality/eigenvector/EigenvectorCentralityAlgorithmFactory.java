@@ -39,7 +39,9 @@ class EigenvectorCentralityAlgorithmFactory extends AlgorithmFactory<PageRank, E
         PageRank.Config algoConfig = new PageRank.Config(
             configuration.maxIterations(),
             1.0,
-            PageRank.DEFAULT_TOLERANCE
+            PageRank.DEFAULT_TOLERANCE,
+            false,
+            configuration.pullBased()
         );
         return LabsPageRankAlgorithmType.EIGENVECTOR_CENTRALITY
             .create(
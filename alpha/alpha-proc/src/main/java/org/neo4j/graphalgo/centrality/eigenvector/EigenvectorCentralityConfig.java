@@ -58,6 +58,11 @@ public interface EigenvectorCentralityConfig extends
         return "NONE";
     }
 
+    @Value.Default
+    default boolean pullBased() {
+        return false;
+    }
+
     static EigenvectorCentralityConfig of(
         String username,
         Optional<String> graphName,
@@ -26,8 +26,8 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
 import org.neo4j.graphalgo.core.write.NodePropertyExporter;
-import org.neo4j.graphalgo.core.write.Translators;
 import org.neo4j.graphalgo.impl.ShortestPathDeltaStepping;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.results.AbstractResultBuilder;
@@ -110,7 +110,7 @@ public class ShortestPathDeltaSteppingProc extends AlgoBaseProc<ShortestPathDelt
                 .write(
                     config.writeProperty(),
                     algorithm.getShortestPaths(),
-                    Translators.DOUBLE_ARRAY_TRANSLATOR
+                    HugeAtomicDoubleArray.Translator.INSTANCE
                 );
         });
 
@@ -144,7 +144,8 @@ public class ShortestPathDeltaSteppingProc extends AlgoBaseProc<ShortestPathDelt
                 return new ShortestPathDeltaStepping(
                     graph,
                     configuration.startNode(),
-                    configuration.delta()
+                    configuration.delta(),
+                    tracker
                 );
             }
         };
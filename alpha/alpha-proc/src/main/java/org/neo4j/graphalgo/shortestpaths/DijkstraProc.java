@@ -19,7 +19,7 @@
  */
 package org.neo4j.graphalgo.shortestpaths;
 
-import com.carrotsearch.hppc.IntArrayDeque;
+import com.carrotsearch.hppc.LongArrayDeque;
 import org.neo4j.graphalgo.AlgoBaseProc;
 import org.neo4j.graphalgo.AlgorithmFactory;
 import org.neo4j.graphalgo.AlphaAlgorithmFactory;
@@ -98,7 +98,7 @@ public class DijkstraProc extends AlgoBaseProc<ShortestPathDijkstra, ShortestPat
                .withTotalCosts(dijkstra.getTotalCost());
 
         try (ProgressTimer timer = builder.timeWrite()) {
-            final IntArrayDeque finalPath = dijkstra.getFinalPath();
+            final LongArrayDeque finalPath = dijkstra.getFinalPath();
             final double[] finalPathCost = dijkstra.getFinalPathCosts();
             dijkstra.release();
 
@@ -137,18 +137,18 @@ public class DijkstraProc extends AlgoBaseProc<ShortestPathDijkstra, ShortestPat
                 AllocationTracker tracker,
                 Log log
             ) {
-                return new ShortestPathDijkstra(graph, configuration);
+                return new ShortestPathDijkstra(graph, configuration, tracker);
             }
         };
     }
 
     private static final class DequeMapping implements IdMapping {
         private final IdMapping mapping;
-        private final int[] data;
+        private final long[] data;
         private final int offset;
         private final int length;
 
-        private DequeMapping(IdMapping mapping, IntArrayDeque data) {
+        private DequeMapping(IdMapping mapping, LongArrayDeque data) {
             this.mapping = mapping;
             if (data.head <= data.tail) {
                 this.data = data.buffer;
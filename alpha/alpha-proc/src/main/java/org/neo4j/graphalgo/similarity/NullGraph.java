@@ -148,6 +148,17 @@ public class NullGraph implements Graph {
             "org.neo4j.graphalgo.similarity.NullGraph.forEachRelationship is not implemented.");
     }
 
+    @Override
+    public void forEachIncomingRelationship(long nodeId, RelationshipConsumer consumer) {
+        throw new UnsupportedOperationException(
+            "org.neo4j.graphalgo.similarity.NullGraph.forEachIncomingRelationship is not implemented.");
+    }
+
+    @Override
+    public int inDegree(long nodeId) {
+        throw new UnsupportedOperationException("org.neo4j.graphalgo.similarity.NullGraph.inDegree is not implemented.");
+    }
+
     @Override
     public boolean exists(long sourceNodeId, long targetNodeId) {
         throw new UnsupportedOperationException("org.neo4j.graphalgo.similarity.NullGraph.exists is not implemented.");
@@ -129,7 +129,15 @@ public class KSpanningTreeProc extends AlgoBaseProc<KSpanningTree, SpanningTree,
                 AllocationTracker tracker,
                 Log log
             ) {
-                return new KSpanningTree(graph, graph, graph, minMax, configuration.startNodeId(), configuration.k());
+                return new KSpanningTree(
+                    graph,
+                    graph,
+                    graph,
+                    minMax,
+                    configuration.startNodeId(),
+                    configuration.k(),
+                    tracker
+                );
             }
         };
     }
@@ -136,7 +136,7 @@ public class SpanningTreeProc extends AlgoBaseProc<Prim, SpanningTree, SpanningT
                 AllocationTracker tracker,
                 Log log
             ) {
-                return new Prim(graph, graph, minMax, configuration.startNodeId());
+                return new Prim(graph, graph, minMax, configuration.startNodeId(), tracker);
             }
         };
     }
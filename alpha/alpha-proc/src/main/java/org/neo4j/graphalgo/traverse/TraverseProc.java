@@ -24,6 +24,7 @@ import org.neo4j.graphalgo.AlgorithmFactory;
 import org.neo4j.graphalgo.AlphaAlgorithmFactory;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.impl.traverse.Traverse;
 import org.neo4j.graphalgo.impl.traverse.TraverseConfig;
@@ -85,6 +86,18 @@ public class TraverseProc extends AlgoBaseProc<Traverse, Traverse, TraverseConfi
         return new AlphaAlgorithmFactory<Traverse, TraverseConfig>() {
             @Override
             public Traverse build(Graph graph, TraverseConfig configuration, AllocationTracker tracker, Log log) {
+                // without targets or a cost limit the result only depends on the number of hops
+                boolean limitedByCost = config.relationshipWeightProperty() != null && !Double.isNaN(config.maxCost());
+                if (isBfs && config.targetNodes().isEmpty() && (config.maxDepth() != -1 || !limitedByCost)) {
+                    return Traverse.parallelBfs(
+                        graph,
+                        config.startNode(),
+                        config.maxDepth(),
+                        configuration.concurrency(),
+                        Pools.DEFAULT,
+                        tracker
+                    );
+                }
                 Traverse.ExitPredicate exitFunction;
                 Traverse.Aggregator aggregatorFunction;
                 // target node given; terminate if target is reached
@@ -99,7 +112,7 @@ public class TraverseProc extends AlgoBaseProc<Traverse, Traverse, TraverseConfi
                     exitFunction = (s, t, w) -> w >  config.maxDepth() ? Traverse.ExitPredicate.Result.CONTINUE : Traverse.ExitPredicate.Result.FOLLOW;
                     aggregatorFunction = (s, t, w) -> w + 1.;
                     // maxCost & weightProperty given; aggregate nodes with lower cost then maxCost
-                } else if (config.relationshipWeightProperty() != null && !Double.isNaN(config.maxCost())) {
+                } else if (limitedByCost) {
                     double maxCost = config.maxCost();
                     exitFunction = (s, t, w) -> w > maxCost ? Traverse.ExitPredicate.Result.CONTINUE : Traverse.ExitPredicate.Result.FOLLOW;
                     aggregatorFunction = (s, t, w) -> w + graph.relationshipProperty(s, t, 0.0D);
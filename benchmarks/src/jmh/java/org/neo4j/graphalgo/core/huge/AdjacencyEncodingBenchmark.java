@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIntersect;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.HugeGraphUtil;
+import org.neo4j.graphalgo.core.loading.IdMap;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares traversing and intersecting adjacency lists with the {@link AdjacencyEncoding#VAR_LONG}
+ * and the {@link AdjacencyEncoding#PACKED} encoding on the same random graph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AdjacencyEncodingBenchmark {
+
+    @Param({"100000"})
+    public int nodeCount;
+
+    @Param({"10", "100"})
+    public int averageDegree;
+
+    @Param({"VAR_LONG", "PACKED"})
+    public AdjacencyEncoding encoding;
+
+    private Graph graph;
+    private Graph undirectedGraph;
+    private RelationshipIntersect intersect;
+
+    @Setup
+    public void setup() {
+        graph = generate(Orientation.NATURAL);
+        undirectedGraph = generate(Orientation.UNDIRECTED);
+        intersect = undirectedGraph.intersection();
+    }
+
+    @TearDown
+    public void tearDown() {
+        graph.release();
+        undirectedGraph.release();
+    }
+
+    @Benchmark
+    public long forEachRelationship() {
+        long[] sum = {0L};
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            graph.forEachRelationship(nodeId, (source, target) -> {
+                sum[0] += target;
+                return true;
+            });
+        }
+        return sum[0];
+    }
+
+    @Benchmark
+    public long degree() {
+        long sum = 0L;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            sum += graph.degree(nodeId);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public void intersectAll(Blackhole blackhole) {
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            intersect.intersectAll(nodeId, (a, b, c) -> blackhole.consume(c));
+        }
+    }
+
+    private Graph generate(Orientation orientation) {
+        AllocationTracker tracker = AllocationTracker.EMPTY;
+        HugeGraphUtil.IdMapBuilder idMapBuilder = HugeGraphUtil.idMapBuilder(nodeCount, Pools.DEFAULT, tracker);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            idMapBuilder.addNode(nodeId);
+        }
+        IdMap idMap = idMapBuilder.build();
+
+        HugeGraphUtil.RelationshipsBuilder relationshipsBuilder = HugeGraphUtil.createRelImporter(
+            idMap,
+            orientation,
+            false,
+            Aggregation.NONE,
+            encoding,
+            1,
+            Pools.DEFAULT,
+            tracker
+        );
+
+        // mix of targets close to the source and uniformly random targets,
+        // which gives blocks with small as well as large deltas
+        Random random = new Random(42L);
+        for (long source = 0; source < nodeCount; source++) {
+            int degree = random.nextInt(2 * averageDegree + 1);
+            for (int i = 0; i < degree; i++) {
+                long target = random.nextBoolean()
+                    ? Math.floorMod(source + random.nextInt(4 * averageDegree), nodeCount)
+                    : random.nextInt(nodeCount);
+                relationshipsBuilder.add(source, target);
+            }
+        }
+
+        return HugeGraphUtil.create(idMap, relationshipsBuilder.build(), tracker);
+    }
+}
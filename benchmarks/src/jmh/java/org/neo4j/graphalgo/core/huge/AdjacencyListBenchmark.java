@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decompresses adjacency lists directly through their cursors, without the {@link HugeGraph} consumer overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AdjacencyListBenchmark {
+
+    @Param({"100000"})
+    public int nodeCount;
+
+    @Param({"10", "100"})
+    public int averageDegree;
+
+    private HugeGraph graph;
+    private AdjacencyList adjacencyList;
+    private AdjacencyOffsets adjacencyOffsets;
+    private AdjacencyList.DecompressingCursor cursor;
+
+    @Setup
+    public void setup() {
+        graph = new RandomGraphGenerator(
+            nodeCount,
+            averageDegree,
+            RelationshipDistribution.UNIFORM,
+            42L,
+            Optional.empty(),
+            AllocationTracker.EMPTY
+        ).generate(Orientation.NATURAL);
+        HugeGraph.TopologyCSR topology = graph.relationships().topology();
+        adjacencyList = topology.list();
+        adjacencyOffsets = topology.offsets();
+        cursor = adjacencyList.rawDecompressingCursor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        graph.release();
+    }
+
+    @Benchmark
+    public long decompress() {
+        long sum = 0L;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            long offset = adjacencyOffsets.get(nodeId);
+            if (offset == 0L) {
+                continue;
+            }
+            AdjacencyList.DecompressingCursor cursor = adjacencyList.decompressingCursor(this.cursor, offset);
+            while (cursor.hasNextVLong()) {
+                sum += cursor.nextVLong();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long skipUntil() {
+        long sum = 0L;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            long offset = adjacencyOffsets.get(nodeId);
+            if (offset == 0L) {
+                continue;
+            }
+            AdjacencyList.DecompressingCursor cursor = adjacencyList.decompressingCursor(this.cursor, offset);
+            sum += cursor.skipUntil(nodeId);
+        }
+        return sum;
+    }
+}
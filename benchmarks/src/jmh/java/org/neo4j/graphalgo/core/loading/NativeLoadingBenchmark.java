@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.TestDatabaseCreator;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.compat.GraphDbApi;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.RelationshipType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.createNode;
+import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.getNodeById;
+import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.runInTransaction;
+
+/**
+ * Loads a random graph from an embedded database, which exercises the
+ * {@link ScanningNodesImporter} and {@link ScanningRelationshipsImporter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class NativeLoadingBenchmark {
+
+    private static final RelationshipType TYPE = RelationshipType.withName("REL");
+    private static final int BATCH_SIZE = 100_000;
+
+    @Param({"100000"})
+    public int nodeCount;
+
+    @Param({"10"})
+    public int averageDegree;
+
+    @Param({"1", "4"})
+    public int concurrency;
+
+    private GraphDbApi db;
+
+    @Setup
+    public void setup() {
+        db = TestDatabaseCreator.createTestDatabase();
+        for (int batchStart = 0; batchStart < nodeCount; batchStart += BATCH_SIZE) {
+            int start = batchStart;
+            int end = Math.min(nodeCount, start + BATCH_SIZE);
+            runInTransaction(db, tx -> {
+                for (int i = start; i < end; i++) {
+                    createNode(db, tx);
+                }
+            });
+        }
+
+        Random random = new Random(42L);
+        long relationshipCount = (long) nodeCount * averageDegree;
+        for (long batchStart = 0; batchStart < relationshipCount; batchStart += BATCH_SIZE) {
+            long start = batchStart;
+            long end = Math.min(relationshipCount, start + BATCH_SIZE);
+            runInTransaction(db, tx -> {
+                for (long i = start; i < end; i++) {
+                    Node source = getNodeById(db, tx, i / averageDegree);
+                    Node target = getNodeById(db, tx, random.nextInt(nodeCount));
+                    source.createRelationshipTo(target, TYPE);
+                }
+            });
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        db.shutdown();
+    }
+
+    @Benchmark
+    public Graph load() {
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .loadAnyLabel()
+            .loadAnyRelationshipType()
+            .concurrency(concurrency)
+            .build()
+            .graph(NativeFactory.class);
+        graph.release();
+        return graph;
+    }
+}
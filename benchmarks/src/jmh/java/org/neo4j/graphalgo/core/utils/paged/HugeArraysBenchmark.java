@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class HugeArraysBenchmark {
+
+    // the single page and the paged implementation
+    @Param({"100000", "10000000"})
+    public int size;
+
+    private HugeLongArray longArray;
+    private HugeAtomicLongArray atomicLongArray;
+    private long[] randomIndices;
+
+    @Setup
+    public void setup() {
+        longArray = HugeLongArray.newArray(size, AllocationTracker.EMPTY);
+        longArray.setAll(index -> index);
+        atomicLongArray = HugeAtomicLongArray.newArray(size, AllocationTracker.EMPTY);
+        Random random = new Random(42L);
+        randomIndices = new long[size];
+        for (int i = 0; i < size; i++) {
+            randomIndices[i] = random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public long longArraySequentialGet() {
+        long sum = 0L;
+        for (long index = 0; index < size; index++) {
+            sum += longArray.get(index);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long longArrayRandomGet() {
+        long sum = 0L;
+        for (long index : randomIndices) {
+            sum += longArray.get(index);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public HugeLongArray longArraySequentialSet() {
+        for (long index = 0; index < size; index++) {
+            longArray.set(index, index);
+        }
+        return longArray;
+    }
+
+    @Benchmark
+    public long longArrayCursor() {
+        long sum = 0L;
+        HugeCursor<long[]> cursor = longArray.initCursor(longArray.newCursor());
+        while (cursor.next()) {
+            long[] page = cursor.array;
+            for (int i = cursor.offset; i < cursor.limit; i++) {
+                sum += page[i];
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long atomicLongArrayRandomGet() {
+        long sum = 0L;
+        for (long index : randomIndices) {
+            sum += atomicLongArray.get(index);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public HugeAtomicLongArray atomicLongArrayRandomGetAndAdd() {
+        for (long index : randomIndices) {
+            atomicLongArray.getAndAdd(index, 1L);
+        }
+        return atomicLongArray;
+    }
+}
@@ -36,10 +36,50 @@ public final class SettingsProxy {
         "false"
     );
 
+    private static final Setting<Long> CATALOG_MEMORY_BUDGET = Settings.setting(
+        "gds.catalog.memory_budget",
+        Settings.BYTES,
+        "0"
+    );
+
+    private static final Setting<File> CATALOG_SPILL_DIRECTORY = Settings.pathSetting(
+        "gds.catalog.spill_directory",
+        "gds-catalog",
+        GraphDatabaseSettings.data_directory
+    );
+
+    private static final Setting<File> GRAPH_PERSISTENCE_DIRECTORY = Settings.pathSetting(
+        "gds.graph.persistence_directory",
+        "gds-graphs",
+        GraphDatabaseSettings.data_directory
+    );
+
+    private static final Setting<Boolean> OFF_HEAP_ALLOCATION = Settings.setting(
+        "gds.memory.off_heap",
+        Settings.BOOLEAN,
+        "false"
+    );
+
     public static Setting<Boolean> unlimitedCores() {
         return CORE_LIMITATION;
     }
 
+    public static Setting<Long> catalogMemoryBudget() {
+        return CATALOG_MEMORY_BUDGET;
+    }
+
+    public static Setting<File> catalogSpillDirectory() {
+        return CATALOG_SPILL_DIRECTORY;
+    }
+
+    public static Setting<File> graphPersistenceDirectory() {
+        return GRAPH_PERSISTENCE_DIRECTORY;
+    }
+
+    public static Setting<Boolean> offHeapAllocation() {
+        return OFF_HEAP_ALLOCATION;
+    }
+
     public static Setting<Boolean> boltEnabled() {
         return new BoltConnector("bolt").enabled;
     }
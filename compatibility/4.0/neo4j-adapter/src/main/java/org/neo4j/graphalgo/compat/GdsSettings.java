@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.compat;
+
+import org.neo4j.configuration.Config;
+
+import java.nio.file.Path;
+
+/**
+ * Reads the settings of the Graph Data Science library from the database configuration.
+ */
+public final class GdsSettings {
+
+    private final Config config;
+
+    GdsSettings(Config config) {
+        this.config = config;
+    }
+
+    public long catalogMemoryBudget() {
+        return config.get(SettingsProxy.catalogMemoryBudget());
+    }
+
+    public Path catalogSpillDirectory() {
+        return config.get(SettingsProxy.catalogSpillDirectory());
+    }
+
+    public Path graphPersistenceDirectory() {
+        return config.get(SettingsProxy.graphPersistenceDirectory());
+    }
+
+    public boolean offHeapAllocation() {
+        return config.get(SettingsProxy.offHeapAllocation());
+    }
+}
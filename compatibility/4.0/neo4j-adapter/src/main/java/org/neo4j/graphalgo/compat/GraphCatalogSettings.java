@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.compat;
+
+import org.neo4j.annotations.service.ServiceProvider;
+import org.neo4j.configuration.Description;
+import org.neo4j.configuration.GraphDatabaseSettings;
+import org.neo4j.configuration.SettingValueParsers;
+import org.neo4j.configuration.SettingsDeclaration;
+import org.neo4j.graphdb.config.Setting;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.neo4j.configuration.SettingImpl.newBuilder;
+
+@ServiceProvider
+public class GraphCatalogSettings implements SettingsDeclaration {
+
+    @Description("Maximum amount of heap memory that the graphs in the graph catalog may occupy. A value of 0 disables the limit.")
+    public static Setting<Long> catalogMemoryBudget = newBuilder(
+        "gds.catalog.memory_budget",
+        SettingValueParsers.BYTES,
+        0L
+    ).build();
+
+    @Description("Directory to which graphs are evicted when the graph catalog exceeds its memory budget.")
+    public static Setting<Path> catalogSpillDirectory = newBuilder(
+        "gds.catalog.spill_directory",
+        SettingValueParsers.PATH,
+        Paths.get("gds-catalog")
+    ).setDependency(GraphDatabaseSettings.data_directory).build();
+
+    @Description("Directory that graphs are written to by `gds.graph.persist` and loaded from by `gds.graph.load`.")
+    public static Setting<Path> graphPersistenceDirectory = newBuilder(
+        "gds.graph.persistence_directory",
+        SettingValueParsers.PATH,
+        Paths.get("gds-graphs")
+    ).setDependency(GraphDatabaseSettings.data_directory).build();
+}
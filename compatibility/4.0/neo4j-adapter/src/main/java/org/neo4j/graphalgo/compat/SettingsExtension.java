@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.compat;
+
+import org.neo4j.configuration.Config;
+import org.neo4j.kernel.extension.ExtensionFactory;
+import org.neo4j.kernel.extension.ExtensionType;
+import org.neo4j.kernel.extension.context.ExtensionContext;
+import org.neo4j.kernel.lifecycle.Lifecycle;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+
+/**
+ * Base class for database extensions that apply the {@link GdsSettings} when the database starts.
+ * Subclasses have to be registered as {@code ExtensionFactory} services and must bind the type parameter,
+ * as the kernel resolves the dependencies from the generic superclass.
+ */
+public abstract class SettingsExtension<DEPENDENCIES extends SettingsExtension.Dependencies> extends ExtensionFactory<DEPENDENCIES> {
+
+    protected SettingsExtension(String name) {
+        super(ExtensionType.DATABASE, name);
+    }
+
+    protected abstract void init(GdsSettings settings);
+
+    @Override
+    public Lifecycle newInstance(
+        ExtensionContext context, DEPENDENCIES dependencies
+    ) {
+        return new LifecycleAdapter() {
+            @Override
+            public void init() {
+                SettingsExtension.this.init(new GdsSettings(dependencies.config()));
+            }
+
+            @Override
+            public void shutdown() {
+            }
+        };
+    }
+
+    public interface Dependencies {
+        Config config();
+    }
+}
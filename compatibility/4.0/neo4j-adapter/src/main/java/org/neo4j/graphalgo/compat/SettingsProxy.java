@@ -36,6 +36,22 @@ public final class SettingsProxy {
         return ConcurrencyControllerSettings.unlimitedCores;
     }
 
+    public static Setting<Long> catalogMemoryBudget() {
+        return GraphCatalogSettings.catalogMemoryBudget;
+    }
+
+    public static Setting<Path> catalogSpillDirectory() {
+        return GraphCatalogSettings.catalogSpillDirectory;
+    }
+
+    public static Setting<Path> graphPersistenceDirectory() {
+        return GraphCatalogSettings.graphPersistenceDirectory;
+    }
+
+    public static Setting<Boolean> offHeapAllocation() {
+        return OffHeapAllocationSettings.offHeapAllocation;
+    }
+
     public static Setting<Boolean> boltEnabled() {
         return BoltConnector.enabled;
     }
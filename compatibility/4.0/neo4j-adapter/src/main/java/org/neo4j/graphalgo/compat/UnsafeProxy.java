@@ -20,6 +20,7 @@
 package org.neo4j.graphalgo.compat;
 
 import org.neo4j.internal.unsafe.UnsafeUtil;
+import org.neo4j.memory.GlobalMemoryTracker;
 
 /**
  * Please, never use the following methods with a unqualified static import, always call them qualified
@@ -120,6 +121,61 @@ public final class UnsafeProxy {
         return UnsafeUtil.compareAndSwapLong(array, offset, expect, update);
     }
 
+    /**
+     * Allocates the given number of bytes of native memory, which is accounted for in the global memory tracker of Neo4j.
+     * The memory is not initialized and must be released with {@link #free(long, long)}.
+     *
+     * @return the address of the allocated memory
+     */
+    public static long allocateMemory(long bytes) {
+        return UnsafeUtil.allocateMemory(bytes, GlobalMemoryTracker.INSTANCE);
+    }
+
+    /**
+     * Releases native memory that has been allocated with {@link #allocateMemory(long)}.
+     */
+    public static void free(long address, long bytes) {
+        UnsafeUtil.free(address, bytes, GlobalMemoryTracker.INSTANCE);
+    }
+
+    /**
+     * Sets the given number of bytes of native memory, starting at the given address, to the given value.
+     */
+    public static void setMemory(long address, long bytes, byte value) {
+        UnsafeUtil.setMemory(address, bytes, value);
+    }
+
+    /**
+     * Copies the given number of bytes of native memory from one address to another.
+     */
+    public static void copyMemory(long srcAddress, long destAddress, long bytes) {
+        UnsafeUtil.copyMemory(srcAddress, destAddress, bytes);
+    }
+
+    public static byte getByte(long address) {
+        return UnsafeUtil.getByte(address);
+    }
+
+    public static void putByte(long address, byte value) {
+        UnsafeUtil.putByte(address, value);
+    }
+
+    public static long getLong(long address) {
+        return UnsafeUtil.getLong(address);
+    }
+
+    public static void putLong(long address, long value) {
+        UnsafeUtil.putLong(address, value);
+    }
+
+    public static double getDouble(long address) {
+        return UnsafeUtil.getDouble(address);
+    }
+
+    public static void putDouble(long address, double value) {
+        UnsafeUtil.putDouble(address, value);
+    }
+
     private UnsafeProxy() {
         throw new UnsupportedOperationException("No instances");
     }
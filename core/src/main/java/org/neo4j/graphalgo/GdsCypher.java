@@ -70,7 +70,7 @@ public abstract class GdsCypher {
     }
 
     public enum ExecutionModes implements ExecutionMode {
-        WRITE, STATS, STREAM
+        WRITE, STATS, STREAM, MUTATE
     }
 
     @SuppressWarnings("unused")
@@ -318,6 +318,10 @@ public abstract class GdsCypher {
             return executionMode(ExecutionModes.STREAM);
         }
 
+        default ParametersBuildStage mutateMode() {
+            return executionMode(ExecutionModes.MUTATE);
+        }
+
         default ParametersBuildStage writeEstimation() {
             return estimationMode(ExecutionModes.WRITE);
         }
@@ -329,6 +333,10 @@ public abstract class GdsCypher {
         default ParametersBuildStage streamEstimation() {
             return estimationMode(ExecutionModes.STREAM);
         }
+
+        default ParametersBuildStage mutateEstimation() {
+            return estimationMode(ExecutionModes.MUTATE);
+        }
     }
 
     public interface ParametersBuildStage {
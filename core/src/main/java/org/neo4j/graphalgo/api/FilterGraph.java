@@ -125,6 +125,21 @@ public abstract class FilterGraph implements Graph {
         graph.forEachRelationship(nodeId, fallbackValue, consumer);
     }
 
+    @Override
+    public void forEachIncomingRelationship(long nodeId, RelationshipConsumer consumer) {
+        graph.forEachIncomingRelationship(nodeId, consumer);
+    }
+
+    @Override
+    public int inDegree(long nodeId) {
+        return graph.inDegree(nodeId);
+    }
+
+    @Override
+    public void prepareIncomingRelationships(int concurrency) {
+        graph.prepareIncomingRelationships(concurrency);
+    }
+
     @Override
     public boolean exists(long sourceNodeId, long targetNodeId) {
         return graph.exists(sourceNodeId, targetNodeId);
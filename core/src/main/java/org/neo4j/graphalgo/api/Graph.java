@@ -53,6 +53,27 @@ public interface Graph extends IdMapping, Degrees, NodeIterator, BatchNodeIterab
 
     boolean isUndirected();
 
+    /**
+     * Calls the consumer for every relationship that ends in the given node.
+     * The consumer receives the given node first and the source node of the relationship second.
+     * <p>
+     * Undirected graphs contain every relationship in both directions,
+     * their incoming relationships are the same as their outgoing ones.
+     */
+    void forEachIncomingRelationship(long nodeId, RelationshipConsumer consumer);
+
+    /**
+     * Builds the inverse topology that serves incoming relationships using the given concurrency.
+     * Calling this method is optional, otherwise the inverse is built on first access using the default concurrency.
+     * Graphs without a separate inverse ignore this call.
+     */
+    default void prepareIncomingRelationships(int concurrency) { }
+
+    /**
+     * @return the number of relationships that end in the given node.
+     */
+    int inDegree(long nodeId);
+
     boolean hasRelationshipProperty();
 
     void canRelease(boolean canRelease);
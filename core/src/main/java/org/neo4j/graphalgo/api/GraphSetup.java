@@ -26,6 +26,7 @@ import org.neo4j.graphalgo.PropertyMappings;
 import org.neo4j.graphalgo.RelationshipProjection;
 import org.neo4j.graphalgo.RelationshipProjections;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.huge.AdjacencyEncoding;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
@@ -95,6 +96,10 @@ public class GraphSetup {
         return createConfig.relationshipProjections();
     }
 
+    public AdjacencyEncoding adjacencyEncoding() {
+        return createConfig.adjacencyEncoding();
+    }
+
     public Optional<String> nodeQuery() {
         return createConfig instanceof GraphCreateFromCypherConfig
             ? Optional.ofNullable(((GraphCreateFromCypherConfig) createConfig).nodeQuery())
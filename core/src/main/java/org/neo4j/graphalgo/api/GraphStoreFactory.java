@@ -39,6 +39,7 @@ import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.Assessable;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.OffHeapAllocation;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import org.neo4j.logging.Log;
 
@@ -117,9 +118,11 @@ public abstract class GraphStoreFactory implements Assessable {
         Map<String, HugeGraph.TopologyCSR> relationships = new HashMap<>(relTypeCount);
         Map<String, Map<String, HugeGraph.PropertyCSR>> relationshipProperties = new HashMap<>(relTypeCount);
 
+        long nodeCount = idsAndProperties.idMap().nodeCount();
+
         relationshipImportResult.builders().forEach((relationshipProjectionMapping, relationshipsBuilder) -> {
-            AdjacencyList adjacencyList = relationshipsBuilder.adjacencyList();
-            AdjacencyOffsets adjacencyOffsets = relationshipsBuilder.globalAdjacencyOffsets();
+            AdjacencyList adjacencyList = storeAdjacency(relationshipsBuilder.adjacencyList(), tracker);
+            AdjacencyOffsets adjacencyOffsets = storeOffsets(relationshipsBuilder.globalAdjacencyOffsets(), nodeCount, tracker);
             long relationshipCount = relationshipImportResult.counts().getOrDefault(relationshipProjectionMapping, 0L);
 
             relationships.put(
@@ -140,8 +143,12 @@ public abstract class GraphStoreFactory implements Assessable {
                     .collect(Collectors.toMap(
                         propertyIdAndMapping -> propertyIdAndMapping.getTwo().propertyKey(),
                         propertyIdAndMapping -> ImmutablePropertyCSR.of(
-                            relationshipsBuilder.properties(propertyIdAndMapping.getOne()),
-                            relationshipsBuilder.globalPropertyOffsets(propertyIdAndMapping.getOne()),
+                            storeAdjacency(relationshipsBuilder.properties(propertyIdAndMapping.getOne()), tracker),
+                            storeOffsets(
+                                relationshipsBuilder.globalPropertyOffsets(propertyIdAndMapping.getOne()),
+                                nodeCount,
+                                tracker
+                            ),
                             relationshipCount,
                             relationshipProjectionMapping.orientation(),
                             propertyIdAndMapping.getTwo().defaultValue()
@@ -160,6 +167,18 @@ public abstract class GraphStoreFactory implements Assessable {
         );
     }
 
+    private static AdjacencyList storeAdjacency(AdjacencyList adjacencyList, AllocationTracker tracker) {
+        return OffHeapAllocation.instance().isEnabled()
+            ? AdjacencyList.offHeap(adjacencyList, tracker)
+            : adjacencyList;
+    }
+
+    private static AdjacencyOffsets storeOffsets(AdjacencyOffsets offsets, long nodeCount, AllocationTracker tracker) {
+        return OffHeapAllocation.instance().isEnabled()
+            ? AdjacencyOffsets.offHeap(offsets, nodeCount, tracker)
+            : offsets;
+    }
+
     private static ProgressLogger progressLogger(Log log, long time) {
         return ProgressLogger.wrap(log, TASK_LOADING, time, TimeUnit.MILLISECONDS);
     }
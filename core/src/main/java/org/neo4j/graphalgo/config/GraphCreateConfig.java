@@ -26,6 +26,7 @@ import org.neo4j.graphalgo.RelationshipProjections;
 import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.ProcedureConstants;
+import org.neo4j.graphalgo.core.huge.AdjacencyEncoding;
 
 import static org.neo4j.graphalgo.config.GraphCreateFromCypherConfig.NODE_QUERY_KEY;
 import static org.neo4j.graphalgo.config.GraphCreateFromCypherConfig.RELATIONSHIP_QUERY_KEY;
@@ -65,6 +66,13 @@ public interface GraphCreateConfig extends BaseConfig {
         return AlgoBaseConfig.DEFAULT_CONCURRENCY;
     }
 
+    @Value.Default
+    @Value.Parameter(false)
+    @Configuration.ConvertWith("org.neo4j.graphalgo.core.huge.AdjacencyEncoding#parse")
+    default AdjacencyEncoding adjacencyEncoding() {
+        return AdjacencyEncoding.VAR_LONG;
+    }
+
     @Value.Default
     @Value.Parameter(false)
     @Configuration.Key(ProcedureConstants.NODECOUNT_KEY)
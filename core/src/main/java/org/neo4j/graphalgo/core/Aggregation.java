@@ -56,10 +56,70 @@ public enum Aggregation {
         public double merge(double runningTotal, double value) {
             return Math.max(runningTotal, value);
         }
+    },
+    COUNT {
+        @Override
+        public double normalize(double value) {
+            return 1.0;
+        }
+
+        public double merge(double runningTotal, double value) {
+            return runningTotal + 1.0;
+        }
+    },
+    AVG {
+        public double merge(double runningTotal, double value) {
+            return merge(runningTotal, value, 1);
+        }
+
+        @Override
+        public double merge(double runningTotal, double value, int mergedCount) {
+            return runningTotal + (value - runningTotal) / (mergedCount + 1);
+        }
+    },
+    /**
+     * Keeps the property of the first parallel relationship that is imported.
+     * Cypher projections import relationships in the order of the query result if it contains an ORDER BY,
+     * otherwise the order, and hence the chosen relationship, is arbitrary.
+     */
+    FIRST {
+        public double merge(double runningTotal, double value) {
+            return runningTotal;
+        }
+    },
+    /**
+     * Keeps the property of the last parallel relationship that is imported, see {@link #FIRST}.
+     */
+    LAST {
+        public double merge(double runningTotal, double value) {
+            return value;
+        }
     };
 
     public abstract double merge(double runningTotal, double value);
 
+    /**
+     * Merges {@code value} into a {@code runningTotal} that has been aggregated
+     * from {@code mergedCount} parallel relationships so far.
+     */
+    public double merge(double runningTotal, double value, int mergedCount) {
+        return merge(runningTotal, value);
+    }
+
+    /**
+     * Returns the value a relationship contributes before it is merged with any parallel relationship.
+     */
+    public double normalize(double value) {
+        return value;
+    }
+
+    /**
+     * Returns whether the aggregated value depends on the order in which parallel relationships are imported.
+     */
+    public boolean dependsOnImportOrder() {
+        return this == FIRST || this == LAST;
+    }
+
     public static Aggregation lookup(String name) {
         if (name.equalsIgnoreCase("SKIP")) {
             name = SINGLE.name();
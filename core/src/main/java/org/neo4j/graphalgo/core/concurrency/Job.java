@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.concurrency;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A running algorithm that shares the threads of the {@link JobScheduler} with other jobs.
+ * <p>
+ * Tasks are queued per job and handed to the shared pool as long as fewer than
+ * {@link #concurrency()} tasks of this job are running. Tasks that are submitted from
+ * within a running task of the same job are forked onto the pool right away, so that
+ * nested parallelism cannot dead-lock on the budget of its own job. Forked tasks count
+ * as active tasks of the job, so they delay the dispatch of its queued tasks.
+ */
+public final class Job implements Executor, AutoCloseable {
+
+    private final long id;
+    private final String name;
+    private final String username;
+    private final int requestedConcurrency;
+    private final long startTime;
+    private final Job parent;
+    private final JobScheduler scheduler;
+
+    private final Queue<Runnable> queue;
+    private final AtomicInteger queuedTasks;
+    private final AtomicInteger activeTasks;
+    private final AtomicLong completedTasks;
+
+    private volatile int concurrency;
+    private volatile boolean closed;
+
+    Job(long id, String name, String username, int requestedConcurrency, Job parent, JobScheduler scheduler) {
+        this.id = id;
+        this.name = name;
+        this.username = username;
+        this.requestedConcurrency = requestedConcurrency;
+        this.startTime = System.currentTimeMillis();
+        this.parent = parent;
+        this.scheduler = scheduler;
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.queuedTasks = new AtomicInteger();
+        this.activeTasks = new AtomicInteger();
+        this.completedTasks = new AtomicLong();
+        this.concurrency = requestedConcurrency;
+    }
+
+    public long id() {
+        return id;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String username() {
+        return username;
+    }
+
+    public long startTime() {
+        return startTime;
+    }
+
+    public int requestedConcurrency() {
+        return requestedConcurrency;
+    }
+
+    /**
+     * @return the number of tasks of this job that may run at the same time
+     */
+    public int concurrency() {
+        return concurrency;
+    }
+
+    public int queuedTasks() {
+        return queuedTasks.get();
+    }
+
+    public int activeTasks() {
+        return activeTasks.get();
+    }
+
+    public long completedTasks() {
+        return completedTasks.get();
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (scheduler.isWorkerOf(this)) {
+            activeTasks.incrementAndGet();
+            scheduler.fork(this, () -> run(task));
+            return;
+        }
+        if (closed) {
+            throw new RejectedExecutionException(String.format("Job `%s` has already finished.", name));
+        }
+        queue.offer(task);
+        queuedTasks.incrementAndGet();
+        dispatch();
+    }
+
+    /**
+     * Stops accepting new tasks and returns the budget of this job to the other jobs.
+     * Tasks that have already been submitted are still executed.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            scheduler.finish(this);
+        }
+    }
+
+    Job parent() {
+        return parent;
+    }
+
+    /**
+     * @return whether a task that is submitted from the calling thread would start without being queued
+     */
+    boolean hasCapacity() {
+        return scheduler.isWorkerOf(this) || activeTasks.get() + queuedTasks.get() < concurrency;
+    }
+
+    /**
+     * Makes the job that was current before this job was started current again on the calling thread,
+     * without finishing this job. Tasks of this job that have been submitted keep running until the job is closed.
+     */
+    public void detach() {
+        scheduler.detach(this);
+    }
+
+    void updateConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+        dispatch();
+    }
+
+    private void dispatch() {
+        while (!queue.isEmpty()) {
+            int running = activeTasks.get();
+            if (running >= concurrency) {
+                return;
+            }
+            if (!activeTasks.compareAndSet(running, running + 1)) {
+                continue;
+            }
+            Runnable task = queue.poll();
+            if (task == null) {
+                activeTasks.decrementAndGet();
+                continue;
+            }
+            queuedTasks.decrementAndGet();
+            scheduler.submit(this, () -> run(task));
+        }
+    }
+
+    private void run(Runnable task) {
+        try {
+            task.run();
+        } finally {
+            activeTasks.decrementAndGet();
+            completedTasks.incrementAndGet();
+            dispatch();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.concurrency;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.neo4j.graphalgo.config.ConcurrencyValidation.CONCURRENCY_LIMITATION;
+
+/**
+ * Shares a work-stealing pool between all running algorithms.
+ * <p>
+ * Every algorithm runs as a {@link Job} with its own concurrency budget.
+ * The threads of the pool are fair-shared between the running jobs: jobs that request
+ * fewer threads than their share keep their requested concurrency and the remaining
+ * threads are split evenly between the other jobs. Budgets are recomputed whenever a
+ * job starts or finishes, every job keeps at least one thread.
+ * <p>
+ * While a job is started on a thread, all tasks that are submitted to {@link Pools#DEFAULT}
+ * from that thread are scheduled as part of the job.
+ */
+public final class JobScheduler {
+
+    private static final JobScheduler INSTANCE = new JobScheduler(defaultParallelism());
+
+    private static final ThreadLocal<Job> CURRENT_JOB = new ThreadLocal<>();
+
+    private final ForkJoinPool pool;
+    private final int parallelism;
+    private final List<Job> jobs;
+    private final AtomicLong jobIds;
+
+    public static JobScheduler instance() {
+        return INSTANCE;
+    }
+
+    JobScheduler(int parallelism) {
+        this.parallelism = parallelism;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.pool = new ForkJoinPool(parallelism, pool -> newWorkerThread(pool, threadIds.getAndIncrement()), null, true);
+        this.jobs = new ArrayList<>();
+        this.jobIds = new AtomicLong();
+    }
+
+    /**
+     * Starts a new job on the calling thread. The job ends when it is closed,
+     * after which a job that has been running on the calling thread before becomes current again.
+     */
+    public Job startJob(String name, String username, int concurrency) {
+        Job job = new Job(
+            jobIds.incrementAndGet(),
+            name,
+            username,
+            Math.max(1, concurrency),
+            CURRENT_JOB.get(),
+            this
+        );
+        synchronized (jobs) {
+            jobs.add(job);
+            rebalance();
+        }
+        CURRENT_JOB.set(job);
+        return job;
+    }
+
+    /**
+     * @return the job that has been started on, or whose task is running on, the calling thread
+     */
+    public static Job currentJob() {
+        return CURRENT_JOB.get();
+    }
+
+    /**
+     * @return the jobs that are currently running, in the order they were started
+     */
+    public List<Job> jobs() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs);
+        }
+    }
+
+    public int parallelism() {
+        return parallelism;
+    }
+
+    void finish(Job job) {
+        detach(job);
+        synchronized (jobs) {
+            jobs.remove(job);
+            rebalance();
+        }
+    }
+
+    void detach(Job job) {
+        if (CURRENT_JOB.get() == job) {
+            if (job.parent() != null) {
+                CURRENT_JOB.set(job.parent());
+            } else {
+                CURRENT_JOB.remove();
+            }
+        }
+    }
+
+    void submit(Job job, Runnable task) {
+        pool.execute(() -> runAs(job, task));
+    }
+
+    /**
+     * Pushes the task onto the queue of the calling worker thread, from where idle workers can steal it.
+     * Must only be called from a worker thread of this scheduler.
+     */
+    void fork(Job job, Runnable task) {
+        ForkJoinTask.adapt(() -> runAs(job, task)).fork();
+    }
+
+    private static void runAs(Job job, Runnable task) {
+        Job previous = CURRENT_JOB.get();
+        CURRENT_JOB.set(job);
+        try {
+            task.run();
+        } finally {
+            CURRENT_JOB.set(previous);
+        }
+    }
+
+    boolean isWorkerOf(Job job) {
+        Thread thread = Thread.currentThread();
+        return CURRENT_JOB.get() == job
+               && thread instanceof ForkJoinWorkerThread
+               && ((ForkJoinWorkerThread) thread).getPool() == pool;
+    }
+
+    // max-min fair share: jobs with small requests are satisfied first,
+    // the remaining threads are split evenly between the larger jobs
+    private void rebalance() {
+        List<Job> byRequest = new ArrayList<>(jobs);
+        byRequest.sort(Comparator.comparingInt(Job::requestedConcurrency));
+        int remaining = parallelism;
+        int remainingJobs = byRequest.size();
+        for (Job job : byRequest) {
+            int share = Math.max(1, remaining / remainingJobs);
+            int concurrency = Math.min(job.requestedConcurrency(), share);
+            remaining = Math.max(0, remaining - concurrency);
+            remainingJobs--;
+            job.updateConcurrency(concurrency);
+        }
+    }
+
+    private static ForkJoinWorkerThread newWorkerThread(ForkJoinPool pool, int threadId) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("gds-scheduler-" + threadId);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static int defaultParallelism() {
+        return ConcurrencyMonitor.instance().isUnlimited()
+            ? Runtime.getRuntime().availableProcessors()
+            : CONCURRENCY_LIMITATION;
+    }
+}
@@ -33,6 +33,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
@@ -49,6 +50,7 @@ import java.util.concurrent.FutureTask;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
@@ -852,6 +854,60 @@ public final class ParallelUtil {
         }
     }
 
+    /**
+     * Runs all tasks for their side-effects using at most {@code concurrency} threads,
+     * where every thread keeps taking the next task that has not been started yet.
+     * <p>
+     * Other than {@link #runWithConcurrency(int, Collection, TerminationFlag, ExecutorService)},
+     * no new work is submitted to the {@code executor} once a task finishes. Threads that finish
+     * their tasks early take over the remaining ones, so that a few expensive tasks,
+     * e.g. partitions containing super nodes, do not leave the other threads idle.
+     * Tasks are started in list order, so expensive tasks should come first, which is the case for the
+     * partitions created by {@link org.neo4j.graphalgo.core.utils.partition.PartitionUtils#degreeBalancedPartitioning}.
+     * <p>
+     * If a task throws, no further tasks are started and the error is rethrown
+     * after the running tasks have finished.
+     *
+     * @param concurrency     how many threads should take tasks simultaneously
+     * @param tasks           the tasks to execute
+     * @param terminationFlag a flag to check periodically if the execution should be terminated
+     * @param executor        the executor to submit the worker threads to
+     */
+    public static void runWithWorkStealing(
+        final int concurrency,
+        final List<? extends Runnable> tasks,
+        final TerminationFlag terminationFlag,
+        final ExecutorService executor
+    ) {
+        int taskCount = tasks.size();
+        int workerCount = Math.min(Math.max(1, concurrency), taskCount);
+        if (!canRunInParallel(executor) || workerCount <= 1) {
+            for (Runnable task : tasks) {
+                terminationFlag.assertRunning();
+                task.run();
+            }
+            return;
+        }
+
+        AtomicInteger nextTask = new AtomicInteger();
+        Collection<Runnable> workers = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(() -> {
+                int taskIndex;
+                while ((taskIndex = nextTask.getAndIncrement()) < taskCount) {
+                    terminationFlag.assertRunning();
+                    try {
+                        tasks.get(taskIndex).run();
+                    } catch (Throwable e) {
+                        nextTask.set(taskCount);
+                        throw e;
+                    }
+                }
+            });
+        }
+        runWithConcurrency(workerCount, workers, terminationFlag, executor);
+    }
+
     private static void finishRunWithConcurrency(
         final CompletionService completionService,
         final Throwable error
@@ -871,6 +927,7 @@ public final class ParallelUtil {
         try {
             for (Future<?> future : futures) {
                 try {
+                    awaitDone(future);
                     future.get();
                 } catch (ExecutionException ee) {
                     final Throwable cause = ee.getCause();
@@ -902,7 +959,9 @@ public final class ParallelUtil {
         try {
             while (!futures.isEmpty()) {
                 try {
-                    futures.poll().get();
+                    Future<?> future = futures.poll();
+                    awaitDone(future);
+                    future.get();
                 } catch (ExecutionException ee) {
                     error = ExceptionUtil.chain(error, ee.getCause());
                 } catch (CancellationException ignore) {
@@ -924,6 +983,40 @@ public final class ParallelUtil {
         }
     }
 
+    /**
+     * Waits for the future to complete. On a worker thread of a {@link ForkJoinPool}, e.g. while running a task of a
+     * {@link Job}, the pool is allowed to start a spare thread in the meantime, so that nested tasks which
+     * have been forked by the waiting worker can still make progress.
+     */
+    private static void awaitDone(final Future<?> future) throws InterruptedException {
+        if (!future.isDone()) {
+            ForkJoinPool.managedBlock(new FutureBlocker(future));
+        }
+    }
+
+    private static final class FutureBlocker implements ForkJoinPool.ManagedBlocker {
+        private final Future<?> future;
+
+        private FutureBlocker(final Future<?> future) {
+            this.future = future;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            try {
+                future.get();
+            } catch (ExecutionException | CancellationException ignore) {
+                // rethrown by the caller
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return future.isDone();
+        }
+    }
+
     public static void iterateParallel(
         final ExecutorService executorService,
         final int size,
@@ -951,10 +1044,13 @@ public final class ParallelUtil {
      * Copied from {@link java.util.concurrent.ExecutorCompletionService}
      * and adapted to reduce indirection.
      * Does not support {@link java.util.concurrent.ForkJoinPool} as backing executor.
+     * Tasks that are submitted to {@link Pools#DEFAULT} while a {@link Job} is current
+     * are limited by the capacity of that job instead of the threads of the pool.
      */
     private static final class CompletionService {
         private final Executor executor;
         private final ThreadPoolExecutor pool;
+        private final Job job;
         private final int availableConcurrency;
         private final Set<Future<Void>> running;
         private final BlockingQueue<Future<Void>> completionQueue;
@@ -980,7 +1076,14 @@ public final class ParallelUtil {
                 throw new IllegalArgumentException(
                     "executor already terminated or not usable");
             }
-            if (executor instanceof ThreadPoolExecutor) {
+            job = executor instanceof Pools.JobAwareThreadPoolExecutor && !executor.isShutdown()
+                ? JobScheduler.currentJob()
+                : null;
+            if (job != null) {
+                pool = (ThreadPoolExecutor) executor;
+                availableConcurrency = Integer.MAX_VALUE;
+                completionQueue = new LinkedBlockingQueue<>();
+            } else if (executor instanceof ThreadPoolExecutor) {
                 pool = (ThreadPoolExecutor) executor;
                 availableConcurrency = pool.getCorePoolSize();
                 int capacity = Math.max(targetConcurrency, availableConcurrency) + 1;
@@ -1020,7 +1123,13 @@ public final class ParallelUtil {
         }
 
         void awaitNext() throws InterruptedException, ExecutionException {
-            completionQueue.take().get();
+            Future<Void> next = completionQueue.poll();
+            if (next == null) {
+                QueueBlocker<Future<Void>> blocker = new QueueBlocker<>(completionQueue);
+                ForkJoinPool.managedBlock(blocker);
+                next = blocker.item;
+            }
+            next.get();
         }
 
         void cancelAll() {
@@ -1029,6 +1138,9 @@ public final class ParallelUtil {
         }
 
         private boolean canSubmit() {
+            if (job != null) {
+                return job.hasCapacity();
+            }
             return pool == null || pool.getActiveCount() < availableConcurrency;
         }
 
@@ -1055,6 +1167,28 @@ public final class ParallelUtil {
         }
     }
 
+    private static final class QueueBlocker<T> implements ForkJoinPool.ManagedBlocker {
+        private final BlockingQueue<T> queue;
+        private T item;
+
+        private QueueBlocker(final BlockingQueue<T> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            if (item == null) {
+                item = queue.take();
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return item != null || (item = queue.poll()) != null;
+        }
+    }
+
     private static final class PushbackIterator<T> implements Iterator<T> {
         private final Iterator<? extends T> delegate;
         private T pushedElement;
@@ -28,6 +28,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -52,7 +53,7 @@ public final class Pools {
             corePoolSize = maxPoolSize = CONCURRENCY_LIMITATION;
         }
 
-        return new ThreadPoolExecutor(
+        return new JobAwareThreadPoolExecutor(
             corePoolSize,
             maxPoolSize,
             30L,
@@ -67,6 +68,35 @@ public final class Pools {
         return Executors.newSingleThreadExecutor(NamedThreadFactoryProxy.daemon());
     }
 
+    /**
+     * Hands tasks to the {@link JobScheduler} if they are submitted on behalf of a running {@link Job}.
+     * All other tasks are executed by this pool.
+     */
+    static class JobAwareThreadPoolExecutor extends ThreadPoolExecutor {
+
+        JobAwareThreadPoolExecutor(
+            int corePoolSize,
+            int maximumPoolSize,
+            long keepAliveTime,
+            TimeUnit unit,
+            BlockingQueue<Runnable> workQueue,
+            ThreadFactory threadFactory,
+            RejectedExecutionHandler handler
+        ) {
+            super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory, handler);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            Job job = JobScheduler.currentJob();
+            if (job != null && !isShutdown()) {
+                job.execute(command);
+            } else {
+                super.execute(command);
+            }
+        }
+    }
+
     static class CallerBlocksPolicy implements RejectedExecutionHandler {
         @Override
         public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
@@ -19,10 +19,14 @@
  */
 package org.neo4j.graphalgo.core.huge;
 
+import org.neo4j.graphalgo.compat.UnsafeProxy;
 import org.neo4j.graphalgo.core.loading.MutableIntValue;
+import org.neo4j.graphalgo.core.utils.paged.NativeMemory;
 
 import java.util.Arrays;
 
+import static org.neo4j.graphalgo.core.huge.PackedDecoding.decodeDeltaPacked;
+import static org.neo4j.graphalgo.core.huge.PackedDecoding.decodeFirstDeltaPacked;
 import static org.neo4j.graphalgo.core.huge.VarLongDecoding.decodeDeltaVLongs;
 
 final class AdjacencyDecompressingReader {
@@ -32,7 +36,11 @@ final class AdjacencyDecompressingReader {
     private final long[] block;
     private int pos;
     private byte[] array;
+    // used instead of the array for adjacency pages in native memory, together with the list that owns the page
+    private long address;
+    private Object owner;
     private int offset;
+    private boolean packed;
 
     AdjacencyDecompressingReader() {
         this.block = new long[CHUNK_SIZE];
@@ -60,17 +68,68 @@ final class AdjacencyDecompressingReader {
     }
     //@formatter:on
 
+    //@formatter:off
+    static int readInt(long address) {
+        return   UnsafeProxy.getByte(    address) & 255        |
+                (UnsafeProxy.getByte(1 + address) & 255) <<  8 |
+                (UnsafeProxy.getByte(2 + address) & 255) << 16 |
+                (UnsafeProxy.getByte(3 + address) & 255) << 24;
+    }
+    //@formatter:on
+
+    //@formatter:off
+    static long readLong(long address) {
+        return   UnsafeProxy.getByte(    address) & 255L        |
+                (UnsafeProxy.getByte(1 + address) & 255L) <<  8 |
+                (UnsafeProxy.getByte(2 + address) & 255L) << 16 |
+                (UnsafeProxy.getByte(3 + address) & 255L) << 24 |
+                (UnsafeProxy.getByte(4 + address) & 255L) << 32 |
+                (UnsafeProxy.getByte(5 + address) & 255L) << 40 |
+                (UnsafeProxy.getByte(6 + address) & 255L) << 48 |
+                (UnsafeProxy.getByte(7 + address) & 255L) << 56;
+    }
+    //@formatter:on
+
     void copyFrom(AdjacencyDecompressingReader other) {
         System.arraycopy(other.block, 0, block, 0, CHUNK_SIZE);
         pos = other.pos;
         array = other.array;
+        address = other.address;
+        owner = other.owner;
         offset = other.offset;
+        packed = other.packed;
     }
 
     int reset(byte[] adjacencyPage, int offset) {
         this.array = adjacencyPage;
-        int numAdjacencies = readInt(adjacencyPage, offset); // offset should not be 0
-        this.offset = decodeDeltaVLongs(0L, adjacencyPage, Integer.BYTES + offset, Math.min(numAdjacencies, CHUNK_SIZE), block);
+        this.address = 0L;
+        this.owner = null;
+        int header = readInt(adjacencyPage, offset); // offset should not be 0
+        int numAdjacencies = AdjacencyEncoding.degree(header);
+        int limit = Math.min(numAdjacencies, CHUNK_SIZE);
+        this.packed = AdjacencyEncoding.isPacked(header);
+        this.offset = packed
+            ? decodeFirstDeltaPacked(adjacencyPage, Integer.BYTES + offset, limit, block)
+            : decodeDeltaVLongs(0L, adjacencyPage, Integer.BYTES + offset, limit, block);
+        pos = 0;
+        return numAdjacencies;
+    }
+
+    /**
+     * Starts decoding the adjacency list at the given offset of a page in native memory, which is owned by the given list.
+     */
+    int reset(Object owner, long pageAddress, int offset) {
+        this.array = null;
+        this.address = pageAddress;
+        this.owner = owner;
+        int header = readInt(pageAddress + offset);
+        int numAdjacencies = AdjacencyEncoding.degree(header);
+        int limit = Math.min(numAdjacencies, CHUNK_SIZE);
+        this.packed = AdjacencyEncoding.isPacked(header);
+        this.offset = packed
+            ? decodeFirstDeltaPacked(pageAddress, Integer.BYTES + offset, limit, block)
+            : decodeDeltaVLongs(0L, pageAddress, Integer.BYTES + offset, limit, block);
+        NativeMemory.reachabilityFence(owner);
         pos = 0;
         return numAdjacencies;
     }
@@ -85,10 +144,23 @@ final class AdjacencyDecompressingReader {
 
     private long readNextBlock(int remaining) {
         pos = 1;
-        offset = decodeDeltaVLongs(block[CHUNK_SIZE - 1], array, offset, Math.min(remaining, CHUNK_SIZE), block);
+        offset = decodeBlock(block[CHUNK_SIZE - 1], Math.min(remaining, CHUNK_SIZE));
         return block[0];
     }
 
+    private int decodeBlock(long startValue, int limit) {
+        if (array == null) {
+            int newOffset = packed
+                ? decodeDeltaPacked(startValue, address, offset, limit, block)
+                : decodeDeltaVLongs(startValue, address, offset, limit, block);
+            NativeMemory.reachabilityFence(owner);
+            return newOffset;
+        }
+        return packed
+            ? decodeDeltaPacked(startValue, array, offset, limit, block)
+            : decodeDeltaVLongs(startValue, array, offset, limit, block);
+    }
+
     long skipUntil(long target, int remaining, MutableIntValue consumed) {
         int pos = this.pos;
         long[] block = this.block;
@@ -98,7 +170,7 @@ final class AdjacencyDecompressingReader {
         while (available > CHUNK_SIZE - pos && block[CHUNK_SIZE - 1] <= target) {
             int skippedInThisBlock = CHUNK_SIZE - pos;
             int needToDecode = Math.min(CHUNK_SIZE, available - skippedInThisBlock);
-            offset = decodeDeltaVLongs(block[CHUNK_SIZE - 1], array, offset, needToDecode, block);
+            offset = decodeBlock(block[CHUNK_SIZE - 1], needToDecode);
             available -= skippedInThisBlock;
             pos = 0;
         }
@@ -125,7 +197,7 @@ final class AdjacencyDecompressingReader {
         while (available > CHUNK_SIZE - pos && block[CHUNK_SIZE - 1] < target) {
             int skippedInThisBlock = CHUNK_SIZE - pos;
             int needToDecode = Math.min(CHUNK_SIZE, available - skippedInThisBlock);
-            offset = decodeDeltaVLongs(block[CHUNK_SIZE - 1], array, offset, needToDecode, block);
+            offset = decodeBlock(block[CHUNK_SIZE - 1], needToDecode);
             available -= skippedInThisBlock;
             pos = 0;
         }
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+/**
+ * The encoding of the target ids in a compressed {@link AdjacencyList}.
+ * <p>
+ * Both encodings store the sorted targets of an adjacency list as deltas to their predecessor.
+ * {@link #VAR_LONG} writes every delta with a variable number of bytes.
+ * {@link #PACKED} writes blocks of deltas where all deltas of a block use the same number of bits,
+ * which can be decoded without a branch per delta.
+ * <p>
+ * The encoding is stored with every adjacency list in the highest bit of its degree.
+ */
+public enum AdjacencyEncoding {
+    VAR_LONG,
+    PACKED;
+
+    private static final int PACKED_FLAG = Integer.MIN_VALUE;
+
+    public static AdjacencyEncoding parse(Object object) {
+        if (object == null) {
+            return null;
+        }
+        if (object instanceof String) {
+            return AdjacencyEncoding.valueOf(((String) object).toUpperCase());
+        }
+        if (object instanceof AdjacencyEncoding) {
+            return (AdjacencyEncoding) object;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the header that is written in front of an adjacency list of the given degree.
+     */
+    public int header(int degree) {
+        return this == PACKED ? degree | PACKED_FLAG : degree;
+    }
+
+    static int degree(int header) {
+        return header & ~PACKED_FLAG;
+    }
+
+    static boolean isPacked(int header) {
+        return (header & PACKED_FLAG) != 0;
+    }
+}
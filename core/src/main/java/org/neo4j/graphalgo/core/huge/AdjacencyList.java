@@ -19,20 +19,32 @@
  */
 package org.neo4j.graphalgo.core.huge;
 
+import org.neo4j.graphalgo.compat.UnsafeProxy;
+import org.neo4j.graphalgo.core.loading.ColumnWriter;
+import org.neo4j.graphalgo.core.loading.MappedColumnReader;
 import org.neo4j.graphalgo.core.loading.MutableIntValue;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.NativeMemory;
 import org.neo4j.graphalgo.core.utils.paged.PageUtil;
 
+import java.io.IOException;
 import java.util.Optional;
 
+import static org.neo4j.graphalgo.core.loading.PackedEncoding.encodedPackedDeltasSize;
 import static org.neo4j.graphalgo.core.loading.VarLongEncoding.encodedVLongSize;
 import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
 import static org.neo4j.graphalgo.core.utils.paged.PageUtil.indexInPage;
 import static org.neo4j.graphalgo.core.utils.paged.PageUtil.pageIndex;
 
+/**
+ * The compressed adjacency lists of all nodes, stored in pages of {@link #PAGE_SIZE} bytes.
+ * The pages are either {@code byte[]}s on the heap or, after {@link #offHeap(AdjacencyList, AllocationTracker)},
+ * a single block of native memory that is read through the address based variants of the decoders.
+ */
 public final class AdjacencyList {
 
     public static final int PAGE_SHIFT = 18;
@@ -42,19 +54,28 @@ public final class AdjacencyList {
     private final long allocatedMemory;
     private byte[][] pages;
 
+    // set instead of the pages if the pages are stored in native memory; absent pages have a length of -1
+    private final long[] pageAddresses;
+    private final int[] pageLengths;
+    private NativeMemory.Allocation allocation;
+
     public static MemoryEstimation compressedMemoryEstimation(long avgDegree, long nodeCount) {
+        return compressedMemoryEstimation(avgDegree, nodeCount, AdjacencyEncoding.VAR_LONG);
+    }
+
+    public static MemoryEstimation compressedMemoryEstimation(long avgDegree, long nodeCount, AdjacencyEncoding encoding) {
         // Best case scenario:
         // Difference between node identifiers in each adjacency list is 1.
         // This leads to ideal compression through delta encoding.
         int deltaBestCase = 1;
-        long bestCaseAdjacencySize = computeAdjacencyByteSize(avgDegree, nodeCount, deltaBestCase);
+        long bestCaseAdjacencySize = computeAdjacencyByteSize(avgDegree, nodeCount, deltaBestCase, encoding);
 
         // Worst case scenario:
         // Relationships are equally distributed across nodes, i.e. each node has the same number of rels.
         // Within each adjacency list, all identifiers have the highest possible difference between each other.
         // Highest possible difference is the number of nodes divided by the average degree.
         long deltaWorstCase = (avgDegree > 0) ? ceilDiv(nodeCount, avgDegree) : 0L;
-        long worstCaseAdjacencySize = computeAdjacencyByteSize(avgDegree, nodeCount, deltaWorstCase);
+        long worstCaseAdjacencySize = computeAdjacencyByteSize(avgDegree, nodeCount, deltaWorstCase, encoding);
 
         int minPages = PageUtil.numPagesFor(bestCaseAdjacencySize, PAGE_SHIFT, PAGE_MASK);
         int maxPages = PageUtil.numPagesFor(worstCaseAdjacencySize, PAGE_SHIFT, PAGE_MASK);
@@ -76,6 +97,14 @@ public final class AdjacencyList {
     }
 
     public static MemoryEstimation compressedMemoryEstimation(Optional<String> relationshipType, boolean undirected) {
+        return compressedMemoryEstimation(relationshipType, undirected, AdjacencyEncoding.VAR_LONG);
+    }
+
+    public static MemoryEstimation compressedMemoryEstimation(
+        Optional<String> relationshipType,
+        boolean undirected,
+        AdjacencyEncoding encoding
+    ) {
         return MemoryEstimations.setup("", dimensions -> {
             long nodeCount = dimensions.nodeCount();
             long relCountForType = relationshipType.isPresent()
@@ -83,7 +112,7 @@ public final class AdjacencyList {
                 : dimensions.maxRelCount();
             long relCount = undirected ? relCountForType * 2 : relCountForType;
             long avgDegree = (nodeCount > 0) ? ceilDiv(relCount, nodeCount) : 0L;
-            return AdjacencyList.compressedMemoryEstimation(avgDegree, nodeCount);
+            return AdjacencyList.compressedMemoryEstimation(avgDegree, nodeCount, encoding);
         });
     }
 
@@ -113,18 +142,120 @@ public final class AdjacencyList {
 
     /* test private */
     static long computeAdjacencyByteSize(long avgDegree, long nodeCount, long delta) {
+        return computeAdjacencyByteSize(avgDegree, nodeCount, delta, AdjacencyEncoding.VAR_LONG);
+    }
+
+    /* test private */
+    static long computeAdjacencyByteSize(long avgDegree, long nodeCount, long delta, AdjacencyEncoding encoding) {
         long firstAdjacencyIdAvgByteSize = (avgDegree > 0) ? ceilDiv(encodedVLongSize(nodeCount), 2) : 0L;
-        int relationshipByteSize = encodedVLongSize(delta);
         int degreeByteSize = Integer.BYTES;
-        long compressedAdjacencyByteSize = relationshipByteSize * Math.max(0, (avgDegree - 1));
+        long compressedAdjacencyByteSize = encoding == AdjacencyEncoding.PACKED
+            ? encodedPackedDeltasSize(Math.max(0, avgDegree - 1), delta)
+            : encodedVLongSize(delta) * Math.max(0, (avgDegree - 1));
         return (degreeByteSize + firstAdjacencyIdAvgByteSize + compressedAdjacencyByteSize) * nodeCount;
     }
 
     public AdjacencyList(byte[][] pages) {
         this.pages = pages;
+        this.pageAddresses = null;
+        this.pageLengths = null;
         this.allocatedMemory = memoryOfPages(pages);
     }
 
+    private AdjacencyList(long[] pageAddresses, int[] pageLengths, long allocatedMemory) {
+        this.pageAddresses = pageAddresses;
+        this.pageLengths = pageLengths;
+        this.allocatedMemory = allocatedMemory;
+    }
+
+    /**
+     * Copies the pages of the given list into native memory and releases the given list.
+     * The pages are stored back to back and are followed by {@link Long#BYTES} bytes of padding,
+     * so that the packed decoder can read a full long at the end of the last page.
+     */
+    public static AdjacencyList offHeap(AdjacencyList adjacencyList, AllocationTracker tracker) {
+        byte[][] pages = adjacencyList.pages;
+        long[] pageAddresses = new long[pages.length];
+        int[] pageLengths = new int[pages.length];
+        long bytes = Long.BYTES;
+        for (int pageIndex = 0; pageIndex < pages.length; pageIndex++) {
+            pageLengths[pageIndex] = pages[pageIndex] == null ? -1 : pages[pageIndex].length;
+            bytes += Math.max(0, pageLengths[pageIndex]);
+        }
+
+        AdjacencyList offHeapList = new AdjacencyList(pageAddresses, pageLengths, bytes);
+        offHeapList.allocation = NativeMemory.allocate(offHeapList, bytes, tracker);
+        long address = offHeapList.allocation.address();
+        for (int pageIndex = 0; pageIndex < pages.length; pageIndex++) {
+            pageAddresses[pageIndex] = address;
+            byte[] page = pages[pageIndex];
+            if (page != null) {
+                for (int i = 0; i < page.length; i++) {
+                    UnsafeProxy.putByte(address + i, page[i]);
+                }
+                address += page.length;
+            }
+        }
+        NativeMemory.reachabilityFence(offHeapList);
+
+        tracker.remove(adjacencyList.release());
+        return offHeapList;
+    }
+
+    /**
+     * Reads the pages of an adjacency list that has been written with {@link #writeTo(ColumnWriter)}.
+     */
+    public static AdjacencyList readFrom(MappedColumnReader reader, AllocationTracker tracker) throws IOException {
+        byte[][] pages = new byte[reader.readInt()][];
+        for (int pageIndex = 0; pageIndex < pages.length; pageIndex++) {
+            int pageLength = reader.readInt();
+            if (pageLength >= 0) {
+                byte[] page = new byte[pageLength];
+                reader.readBytes(page, 0, pageLength);
+                pages[pageIndex] = page;
+            }
+        }
+        AdjacencyList adjacencyList = new AdjacencyList(pages);
+        tracker.add(adjacencyList.allocatedMemory);
+        return adjacencyList;
+    }
+
+    /**
+     * Writes the compressed pages as they are, prefixed by their length or {@code -1} for pages that are absent.
+     */
+    public void writeTo(ColumnWriter writer) throws IOException {
+        if (pageAddresses != null) {
+            writeOffHeapPagesTo(writer);
+            return;
+        }
+        writer.writeInt(pages.length);
+        for (byte[] page : pages) {
+            if (page == null) {
+                writer.writeInt(-1);
+            } else {
+                writer.writeInt(page.length);
+                writer.writeBytes(page, 0, page.length);
+            }
+        }
+    }
+
+    private void writeOffHeapPagesTo(ColumnWriter writer) throws IOException {
+        writer.writeInt(pageAddresses.length);
+        for (int pageIndex = 0; pageIndex < pageAddresses.length; pageIndex++) {
+            int pageLength = pageLengths[pageIndex];
+            writer.writeInt(pageLength);
+            if (pageLength > 0) {
+                byte[] page = new byte[pageLength];
+                long pageAddress = pageAddresses[pageIndex];
+                for (int i = 0; i < pageLength; i++) {
+                    page[i] = UnsafeProxy.getByte(pageAddress + i);
+                }
+                writer.writeBytes(page, 0, pageLength);
+            }
+        }
+        NativeMemory.reachabilityFence(this);
+    }
+
     private static long memoryOfPages(byte[][] pages) {
         long memory = MemoryUsage.sizeOfObjectArray(pages.length);
         for (byte[] page : pages) {
@@ -136,12 +267,73 @@ public final class AdjacencyList {
     }
 
     int getDegree(long index) {
+        return AdjacencyEncoding.degree(header(index));
+    }
+
+    /**
+     * Returns the degree of the list at the given index, together with its {@link AdjacencyEncoding} flag.
+     */
+    int header(long index) {
+        if (pageAddresses != null) {
+            int header = AdjacencyDecompressingReader.readInt(pageAddress(index) + indexInPage(index, PAGE_MASK));
+            NativeMemory.reachabilityFence(this);
+            return header;
+        }
         return AdjacencyDecompressingReader.readInt(
                 pages[pageIndex(index, PAGE_SHIFT)],
                 indexInPage(index, PAGE_MASK));
     }
 
+    /**
+     * Returns the page that contains the given index, or {@code null} if the pages are stored in native memory.
+     */
+    byte[] page(long index) {
+        return pages == null ? null : pages[pageIndex(index, PAGE_SHIFT)];
+    }
+
+    /**
+     * Returns the address of the page that contains the given index, if the pages are stored in native memory.
+     */
+    long pageAddress(long index) {
+        return pageAddresses[pageIndex(index, PAGE_SHIFT)];
+    }
+
+    boolean isOffHeap() {
+        return pageAddresses != null;
+    }
+
+    /**
+     * Reads the uncompressed long at the given position of the list that starts at the given index.
+     */
+    long getLong(long index, int position) {
+        int offset = indexInPage(index, PAGE_MASK) + Integer.BYTES + position * Long.BYTES;
+        if (pageAddresses != null) {
+            long value = AdjacencyDecompressingReader.readLong(pageAddress(index) + offset);
+            NativeMemory.reachabilityFence(this);
+            return value;
+        }
+        return AdjacencyDecompressingReader.readLong(pages[pageIndex(index, PAGE_SHIFT)], offset);
+    }
+
+    /**
+     * Returns the number of bytes that are held by this list, or 0 if it has been released.
+     */
+    public final long sizeInBytes() {
+        if (pageAddresses != null) {
+            return allocation.isFreed() ? 0L : allocatedMemory;
+        }
+        return pages == null ? 0L : allocatedMemory;
+    }
+
+    /**
+     * Releases the pages and returns the number of bytes that have been freed.
+     * Pages in native memory are shared with the concurrent copies of a graph, see {@link #retain(Object)},
+     * and are freed once no copy uses them anymore.
+     */
     public final long release() {
+        if (pageAddresses != null) {
+            return allocation.release();
+        }
         if (pages == null) {
             return 0L;
         }
@@ -149,17 +341,28 @@ public final class AdjacencyList {
         return allocatedMemory;
     }
 
+    /**
+     * Keeps this list valid while the given concurrent copy of a graph is reachable.
+     * Only lists in native memory are reference counted, on-heap pages are left to the garbage collector.
+     */
+    void retain(Object holder) {
+        if (allocation != null) {
+            allocation.retain(holder);
+        }
+    }
+
     // Cursors
 
     Cursor cursor(long offset) {
-        return new Cursor(pages).init(offset);
+        Cursor cursor = pageAddresses != null ? new Cursor(this) : new Cursor(pages);
+        return cursor.init(offset);
     }
 
     /**
      * Returns a new, uninitialized delta cursor. Call {@link DecompressingCursor#init(long)}.
      */
     DecompressingCursor rawDecompressingCursor() {
-        return new DecompressingCursor(pages);
+        return pageAddresses != null ? new DecompressingCursor(this) : new DecompressingCursor(pages);
     }
 
     /**
@@ -182,14 +385,23 @@ public final class AdjacencyList {
 
         // TODO: free
         private final byte[][] pages;
+        // set instead of the pages if the list is stored in native memory
+        private final AdjacencyList offHeapList;
 
         private byte[] currentPage;
+        private long currentPageAddress;
         private int degree;
         private int offset;
         private int limit;
 
         private Cursor(byte[][] pages) {
             this.pages = pages;
+            this.offHeapList = null;
+        }
+
+        private Cursor(AdjacencyList offHeapList) {
+            this.pages = null;
+            this.offHeapList = offHeapList;
         }
 
         public int length() {
@@ -208,15 +420,27 @@ public final class AdjacencyList {
          * It is undefined behavior if this is called after {@link #hasNextLong()} returns {@code false}.
          */
         long nextLong() {
-            long value = AdjacencyDecompressingReader.readLong(currentPage, offset);
+            long value;
+            if (offHeapList != null) {
+                value = AdjacencyDecompressingReader.readLong(currentPageAddress + offset);
+                NativeMemory.reachabilityFence(offHeapList);
+            } else {
+                value = AdjacencyDecompressingReader.readLong(currentPage, offset);
+            }
             offset += Long.BYTES;
             return value;
         }
 
         Cursor init(long fromIndex) {
-            this.currentPage = pages[pageIndex(fromIndex, PAGE_SHIFT)];
             this.offset = indexInPage(fromIndex, PAGE_MASK);
-            this.degree = AdjacencyDecompressingReader.readInt(currentPage, offset);
+            if (offHeapList != null) {
+                this.currentPageAddress = offHeapList.pageAddress(fromIndex);
+                this.degree = AdjacencyDecompressingReader.readInt(currentPageAddress + offset);
+                NativeMemory.reachabilityFence(offHeapList);
+            } else {
+                this.currentPage = pages[pageIndex(fromIndex, PAGE_SHIFT)];
+                this.degree = AdjacencyDecompressingReader.readInt(currentPage, offset);
+            }
             this.offset += Integer.BYTES;
             this.limit = offset + degree * Long.BYTES;
             return this;
@@ -228,6 +452,8 @@ public final class AdjacencyList {
         public static final long NOT_FOUND = -1;
         // TODO: free
         private byte[][] pages;
+        // set instead of the pages if the list is stored in native memory
+        private final AdjacencyList offHeapList;
         private final AdjacencyDecompressingReader decompress;
 
         private int maxTargets;
@@ -235,6 +461,13 @@ public final class AdjacencyList {
 
         private DecompressingCursor(byte[][] pages) {
             this.pages = pages;
+            this.offHeapList = null;
+            this.decompress = new AdjacencyDecompressingReader();
+        }
+
+        private DecompressingCursor(AdjacencyList offHeapList) {
+            this.pages = null;
+            this.offHeapList = offHeapList;
             this.decompress = new AdjacencyDecompressingReader();
         }
 
@@ -309,9 +542,9 @@ public final class AdjacencyList {
         }
 
         DecompressingCursor init(long fromIndex) {
-            maxTargets = decompress.reset(
-                    pages[pageIndex(fromIndex, PAGE_SHIFT)],
-                    indexInPage(fromIndex, PAGE_MASK));
+            maxTargets = offHeapList != null
+                ? decompress.reset(offHeapList, offHeapList.pageAddress(fromIndex), indexInPage(fromIndex, PAGE_MASK))
+                : decompress.reset(pages[pageIndex(fromIndex, PAGE_SHIFT)], indexInPage(fromIndex, PAGE_MASK));
             currentTarget = 0;
             return this;
         }
@@ -19,10 +19,18 @@
  */
 package org.neo4j.graphalgo.core.huge;
 
+import org.neo4j.graphalgo.compat.UnsafeProxy;
+import org.neo4j.graphalgo.core.loading.ColumnWriter;
 import org.neo4j.graphalgo.core.loading.ImportSizing;
+import org.neo4j.graphalgo.core.loading.MappedColumnReader;
 import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.NativeMemory;
+import org.neo4j.graphalgo.core.utils.paged.PageUtil;
+
+import java.io.IOException;
 
 import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
 import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfObjectArray;
@@ -33,6 +41,15 @@ public abstract class AdjacencyOffsets {
 
     abstract long release();
 
+    abstract long sizeInBytes();
+
+    /**
+     * Keeps these offsets valid while the given concurrent copy of a graph is reachable.
+     * Only offsets in native memory are reference counted, on-heap offsets are left to the garbage collector.
+     */
+    void retain(Object holder) {
+    }
+
     public static AdjacencyOffsets of(long[][] pages, int pageSize) {
         if (pages.length == 1) {
             return new SinglePageOffsets(pages[0]);
@@ -66,6 +83,50 @@ public abstract class AdjacencyOffsets {
         return new SinglePageOffsets(page);
     }
 
+    /**
+     * Copies the offsets of the first {@code nodeCount} nodes into native memory and releases the given offsets.
+     */
+    public static AdjacencyOffsets offHeap(AdjacencyOffsets offsets, long nodeCount, AllocationTracker tracker) {
+        OffHeapOffsets offHeapOffsets = new OffHeapOffsets();
+        offHeapOffsets.allocation = NativeMemory.allocate(offHeapOffsets, nodeCount * Long.BYTES, tracker);
+        offHeapOffsets.address = offHeapOffsets.allocation.address();
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            offHeapOffsets.set(nodeId, offsets.get(nodeId));
+        }
+        tracker.remove(offsets.release());
+        return offHeapOffsets;
+    }
+
+    /**
+     * Reads the offsets that have been written with {@link #writeTo(ColumnWriter, long)}.
+     */
+    public static AdjacencyOffsets readFrom(MappedColumnReader reader, AllocationTracker tracker) throws IOException {
+        long nodeCount = reader.readLong();
+        int pageSize = PageUtil.pageSizeFor(Long.BYTES);
+        int numberOfPages = Math.max(1, PageUtil.numPagesFor(nodeCount, pageSize));
+        long[][] pages = new long[numberOfPages][];
+        tracker.add(sizeOfObjectArray(numberOfPages));
+        long remaining = nodeCount;
+        for (int pageIndex = 0; pageIndex < numberOfPages; pageIndex++) {
+            int pageLength = (int) Math.min(remaining, pageSize);
+            pages[pageIndex] = new long[pageLength];
+            tracker.add(sizeOfLongArray(pageLength));
+            reader.readLongs(pages[pageIndex], 0, pageLength);
+            remaining -= pageLength;
+        }
+        return of(pages, pageSize);
+    }
+
+    /**
+     * Writes the offsets of the first {@code nodeCount} nodes, prefixed by the number of nodes.
+     */
+    public void writeTo(ColumnWriter writer, long nodeCount) throws IOException {
+        writer.writeLong(nodeCount);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            writer.writeLong(get(nodeId));
+        }
+    }
+
     private static final class PagedOffsets extends AdjacencyOffsets {
 
         private final int pageShift;
@@ -105,6 +166,18 @@ public abstract class AdjacencyOffsets {
             }
             return 0L;
         }
+
+        @Override
+        long sizeInBytes() {
+            if (pages == null) {
+                return 0L;
+            }
+            long memoryUsed = sizeOfObjectArray(pages.length);
+            for (long[] page : pages) {
+                memoryUsed += sizeOfLongArray(page.length);
+            }
+            return memoryUsed;
+        }
     }
 
     private static final class SinglePageOffsets extends AdjacencyOffsets {
@@ -135,5 +208,45 @@ public abstract class AdjacencyOffsets {
             }
             return 0L;
         }
+
+        @Override
+        long sizeInBytes() {
+            return page == null ? 0L : sizeOfLongArray(page.length);
+        }
+    }
+
+    private static final class OffHeapOffsets extends AdjacencyOffsets {
+
+        private NativeMemory.Allocation allocation;
+        private long address;
+
+        private void set(long index, long offset) {
+            UnsafeProxy.putLong(address + (index << 3), offset);
+            NativeMemory.reachabilityFence(this);
+        }
+
+        @Override
+        long get(long index) {
+            long offset = UnsafeProxy.getLong(address + (index << 3));
+            NativeMemory.reachabilityFence(this);
+            return offset;
+        }
+
+        @Override
+        void retain(Object holder) {
+            allocation.retain(holder);
+        }
+
+        @Override
+        long release() {
+            // the offsets are shared by all concurrent copies of a graph,
+            // so the memory is freed once the last of them has released it
+            return allocation.release();
+        }
+
+        @Override
+        long sizeInBytes() {
+            return allocation.isFreed() ? 0L : allocation.bytes();
+        }
     }
 }
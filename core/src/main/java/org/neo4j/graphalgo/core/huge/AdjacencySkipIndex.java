@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.compat.UnsafeProxy;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.NativeMemory;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.neo4j.graphalgo.core.utils.paged.PageUtil.indexInPage;
+
+/**
+ * A block index over the compressed adjacency lists of high degree nodes.
+ * <p>
+ * The targets of an adjacency list are sorted and delta encoded, so finding a target requires
+ * decoding all targets before it. For every block of {@link #BLOCK_SIZE} targets but the first,
+ * the index stores the last target of the previous block and the position of the block within the adjacency page.
+ * Finding a target then takes a binary search over the blocks and decoding at most one block.
+ * For {@link AdjacencyEncoding#PACKED} lists, the indexed blocks coincide with the packed blocks.
+ * <p>
+ * Adjacency lists are indexed on first access, only if their degree is at least {@link #MIN_INDEXED_DEGREE}.
+ * The blocks are stored per source node in pages of {@link #PAGE_SIZE} nodes, which are allocated when
+ * the first node of the page is indexed. All allocations are reported to the allocation tracker
+ * and are removed from it by {@link #release()}.
+ * The index is safe to be used from multiple threads.
+ */
+public final class AdjacencySkipIndex {
+
+    static final int BLOCK_SIZE = 64;
+    static final int MIN_INDEXED_DEGREE = 4 * BLOCK_SIZE;
+    static final int NOT_FOUND = -1;
+
+    private static final int PAGE_SHIFT = 10;
+    static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final long PAGE_MASK = PAGE_SIZE - 1;
+
+    private final AtomicReferenceArray<AtomicReferenceArray<long[]>> pages;
+    private final AllocationTracker tracker;
+    private final AtomicLong sizeInBytes;
+
+    public static MemoryEstimation memoryEstimation(Optional<String> relationshipType, boolean undirected) {
+        return MemoryEstimations.builder(AdjacencySkipIndex.class)
+            .perNode("pages", nodeCount -> sizeOfPages(numberOfPages(nodeCount)))
+            .perGraphDimension("blocks", (dimensions, concurrency) -> {
+                long relCountForType = relationshipType.isPresent()
+                    ? dimensions.relationshipCounts().getOrDefault(relationshipType.get(), 0L)
+                    : dimensions.maxRelCount();
+                long relCount = undirected ? relCountForType * 2 : relCountForType;
+
+                // in the worst case, every relationship belongs to an indexed adjacency list
+                long maxIndexedNodes = relCount / MIN_INDEXED_DEGREE;
+                long maxBlocks = relCount / BLOCK_SIZE;
+                long maxPages = Math.min(numberOfPages(dimensions.nodeCount()), maxIndexedNodes);
+                long maxMemory = maxPages * sizeOfPage()
+                                 + maxIndexedNodes * MemoryUsage.sizeOfLongArray(0)
+                                 + maxBlocks * 2L * Long.BYTES;
+                return MemoryRange.of(0L, maxMemory);
+            })
+            .build();
+    }
+
+    public AdjacencySkipIndex(long nodeCount, AllocationTracker tracker) {
+        int numberOfPages = numberOfPages(nodeCount);
+        this.pages = new AtomicReferenceArray<>(numberOfPages);
+        this.tracker = tracker;
+        this.sizeInBytes = new AtomicLong();
+        track(sizeOfPages(numberOfPages));
+    }
+
+    /**
+     * Returns the position of the first occurrence of {@code target} within the adjacency list
+     * that starts at the given offset, or {@link #NOT_FOUND} if the list does not contain the target.
+     * The adjacency list must have a degree of at least {@link #MIN_INDEXED_DEGREE}.
+     */
+    int indexOf(AdjacencyList adjacencyList, long nodeId, long offset, int degree, long target) {
+        // exactly one of page and pageAddress is set, depending on where the adjacency list is stored
+        byte[] page = adjacencyList.page(offset);
+        long pageAddress = adjacencyList.isOffHeap() ? adjacencyList.pageAddress(offset) : 0L;
+        boolean packed = AdjacencyEncoding.isPacked(adjacencyList.header(offset));
+        int listStart = indexInPage(offset, AdjacencyList.PAGE_MASK) + Integer.BYTES;
+
+        AtomicReferenceArray<long[]> blocksPage = blocksPage((int) (nodeId >>> PAGE_SHIFT));
+        int indexInBlocksPage = (int) (nodeId & PAGE_MASK);
+        long[] listBlocks = blocksPage.get(indexInBlocksPage);
+        if (listBlocks == null) {
+            listBlocks = packed
+                ? buildPackedBlocks(page, pageAddress, listStart, degree)
+                : buildBlocks(page, pageAddress, listStart, degree);
+            if (blocksPage.compareAndSet(indexInBlocksPage, null, listBlocks)) {
+                track(MemoryUsage.sizeOfLongArray(listBlocks.length));
+            } else {
+                listBlocks = blocksPage.get(indexInBlocksPage);
+            }
+        }
+
+        // find the first block whose last target is not smaller than the target
+        int low = 0;
+        int high = listBlocks.length >>> 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (listBlocks[mid << 1] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        int block = low;
+        long value = block == 0 ? 0L : listBlocks[(block - 1) << 1];
+        int position = block == 0 ? listStart : (int) listBlocks[((block - 1) << 1) + 1];
+        int firstIndex = block * BLOCK_SIZE;
+        int limit = Math.min(degree, firstIndex + BLOCK_SIZE);
+
+        int index = packed
+            ? indexOfPacked(page, pageAddress, position, firstIndex, limit, value, target)
+            : indexOfVarLong(page, pageAddress, position, firstIndex, limit, value, target);
+        NativeMemory.reachabilityFence(adjacencyList);
+        return index;
+    }
+
+    /**
+     * Drops all indexed blocks and returns the number of bytes that have been reported to the tracker.
+     * The tracked bytes are only returned once, so releasing the index multiple times is safe.
+     */
+    public long release() {
+        for (int pageIndex = 0; pageIndex < pages.length(); pageIndex++) {
+            pages.set(pageIndex, null);
+        }
+        return sizeInBytes.getAndSet(0L);
+    }
+
+    private AtomicReferenceArray<long[]> blocksPage(int pageIndex) {
+        AtomicReferenceArray<long[]> page = pages.get(pageIndex);
+        if (page == null) {
+            AtomicReferenceArray<long[]> newPage = new AtomicReferenceArray<>(PAGE_SIZE);
+            if (pages.compareAndSet(pageIndex, null, newPage)) {
+                track(sizeOfPage());
+                page = newPage;
+            } else {
+                page = pages.get(pageIndex);
+            }
+        }
+        return page;
+    }
+
+    private void track(long bytes) {
+        tracker.add(bytes);
+        sizeInBytes.addAndGet(bytes);
+    }
+
+    private static int numberOfPages(long nodeCount) {
+        return Math.toIntExact(BitUtil.ceilDiv(nodeCount, PAGE_SIZE));
+    }
+
+    private static long sizeOfPages(int numberOfPages) {
+        return MemoryUsage.sizeOfInstance(AtomicReferenceArray.class) + MemoryUsage.sizeOfObjectArray(numberOfPages);
+    }
+
+    private static long sizeOfPage() {
+        return MemoryUsage.sizeOfInstance(AtomicReferenceArray.class) + MemoryUsage.sizeOfObjectArray(PAGE_SIZE);
+    }
+
+    private static int indexOfVarLong(byte[] page, long pageAddress, int position, int firstIndex, int limit, long value, long target) {
+        for (int index = firstIndex; index < limit; index++) {
+            long input;
+            long delta = 0L;
+            int shift = 0;
+            do {
+                input = byteAt(page, pageAddress, position++);
+                delta += (input & 127L) << shift;
+                shift += 7;
+            } while ((input & 128L) != 128L);
+            value += delta;
+
+            if (value == target) {
+                return index;
+            }
+            if (value > target) {
+                return NOT_FOUND;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private static int indexOfPacked(byte[] page, long pageAddress, int position, int firstIndex, int limit, long value, long target) {
+        int blockStart = firstIndex;
+        if (firstIndex == 0) {
+            // the first target is stored as a VarLong in front of the first block
+            long input;
+            int shift = 0;
+            do {
+                input = byteAt(page, pageAddress, position++);
+                value += (input & 127L) << shift;
+                shift += 7;
+            } while ((input & 128L) != 128L);
+
+            if (value == target) {
+                return 0;
+            }
+            blockStart = 1;
+        }
+        if (value > target || blockStart >= limit) {
+            return NOT_FOUND;
+        }
+
+        int bits = byteAt(page, pageAddress, position++) & 255;
+        for (int index = blockStart; index < limit; index++) {
+            value += page != null
+                ? PackedDecoding.delta(page, position, bits, index - blockStart)
+                : PackedDecoding.delta(pageAddress, position, bits, index - blockStart);
+            if (value == target) {
+                return index;
+            }
+            if (value > target) {
+                return NOT_FOUND;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private static long[] buildPackedBlocks(byte[] page, long pageAddress, int position, int degree) {
+        int blockCount = (degree - 1) / BLOCK_SIZE;
+        long[] listBlocks = new long[blockCount << 1];
+        long[] buffer = new long[BLOCK_SIZE];
+
+        position = page != null
+            ? PackedDecoding.decodeFirstDeltaPacked(page, position, Math.min(degree, BLOCK_SIZE), buffer)
+            : PackedDecoding.decodeFirstDeltaPacked(pageAddress, position, Math.min(degree, BLOCK_SIZE), buffer);
+        for (int block = 0; block < blockCount; block++) {
+            listBlocks[block << 1] = buffer[BLOCK_SIZE - 1];
+            listBlocks[(block << 1) + 1] = position;
+            int limit = Math.min(degree - (block + 1) * BLOCK_SIZE, BLOCK_SIZE);
+            position = page != null
+                ? PackedDecoding.decodeDeltaPacked(buffer[BLOCK_SIZE - 1], page, position, limit, buffer)
+                : PackedDecoding.decodeDeltaPacked(buffer[BLOCK_SIZE - 1], pageAddress, position, limit, buffer);
+        }
+        return listBlocks;
+    }
+
+    private static long[] buildBlocks(byte[] page, long pageAddress, int position, int degree) {
+        int blockCount = (degree - 1) / BLOCK_SIZE;
+        long[] listBlocks = new long[blockCount << 1];
+
+        long value = 0L;
+        for (int index = 0; index < degree; index++) {
+            if (index > 0 && index % BLOCK_SIZE == 0) {
+                int block = index / BLOCK_SIZE - 1;
+                listBlocks[block << 1] = value;
+                listBlocks[(block << 1) + 1] = position;
+            }
+            long input;
+            long delta = 0L;
+            int shift = 0;
+            do {
+                input = byteAt(page, pageAddress, position++);
+                delta += (input & 127L) << shift;
+                shift += 7;
+            } while ((input & 128L) != 128L);
+            value += delta;
+        }
+        return listBlocks;
+    }
+
+    private static byte byteAt(byte[] page, long pageAddress, int position) {
+        return page != null ? page[position] : UnsafeProxy.getByte(pageAddress + position);
+    }
+}
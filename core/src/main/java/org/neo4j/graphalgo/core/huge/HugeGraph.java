@@ -29,8 +29,12 @@ import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
 import org.neo4j.graphalgo.api.RelationshipIntersect;
 import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.config.AlgoBaseConfig;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.loading.IdMap;
+import org.neo4j.graphalgo.core.loading.InverseAdjacencyBuilder;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.NativeMemory;
 import org.neo4j.internal.kernel.api.CursorFactory;
 import org.neo4j.internal.kernel.api.NodeCursor;
 
@@ -71,6 +75,18 @@ import java.util.function.LongPredicate;
  * has to happen when a new chunk has to be pre-allocated. This is similar to
  * what most garbage collectors do with TLAB allocations.
  *
+ * <p>
+ * Relationship properties of high degree nodes are looked up through an {@link AdjacencySkipIndex},
+ * which is shared between all concurrent copies of a graph.
+ * Like the inverse, it is owned by the {@link org.neo4j.graphalgo.core.loading.GraphStore} if the graph has been
+ * created from one, otherwise it is released together with the topology of the graph.
+ * <p>
+ * Incoming relationships are served from the inverse of the topology, which is built on first
+ * access and shared between all concurrent copies of a graph.
+ * A {@link org.neo4j.graphalgo.core.loading.GraphStore} caches the inverse across all graphs it creates
+ * and releases it when the graph store is released. Otherwise the graph owns the inverse and
+ * releases it together with its topology.
+ *
  * @see <a href="https://developers.google.com/protocol-buffers/docs/encoding#varints">more abount vlong</a>
  * @see <a href="https://shipilev.net/jvm-anatomy-park/4-tlab-allocation/">more abount TLAB allocation</a>
  */
@@ -97,6 +113,9 @@ public class HugeGraph implements Graph {
     private AdjacencyList.DecompressingCursor emptyCursor;
     private AdjacencyList.DecompressingCursor cursorCache;
 
+    private final IncomingAdjacency incomingAdjacency;
+    private final @Nullable AdjacencySkipIndex skipIndex;
+
     private boolean canRelease = true;
 
     private final boolean hasRelationshipProperty;
@@ -107,6 +126,26 @@ public class HugeGraph implements Graph {
         TopologyCSR topologyCSR,
         Optional<PropertyCSR> maybePropertyCSR,
         AllocationTracker tracker
+    ) {
+        return create(
+            nodes,
+            nodeProperties,
+            topologyCSR,
+            maybePropertyCSR,
+            new LazyInverseTopology(nodes, topologyCSR, tracker),
+            maybePropertyCSR.isPresent() ? new AdjacencySkipIndex(nodes.nodeCount(), tracker) : null,
+            tracker
+        );
+    }
+
+    public static HugeGraph create(
+        IdMap nodes,
+        Map<String, NodeProperties> nodeProperties,
+        TopologyCSR topologyCSR,
+        Optional<PropertyCSR> maybePropertyCSR,
+        InverseTopology inverseTopology,
+        @Nullable AdjacencySkipIndex skipIndex,
+        AllocationTracker tracker
     ) {
         return new HugeGraph(
             nodes,
@@ -119,6 +158,8 @@ public class HugeGraph implements Graph {
             maybePropertyCSR.map(PropertyCSR::list).orElse(null),
             maybePropertyCSR.map(PropertyCSR::offsets).orElse(null),
             topologyCSR.orientation(),
+            inverseTopology,
+            skipIndex,
             tracker
         );
     }
@@ -134,6 +175,8 @@ public class HugeGraph implements Graph {
         @Nullable AdjacencyList properties,
         @Nullable AdjacencyOffsets propertyOffsets,
         Orientation orientation,
+        InverseTopology inverseTopology,
+        @Nullable AdjacencySkipIndex skipIndex,
         AllocationTracker tracker
     ) {
         this.idMapping = idMapping;
@@ -147,6 +190,8 @@ public class HugeGraph implements Graph {
         this.propertyOffsets = propertyOffsets;
         this.orientation = orientation;
         this.hasRelationshipProperty = hasRelationshipProperty;
+        this.incomingAdjacency = new IncomingAdjacency(inverseTopology);
+        this.skipIndex = skipIndex;
         this.cursorCache = newAdjacencyCursor(this.adjacencyList);
         this.emptyCursor = newAdjacencyCursor(this.adjacencyList);
     }
@@ -206,6 +251,16 @@ public class HugeGraph implements Graph {
         }
         long propertyOffset = propertyOffsets.get(fromId);
 
+        int degree = adjacencyList.getDegree(relOffset);
+        // graphs that are created without a skip index scan the adjacency list of every node
+        if (skipIndex != null && degree >= AdjacencySkipIndex.MIN_INDEXED_DEGREE) {
+            int position = skipIndex.indexOf(adjacencyList, fromId, relOffset, degree, toId);
+            if (position == AdjacencySkipIndex.NOT_FOUND) {
+                return NO_PROPERTY_VALUE;
+            }
+            return Double.longBitsToDouble(properties.getLong(propertyOffset, position));
+        }
+
         AdjacencyList.DecompressingCursor relDecompressingCursor = adjacencyList.decompressingCursor(relOffset);
         AdjacencyList.Cursor propertyCursor = properties.cursor(propertyOffset);
 
@@ -218,6 +273,7 @@ public class HugeGraph implements Graph {
         }
 
         long doubleBits = propertyCursor.nextLong();
+        NativeMemory.reachabilityFence(this);
         return Double.longBitsToDouble(doubleBits);
     }
 
@@ -253,6 +309,33 @@ public class HugeGraph implements Graph {
         return adjacencyList.getDegree(offset);
     }
 
+    @Override
+    public void forEachIncomingRelationship(long nodeId, RelationshipConsumer consumer) {
+        if (isUndirected()) {
+            runForEach(nodeId, consumer);
+            return;
+        }
+        AdjacencyList.DecompressingCursor adjacencyCursor = incomingAdjacency.cursor(nodeId);
+        if (adjacencyCursor != null) {
+            consumeAdjacentNodes(nodeId, adjacencyCursor, consumer);
+        }
+    }
+
+    @Override
+    public int inDegree(long nodeId) {
+        if (isUndirected()) {
+            return degree(nodeId);
+        }
+        return incomingAdjacency.degree(nodeId);
+    }
+
+    @Override
+    public void prepareIncomingRelationships(int concurrency) {
+        if (!isUndirected()) {
+            incomingAdjacency.resolve(concurrency);
+        }
+    }
+
     @Override
     public long toMappedNodeId(long nodeId) {
         return idMapping.toMappedNodeId(nodeId);
@@ -274,7 +357,7 @@ public class HugeGraph implements Graph {
 
     @Override
     public HugeGraph concurrentCopy() {
-        return new HugeGraph(
+        HugeGraph copy = new HugeGraph(
             idMapping,
             nodeProperties,
             relationshipCount,
@@ -285,13 +368,30 @@ public class HugeGraph implements Graph {
             properties,
             propertyOffsets,
             orientation,
+            incomingAdjacency.inverseTopology,
+            skipIndex,
             tracker
         );
+        // the copy only borrows the topology, which is still released by this graph;
+        // native memory stays valid until the copy is no longer used
+        copy.canRelease = false;
+        if (adjacencyList != null) {
+            adjacencyList.retain(copy);
+            adjacencyOffsets.retain(copy);
+        }
+        if (properties != null) {
+            properties.retain(copy);
+            propertyOffsets.retain(copy);
+        }
+        return copy;
     }
 
     @Override
     public RelationshipIntersect intersection() {
-        return new HugeGraphIntersectImpl(adjacencyList, adjacencyOffsets);
+        HugeGraphIntersectImpl intersect = new HugeGraphIntersectImpl(adjacencyList, adjacencyOffsets);
+        adjacencyList.retain(intersect);
+        adjacencyOffsets.retain(intersect);
+        return intersect;
     }
 
     /**
@@ -317,6 +417,8 @@ public class HugeGraph implements Graph {
     private void runForEach(long sourceId, RelationshipConsumer consumer) {
         AdjacencyList.DecompressingCursor adjacencyCursor = adjacencyCursorForIteration(sourceId);
         consumeAdjacentNodes(sourceId, adjacencyCursor, consumer);
+        // a concurrent copy keeps the shared native memory valid only while it is reachable
+        NativeMemory.reachabilityFence(this);
     }
 
     private void runForEach(long sourceId, double fallbackValue, RelationshipWithPropertyConsumer consumer) {
@@ -326,6 +428,7 @@ public class HugeGraph implements Graph {
             AdjacencyList.DecompressingCursor adjacencyCursor = adjacencyCursorForIteration(sourceId);
             AdjacencyList.Cursor propertyCursor = propertyCursorForIteration(sourceId);
             consumeAdjacentNodesWithProperty(sourceId, adjacencyCursor, propertyCursor, consumer);
+            NativeMemory.reachabilityFence(this);
         }
     }
 
@@ -366,6 +469,10 @@ public class HugeGraph implements Graph {
         if (adjacencyList != null) {
             tracker.remove(adjacencyList.release());
             tracker.remove(adjacencyOffsets.release());
+            incomingAdjacency.release();
+            if (skipIndex != null) {
+                tracker.remove(skipIndex.release());
+            }
             adjacencyList = null;
             properties = null;
             adjacencyOffsets = null;
@@ -487,6 +594,115 @@ public class HugeGraph implements Graph {
         }
     }
 
+    /**
+     * Provides the inverse of a topology, which serves the incoming relationships of a graph.
+     */
+    @FunctionalInterface
+    public interface InverseTopology {
+
+        /**
+         * Returns the inverse, building it with the given concurrency if it does not exist yet.
+         */
+        TopologyCSR apply(int concurrency);
+
+        /**
+         * Called when the topology of a graph that uses this inverse is released.
+         * Inverses that are shared beyond a single graph, like the ones of a graph store, are kept.
+         */
+        default void release() { }
+    }
+
+    /**
+     * Builds the inverse topology of a graph that is not managed by a graph store.
+     * The inverse is shared between all concurrent copies of the graph and released with its topology.
+     */
+    private static final class LazyInverseTopology implements InverseTopology {
+
+        private final IdMap nodes;
+        private final TopologyCSR topology;
+        private final AllocationTracker tracker;
+
+        private volatile TopologyCSR inverse;
+
+        LazyInverseTopology(IdMap nodes, TopologyCSR topology, AllocationTracker tracker) {
+            this.nodes = nodes;
+            this.topology = topology;
+            this.tracker = tracker;
+        }
+
+        @Override
+        public TopologyCSR apply(int concurrency) {
+            if (inverse == null) {
+                synchronized (this) {
+                    if (inverse == null) {
+                        inverse = InverseAdjacencyBuilder.build(nodes, topology, concurrency, Pools.DEFAULT, tracker);
+                    }
+                }
+            }
+            return inverse;
+        }
+
+        @Override
+        public synchronized void release() {
+            // undirected topologies are their own inverse
+            if (inverse != null && inverse != topology) {
+                inverse.release(tracker);
+            }
+            inverse = null;
+        }
+    }
+
+    /**
+     * Resolves the inverse topology on first access and keeps a cursor over it.
+     * Releasing it leaves freeing the inverse to its {@link InverseTopology}.
+     */
+    private static final class IncomingAdjacency {
+
+        private final InverseTopology inverseTopology;
+
+        private AdjacencyList adjacencyList;
+        private AdjacencyOffsets adjacencyOffsets;
+        private AdjacencyList.DecompressingCursor cursorCache;
+
+        IncomingAdjacency(InverseTopology inverseTopology) {
+            this.inverseTopology = inverseTopology;
+        }
+
+        int degree(long nodeId) {
+            resolve(AlgoBaseConfig.DEFAULT_CONCURRENCY);
+            long offset = adjacencyOffsets.get(nodeId);
+            if (offset == 0L) {
+                return 0;
+            }
+            return adjacencyList.getDegree(offset);
+        }
+
+        @Nullable AdjacencyList.DecompressingCursor cursor(long nodeId) {
+            resolve(AlgoBaseConfig.DEFAULT_CONCURRENCY);
+            long offset = adjacencyOffsets.get(nodeId);
+            if (offset == 0L) {
+                return null;
+            }
+            return adjacencyList.decompressingCursor(cursorCache, offset);
+        }
+
+        void resolve(int concurrency) {
+            if (adjacencyList == null) {
+                TopologyCSR inverse = inverseTopology.apply(concurrency);
+                adjacencyOffsets = inverse.offsets();
+                adjacencyList = inverse.list();
+                cursorCache = adjacencyList.rawDecompressingCursor();
+            }
+        }
+
+        void release() {
+            inverseTopology.release();
+            adjacencyList = null;
+            adjacencyOffsets = null;
+            cursorCache = null;
+        }
+    }
+
     @ValueClass
     public interface Relationships {
 
@@ -531,6 +747,21 @@ public class HugeGraph implements Graph {
         long elementCount();
 
         Orientation orientation();
+
+        /**
+         * Returns the number of bytes that are held by the adjacency list and offsets.
+         */
+        default long sizeInBytes() {
+            return list().sizeInBytes() + offsets().sizeInBytes();
+        }
+
+        /**
+         * Releases the adjacency list and offsets and removes them from the given tracker.
+         */
+        default void release(AllocationTracker tracker) {
+            tracker.remove(list().release());
+            tracker.remove(offsets().release());
+        }
     }
 
     @ValueClass
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.compat.UnsafeProxy;
+import org.neo4j.graphalgo.core.loading.PackedEncoding;
+
+import static org.neo4j.graphalgo.core.huge.AdjacencyDecompressingReader.readLong;
+
+/**
+ * Decodes adjacency lists that are written by {@link PackedEncoding}.
+ * <p>
+ * Every delta of a block is read from a single unaligned long and masked to the block's bit width.
+ * Unpacking the deltas and summing them up are separate loops, so that the unpacking has no dependencies
+ * between iterations and no branches besides the loop condition.
+ * <p>
+ * Every method has a variant for adjacency pages in native memory. Those pages are followed by at least
+ * {@link Long#BYTES} readable bytes, so a full long can always be read.
+ */
+final class PackedDecoding {
+
+    /**
+     * Decodes the first block of an adjacency list, including its leading VarLong.
+     */
+    static int decodeFirstDeltaPacked(byte[] adjacencyPage, int offset, int limit, long[] out) {
+        if (limit <= 0) {
+            return offset;
+        }
+        long input, value = 0L;
+        int shift = 0;
+        do {
+            input = adjacencyPage[offset++];
+            value += (input & 127L) << shift;
+            shift += 7;
+        } while ((input & 128L) != 128L);
+        out[0] = value;
+        return decodeDeltaPacked(value, adjacencyPage, offset, limit - 1, out, 1);
+    }
+
+    static int decodeDeltaPacked(long startValue, byte[] adjacencyPage, int offset, int limit, long[] out) {
+        return decodeDeltaPacked(startValue, adjacencyPage, offset, limit, out, 0);
+    }
+
+    /**
+     * Reads the delta at the given position of the block whose deltas start at the given offset.
+     */
+    static long delta(byte[] adjacencyPage, int offset, int bits, int position) {
+        int bitOffset = position * bits;
+        return readLongSafe(adjacencyPage, offset + (bitOffset >>> 3)) >>> (bitOffset & 7) & mask(bits);
+    }
+
+    static int packedBytes(int count, int bits) {
+        return (count * bits + 7) >>> 3;
+    }
+
+    private static int decodeDeltaPacked(
+            long startValue,
+            byte[] adjacencyPage,
+            int offset,
+            int limit,
+            long[] out,
+            int into) {
+        if (limit <= 0) {
+            return offset;
+        }
+        int bits = adjacencyPage[offset++] & 255;
+        int bytes = packedBytes(limit, bits);
+        long mask = mask(bits);
+        int end = into + limit;
+
+        if (offset + bytes + Long.BYTES <= adjacencyPage.length) {
+            for (int i = into, bitOffset = 0; i < end; i++, bitOffset += bits) {
+                out[i] = readLong(adjacencyPage, offset + (bitOffset >>> 3)) >>> (bitOffset & 7) & mask;
+            }
+        } else {
+            // the block is close to the end of the page, reading a full long might overflow it
+            for (int i = into, bitOffset = 0; i < end; i++, bitOffset += bits) {
+                out[i] = readLongSafe(adjacencyPage, offset + (bitOffset >>> 3)) >>> (bitOffset & 7) & mask;
+            }
+        }
+
+        for (int i = into; i < end; i++) {
+            startValue += out[i];
+            out[i] = startValue;
+        }
+
+        return offset + bytes;
+    }
+
+    static int decodeFirstDeltaPacked(long pageAddress, int offset, int limit, long[] out) {
+        if (limit <= 0) {
+            return offset;
+        }
+        long input, value = 0L;
+        int shift = 0;
+        do {
+            input = UnsafeProxy.getByte(pageAddress + offset++);
+            value += (input & 127L) << shift;
+            shift += 7;
+        } while ((input & 128L) != 128L);
+        out[0] = value;
+        return decodeDeltaPacked(value, pageAddress, offset, limit - 1, out, 1);
+    }
+
+    static int decodeDeltaPacked(long startValue, long pageAddress, int offset, int limit, long[] out) {
+        return decodeDeltaPacked(startValue, pageAddress, offset, limit, out, 0);
+    }
+
+    static long delta(long pageAddress, int offset, int bits, int position) {
+        int bitOffset = position * bits;
+        return readLong(pageAddress + offset + (bitOffset >>> 3)) >>> (bitOffset & 7) & mask(bits);
+    }
+
+    private static int decodeDeltaPacked(
+            long startValue,
+            long pageAddress,
+            int offset,
+            int limit,
+            long[] out,
+            int into) {
+        if (limit <= 0) {
+            return offset;
+        }
+        int bits = UnsafeProxy.getByte(pageAddress + offset++) & 255;
+        int bytes = packedBytes(limit, bits);
+        long mask = mask(bits);
+        int end = into + limit;
+
+        long blockAddress = pageAddress + offset;
+        for (int i = into, bitOffset = 0; i < end; i++, bitOffset += bits) {
+            out[i] = readLong(blockAddress + (bitOffset >>> 3)) >>> (bitOffset & 7) & mask;
+        }
+
+        for (int i = into; i < end; i++) {
+            startValue += out[i];
+            out[i] = startValue;
+        }
+
+        return offset + bytes;
+    }
+
+    private static long mask(int bits) {
+        return (1L << bits) - 1L;
+    }
+
+    private static long readLongSafe(byte[] array, int offset) {
+        long value = 0L;
+        int end = Math.min(array.length, offset + Long.BYTES);
+        for (int i = offset, shift = 0; i < end; i++, shift += Byte.SIZE) {
+            value |= (array[i] & 255L) << shift;
+        }
+        return value;
+    }
+
+    private PackedDecoding() {
+        throw new UnsupportedOperationException("No instances");
+    }
+}
@@ -131,6 +131,23 @@ public final class UnionGraph implements Graph {
         return Math.toIntExact(graphs.stream().mapToLong(g -> g.degree(nodeId)).sum());
     }
 
+    @Override
+    public void forEachIncomingRelationship(long nodeId, RelationshipConsumer consumer) {
+        for (Graph graph : graphs) {
+            graph.forEachIncomingRelationship(nodeId, consumer);
+        }
+    }
+
+    @Override
+    public int inDegree(long nodeId) {
+        return Math.toIntExact(graphs.stream().mapToLong(g -> g.inDegree(nodeId)).sum());
+    }
+
+    @Override
+    public void prepareIncomingRelationships(int concurrency) {
+        graphs.forEach(graph -> graph.prepareIncomingRelationships(concurrency));
+    }
+
     @Override
     public Graph concurrentCopy() {
         return of(graphs.stream().map(graph -> (Graph) graph.concurrentCopy()).collect(Collectors.toList()));
@@ -19,6 +19,8 @@
  */
 package org.neo4j.graphalgo.core.huge;
 
+import org.neo4j.graphalgo.compat.UnsafeProxy;
+
 final class VarLongDecoding {
 
     static int decodeDeltaVLongs(
@@ -45,6 +47,33 @@ final class VarLongDecoding {
         return offset;
     }
 
+    /**
+     * Decodes from an adjacency page that is stored in native memory at the given address.
+     */
+    static int decodeDeltaVLongs(
+            long startValue,
+            long pageAddress,
+            int offset,
+            int limit,
+            long[] out) {
+        long input, value = 0L;
+        int into = 0, shift = 0;
+        while (into < limit) {
+            input = UnsafeProxy.getByte(pageAddress + offset++);
+            value += (input & 127L) << shift;
+            if ((input & 128L) == 128L) {
+                startValue += value;
+                out[into++] = startValue;
+                value = 0L;
+                shift = 0;
+            } else {
+                shift += 7;
+            }
+        }
+
+        return offset;
+    }
+
     private VarLongDecoding() {
         throw new UnsupportedOperationException("No instances");
     }
@@ -22,10 +22,13 @@ package org.neo4j.graphalgo.core.loading;
 import com.carrotsearch.hppc.sorting.IndirectSort;
 import org.apache.lucene.util.LongsRef;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.huge.AdjacencyEncoding;
 import org.neo4j.graphalgo.core.utils.AscendingLongComparator;
 
 import java.util.Arrays;
 
+import static org.neo4j.graphalgo.core.loading.PackedEncoding.encodePacked;
+import static org.neo4j.graphalgo.core.loading.PackedEncoding.encodedPackedSize;
 import static org.neo4j.graphalgo.core.loading.VarLongEncoding.encodeVLongs;
 
 final class AdjacencyCompression {
@@ -55,6 +58,7 @@ final class AdjacencyCompression {
 
     // TODO: requires lots of additional memory ... inline indirect sort to make reuse of - to be created - buffers
     static int applyDeltaEncoding(LongsRef data, long[][] weights, Aggregation[] aggregations, boolean noAggregation) {
+        // the sort is stable, so parallel relationships are merged in the order in which they have been added
         int[] order = IndirectSort.mergesort(0, data.length, new AscendingLongComparator(data.longs));
 
         long[] sortedValues = new long[data.length];
@@ -88,6 +92,26 @@ final class AdjacencyCompression {
         return encodeVLongs(data, length, out, 0);
     }
 
+    static int compress(LongsRef data, byte[] out, AdjacencyEncoding encoding) {
+        return encoding == AdjacencyEncoding.PACKED
+            ? encodePacked(data.longs, data.length, out, 0)
+            : compress(data, out);
+    }
+
+    /**
+     * Returns {@code out} if it can hold the encoded {@code data}, otherwise a new array that is large enough.
+     * VarLong encoded data always fits into the storage of the {@link CompressedLongArray} it has been copied from.
+     */
+    static byte[] ensureBufferSize(LongsRef data, byte[] out, AdjacencyEncoding encoding) {
+        if (encoding == AdjacencyEncoding.PACKED) {
+            int requiredBytes = encodedPackedSize(data.longs, data.length);
+            if (requiredBytes > out.length) {
+                return new byte[requiredBytes];
+            }
+        }
+        return out;
+    }
+
     //@formatter:off
     static int writeDegree(byte[] out, int offset, int degree) {
         out[    offset] = (byte) (degree);
@@ -98,6 +122,10 @@ final class AdjacencyCompression {
     }
     //@formatter:on
 
+    static int writeDegree(byte[] out, int offset, int degree, AdjacencyEncoding encoding) {
+        return writeDegree(out, offset, encoding.header(degree));
+    }
+
     private static int applyDelta(long[] values, int length, Aggregation aggregation) {
         long value = values[0], delta;
         int in = 1, out = 1;
@@ -114,6 +142,8 @@ final class AdjacencyCompression {
     /**
      * Applies delta encoding to the given {@code values}.
      * Weights are not encoded, {@code outRelProperties} contains weights according to {@code order}.
+     * Parallel relationships are merged in the order in which they have been added to the adjacency builder,
+     * which only follows the order of the source if a single thread has imported them.
      *
      * @param noAggregation Is true iff all aggregations are none
      */
@@ -132,9 +162,11 @@ final class AdjacencyCompression {
 
         outValues[0] = values[firstSortIdx];
         for (int i = 0; i < weights.length; i++) {
-            outWeights[i][0] = weights[i][firstSortIdx];
+            outWeights[i][0] = normalize(aggregations[i], weights[i][firstSortIdx]);
         }
 
+        // number of parallel relationships merged into the last written target
+        int mergedCount = 1;
         int in = 1, out = 1;
         for (; in < length; ++in) {
             final int sortIdx = order[in];
@@ -143,9 +175,10 @@ final class AdjacencyCompression {
 
             if (delta > 0L || noAggregation) {
                 for (int i = 0; i < weights.length; i++) {
-                    outWeights[i][out] = weights[i][sortIdx];
+                    outWeights[i][out] = normalize(aggregations[i], weights[i][sortIdx]);
                 }
                 outValues[out++] = delta;
+                mergedCount = 1;
             } else {
                 for (int i = 0; i < weights.length; i++) {
                     Aggregation aggregation = aggregations[i];
@@ -153,14 +186,19 @@ final class AdjacencyCompression {
                     long[] outWeight = outWeights[i];
                     double existingWeight = Double.longBitsToDouble(outWeight[existingIdx]);
                     double newWeight = Double.longBitsToDouble(weights[i][sortIdx]);
-                    newWeight = aggregation.merge(existingWeight, newWeight);
+                    newWeight = aggregation.merge(existingWeight, newWeight, mergedCount);
                     outWeight[existingIdx] = Double.doubleToLongBits(newWeight);
                 }
+                mergedCount++;
             }
         }
         return out;
     }
 
+    private static long normalize(Aggregation aggregation, long weight) {
+        return Double.doubleToLongBits(aggregation.normalize(Double.longBitsToDouble(weight)));
+    }
+
     private AdjacencyCompression() {
     }
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Path;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.Result;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link Result.ResultRow} over values that have been copied out of a query result.
+ * This allows rows to be handed over to importer threads that do not own the
+ * transaction the query is running in. The row is a cursor and is re-pointed
+ * at the next set of values using {@link #reset(Object[])}.
+ */
+final class BufferedResultRow implements Result.ResultRow {
+
+    private static final int NOT_FOUND = -1;
+
+    private final ObjectIntHashMap<String> columnIndex;
+    private Object[] values;
+
+    BufferedResultRow(List<String> columns) {
+        this.columnIndex = new ObjectIntHashMap<>(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            columnIndex.put(columns.get(i), i);
+        }
+    }
+
+    static Object[] copyOf(Result.ResultRow row, List<String> columns) {
+        Object[] values = new Object[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = row.get(columns.get(i));
+        }
+        return values;
+    }
+
+    void reset(Object[] values) {
+        this.values = values;
+    }
+
+    @Override
+    public Object get(String key) {
+        int index = columnIndex.getIfAbsent(key, NOT_FOUND);
+        if (index == NOT_FOUND) {
+            throw new NoSuchElementException("No such entry: " + key);
+        }
+        return values[index];
+    }
+
+    @Override
+    public Node getNode(String key) {
+        return get(key, Node.class);
+    }
+
+    @Override
+    public Relationship getRelationship(String key) {
+        return get(key, Relationship.class);
+    }
+
+    @Override
+    public Number getNumber(String key) {
+        return get(key, Number.class);
+    }
+
+    @Override
+    public Boolean getBoolean(String key) {
+        return get(key, Boolean.class);
+    }
+
+    @Override
+    public String getString(String key) {
+        return get(key, String.class);
+    }
+
+    @Override
+    public Path getPath(String key) {
+        return get(key, Path.class);
+    }
+
+    private <T> T get(String key, Class<T> type) {
+        Object value = get(key);
+        if (value == null || type.isInstance(value)) {
+            return type.cast(value);
+        }
+        throw new NoSuchElementException(String.format(
+            "The current item in column \"%s\" is not a %s: %s",
+            key,
+            type.getSimpleName(),
+            value
+        ));
+    }
+}
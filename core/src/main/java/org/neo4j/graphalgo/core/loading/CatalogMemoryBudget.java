@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Holds the memory budget of the graph catalog, which is configured through the database settings.
+ * A budget of {@code 0} bytes disables the limit.
+ */
+public final class CatalogMemoryBudget {
+
+    private static final CatalogMemoryBudget INSTANCE = new CatalogMemoryBudget();
+
+    public static CatalogMemoryBudget instance() {
+        return INSTANCE;
+    }
+
+    private volatile long budgetInBytes;
+    private volatile Path spillDirectory;
+
+    private CatalogMemoryBudget() {
+        this.budgetInBytes = 0L;
+        this.spillDirectory = Paths.get(System.getProperty("java.io.tmpdir"), "gds-catalog");
+    }
+
+    public void configure(long budgetInBytes, Path spillDirectory) {
+        this.budgetInBytes = budgetInBytes;
+        this.spillDirectory = spillDirectory;
+    }
+
+    public void reset() {
+        configure(0L, Paths.get(System.getProperty("java.io.tmpdir"), "gds-catalog"));
+    }
+
+    public boolean isLimited() {
+        return budgetInBytes > 0;
+    }
+
+    public long budgetInBytes() {
+        return budgetInBytes;
+    }
+
+    public Path spillDirectory() {
+        return spillDirectory;
+    }
+}
@@ -20,7 +20,7 @@
 package org.neo4j.graphalgo.core.loading;
 
 import org.neo4j.graphalgo.api.GraphSetup;
-import org.neo4j.graphdb.Transaction;
+import org.neo4j.graphdb.Result;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
 import java.util.Set;
@@ -37,10 +37,11 @@ class CountingCypherRecordLoader extends CypherRecordLoader<BatchLoadResult> {
     }
 
     @Override
-    BatchLoadResult loadOneBatch(Transaction tx, long offset, int batchSize, int bufferSize) {
-        ResultCountingVisitor visitor = new ResultCountingVisitor();
-        runLoadingQuery(tx, offset, batchSize).accept(visitor);
-        return new BatchLoadResult(offset, visitor.rows(), -1L, -1L);
+    void initFromResult(Result queryResult) { }
+
+    @Override
+    RecordVisitor newRecordVisitor(int bufferSize) {
+        return new ResultCountingVisitor();
     }
 
     @Override
@@ -25,7 +25,6 @@ import org.neo4j.graphalgo.compat.GraphDatabaseApiProxy;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
-import org.neo4j.graphdb.GraphDatabaseService;
 import org.neo4j.graphdb.NotInTransactionException;
 import org.neo4j.graphdb.Transaction;
 import org.neo4j.internal.kernel.api.security.AuthSubject;
@@ -68,12 +67,12 @@ public class CypherFactory extends GraphStoreFactory {
             .maxRelCount(relCount.rows())
             .build();
 
-        return NativeFactory.getMemoryEstimation(estimateDimensions);
+        return NativeFactory.getMemoryEstimation(estimateDimensions, setup.adjacencyEncoding());
     }
 
     @Override
     public MemoryEstimation memoryEstimation(GraphDimensions dimensions) {
-        return NativeFactory.getMemoryEstimation(dimensions);
+        return NativeFactory.getMemoryEstimation(dimensions, setup.adjacencyEncoding());
     }
 
     @Override
@@ -146,7 +145,7 @@ public class CypherFactory extends GraphStoreFactory {
         try {
             AuthSubject subject = ktx.securityContext().subject();
             SecurityContext securityContext = new SecurityContext(subject, READ);
-            return new Ktx(api, transactions, securityContext);
+            return new Ktx(transactions, securityContext);
         } catch (NotInTransactionException ex) {
             // happens only in tests
             throw new IllegalStateException("Must run in a transaction.", ex);
@@ -154,19 +153,11 @@ public class CypherFactory extends GraphStoreFactory {
     }
 
     static final class Ktx implements AutoCloseable {
-        private final GraphDatabaseService db;
         private final GraphDatabaseApiProxy.Transactions top;
-        private final SecurityContext securityContext;
         private final KernelTransaction.Revertable revertTop;
 
-        private Ktx(
-            GraphDatabaseService db,
-            GraphDatabaseApiProxy.Transactions top,
-            SecurityContext securityContext
-        ) {
-            this.db = db;
+        private Ktx(GraphDatabaseApiProxy.Transactions top, SecurityContext securityContext) {
             this.top = top;
-            this.securityContext = securityContext;
             this.revertTop = top.ktx().overrideWith(securityContext);
         }
 
@@ -174,14 +165,6 @@ public class CypherFactory extends GraphStoreFactory {
             return block.apply(top.tx());
         }
 
-        <T> T fork(Function<Transaction, T> block) {
-            GraphDatabaseApiProxy.Transactions txs = newKernelTransaction(db);
-            try (Transaction tx = txs.tx();
-                 KernelTransaction.Revertable ignore = txs.ktx().overrideWith(securityContext)) {
-                return block.apply(tx);
-            }
-        }
-
         @Override
         public void close() {
             try {
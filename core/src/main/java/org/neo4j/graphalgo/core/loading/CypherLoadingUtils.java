@@ -31,18 +31,20 @@ import static org.neo4j.graphalgo.core.loading.CypherFactory.LIMIT;
 import static org.neo4j.graphalgo.core.loading.CypherFactory.SKIP;
 
 final class CypherLoadingUtils {
-    static final int NO_BATCHING = -1;
 
-    static boolean canBatchLoad(int concurrency, String statement) {
-        return concurrency > 1 &&
-                (statement.contains("{" + LIMIT + "}") || statement.contains("$" + LIMIT)) &&
-                (statement.contains("{" + SKIP + "}") || statement.contains("$" + SKIP));
+    static boolean usesPaging(String statement) {
+        return (statement.contains("{" + LIMIT + "}") || statement.contains("$" + LIMIT)) &&
+               (statement.contains("{" + SKIP + "}") || statement.contains("$" + SKIP));
     }
 
-    public static Map<String, Object> params(Map<String, Object> baseParams, long offset, int batchSize) {
+    /**
+     * Paging parameters that make a query with {@code $skip} and {@code $limit}
+     * return all of its rows in a single pass. Values given by the user take precedence.
+     */
+    public static Map<String, Object> singlePassParams(Map<String, Object> baseParams) {
         Map<String, Object> params = new HashMap<>(baseParams);
-        params.put(SKIP, offset);
-        params.put(LIMIT, batchSize);
+        params.putIfAbsent(SKIP, 0L);
+        params.putIfAbsent(LIMIT, Long.MAX_VALUE);
         return params;
     }
 
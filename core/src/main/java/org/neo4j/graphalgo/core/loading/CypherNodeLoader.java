@@ -33,7 +33,6 @@ import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArrayBuilder;
 import org.neo4j.graphdb.Result;
-import org.neo4j.graphdb.Transaction;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
 import java.util.Collection;
@@ -57,7 +56,6 @@ class CypherNodeLoader extends CypherRecordLoader<CypherNodeLoader.LoadResult> {
     private NodeImporter importer;
     private Map<PropertyMapping, NodePropertiesBuilder> nodePropertyBuilders;
     private long maxNodeId;
-    private boolean initializedFromResult;
 
     CypherNodeLoader(
         String nodeQuery,
@@ -84,11 +82,9 @@ class CypherNodeLoader extends CypherRecordLoader<CypherNodeLoader.LoadResult> {
     }
 
     @Override
-    BatchLoadResult loadOneBatch(Transaction tx, long offset, int batchSize, int bufferSize) {
-        Result result = runLoadingQuery(tx, offset, batchSize);
-
-        Collection<String> propertyColumns = getPropertyColumns(result);
-        if (!hasExplicitPropertyMappings && !initializedFromResult) {
+    void initFromResult(Result queryResult) {
+        Collection<String> propertyColumns = getPropertyColumns(queryResult);
+        if (!hasExplicitPropertyMappings) {
             PropertyMappings propertyMappings = PropertyMappings.of(propertyColumns
                 .stream()
                 .map(propertyColumn -> PropertyMapping.of(
@@ -100,17 +96,15 @@ class CypherNodeLoader extends CypherRecordLoader<CypherNodeLoader.LoadResult> {
                 .toArray(PropertyMapping[]::new));
 
             initImporter(propertyMappings);
-            initializedFromResult = true;
-        } else if (!initializedFromResult) {
+        } else {
             validatePropertyColumns(propertyColumns, outerDimensions.nodeProperties());
-            initializedFromResult = true;
         }
+    }
 
+    @Override
+    RecordVisitor newRecordVisitor(int bufferSize) {
         NodesBatchBuffer buffer = new NodesBatchBuffer(null, new LongHashSet(), bufferSize, true);
-        NodeRowVisitor visitor = new NodeRowVisitor(nodePropertyBuilders, buffer, importer);
-        result.accept(visitor);
-        visitor.flush();
-        return new BatchLoadResult(offset, visitor.rows(), visitor.maxId(), visitor.rows());
+        return new NodeRowVisitor(nodePropertyBuilders, buffer, importer);
     }
 
     @Override
@@ -23,23 +23,25 @@ import org.neo4j.graphalgo.ResolvedPropertyMapping;
 import org.neo4j.graphalgo.ResolvedPropertyMappings;
 import org.apache.commons.compress.utils.Lists;
 import org.neo4j.graphalgo.api.GraphSetup;
-import org.neo4j.graphalgo.core.utils.ArrayUtil;
-import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphdb.Result;
 import org.neo4j.graphdb.Transaction;
 import org.neo4j.graphdb.security.AuthorizationViolationException;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
-import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.runQueryWithoutClosingTheResult;
@@ -60,6 +62,12 @@ abstract class CypherRecordLoader<R> {
 
     static final long NO_COUNT = -1L;
 
+    static final int ROW_BATCH_SIZE = 10_000;
+    private static final int BATCHES_PER_IMPORTER = 2;
+    private static final long PUBLISH_TIMEOUT_MILLIS = 100L;
+    private static final Object[][] END_OF_STREAM = new Object[0][];
+    private static final Pattern ORDER_BY = Pattern.compile("\\bORDER\\s+BY\\b", Pattern.CASE_INSENSITIVE);
+
     private final String loadQuery;
     protected final GraphDatabaseAPI api;
     private final long recordCount;
@@ -75,7 +83,7 @@ abstract class CypherRecordLoader<R> {
     final R load(CypherFactory.Ktx ktx) {
         try {
             if (loadsInParallel()) {
-                parallelLoad(ktx);
+                streamingLoad(ktx);
             } else {
                 nonParallelLoad(ktx);
             }
@@ -87,12 +95,15 @@ abstract class CypherRecordLoader<R> {
 
     abstract QueryType queryType();
 
-    abstract BatchLoadResult loadOneBatch(
-        Transaction tx,
-        long offset,
-        int batchSize,
-        int bufferSize
-    );
+    /**
+     * Called once with the result of the loading query, before any row is visited.
+     */
+    abstract void initFromResult(Result queryResult);
+
+    /**
+     * Creates a visitor that imports rows. Each importer thread uses its own visitor.
+     */
+    abstract RecordVisitor newRecordVisitor(int bufferSize);
 
     abstract void updateCounts(BatchLoadResult result);
 
@@ -113,62 +124,99 @@ abstract class CypherRecordLoader<R> {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Returns whether the loaded graph depends on the order of the rows, which is only kept if they are
+     * imported by a single thread. This is the case if the query sorts its rows.
+     */
+    boolean dependsOnRowOrder() {
+        return ORDER_BY.matcher(loadQuery).find();
+    }
+
     private boolean loadsInParallel() {
-        return CypherLoadingUtils.canBatchLoad(setup.concurrency(), loadQuery);
+        // counting rows is cheaper than handing them over to other threads
+        return recordCount != NO_COUNT && setup.concurrency() > 1 && !dependsOnRowOrder();
     }
 
-    private void parallelLoad(CypherFactory.Ktx ktx) {
+    private int bufferSize() {
+        return (int) Math.min(recordCount, RecordsBatchBuffer.DEFAULT_BUFFER_SIZE);
+    }
+
+    private void nonParallelLoad(CypherFactory.Ktx ktx) {
+        int bufferSize = bufferSize();
+        BatchLoadResult result = ktx.run(tx -> {
+            Result queryResult = runLoadingQuery(tx);
+            initFromResult(queryResult);
+            RecordVisitor visitor = newRecordVisitor(bufferSize);
+            queryResult.accept(visitor);
+            return visitor.complete();
+        });
+        updateCounts(result);
+    }
+
+    /**
+     * Runs the loading query once and fans its rows out to importer threads.
+     * The reading thread copies rows into batches and publishes them into a bounded
+     * queue, so that reading blocks if the importers can not keep up.
+     * Each importer thread drains the queue into its own {@link RecordVisitor}.
+     */
+    private void streamingLoad(CypherFactory.Ktx ktx) {
+        int importers = setup.concurrency();
+        int bufferSize = bufferSize();
         ExecutorService pool = setup.executor();
+        BlockingQueue<Object[][]> queue = new ArrayBlockingQueue<>(importers * BATCHES_PER_IMPORTER);
+        List<Future<BatchLoadResult>> futures = new ArrayList<>(importers);
+
+        ktx.run(tx -> {
+            Result queryResult = runLoadingQuery(tx);
+            initFromResult(queryResult);
+            List<String> columns = queryResult.columns();
+            for (int i = 0; i < importers; i++) {
+                RecordVisitor visitor = newRecordVisitor(bufferSize);
+                futures.add(pool.submit(() -> importRows(queue, columns, visitor)));
+            }
+            try {
+                RowPublisher publisher = new RowPublisher(columns, queue, futures);
+                queryResult.accept(publisher);
+                publisher.flush();
+                for (int i = 0; i < importers; i++) {
+                    publisher.publish(END_OF_STREAM);
+                }
+            } catch (RuntimeException e) {
+                futures.forEach(future -> future.cancel(true));
+                throw e;
+            }
+            return null;
+        });
 
-        final int threads;
-        final int batchSize;
-        final int bufferSize;
-        // if records are not counted we are a counting loader and must count
-        // otherwise we are an importing node/relationship loader and must import
-        if (recordCount == NO_COUNT) {
-            threads = setup.concurrency();
-            batchSize = ArrayUtil.MAX_ARRAY_LENGTH;
-            bufferSize = RecordsBatchBuffer.DEFAULT_BUFFER_SIZE;
-        } else {
-            long optimalNumberOfThreads = BitUtil.ceilDiv(recordCount, ArrayUtil.MAX_ARRAY_LENGTH);
-            threads = (int) Math.min(setup.concurrency(), optimalNumberOfThreads);
-            long optimalBatchSize = BitUtil.ceilDiv(recordCount, threads);
-            batchSize = (int) Math.min(optimalBatchSize, ArrayUtil.MAX_ARRAY_LENGTH);
-            bufferSize = Math.min(RecordsBatchBuffer.DEFAULT_BUFFER_SIZE, batchSize);
+        for (Future<BatchLoadResult> future : futures) {
+            updateCounts(CypherLoadingUtils.get(loadingErrorMessage(), future));
         }
+    }
 
-        long offset = 0;
-        long lastOffset = 0;
-        Deque<Future<BatchLoadResult>> futures = new ArrayDeque<>(threads);
-        boolean working = true;
-        do {
-            long skip = offset;
-            futures.add(pool.submit(() -> ktx.fork(tx -> loadOneBatch(tx, skip, batchSize, bufferSize))));
-            offset += batchSize;
-            if (futures.size() >= threads) {
-                Future<BatchLoadResult> oldestTask = futures.removeFirst();
-                BatchLoadResult result = CypherLoadingUtils.get(
-                        "Error during loading relationships offset: " + (lastOffset + batchSize),
-                        oldestTask);
-                updateCounts(result);
-                lastOffset = result.offset();
-                working = result.rows() > 0;
+    private static BatchLoadResult importRows(
+        BlockingQueue<Object[][]> queue,
+        List<String> columns,
+        RecordVisitor visitor
+    ) throws InterruptedException {
+        BufferedResultRow row = new BufferedResultRow(columns);
+        Object[][] batch;
+        while ((batch = queue.take()) != END_OF_STREAM) {
+            for (Object[] values : batch) {
+                row.reset(values);
+                visitor.visit(row);
             }
-        } while (working);
-        futures.forEach(f -> f.cancel(false));
+        }
+        return visitor.complete();
     }
 
-    private void nonParallelLoad(CypherFactory.Ktx ktx) {
-        int bufferSize = (int) Math.min(recordCount, RecordsBatchBuffer.DEFAULT_BUFFER_SIZE);
-        BatchLoadResult result = ktx.run(tx -> loadOneBatch(tx, 0L, CypherLoadingUtils.NO_BATCHING, bufferSize));
-        updateCounts(result);
+    private String loadingErrorMessage() {
+        return String.format("Error during loading %ss", queryType().toLowerCase());
     }
 
-    Result runLoadingQuery(Transaction tx, long offset, int batchSize) {
-        Map<String, Object> parameters =
-            batchSize == CypherLoadingUtils.NO_BATCHING
-                ? setup.parameters()
-                : CypherLoadingUtils.params(setup.parameters(), offset, batchSize);
+    Result runLoadingQuery(Transaction tx) {
+        Map<String, Object> parameters = CypherLoadingUtils.usesPaging(loadQuery)
+            ? CypherLoadingUtils.singlePassParams(setup.parameters())
+            : setup.parameters();
         Result result = runQueryWithoutClosingTheResult(api, tx, loadQuery, parameters);
         validateMandatoryColumns(Lists.newArrayList(result.columns().iterator()));
         return result;
@@ -208,4 +256,61 @@ abstract class CypherRecordLoader<R> {
         }
     }
 
+    interface RecordVisitor extends Result.ResultVisitor<RuntimeException> {
+        /**
+         * Flushes all buffered records and reports what has been imported.
+         */
+        BatchLoadResult complete();
+    }
+
+    private final class RowPublisher implements Result.ResultVisitor<RuntimeException> {
+
+        private final List<String> columns;
+        private final BlockingQueue<Object[][]> queue;
+        private final List<Future<BatchLoadResult>> importers;
+
+        private Object[][] batch;
+        private int length;
+
+        RowPublisher(List<String> columns, BlockingQueue<Object[][]> queue, List<Future<BatchLoadResult>> importers) {
+            this.columns = columns;
+            this.queue = queue;
+            this.importers = importers;
+            this.batch = new Object[ROW_BATCH_SIZE][];
+        }
+
+        @Override
+        public boolean visit(Result.ResultRow row) {
+            batch[length++] = BufferedResultRow.copyOf(row, columns);
+            if (length == batch.length) {
+                publish(batch);
+                batch = new Object[ROW_BATCH_SIZE][];
+                length = 0;
+            }
+            return true;
+        }
+
+        void flush() {
+            if (length > 0) {
+                publish(Arrays.copyOf(batch, length));
+                length = 0;
+            }
+        }
+
+        void publish(Object[][] rows) {
+            try {
+                while (!queue.offer(rows, PUBLISH_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    // an importer that is done before the end of the stream has failed
+                    for (Future<BatchLoadResult> importer : importers) {
+                        if (importer.isDone()) {
+                            CypherLoadingUtils.get(loadingErrorMessage(), importer);
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted: " + loadingErrorMessage(), e);
+            }
+        }
+    }
 }
@@ -38,9 +38,9 @@ import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphdb.Result;
-import org.neo4j.graphdb.Transaction;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -73,7 +73,7 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
     private int[] propertyKeyIds;
     private double[] propertyDefaultValues;
     private Aggregation[] aggregations;
-    private boolean initializedFromResult;
+    private boolean isAnyRelTypeQuery;
 
     private GraphDimensions resultDimensions;
 
@@ -139,16 +139,13 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
     }
 
     @Override
-    BatchLoadResult loadOneBatch(Transaction tx, long offset, int batchSize, int bufferSize) {
-        Result queryResult = runLoadingQuery(tx, offset, batchSize);
-
+    void initFromResult(Result queryResult) {
         List<String> allColumns = queryResult.columns();
 
         // If the user specifies property mappings, we use those.
         // Otherwise, we create new property mappings from the result columns.
-        // We do that only once, as each batch has the same columns.
         Collection<String> propertyColumns = getPropertyColumns(queryResult);
-        if (!hasExplicitPropertyMappings && !initializedFromResult) {
+        if (!hasExplicitPropertyMappings) {
             List<ResolvedPropertyMapping> propertyMappings = propertyColumns
                 .stream()
                 .map(propertyColumn -> PropertyMapping.of(
@@ -166,20 +163,30 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
                 .build();
 
             resultDimensions = initFromDimension(innerDimensions);
-
-            initializedFromResult = true;
-        } else if (!initializedFromResult) {
+        } else {
             validatePropertyColumns(propertyColumns, outerDimensions.relationshipProperties());
-            initializedFromResult = true;
         }
 
-        boolean isAnyRelTypeQuery = !allColumns.contains(RelationshipRowVisitor.TYPE_COLUMN);
+        isAnyRelTypeQuery = !allColumns.contains(RelationshipRowVisitor.TYPE_COLUMN);
 
         if (isAnyRelTypeQuery) {
             loaderContext.getOrCreateImporterBuilder(RelationshipProjectionMapping.all());
         }
+    }
+
+    /**
+     * Aggregations like {@code FIRST} or {@code LAST} pick a parallel relationship by its position in the result.
+     */
+    @Override
+    boolean dependsOnRowOrder() {
+        return super.dependsOnRowOrder()
+               || globalAggregation.dependsOnImportOrder()
+               || Arrays.stream(aggregations).anyMatch(Aggregation::dependsOnImportOrder);
+    }
 
-        RelationshipRowVisitor visitor = new RelationshipRowVisitor(
+    @Override
+    RecordVisitor newRecordVisitor(int bufferSize) {
+        return new RelationshipRowVisitor(
             idMap,
             loaderContext,
             propertyKeyIdsByName,
@@ -187,10 +194,6 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
             bufferSize,
             isAnyRelTypeQuery
         );
-
-        queryResult.accept(visitor);
-        visitor.flushAll();
-        return new BatchLoadResult(offset, visitor.rows(), -1L, visitor.relationshipCount());
     }
 
     @Override
@@ -265,6 +268,7 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
         private SingleTypeRelationshipImporter.Builder.WithImporter createImporter(RelationshipProjectionMapping typeMapping) {
             RelationshipsBuilder builder = new RelationshipsBuilder(
                 aggregations,
+                setup.adjacencyEncoding(),
                 setup.tracker(),
                 propertyKeyIds.length
             );
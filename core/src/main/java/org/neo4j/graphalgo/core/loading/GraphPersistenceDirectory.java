@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Holds the directory that persisted graphs are written to and loaded from, which is configured through the database settings.
+ * Every user has their own subdirectory, so that users can neither read nor overwrite the graphs of other users.
+ */
+public final class GraphPersistenceDirectory {
+
+    private static final GraphPersistenceDirectory INSTANCE = new GraphPersistenceDirectory();
+
+    // URLEncoder never emits a '%' that is not followed by two hex digits, so this cannot clash with a username
+    private static final String ANONYMOUS_DIRECTORY = "%anonymous";
+
+    public static GraphPersistenceDirectory instance() {
+        return INSTANCE;
+    }
+
+    private volatile Path rootDirectory;
+
+    private GraphPersistenceDirectory() {
+        this.rootDirectory = defaultRootDirectory();
+    }
+
+    public void configure(Path rootDirectory) {
+        this.rootDirectory = rootDirectory.toAbsolutePath().normalize();
+    }
+
+    public void reset() {
+        configure(defaultRootDirectory());
+    }
+
+    public Path rootDirectory() {
+        return rootDirectory;
+    }
+
+    /**
+     * Resolves a path that a user passed to a procedure against the directory of that user.
+     * Absolute paths and paths containing {@code .} or {@code ..} segments are rejected.
+     */
+    public Path resolve(String username, String path) {
+        Path relativePath = Paths.get(path);
+        if (relativePath.isAbsolute() || relativePath.getRoot() != null) {
+            throw new IllegalArgumentException(String.format(
+                "Path `%s` must be relative to the graph persistence directory.",
+                path
+            ));
+        }
+        for (Path segment : relativePath) {
+            String name = segment.toString();
+            if (name.isEmpty() || ".".equals(name) || "..".equals(name)) {
+                throw new IllegalArgumentException(String.format(
+                    "Path `%s` must not contain `.` or `..` segments.",
+                    path
+                ));
+            }
+        }
+        Path userDirectory = rootDirectory.resolve(userDirectoryName(username));
+        Path directory = userDirectory.resolve(relativePath).normalize();
+        if (!directory.startsWith(userDirectory) || directory.equals(userDirectory)) {
+            throw new IllegalArgumentException(String.format(
+                "Path `%s` must be relative to the graph persistence directory.",
+                path
+            ));
+        }
+        return directory;
+    }
+
+    private static String userDirectoryName(String username) {
+        if (username.isEmpty()) {
+            return ANONYMOUS_DIRECTORY;
+        }
+        try {
+            // the encoded name is a single path segment; dots are encoded as well so that `.` and `..` cannot be used as names
+            return URLEncoder.encode(username, "UTF-8").replace(".", "%2E");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Path defaultRootDirectory() {
+        return Paths.get(System.getProperty("java.io.tmpdir"), "gds-graphs").toAbsolutePath();
+    }
+}
@@ -21,19 +21,26 @@ package org.neo4j.graphalgo.core.loading;
 
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.config.AlgoBaseConfig;
 import org.neo4j.graphalgo.core.ProcedureConstants;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.huge.AdjacencySkipIndex;
 import org.neo4j.graphalgo.core.huge.HugeGraph;
 import org.neo4j.graphalgo.core.huge.UnionGraph;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -45,16 +52,26 @@ public final class GraphStore {
 
     private final IdMap nodes;
 
-    private final Map<String, NodeProperties> nodeProperties;
+    // the maps are replaced instead of modified when the graph store is mutated,
+    // so that graphs that have been created before keep a consistent view
 
-    private final Map<String, HugeGraph.TopologyCSR> relationships;
+    private volatile Map<String, NodeProperties> nodeProperties;
 
-    private final Map<String, Map<String, HugeGraph.PropertyCSR>> relationshipProperties;
+    private volatile Map<String, HugeGraph.TopologyCSR> relationships;
+
+    private volatile Map<String, Map<String, HugeGraph.PropertyCSR>> relationshipProperties;
+
+    private final Map<String, HugeGraph.TopologyCSR> inverseRelationships;
+
+    private final Map<String, AdjacencySkipIndex> skipIndices;
 
     private final Set<Graph> createdGraphs;
 
     private final AllocationTracker tracker;
 
+    // properties and relationship types that have been added after loading are not tracked by the tracker above
+    private final AtomicLong mutatedSizeInBytes;
+
     public static GraphStore of(
         IdMap nodes,
         Map<String, NodeProperties> nodeProperties,
@@ -106,8 +123,11 @@ public final class GraphStore {
         this.nodeProperties = nodeProperties;
         this.relationships = relationships;
         this.relationshipProperties = relationshipProperties;
+        this.inverseRelationships = new ConcurrentHashMap<>();
+        this.skipIndices = new ConcurrentHashMap<>();
         this.createdGraphs = new HashSet<>();
         this.tracker = tracker;
+        this.mutatedSizeInBytes = new AtomicLong();
     }
 
     public Graph getGraph(String... relationshipTypes) {
@@ -145,6 +165,10 @@ public final class GraphStore {
         createdGraphs.forEach(graph -> graph.canRelease(canRelease));
     }
 
+    public IdMap nodes() {
+        return nodes;
+    }
+
     public long nodeCount() {
         return nodes.nodeCount();
     }
@@ -159,6 +183,135 @@ public final class GraphStore {
         return relationships.keySet();
     }
 
+    public Set<String> nodePropertyKeys() {
+        return nodeProperties.keySet();
+    }
+
+    public Set<String> relationshipPropertyKeys(String relationshipType) {
+        return relationshipProperties.getOrDefault(relationshipType, Collections.emptyMap()).keySet();
+    }
+
+    /**
+     * Returns the number of bytes that are held by this graph store.
+     * This includes the inverse topologies and skip indices that have been derived so far,
+     * as well as the properties and relationship types that have been added after loading.
+     * Added node properties are accounted as one double per node, as their backing data structure is not known.
+     * Graph stores that have been loaded without an active {@link AllocationTracker} only report the added data.
+     */
+    public long sizeInBytes() {
+        return tracker.tracked() + mutatedSizeInBytes.get();
+    }
+
+    NodeProperties nodeProperty(String propertyKey) {
+        return nodeProperties.get(propertyKey);
+    }
+
+    HugeGraph.TopologyCSR topology(String relationshipType) {
+        return relationships.get(relationshipType);
+    }
+
+    HugeGraph.PropertyCSR relationshipProperty(String relationshipType, String propertyKey) {
+        return relationshipProperties.get(relationshipType).get(propertyKey);
+    }
+
+    /**
+     * Attaches the given properties to the nodes of this graph store without copying them.
+     * The property is available to all graphs that are created afterwards.
+     */
+    public synchronized void addNodeProperty(String propertyKey, NodeProperties properties) {
+        if (nodeProperties.containsKey(propertyKey)) {
+            throw new IllegalArgumentException(String.format(
+                "Node property `%s` already exists in the in-memory graph.",
+                propertyKey
+            ));
+        }
+        Map<String, NodeProperties> newNodeProperties = new LinkedHashMap<>(nodeProperties);
+        newNodeProperties.put(propertyKey, properties);
+        this.nodeProperties = newNodeProperties;
+        mutatedSizeInBytes.addAndGet(HugeDoubleArray.memoryEstimation(nodeCount()));
+    }
+
+    /**
+     * Attaches the given relationships as a new relationship type without copying them.
+     * The relationships must have been built on top of the id mapping of this graph store.
+     */
+    public synchronized void addRelationshipType(
+        String relationshipType,
+        Optional<String> relationshipPropertyKey,
+        HugeGraph.Relationships relationships
+    ) {
+        if (this.relationships.containsKey(relationshipType)) {
+            throw new IllegalArgumentException(String.format(
+                "Relationship type `%s` already exists in the in-memory graph.",
+                relationshipType
+            ));
+        }
+        Map<String, HugeGraph.TopologyCSR> newRelationships = new LinkedHashMap<>(this.relationships);
+        newRelationships.put(relationshipType, relationships.topology());
+
+        if (relationshipPropertyKey.isPresent() && relationships.hasProperties()) {
+            Map<String, Map<String, HugeGraph.PropertyCSR>> newRelationshipProperties = new LinkedHashMap<>(
+                relationshipProperties);
+            newRelationshipProperties.put(
+                relationshipType,
+                singletonMap(relationshipPropertyKey.get(), relationships.properties().get())
+            );
+            this.relationshipProperties = newRelationshipProperties;
+            mutatedSizeInBytes.addAndGet(relationships.properties().get().sizeInBytes());
+        }
+        this.relationships = newRelationships;
+        mutatedSizeInBytes.addAndGet(relationships.topology().sizeInBytes());
+    }
+
+    /**
+     * Returns the inverse topology of the given relationship type.
+     * It is derived from the loaded topology on first access and cached for all subsequent graphs.
+     */
+    public HugeGraph.TopologyCSR inverseRelationships(String relationshipType) {
+        return inverseRelationships(relationshipType, AlgoBaseConfig.DEFAULT_CONCURRENCY);
+    }
+
+    /**
+     * Returns the inverse topology of the given relationship type.
+     * If it has not been derived yet, it is built using the given concurrency.
+     */
+    public HugeGraph.TopologyCSR inverseRelationships(String relationshipType, int concurrency) {
+        HugeGraph.TopologyCSR topology = relationships.get(relationshipType);
+        if (topology == null) {
+            throw new IllegalArgumentException(String.format(
+                "No relationships have been loaded for relationship type '%s'",
+                relationshipType
+            ));
+        }
+        return inverseRelationships.computeIfAbsent(relationshipType, type -> InverseAdjacencyBuilder.build(
+            nodes,
+            topology,
+            concurrency,
+            Pools.DEFAULT,
+            tracker
+        ));
+    }
+
+    /**
+     * Releases the inverse topologies and skip indices that have been derived from this graph store.
+     * The loaded topologies and properties are released through the graphs that have been created.
+     */
+    public void release() {
+        inverseRelationships.forEach((relationshipType, inverse) -> {
+            // undirected topologies are their own inverse
+            if (inverse != relationships.get(relationshipType)) {
+                inverse.release(tracker);
+            }
+        });
+        inverseRelationships.clear();
+        skipIndices.values().forEach(skipIndex -> tracker.remove(skipIndex.release()));
+        skipIndices.clear();
+    }
+
+    private AdjacencySkipIndex skipIndex(String relationshipType) {
+        return skipIndices.computeIfAbsent(relationshipType, type -> new AdjacencySkipIndex(nodes.nodeCount(), tracker));
+    }
+
     private Graph createGraph(String relationshipType, Optional<String> maybeRelationshipProperty) {
         return createGraph(singletonList(relationshipType), maybeRelationshipProperty);
     }
@@ -171,7 +324,8 @@ public final class GraphStore {
             .map(relTypeAndCSR -> HugeGraph.create(
                 nodes, nodeProperties, relTypeAndCSR.getValue(), maybeRelationshipProperty.map(propertyKey -> relationshipProperties
                     .get(relTypeAndCSR.getKey())
-                    .get(propertyKey)), tracker
+                    .get(propertyKey)), concurrency -> inverseRelationships(relTypeAndCSR.getKey(), concurrency),
+                maybeRelationshipProperty.isPresent() ? skipIndex(relTypeAndCSR.getKey()) : null, tracker
             ))
             .collect(Collectors.toList());
 
@@ -198,7 +352,7 @@ public final class GraphStore {
                 }
 
                 maybeRelationshipProperty.ifPresent(relationshipProperty -> {
-                    if (!relationshipProperties.get(relationshipType).containsKey(relationshipProperty)) {
+                    if (!relationshipPropertyKeys(relationshipType).contains(relationshipProperty)) {
                         throw new IllegalArgumentException(String.format(
                             "No relationships have been loaded for relationship type '%s' and relationship property '%s'.",
                             relationshipType,
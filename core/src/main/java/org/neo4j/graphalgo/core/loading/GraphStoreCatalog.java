@@ -22,30 +22,61 @@ package org.neo4j.graphalgo.core.loading;
 import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Holds the named graphs of all users.
+ *
+ * If a {@link CatalogMemoryBudget} is configured, the catalog keeps the combined size of all resident graphs
+ * within that budget. When a new graph does not fit, the least recently used graphs are spilled to the
+ * spill directory using {@link GraphStoreFiles} and are loaded back transparently on their next use.
+ * Listing or removing a spilled graph does not load it back.
+ */
 public final class GraphStoreCatalog {
 
     private static final ConcurrentHashMap<String, UserCatalog> userCatalogs = new ConcurrentHashMap<>();
 
+    // guards the choice of graphs to spill, which has to consider the graphs of all users;
+    // the graphs are written and read without holding this lock
+    private static final Object BUDGET_LOCK = new Object();
+
+    private static final AtomicLong ACCESS_CLOCK = new AtomicLong();
+
     private GraphStoreCatalog() { }
 
     public static void set(GraphCreateConfig config, GraphStore graphStore) {
         graphStore.canRelease(false);
-        userCatalogs.compute(config.username(), (user, userCatalog) -> {
-            if (userCatalog == null) {
-                userCatalog = new UserCatalog();
+        List<CatalogEntry> spillCandidates = Collections.emptyList();
+        synchronized (BUDGET_LOCK) {
+            if (!exists(config.username(), config.graphName())) {
+                spillCandidates = reserve(config.graphName(), graphStore.sizeInBytes(), null);
             }
-            userCatalog.set(config, graphStore);
-            return userCatalog;
-        });
+            userCatalogs.compute(config.username(), (user, userCatalog) -> {
+                if (userCatalog == null) {
+                    userCatalog = new UserCatalog();
+                }
+                userCatalog.set(config, graphStore);
+                return userCatalog;
+            });
+        }
+        spillCandidates.forEach(CatalogEntry::spill);
     }
 
     public static Graph get(
@@ -65,21 +96,23 @@ public final class GraphStoreCatalog {
         return getUserCatalog(username).exists(graphName);
     }
 
+    /**
+     * Removes the given graph and returns its union graph, or {@code null} if the graph does not exist
+     * or has been spilled to disk.
+     */
     public static @Nullable Graph remove(String username, String graphName) {
-        return Optional
-            .ofNullable(getUserCatalog(username).remove(graphName))
-            .orElse(null);
+        return getUserCatalog(username).remove(graphName);
     }
 
-    public static void remove(String username, String graphName, Consumer<GraphStoreWithConfig> graphRemovedConsumer) {
-        GraphStoreWithConfig graphStoreWithConfig = Optional.ofNullable(getUserCatalog(username).removeWithoutRelease(graphName))
+    /**
+     * Removes the given graph. The consumer is called with the summary of the graph before it is released.
+     */
+    public static void remove(String username, String graphName, Consumer<GraphSummary> graphRemovedConsumer) {
+        CatalogEntry entry = Optional.ofNullable(getUserCatalog(username).removeEntry(graphName))
             .orElseThrow(failOnNonExistentGraph(graphName));
 
-        graphRemovedConsumer.accept(graphStoreWithConfig);
-
-        Graph graph = graphStoreWithConfig.getGraph();
-        graph.canRelease(true);
-        graph.release();
+        graphRemovedConsumer.accept(entry.summary());
+        entry.release();
     }
 
     private static UserCatalog getUserCatalog(String username) {
@@ -87,13 +120,48 @@ public final class GraphStoreCatalog {
     }
 
     public static void removeAllLoadedGraphs() {
-        userCatalogs.clear();
+        List<CatalogEntry> entries;
+        synchronized (BUDGET_LOCK) {
+            entries = userCatalogs.values().stream().flatMap(UserCatalog::entries).collect(Collectors.toList());
+            userCatalogs.clear();
+        }
+        entries.forEach(CatalogEntry::remove);
     }
 
+    /**
+     * Returns the graphs of the given user that are currently held in memory.
+     * Graphs that have been spilled to disk are not included, see {@link #getGraphSummaries(String)}.
+     */
     public static Map<GraphCreateConfig, Graph> getLoadedGraphs(String username) {
         return getUserCatalog(username).getLoadedGraphs();
     }
 
+    /**
+     * Returns the summaries of all graphs of the given user, without loading spilled graphs back.
+     */
+    public static List<GraphSummary> getGraphSummaries(String username) {
+        return getUserCatalog(username).getGraphSummaries();
+    }
+
+    /**
+     * Returns the combined size of all graphs that are currently held in memory.
+     */
+    public static long residentSizeInBytes() {
+        return userCatalogs.values().stream()
+            .flatMap(UserCatalog::entries)
+            .filter(CatalogEntry::isResident)
+            .mapToLong(CatalogEntry::sizeInBytes)
+            .sum();
+    }
+
+    /**
+     * Returns whether the given graph has been spilled to disk and is not held in memory.
+     */
+    public static boolean isSpilled(String username, String graphName) {
+        CatalogEntry entry = getUserCatalog(username).graphsByName.get(graphName);
+        return entry != null && !entry.isResident();
+    }
+
     private static Supplier<RuntimeException> failOnNonExistentGraph(String graphName) {
         return () -> new IllegalArgumentException(String.format(
             "Graph with name `%s` does not exist and can't be removed.",
@@ -108,18 +176,196 @@ public final class GraphStoreCatalog {
         return getUserCatalog(username).get(graphName);
     }
 
+    /**
+     * Chooses the least recently used graphs that have to be spilled until a graph of the given size fits
+     * into the memory budget. The chosen graphs are no longer accounted for and must be passed to
+     * {@link CatalogEntry#spill()} after the {@link #BUDGET_LOCK}, which must be held by the caller, has been released.
+     */
+    private static List<CatalogEntry> reserve(String graphName, long sizeInBytes, @Nullable CatalogEntry requester) {
+        CatalogMemoryBudget budget = CatalogMemoryBudget.instance();
+        if (!budget.isLimited()) {
+            return Collections.emptyList();
+        }
+        if (sizeInBytes > budget.budgetInBytes()) {
+            throw new IllegalArgumentException(String.format(
+                "Graph `%s` requires %s, which exceeds the graph catalog memory budget of %s.",
+                graphName,
+                MemoryUsage.humanReadable(sizeInBytes),
+                MemoryUsage.humanReadable(budget.budgetInBytes())
+            ));
+        }
+
+        List<CatalogEntry> residentEntries = userCatalogs.values().stream()
+            .flatMap(UserCatalog::entries)
+            .filter(entry -> entry != requester && entry.isResident() && entry.spillTarget == null)
+            .sorted(Comparator.comparingLong(entry -> entry.lastAccess))
+            .collect(Collectors.toList());
+
+        long usedBytes = residentEntries.stream().mapToLong(CatalogEntry::sizeInBytes).sum();
+        List<CatalogEntry> spillCandidates = new ArrayList<>();
+        for (CatalogEntry entry : residentEntries) {
+            if (usedBytes + sizeInBytes <= budget.budgetInBytes()) {
+                break;
+            }
+            entry.spillTarget = budget.spillDirectory().resolve(UUID.randomUUID().toString());
+            spillCandidates.add(entry);
+            usedBytes -= entry.sizeInBytes();
+        }
+        return spillCandidates;
+    }
+
+    private static final class CatalogEntry {
+
+        private final GraphCreateConfig config;
+        private volatile long lastAccess;
+        private volatile @Nullable GraphStore graphStore;
+
+        // set while holding the BUDGET_LOCK when the entry has been chosen to be spilled
+        private volatile @Nullable Path spillTarget;
+
+        // the remaining fields are guarded by the monitor of this entry
+        private @Nullable Path spillDirectory;
+        private boolean removed;
+
+        // cached when the graph is spilled, so that it can be described without loading it back
+        private volatile long sizeInBytes;
+        private volatile long nodeCount;
+        private volatile long relationshipCount;
+
+        CatalogEntry(GraphCreateConfig config, GraphStore graphStore) {
+            this.config = config;
+            this.graphStore = graphStore;
+            this.lastAccess = ACCESS_CLOCK.incrementAndGet();
+        }
+
+        boolean isResident() {
+            return graphStore != null;
+        }
+
+        long sizeInBytes() {
+            GraphStore resident = graphStore;
+            return resident != null ? resident.sizeInBytes() : sizeInBytes;
+        }
+
+        GraphSummary summary() {
+            GraphStore resident = graphStore;
+            if (resident != null) {
+                return ImmutableGraphSummary.of(
+                    config,
+                    resident.nodeCount(),
+                    resident.relationshipCount(),
+                    Optional.of(resident.getUnion())
+                );
+            }
+            return ImmutableGraphSummary.of(config, nodeCount, relationshipCount, Optional.empty());
+        }
+
+        GraphStore graphStore() {
+            lastAccess = ACCESS_CLOCK.incrementAndGet();
+            GraphStore resident = graphStore;
+            if (resident != null) {
+                return resident;
+            }
+            List<CatalogEntry> spillCandidates = Collections.emptyList();
+            try {
+                synchronized (this) {
+                    if (removed) {
+                        throw new NoSuchElementException(String.format(
+                            "Cannot find graph with name '%s'.",
+                            config.graphName()
+                        ));
+                    }
+                    if (graphStore == null) {
+                        synchronized (BUDGET_LOCK) {
+                            spillCandidates = reserve(config.graphName(), sizeInBytes, this);
+                        }
+                        GraphStore loaded = GraphStoreFiles
+                            .read(spillDirectory, config.username(), config.graphName(), AllocationTracker.create())
+                            .graphStore();
+                        loaded.canRelease(false);
+                        GraphStoreFiles.delete(spillDirectory);
+                        spillDirectory = null;
+                        graphStore = loaded;
+                    }
+                    return graphStore;
+                }
+            } finally {
+                spillCandidates.forEach(CatalogEntry::spill);
+            }
+        }
+
+        GraphStoreWithConfig graphStoreWithConfig() {
+            return ImmutableGraphStoreWithConfig.of(graphStore(), config);
+        }
+
+        /**
+         * Writes the graph to the spill target that has been chosen by {@link #reserve(String, long, CatalogEntry)}.
+         * Concurrent readers keep using the resident graph store until it has been written completely.
+         */
+        synchronized void spill() {
+            Path target = spillTarget;
+            GraphStore resident = graphStore;
+            try {
+                if (target == null || resident == null || removed) {
+                    return;
+                }
+                // mutations of the graph store are blocked while it is written, as they would be lost otherwise
+                synchronized (resident) {
+                    sizeInBytes = resident.sizeInBytes();
+                    nodeCount = resident.nodeCount();
+                    relationshipCount = resident.relationshipCount();
+                    GraphStoreFiles.write(ImmutableGraphStoreWithConfig.of(resident, config), target);
+                }
+                spillDirectory = target;
+                graphStore = null;
+                // the graph store is released like a dropped graph, so that its tracked and native memory
+                // is returned right away instead of whenever the garbage collector gets to it
+                release(resident);
+            } finally {
+                spillTarget = null;
+            }
+        }
+
+        /**
+         * Marks the entry as removed and deletes its spilled files. The resident graph store is kept
+         * until {@link #release()}, so that the removed graph can be reported on.
+         */
+        synchronized void remove() {
+            removed = true;
+            if (spillDirectory != null) {
+                GraphStoreFiles.delete(spillDirectory);
+                spillDirectory = null;
+            }
+        }
+
+        synchronized void release() {
+            GraphStore resident = graphStore;
+            graphStore = null;
+            if (resident != null) {
+                release(resident);
+            }
+        }
+
+        private static void release(GraphStore graphStore) {
+            Graph graph = graphStore.getUnion();
+            graph.canRelease(true);
+            graph.release();
+            graphStore.release();
+        }
+    }
+
     private static class UserCatalog {
 
         private static final UserCatalog EMPTY = new UserCatalog();
 
-        private final Map<String, GraphStoreWithConfig> graphsByName = new ConcurrentHashMap<>();
+        private final Map<String, CatalogEntry> graphsByName = new ConcurrentHashMap<>();
 
         void set(GraphCreateConfig config, GraphStore graphStore) {
             if (config.graphName() == null || graphStore == null) {
                 throw new IllegalArgumentException("Both name and graph store must be not null");
             }
-            GraphStoreWithConfig graphStoreWithConfig = ImmutableGraphStoreWithConfig.of(graphStore, config);
-            if (graphsByName.putIfAbsent(config.graphName(), graphStoreWithConfig) != null) {
+            CatalogEntry entry = new CatalogEntry(config, graphStore);
+            if (graphsByName.putIfAbsent(config.graphName(), entry) != null) {
                 throw new IllegalStateException(String.format(
                     "Graph name %s already loaded",
                     config.graphName()
@@ -129,8 +375,9 @@ public final class GraphStoreCatalog {
         }
 
         GraphStoreWithConfig get(String graphName) {
-            if (graphsByName.containsKey(graphName)) {
-                return graphsByName.get(graphName);
+            CatalogEntry entry = graphsByName.get(graphName);
+            if (entry != null) {
+                return entry.graphStoreWithConfig();
             } else {
                 throw new NoSuchElementException(String.format("Cannot find graph with name '%s'.", graphName));
             }
@@ -159,34 +406,45 @@ public final class GraphStoreCatalog {
 
         @Nullable
         Graph remove(String graphName) {
-            if (!exists(graphName)) {
+            CatalogEntry entry = removeEntry(graphName);
+            if (entry == null) {
                 // remove is allowed to return null if the graph does not exist
                 // as it's being used by algo.graph.info or algo.graph.remove,
                 // that can deal with missing graphs
                 return null;
             }
-            GraphStoreWithConfig graphStoreWithConfig = graphsByName.remove(graphName);
-            Graph graph = graphStoreWithConfig.getGraph();
-            graph.canRelease(true);
-            graph.release();
-            return graph;
+            Optional<Graph> graph = entry.summary().graph();
+            entry.release();
+            return graph.orElse(null);
         }
 
+        /**
+         * Removes the entry from this catalog and deletes its spilled files, but does not release its graph store.
+         */
         @Nullable
-        GraphStoreWithConfig removeWithoutRelease(String graphName) {
-            if (!exists(graphName)) {
-                // remove is allowed to return null if the graph does not exist
-                // as it's being used by algo.graph.info or algo.graph.remove,
-                // that can deal with missing graphs
-                return null;
+        CatalogEntry removeEntry(String graphName) {
+            CatalogEntry entry = graphName == null ? null : graphsByName.remove(graphName);
+            if (entry != null) {
+                entry.remove();
             }
-            return graphsByName.remove(graphName);
+            return entry;
         }
 
         Map<GraphCreateConfig, Graph> getLoadedGraphs() {
-            return graphsByName.values().stream().collect(Collectors.toMap(
-                GraphStoreWithConfig::config, GraphStoreWithConfig::getGraph
-            ));
+            return graphsByName.values().stream()
+                .map(CatalogEntry::summary)
+                .filter(summary -> summary.graph().isPresent())
+                .collect(Collectors.toMap(GraphSummary::config, summary -> summary.graph().get()));
+        }
+
+        List<GraphSummary> getGraphSummaries() {
+            return graphsByName.values().stream()
+                .map(CatalogEntry::summary)
+                .collect(Collectors.toList());
+        }
+
+        Stream<CatalogEntry> entries() {
+            return graphsByName.values().stream();
         }
     }
 
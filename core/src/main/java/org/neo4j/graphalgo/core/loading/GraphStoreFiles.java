@@ -0,0 +1,587 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.neo4j.graphalgo.NodeProjections;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipProjections;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.config.AlgoBaseConfig;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.config.GraphCreateFromCypherConfig;
+import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.config.ImmutableGraphCreateFromCypherConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.huge.AdjacencyList;
+import org.neo4j.graphalgo.core.huge.AdjacencyOffsets;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.huge.ImmutablePropertyCSR;
+import org.neo4j.graphalgo.core.huge.ImmutableTopologyCSR;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeCursor;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.OffHeapAllocation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Persists a {@link GraphStore} to a local directory and loads it back.
+ *
+ * Every column is stored in its own file: the original node ids, the values of each node property,
+ * and the compressed adjacency pages and offsets of each relationship type and relationship property.
+ * A metadata file describes the graph and the configuration it has been created with.
+ * Loading memory maps the column files and copies them into the paged data structures of the graph store.
+ */
+public final class GraphStoreFiles {
+
+    private static final int MAGIC = 0x47445347;
+    private static final int VERSION = 2;
+
+    private static final String METADATA_FILE = "metadata";
+    private static final String NODE_IDS_FILE = "nodes.ids";
+    private static final String STORE_CONFIG = "store";
+    private static final String CYPHER_CONFIG = "cypher";
+
+    private static final byte NULL_VALUE = 0;
+    private static final byte STRING_VALUE = 1;
+    private static final byte LONG_VALUE = 2;
+    private static final byte DOUBLE_VALUE = 3;
+    private static final byte BOOLEAN_VALUE = 4;
+    private static final byte LIST_VALUE = 5;
+    private static final byte MAP_VALUE = 6;
+
+    private GraphStoreFiles() {}
+
+    /**
+     * Writes the graph store into the given directory, which is created if necessary and must be empty.
+     * The files are written into a temporary sibling directory, which is renamed to the given directory
+     * once all files have been written. A failed write does not leave a partially written graph behind.
+     */
+    public static void write(GraphStoreWithConfig graphStoreWithConfig, Path directory) {
+        Path tempDirectory = null;
+        boolean written = false;
+        try {
+            tempDirectory = prepareDirectory(directory);
+            writeFiles(graphStoreWithConfig, tempDirectory);
+            moveDirectory(tempDirectory, directory);
+            written = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (!written && tempDirectory != null) {
+                delete(tempDirectory);
+            }
+        }
+    }
+
+    private static void writeFiles(GraphStoreWithConfig graphStoreWithConfig, Path directory) throws IOException {
+        GraphStore graphStore = graphStoreWithConfig.graphStore();
+        IdMap nodes = graphStore.nodes();
+        long nodeCount = nodes.nodeCount();
+
+        long highestNeoId = writeNodeIds(nodes, directory.resolve(NODE_IDS_FILE));
+
+        List<String> nodePropertyKeys = new ArrayList<>(graphStore.nodePropertyKeys());
+        for (int i = 0; i < nodePropertyKeys.size(); i++) {
+            writeNodeProperty(
+                graphStore.nodeProperty(nodePropertyKeys.get(i)),
+                nodeCount,
+                directory.resolve(nodePropertyFile(i))
+            );
+        }
+
+        List<String> relationshipTypes = new ArrayList<>(graphStore.relationshipTypes());
+        for (int i = 0; i < relationshipTypes.size(); i++) {
+            String relationshipType = relationshipTypes.get(i);
+            writeCSR(graphStore.topology(relationshipType), nodeCount, directory, relationshipFile(i));
+            List<String> propertyKeys = new ArrayList<>(graphStore.relationshipPropertyKeys(relationshipType));
+            for (int j = 0; j < propertyKeys.size(); j++) {
+                writeCSR(
+                    graphStore.relationshipProperty(relationshipType, propertyKeys.get(j)),
+                    nodeCount,
+                    directory,
+                    relationshipPropertyFile(i, j)
+                );
+            }
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+            directory.resolve(METADATA_FILE))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeConfig(graphStoreWithConfig.config(), out);
+            out.writeLong(nodeCount);
+            out.writeLong(highestNeoId);
+            out.writeInt(nodePropertyKeys.size());
+            for (String propertyKey : nodePropertyKeys) {
+                out.writeUTF(propertyKey);
+            }
+            out.writeInt(relationshipTypes.size());
+            for (String relationshipType : relationshipTypes) {
+                HugeGraph.TopologyCSR topology = graphStore.topology(relationshipType);
+                out.writeUTF(relationshipType);
+                out.writeUTF(topology.orientation().name());
+                out.writeLong(topology.elementCount());
+                List<String> propertyKeys = new ArrayList<>(graphStore.relationshipPropertyKeys(relationshipType));
+                out.writeInt(propertyKeys.size());
+                for (String propertyKey : propertyKeys) {
+                    HugeGraph.PropertyCSR properties = graphStore.relationshipProperty(relationshipType, propertyKey);
+                    out.writeUTF(propertyKey);
+                    out.writeLong(properties.elementCount());
+                    out.writeDouble(properties.defaultPropertyValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads a graph store that has been written with {@link #write(GraphStoreWithConfig, Path)}.
+     * The graph is assigned to the given user and graph name, regardless of the ones it has been persisted with.
+     */
+    public static GraphStoreWithConfig read(
+        Path directory,
+        String username,
+        String graphName,
+        AllocationTracker tracker
+    ) {
+        Path metadataFile = directory.resolve(METADATA_FILE);
+        if (!Files.isRegularFile(metadataFile)) {
+            throw new IllegalArgumentException(String.format(
+                "Directory `%s` does not contain a persisted graph.",
+                directory
+            ));
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(metadataFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IllegalArgumentException(String.format(
+                    "Directory `%s` contains a graph in an unsupported format.",
+                    directory
+                ));
+            }
+            GraphCreateConfig config = readConfig(in, username, graphName);
+            long nodeCount = in.readLong();
+            long highestNeoId = in.readLong();
+
+            IdMap nodes = readNodeIds(directory.resolve(NODE_IDS_FILE), nodeCount, highestNeoId, tracker);
+
+            int nodePropertyCount = in.readInt();
+            Map<String, NodeProperties> nodeProperties = new LinkedHashMap<>();
+            for (int i = 0; i < nodePropertyCount; i++) {
+                nodeProperties.put(
+                    in.readUTF(),
+                    readNodeProperty(directory.resolve(nodePropertyFile(i)), nodeCount, tracker)
+                );
+            }
+
+            int relationshipTypeCount = in.readInt();
+            Map<String, HugeGraph.TopologyCSR> relationships = new LinkedHashMap<>();
+            Map<String, Map<String, HugeGraph.PropertyCSR>> relationshipProperties = new LinkedHashMap<>();
+            for (int i = 0; i < relationshipTypeCount; i++) {
+                String relationshipType = in.readUTF();
+                Orientation orientation = Orientation.valueOf(in.readUTF());
+                long elementCount = in.readLong();
+                String file = relationshipFile(i);
+                relationships.put(relationshipType, ImmutableTopologyCSR.of(
+                    readAdjacencyList(directory, file, tracker),
+                    readAdjacencyOffsets(directory, file, nodeCount, tracker),
+                    elementCount,
+                    orientation
+                ));
+                int propertyCount = in.readInt();
+                Map<String, HugeGraph.PropertyCSR> properties = new LinkedHashMap<>();
+                for (int j = 0; j < propertyCount; j++) {
+                    String propertyKey = in.readUTF();
+                    long propertyElementCount = in.readLong();
+                    double defaultValue = in.readDouble();
+                    String propertyFile = relationshipPropertyFile(i, j);
+                    properties.put(propertyKey, ImmutablePropertyCSR.of(
+                        readAdjacencyList(directory, propertyFile, tracker),
+                        readAdjacencyOffsets(directory, propertyFile, nodeCount, tracker),
+                        propertyElementCount,
+                        orientation,
+                        defaultValue
+                    ));
+                }
+                if (!properties.isEmpty()) {
+                    relationshipProperties.put(relationshipType, properties);
+                }
+            }
+
+            GraphStore graphStore = GraphStore.of(nodes, nodeProperties, relationships, relationshipProperties, tracker);
+            return ImmutableGraphStoreWithConfig.of(graphStore, config);
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("Failed to load graph from `%s`.", directory), e);
+        }
+    }
+
+    /**
+     * Deletes a directory that has been written with {@link #write(GraphStoreWithConfig, Path)}.
+     */
+    public static void delete(Path directory) {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+            Files.delete(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Validates the target directory and creates a temporary sibling directory to write the files into.
+     */
+    private static Path prepareDirectory(Path directory) throws IOException {
+        if (Files.exists(directory)) {
+            if (!Files.isDirectory(directory)) {
+                throw new IllegalArgumentException(String.format("Path `%s` is not a directory.", directory));
+            }
+            try (Stream<Path> files = Files.list(directory)) {
+                if (files.findAny().isPresent()) {
+                    throw new IllegalArgumentException(String.format("Directory `%s` is not empty.", directory));
+                }
+            }
+        }
+        Path absoluteDirectory = directory.toAbsolutePath();
+        Path parent = absoluteDirectory.getParent();
+        Files.createDirectories(parent);
+        return Files.createTempDirectory(parent, "." + absoluteDirectory.getFileName() + "-");
+    }
+
+    /**
+     * Renames the fully written temporary directory to the target directory,
+     * so that the target either contains a complete graph or does not exist.
+     */
+    private static void moveDirectory(Path source, Path target) throws IOException {
+        // the target has been checked to be empty before writing
+        Files.deleteIfExists(target);
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target);
+        }
+    }
+
+    /**
+     * Writes the configuration with the {@link DataOutput} primitives only.
+     * The projections are written as the nested maps that {@code toObject} returns,
+     * so reading them back never instantiates arbitrary classes from the file.
+     */
+    private static void writeConfig(GraphCreateConfig config, DataOutput out) throws IOException {
+        if (config instanceof GraphCreateFromCypherConfig) {
+            GraphCreateFromCypherConfig cypherConfig = (GraphCreateFromCypherConfig) config;
+            out.writeUTF(CYPHER_CONFIG);
+            writeString(cypherConfig.nodeQuery(), out);
+            writeString(cypherConfig.relationshipQuery(), out);
+        } else {
+            out.writeUTF(STORE_CONFIG);
+        }
+        writeValue(config.nodeProjections().toObject(), out);
+        writeValue(config.relationshipProjections().toObject(), out);
+    }
+
+    private static GraphCreateConfig readConfig(
+        DataInput in,
+        String username,
+        String graphName
+    ) throws IOException {
+        String configType = in.readUTF();
+        if (CYPHER_CONFIG.equals(configType)) {
+            String nodeQuery = readString(in);
+            String relationshipQuery = readString(in);
+            return ImmutableGraphCreateFromCypherConfig.builder()
+                .username(username)
+                .graphName(graphName)
+                .nodeQuery(nodeQuery)
+                .relationshipQuery(relationshipQuery)
+                .nodeProjections(NodeProjections.fromObject(readValue(in)))
+                .relationshipProjections(RelationshipProjections.fromObject(readValue(in)))
+                .build();
+        }
+        Object nodeProjections = readValue(in);
+        Object relationshipProjections = readValue(in);
+        return GraphCreateFromStoreConfig.of(
+            username,
+            graphName,
+            nodeProjections,
+            relationshipProjections,
+            CypherMapWrapper.empty()
+        );
+    }
+
+    /**
+     * Writes a string as a length-prefixed UTF-8 byte array.
+     * Unlike {@link DataOutput#writeUTF(String)} this is not limited to 64 KB, which Cypher queries can exceed.
+     */
+    private static void writeString(String value, DataOutput out) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException(String.format("Invalid string length %d.", length));
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a configuration value, which is either {@code null}, a string, a number, a boolean,
+     * or a list or a map of such values.
+     */
+    private static void writeValue(Object value, DataOutput out) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL_VALUE);
+        } else if (value instanceof String) {
+            out.writeByte(STRING_VALUE);
+            writeString((String) value, out);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(LONG_VALUE);
+            out.writeLong(((Number) value).longValue());
+        } else if (value instanceof Number) {
+            out.writeByte(DOUBLE_VALUE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN_VALUE);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            out.writeByte(LIST_VALUE);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                writeValue(element, out);
+            }
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            out.writeByte(MAP_VALUE);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeString(String.valueOf(entry.getKey()), out);
+                writeValue(entry.getValue(), out);
+            }
+        } else {
+            throw new IllegalArgumentException(String.format(
+                "Cannot persist configuration value of type %s.",
+                value.getClass().getSimpleName()
+            ));
+        }
+    }
+
+    private static Object readValue(DataInput in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case NULL_VALUE:
+                return null;
+            case STRING_VALUE:
+                return readString(in);
+            case LONG_VALUE:
+                return in.readLong();
+            case DOUBLE_VALUE:
+                return in.readDouble();
+            case BOOLEAN_VALUE:
+                return in.readBoolean();
+            case LIST_VALUE:
+                int size = in.readInt();
+                List<Object> list = new ArrayList<>(Math.max(0, size));
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                return list;
+            case MAP_VALUE:
+                int entries = in.readInt();
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < entries; i++) {
+                    String key = readString(in);
+                    map.put(key, readValue(in));
+                }
+                return map;
+            default:
+                throw new IOException(String.format("Unknown configuration value type %d.", type));
+        }
+    }
+
+    private static long writeNodeIds(IdMap nodes, Path file) throws IOException {
+        long highestNeoId = 0L;
+        try (ColumnWriter writer = ColumnWriter.create(file)) {
+            for (long nodeId = 0; nodeId < nodes.nodeCount(); nodeId++) {
+                long neoId = nodes.toOriginalNodeId(nodeId);
+                highestNeoId = Math.max(highestNeoId, neoId);
+                writer.writeLong(neoId);
+            }
+        }
+        return highestNeoId;
+    }
+
+    private static IdMap readNodeIds(
+        Path file,
+        long nodeCount,
+        long highestNeoId,
+        AllocationTracker tracker
+    ) throws IOException {
+        HugeLongArray graphIds = HugeLongArray.newArray(nodeCount, tracker);
+        try (
+            MappedColumnReader reader = MappedColumnReader.open(file);
+            HugeCursor<long[]> cursor = graphIds.initCursor(graphIds.newCursor())
+        ) {
+            while (cursor.next()) {
+                reader.readLongs(cursor.array, cursor.offset, cursor.limit - cursor.offset);
+            }
+        }
+        return IdMapBuilder.build(graphIds, nodeCount, highestNeoId + 1, AlgoBaseConfig.DEFAULT_CONCURRENCY, tracker);
+    }
+
+    /**
+     * Writes the value of every node, followed by the number of nodes that have a value.
+     * If not all nodes have a value, a bit set of the nodes with a value follows.
+     * A node has no value if the properties return the default value that is provided when accessing them.
+     */
+    private static void writeNodeProperty(NodeProperties properties, long nodeCount, Path file) throws IOException {
+        HugeAtomicBitSet presentValues = HugeAtomicBitSet.create(nodeCount, AllocationTracker.EMPTY);
+        try (ColumnWriter writer = ColumnWriter.create(file)) {
+            long presentCount = 0L;
+            for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                writer.writeDouble(properties.nodeProperty(nodeId));
+                if (Double.compare(properties.nodeProperty(nodeId, 0.0), properties.nodeProperty(nodeId, 1.0)) == 0) {
+                    presentValues.set(nodeId);
+                    presentCount++;
+                }
+            }
+            writer.writeLong(presentCount);
+            if (presentCount < nodeCount) {
+                for (long wordStart = 0; wordStart < nodeCount; wordStart += Long.SIZE) {
+                    long word = 0L;
+                    long wordEnd = Math.min(nodeCount, wordStart + Long.SIZE);
+                    for (long nodeId = wordStart; nodeId < wordEnd; nodeId++) {
+                        if (presentValues.get(nodeId)) {
+                            word |= 1L << (nodeId - wordStart);
+                        }
+                    }
+                    writer.writeLong(word);
+                }
+            }
+        }
+    }
+
+    private static NodeProperties readNodeProperty(Path file, long nodeCount, AllocationTracker tracker) throws IOException {
+        HugeDoubleArray values = OffHeapAllocation.instance().isEnabled()
+            ? HugeDoubleArray.newOffHeapArray(nodeCount, tracker)
+            : HugeDoubleArray.newArray(nodeCount, tracker);
+        try (
+            MappedColumnReader reader = MappedColumnReader.open(file);
+            HugeCursor<double[]> cursor = values.initCursor(values.newCursor())
+        ) {
+            while (cursor.next()) {
+                reader.readDoubles(cursor.array, cursor.offset, cursor.limit - cursor.offset);
+            }
+            long presentCount = reader.readLong();
+            HugeAtomicBitSet presentValues = null;
+            if (presentCount < nodeCount) {
+                presentValues = HugeAtomicBitSet.create(nodeCount, tracker);
+                for (long wordStart = 0; wordStart < nodeCount; wordStart += Long.SIZE) {
+                    long word = reader.readLong();
+                    while (word != 0L) {
+                        presentValues.set(wordStart + Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            }
+            return new NodePropertyArray(
+                values,
+                presentValues,
+                presentCount,
+                NodePropertyArray.maxValue(values, presentValues)
+            );
+        }
+    }
+
+    private static void writeCSR(HugeGraph.TopologyCSR csr, long nodeCount, Path directory, String file) throws IOException {
+        try (ColumnWriter writer = ColumnWriter.create(directory.resolve(file + ".adjacency"))) {
+            csr.list().writeTo(writer);
+        }
+        try (ColumnWriter writer = ColumnWriter.create(directory.resolve(file + ".offsets"))) {
+            csr.offsets().writeTo(writer, nodeCount);
+        }
+    }
+
+    private static AdjacencyList readAdjacencyList(
+        Path directory,
+        String file,
+        AllocationTracker tracker
+    ) throws IOException {
+        try (MappedColumnReader reader = MappedColumnReader.open(directory.resolve(file + ".adjacency"))) {
+            AdjacencyList adjacencyList = AdjacencyList.readFrom(reader, tracker);
+            return OffHeapAllocation.instance().isEnabled()
+                ? AdjacencyList.offHeap(adjacencyList, tracker)
+                : adjacencyList;
+        }
+    }
+
+    private static AdjacencyOffsets readAdjacencyOffsets(
+        Path directory,
+        String file,
+        long nodeCount,
+        AllocationTracker tracker
+    ) throws IOException {
+        try (MappedColumnReader reader = MappedColumnReader.open(directory.resolve(file + ".offsets"))) {
+            AdjacencyOffsets offsets = AdjacencyOffsets.readFrom(reader, tracker);
+            return OffHeapAllocation.instance().isEnabled()
+                ? AdjacencyOffsets.offHeap(offsets, nodeCount, tracker)
+                : offsets;
+        }
+    }
+
+    private static String nodePropertyFile(int propertyIndex) {
+        return "nodes.property." + propertyIndex;
+    }
+
+    private static String relationshipFile(int typeIndex) {
+        return "relationships." + typeIndex;
+    }
+
+    private static String relationshipPropertyFile(int typeIndex, int propertyIndex) {
+        return "relationships." + typeIndex + ".property." + propertyIndex;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+
+import java.util.Optional;
+
+/**
+ * Describes a graph of the {@link GraphStoreCatalog}.
+ * Graphs that have been spilled to disk are described by the counts that were cached when they were spilled,
+ * so that they don't have to be loaded back.
+ */
+@ValueClass
+public interface GraphSummary {
+
+    GraphCreateConfig config();
+
+    long nodeCount();
+
+    long relationshipCount();
+
+    /**
+     * The union of all relationship types, or empty if the graph has been spilled to disk.
+     */
+    Optional<Graph> graph();
+}
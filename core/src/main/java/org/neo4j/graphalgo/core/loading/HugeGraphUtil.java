@@ -23,10 +23,12 @@ import com.carrotsearch.hppc.BitSet;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.huge.AdjacencyEncoding;
 import org.neo4j.graphalgo.core.huge.HugeGraph;
 import org.neo4j.graphalgo.core.utils.RawValues;
 import org.neo4j.graphalgo.core.utils.SetBitsIterable;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 
 import java.util.Collections;
@@ -50,11 +52,68 @@ public final class HugeGraphUtil {
         );
     }
 
+    /**
+     * Creates an id map builder that nodes can be added to from multiple threads.
+     * Unlike {@link #idMapBuilder}, internal ids are assigned in ascending original id order.
+     */
+    public static ConcurrentIdMapBuilder concurrentIdMapBuilder(long maxOriginalId, AllocationTracker tracker) {
+        return new ConcurrentIdMapBuilder(maxOriginalId, tracker);
+    }
+
+    public static RelationshipsBuilder createRelImporter(
+        IdMap idMap,
+        Orientation orientation,
+        boolean loadRelationshipProperty,
+        Aggregation aggregation,
+        ExecutorService executorService,
+        AllocationTracker tracker
+    ) {
+        return createRelImporter(
+            idMap,
+            orientation,
+            loadRelationshipProperty,
+            aggregation,
+            1,
+            executorService,
+            tracker
+        );
+    }
+
+    /**
+     * Creates a relationships builder whose adjacency pages are sized for the given concurrency.
+     * Use {@link RelationshipsBuilder#localBuilder()} to add relationships from multiple threads.
+     */
+    public static RelationshipsBuilder createRelImporter(
+        IdMap idMap,
+        Orientation orientation,
+        boolean loadRelationshipProperty,
+        Aggregation aggregation,
+        int concurrency,
+        ExecutorService executorService,
+        AllocationTracker tracker
+    ) {
+        return createRelImporter(
+            idMap,
+            orientation,
+            loadRelationshipProperty,
+            aggregation,
+            AdjacencyEncoding.VAR_LONG,
+            concurrency,
+            executorService,
+            tracker
+        );
+    }
+
+    /**
+     * Creates a relationships builder that writes its adjacency lists with the given encoding.
+     */
     public static RelationshipsBuilder createRelImporter(
         IdMap idMap,
         Orientation orientation,
         boolean loadRelationshipProperty,
         Aggregation aggregation,
+        AdjacencyEncoding encoding,
+        int concurrency,
         ExecutorService executorService,
         AllocationTracker tracker
     ) {
@@ -63,6 +122,8 @@ public final class HugeGraphUtil {
             orientation,
             loadRelationshipProperty,
             aggregation,
+            encoding,
+            concurrency,
             executorService,
             tracker
         );
@@ -78,6 +139,10 @@ public final class HugeGraphUtil {
         );
     }
 
+    /**
+     * Maps original node ids to consecutive internal ids in the order in which they are added.
+     * Nodes must be added by a single thread.
+     */
     public static class IdMapBuilder {
 
         final AllocationTracker tracker;
@@ -129,19 +194,67 @@ public final class HugeGraphUtil {
         }
     }
 
+    /**
+     * Maps original node ids to consecutive internal ids in ascending original id order.
+     * Nodes can be added concurrently, the mapping is independent of the insertion order.
+     */
+    public static class ConcurrentIdMapBuilder {
+
+        private final AllocationTracker tracker;
+
+        private final HugeAtomicBitSet seenOriginalIds;
+        private final SparseNodeMapping.Builder originalToInternalBuilder;
+
+        private volatile IdMap idMap;
+
+        ConcurrentIdMapBuilder(long maxOriginalId, AllocationTracker tracker) {
+            this.tracker = tracker;
+
+            this.originalToInternalBuilder = SparseNodeMapping.Builder.create(maxOriginalId + 1, tracker);
+            this.seenOriginalIds = HugeAtomicBitSet.create(maxOriginalId + 1, tracker);
+        }
+
+        public void addNode(long originalId) {
+            if (idMap != null) {
+                throw new UnsupportedOperationException("Cannot add new nodes after `idMap` has been called");
+            }
+
+            seenOriginalIds.set(originalId);
+        }
+
+        public synchronized IdMap build() {
+            if (idMap == null) {
+                long nodeCount = seenOriginalIds.cardinality();
+                HugeLongArray internalToNeo = HugeLongArray.newArray(nodeCount, tracker);
+
+                long internalId = 0L;
+                for (long originalId = seenOriginalIds.nextSetBit(0);
+                     originalId != -1L;
+                     originalId = seenOriginalIds.nextSetBit(originalId + 1)) {
+                    originalToInternalBuilder.set(originalId, internalId);
+                    internalToNeo.set(internalId++, originalId);
+                }
+                tracker.remove(seenOriginalIds.release());
+
+                idMap = new IdMap(internalToNeo, originalToInternalBuilder.build(), nodeCount);
+            }
+            return idMap;
+        }
+    }
+
     public static class RelationshipsBuilder {
 
         static final int DUMMY_PROPERTY_ID = -2;
         private final org.neo4j.graphalgo.core.loading.RelationshipsBuilder relationshipsBuilder;
         private final RelationshipImporter relationshipImporter;
         private final RelationshipImporter.Imports imports;
-        private final RelationshipsBatchBuffer relationshipBuffer;
+        private final LocalRelationshipsBuilder localBuilder;
         private final IdMap idMap;
         private final Orientation orientation;
         private final boolean loadRelationshipProperty;
         private final ExecutorService executorService;
 
-        private long importedRelationships = 0;
+        private final LongAdder importedRelationships;
 
         public RelationshipsBuilder(
             IdMap idMap,
@@ -150,13 +263,47 @@ public final class HugeGraphUtil {
             Aggregation aggregation,
             ExecutorService executorService,
             AllocationTracker tracker
+        ) {
+            this(idMap, orientation, loadRelationshipProperty, aggregation, 1, executorService, tracker);
+        }
+
+        public RelationshipsBuilder(
+            IdMap idMap,
+            Orientation orientation,
+            boolean loadRelationshipProperty,
+            Aggregation aggregation,
+            int concurrency,
+            ExecutorService executorService,
+            AllocationTracker tracker
+        ) {
+            this(
+                idMap,
+                orientation,
+                loadRelationshipProperty,
+                aggregation,
+                AdjacencyEncoding.VAR_LONG,
+                concurrency,
+                executorService,
+                tracker
+            );
+        }
+
+        public RelationshipsBuilder(
+            IdMap idMap,
+            Orientation orientation,
+            boolean loadRelationshipProperty,
+            Aggregation aggregation,
+            AdjacencyEncoding encoding,
+            int concurrency,
+            ExecutorService executorService,
+            AllocationTracker tracker
         ) {
             this.orientation = orientation;
             this.loadRelationshipProperty = loadRelationshipProperty;
             this.executorService = executorService;
             this.idMap = idMap;
 
-            ImportSizing importSizing = ImportSizing.of(1, idMap.nodeCount());
+            ImportSizing importSizing = ImportSizing.of(concurrency, idMap.nodeCount());
             int pageSize = importSizing.pageSize();
             int numberOfPages = importSizing.numberOfPages();
 
@@ -164,6 +311,7 @@ public final class HugeGraphUtil {
 
             this.relationshipsBuilder = new org.neo4j.graphalgo.core.loading.RelationshipsBuilder(
                 new Aggregation[]{aggregation},
+                encoding,
                 tracker,
                 loadRelationshipProperty ? 1 : 0
             );
@@ -180,7 +328,23 @@ public final class HugeGraphUtil {
 
             this.relationshipImporter = new RelationshipImporter(tracker, adjacencyBuilder);
             this.imports = relationshipImporter.imports(orientation, loadRelationshipProperty);
-            this.relationshipBuffer = new RelationshipsBatchBuffer(idMap, -1, ParallelUtil.DEFAULT_BATCH_SIZE);
+            this.importedRelationships = new LongAdder();
+            this.localBuilder = localBuilder();
+        }
+
+        /**
+         * Returns a builder with its own relationship buffer that is meant to be used by a single thread.
+         * Multiple local builders can add relationships concurrently.
+         * All local builders need to be {@link LocalRelationshipsBuilder#flush() flushed} before calling {@link #build()}.
+         */
+        public LocalRelationshipsBuilder localBuilder() {
+            return new LocalRelationshipsBuilder(
+                idMap,
+                new RelationshipsBatchBuffer(idMap, -1, ParallelUtil.DEFAULT_BATCH_SIZE),
+                imports,
+                loadRelationshipProperty,
+                importedRelationships
+            );
         }
 
         public void add(long source, long target) {
@@ -200,19 +364,11 @@ public final class HugeGraphUtil {
         }
 
         public void addFromInternal(long source, long target) {
-            relationshipBuffer.add(source, target, -1L, -1L);
-            if (relationshipBuffer.isFull()) {
-                flushBuffer();
-                relationshipBuffer.reset();
-            }
+            localBuilder.addFromInternal(source, target);
         }
 
         public void addFromInternal(long source, long target, double relationshipPropertyValue) {
-            relationshipBuffer.add(source, target, -1L, Double.doubleToLongBits(relationshipPropertyValue));
-            if (relationshipBuffer.isFull()) {
-                flushBuffer();
-                relationshipBuffer.reset();
-            }
+            localBuilder.addFromInternal(source, target, relationshipPropertyValue);
         }
 
         public <T extends Relationship> void addFromInternal(Stream<T> relationshipStream) {
@@ -224,11 +380,11 @@ public final class HugeGraphUtil {
         }
 
         public HugeGraph.Relationships build() {
-            flushBuffer();
+            localBuilder.flush();
 
             ParallelUtil.run(relationshipImporter.flushTasks(), executorService);
             return HugeGraph.Relationships.of(
-                importedRelationships,
+                importedRelationships.sum(),
                 orientation,
                 relationshipsBuilder.adjacencyList(),
                 relationshipsBuilder.globalAdjacencyOffsets(),
@@ -238,11 +394,63 @@ public final class HugeGraphUtil {
             );
         }
 
-        private void flushBuffer() {
+    }
+
+    public static final class LocalRelationshipsBuilder {
+
+        private final IdMap idMap;
+        private final RelationshipsBatchBuffer relationshipBuffer;
+        private final RelationshipImporter.Imports imports;
+        private final boolean loadRelationshipProperty;
+        private final LongAdder importedRelationships;
+
+        private LocalRelationshipsBuilder(
+            IdMap idMap,
+            RelationshipsBatchBuffer relationshipBuffer,
+            RelationshipImporter.Imports imports,
+            boolean loadRelationshipProperty,
+            LongAdder importedRelationships
+        ) {
+            this.idMap = idMap;
+            this.relationshipBuffer = relationshipBuffer;
+            this.imports = imports;
+            this.loadRelationshipProperty = loadRelationshipProperty;
+            this.importedRelationships = importedRelationships;
+        }
+
+        public void add(long source, long target) {
+            addFromInternal(idMap.toMappedNodeId(source), idMap.toMappedNodeId(target));
+        }
+
+        public void add(long source, long target, double relationshipPropertyValue) {
+            addFromInternal(idMap.toMappedNodeId(source), idMap.toMappedNodeId(target), relationshipPropertyValue);
+        }
+
+        public void addFromInternal(long source, long target) {
+            relationshipBuffer.add(source, target, -1L, -1L);
+            if (relationshipBuffer.isFull()) {
+                flush();
+            }
+        }
+
+        public void addFromInternal(long source, long target, double relationshipPropertyValue) {
+            relationshipBuffer.add(source, target, -1L, Double.doubleToLongBits(relationshipPropertyValue));
+            if (relationshipBuffer.isFull()) {
+                flush();
+            }
+        }
+
+        /**
+         * Imports all buffered relationships.
+         */
+        public void flush() {
+            if (relationshipBuffer.length() == 0) {
+                return;
+            }
             RelationshipImporter.PropertyReader propertyReader = loadRelationshipProperty ? RelationshipImporter.preLoadedPropertyReader() : null;
 
             long newImportedInOut = imports.importRelationships(relationshipBuffer, propertyReader);
-            importedRelationships += RawValues.getHead(newImportedInOut);
+            importedRelationships.add(RawValues.getHead(newImportedInOut));
             relationshipBuffer.reset();
         }
     }
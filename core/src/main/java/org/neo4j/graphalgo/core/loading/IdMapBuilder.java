@@ -25,15 +25,20 @@ import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeCursor;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArrayBuilder;
+import org.neo4j.graphalgo.core.utils.paged.OffHeapAllocation;
 
 public final class IdMapBuilder {
-    private static IdMap build(
-            HugeLongArray graphIds,
+    static IdMap build(
+            HugeLongArray onHeapGraphIds,
             long nodeCount,
             long highestNodeId,
             int concurrency,
             AllocationTracker tracker) {
 
+        HugeLongArray graphIds = OffHeapAllocation.instance().isEnabled()
+            ? moveOffHeap(onHeapGraphIds, tracker)
+            : onHeapGraphIds;
+
         SparseNodeMapping.Builder nodeMappingBuilder = SparseNodeMapping.Builder.create(highestNodeId == 0 ? 1 : highestNodeId, tracker);
         ParallelUtil.readParallel(
                 concurrency,
@@ -67,6 +72,13 @@ public final class IdMapBuilder {
     }
 
 
+    private static HugeLongArray moveOffHeap(HugeLongArray graphIds, AllocationTracker tracker) {
+        HugeLongArray offHeapGraphIds = HugeLongArray.newOffHeapArray(graphIds.size(), tracker);
+        graphIds.copyTo(offHeapGraphIds, graphIds.size());
+        tracker.remove(graphIds.release());
+        return offHeapGraphIds;
+    }
+
     private IdMapBuilder() {
     }
 }
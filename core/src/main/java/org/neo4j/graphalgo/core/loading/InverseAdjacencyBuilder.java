@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.apache.lucene.util.LongsRef;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.huge.AdjacencyList;
+import org.neo4j.graphalgo.core.huge.AdjacencyOffsets;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.utils.LazyBatchCollection;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import static org.neo4j.graphalgo.core.loading.AdjacencyCompression.writeDegree;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+
+/**
+ * Derives the inverse of an existing relationship projection without going back to the database.
+ * <p>
+ * The incoming relationships of every node are counted and scattered into a temporary,
+ * uncompressed array of source nodes. That array is then compressed page by page into
+ * the same delta encoded {@link AdjacencyList} format that is used during the import.
+ * All three phases run in parallel, the temporary arrays are released afterwards.
+ * <p>
+ * Undirected projections are their own inverse and are returned unchanged.
+ */
+public final class InverseAdjacencyBuilder {
+
+    // a vlong requires at most 9 bytes
+    private static final int MAX_VLONG_BYTES = 9;
+
+    private InverseAdjacencyBuilder() {}
+
+    /**
+     * Estimates the inverse of a directed projection, including the temporary arrays that are used to build it.
+     * Algorithms that iterate incoming relationships add this to their own estimation.
+     */
+    public static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder("inverse adjacency")
+            .add("adjacency list", AdjacencyList.compressedMemoryEstimation(false))
+            .add("adjacency offsets", AdjacencyOffsets.memoryEstimation())
+            .perNode("cursors", HugeAtomicLongArray::memoryEstimation)
+            .perNode("starts", nodeCount -> HugeLongArray.memoryEstimation(nodeCount + 1))
+            .perGraphDimension("sources", (dimensions, concurrency) ->
+                MemoryRange.of(HugeLongArray.memoryEstimation(dimensions.maxRelCount())))
+            .build();
+    }
+
+    public static HugeGraph.TopologyCSR build(
+        IdMap nodes,
+        HugeGraph.TopologyCSR topology,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        if (topology.orientation() == Orientation.UNDIRECTED) {
+            return topology;
+        }
+
+        long nodeCount = nodes.nodeCount();
+        HugeGraph graph = HugeGraph.create(nodes, Collections.emptyMap(), topology, Optional.empty(), tracker);
+        long batchSize = ParallelUtil.adjustedBatchSize(nodeCount, concurrency, ParallelUtil.DEFAULT_BATCH_SIZE);
+
+        // count the incoming relationships of each node
+        HugeAtomicLongArray cursors = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        ParallelUtil.runWithConcurrency(concurrency, LazyBatchCollection.of(
+            nodeCount,
+            batchSize,
+            (start, length) -> () -> {
+                RelationshipIterator relationshipIterator = graph.concurrentCopy();
+                for (long nodeId = start; nodeId < start + length; nodeId++) {
+                    relationshipIterator.forEachRelationship(nodeId, (sourceNodeId, targetNodeId) -> {
+                        cursors.getAndAdd(targetNodeId, 1L);
+                        return true;
+                    });
+                }
+            }
+        ), executor);
+
+        // prefix sum over the counts, the cursors then point to the start of each adjacency list
+        HugeLongArray starts = HugeLongArray.newArray(nodeCount + 1, tracker);
+        long relationshipCount = 0L;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            starts.set(nodeId, relationshipCount);
+            relationshipCount += cursors.get(nodeId);
+            cursors.set(nodeId, starts.get(nodeId));
+        }
+        starts.set(nodeCount, relationshipCount);
+
+        // scatter the source nodes into the adjacency list of their targets
+        HugeLongArray sources = HugeLongArray.newArray(relationshipCount, tracker);
+        ParallelUtil.runWithConcurrency(concurrency, LazyBatchCollection.of(
+            nodeCount,
+            batchSize,
+            (start, length) -> () -> {
+                RelationshipIterator relationshipIterator = graph.concurrentCopy();
+                for (long nodeId = start; nodeId < start + length; nodeId++) {
+                    relationshipIterator.forEachRelationship(nodeId, (sourceNodeId, targetNodeId) -> {
+                        sources.set(cursors.getAndAdd(targetNodeId, 1L), sourceNodeId);
+                        return true;
+                    });
+                }
+            }
+        ), executor);
+        tracker.remove(cursors.release());
+
+        // compress every page of nodes into the inverse adjacency list
+        ImportSizing sizing = ImportSizing.of(concurrency, nodeCount);
+        int pageSize = sizing.pageSize();
+        int numberOfPages = sizing.numberOfPages();
+        long[][] offsetPages = new long[numberOfPages][];
+        AdjacencyListBuilder adjacencyListBuilder = AdjacencyListBuilder.newBuilder(tracker);
+
+        List<Runnable> compressTasks = new ArrayList<>(numberOfPages);
+        for (int pageIndex = 0; pageIndex < numberOfPages; pageIndex++) {
+            long startNode = (long) pageIndex * pageSize;
+            long endNode = Math.min(nodeCount, startNode + pageSize);
+            long[] offsets = offsetPages[pageIndex] = new long[pageSize];
+            tracker.add(sizeOfLongArray(pageSize));
+            compressTasks.add(new CompressTask(
+                adjacencyListBuilder.newAllocator(),
+                starts,
+                sources,
+                offsets,
+                startNode,
+                endNode
+            ));
+        }
+        ParallelUtil.runWithConcurrency(concurrency, compressTasks, executor);
+        tracker.remove(starts.release());
+        tracker.remove(sources.release());
+
+        return HugeGraph.Relationships.of(
+            topology.elementCount(),
+            inverse(topology.orientation()),
+            adjacencyListBuilder.build(),
+            AdjacencyOffsets.of(offsetPages, pageSize),
+            null,
+            null,
+            Double.NaN
+        ).topology();
+    }
+
+    private static Orientation inverse(Orientation orientation) {
+        return orientation == Orientation.REVERSE ? Orientation.NATURAL : Orientation.REVERSE;
+    }
+
+    private static final class CompressTask implements Runnable {
+
+        private final AdjacencyListBuilder.Allocator allocator;
+        private final HugeLongArray starts;
+        private final HugeLongArray sources;
+        private final long[] offsets;
+        private final long startNode;
+        private final long endNode;
+
+        private final LongsRef buffer;
+        private byte[] storage;
+
+        CompressTask(
+            AdjacencyListBuilder.Allocator allocator,
+            HugeLongArray starts,
+            HugeLongArray sources,
+            long[] offsets,
+            long startNode,
+            long endNode
+        ) {
+            this.allocator = allocator;
+            this.starts = starts;
+            this.sources = sources;
+            this.offsets = offsets;
+            this.startNode = startNode;
+            this.endNode = endNode;
+            this.buffer = new LongsRef();
+            this.storage = new byte[0];
+        }
+
+        @Override
+        public void run() {
+            allocator.prepare();
+            for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+                long start = starts.get(nodeId);
+                int degree = (int) (starts.get(nodeId + 1) - start);
+                if (degree > 0) {
+                    offsets[(int) (nodeId - startNode)] = compress(start, degree);
+                }
+            }
+        }
+
+        private long compress(long start, int degree) {
+            if (buffer.longs.length < degree) {
+                buffer.longs = new long[degree];
+            }
+            for (int i = 0; i < degree; i++) {
+                buffer.longs[i] = sources.get(start + i);
+            }
+            buffer.length = degree;
+            // parallel relationships are kept, just like they are in the original projection
+            AdjacencyCompression.applyDeltaEncoding(buffer, Aggregation.NONE);
+
+            int maxBytes = degree * MAX_VLONG_BYTES;
+            if (storage.length < maxBytes) {
+                storage = new byte[maxBytes];
+            }
+            int requiredBytes = AdjacencyCompression.compress(buffer, storage);
+
+            // sizeOf(degree) + compression bytes
+            long address = allocator.allocate(Integer.BYTES + requiredBytes);
+            int offset = writeDegree(allocator.page, allocator.offset, degree);
+            System.arraycopy(storage, 0, allocator.page, offset, requiredBytes);
+            allocator.offset = offset + requiredBytes;
+            return address;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import com.carrotsearch.hppc.LongSet;
+import com.carrotsearch.hppc.cursors.LongCursor;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.RawValues;
+import org.neo4j.graphalgo.core.utils.StatementAction;
+import org.neo4j.graphalgo.core.utils.StatementFunction;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.PaddedAtomicLong;
+import org.neo4j.internal.kernel.api.CursorFactory;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.NodeLabelIndexCursor;
+import org.neo4j.internal.kernel.api.Read;
+import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.kernel.impl.store.NodeStore;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Imports the nodes of the projected labels by reading their ids from the label scan store
+ * instead of scanning the whole node store.
+ * The ids are read once and then imported in parallel batches, every thread loading the
+ * property references of its batch from the node store.
+ * This pays off when the projected labels only match a small fraction of all nodes.
+ */
+final class LabelScanNodesScanner extends StatementAction implements RecordScanner {
+
+    private static final long MIN_BATCH_SIZE = 1024L;
+
+    private static final MemoryEstimation ESTIMATION = MemoryEstimations
+            .builder(LabelScanNodesScanner.class)
+            .perNode("node ids", HugeLongArray::memoryEstimation)
+            .build();
+
+    /**
+     * The node ids that are read from the label scan store, they are released once all nodes are imported.
+     */
+    static MemoryEstimation memoryEstimation() {
+        return ESTIMATION;
+    }
+
+    static InternalImporter.CreateScanner of(
+            GraphDatabaseAPI api,
+            NodeStore nodeStore,
+            LongSet labels,
+            long nodeCount,
+            int numberOfThreads,
+            ImportProgress progress,
+            NodeImporter importer,
+            AllocationTracker tracker,
+            TerminationFlag terminationFlag) {
+        NodeIds nodeIds = new NodeIdCollector(api, labels, nodeCount, tracker).call();
+        long batchSize = ParallelUtil.adjustedBatchSize(
+                nodeIds.count,
+                numberOfThreads,
+                MIN_BATCH_SIZE,
+                RecordsBatchBuffer.DEFAULT_BUFFER_SIZE);
+        return new LabelScanNodesScanner.Creator(
+                api,
+                nodeStore,
+                nodeIds,
+                (int) batchSize,
+                progress,
+                importer,
+                tracker,
+                terminationFlag);
+    }
+
+    static final class Creator implements InternalImporter.CreateScanner {
+        private final GraphDatabaseAPI api;
+        private final NodeStore nodeStore;
+        private final NodeIds nodeIds;
+        private final int batchSize;
+        private final PaddedAtomicLong nextBatch;
+        private final ImportProgress progress;
+        private final NodeImporter importer;
+        private final AllocationTracker tracker;
+        private final TerminationFlag terminationFlag;
+
+        Creator(
+                GraphDatabaseAPI api,
+                NodeStore nodeStore,
+                NodeIds nodeIds,
+                int batchSize,
+                ImportProgress progress,
+                NodeImporter importer,
+                AllocationTracker tracker,
+                TerminationFlag terminationFlag) {
+            this.api = api;
+            this.nodeStore = nodeStore;
+            this.nodeIds = nodeIds;
+            this.batchSize = batchSize;
+            this.nextBatch = new PaddedAtomicLong();
+            this.progress = progress;
+            this.importer = importer;
+            this.tracker = tracker;
+            this.terminationFlag = terminationFlag;
+        }
+
+        @Override
+        public RecordScanner create(int index) {
+            return new LabelScanNodesScanner(
+                    api,
+                    terminationFlag,
+                    nodeStore,
+                    nodeIds,
+                    batchSize,
+                    nextBatch,
+                    index,
+                    progress,
+                    importer
+            );
+        }
+
+        @Override
+        public Collection<Runnable> flushTasks() {
+            // all scanners are done, the node ids are no longer needed
+            return Collections.singletonList(() -> tracker.remove(nodeIds.ids.release()));
+        }
+    }
+
+    private final TerminationFlag terminationFlag;
+    private final NodeStore nodeStore;
+    private final NodeIds nodeIds;
+    private final int batchSize;
+    private final PaddedAtomicLong nextBatch;
+    private final int scannerIndex;
+    private final ImportProgress progress;
+    private final NodeImporter importer;
+    private long propertiesImported;
+    private long nodesImported;
+
+    private LabelScanNodesScanner(
+            GraphDatabaseAPI api,
+            TerminationFlag terminationFlag,
+            NodeStore nodeStore,
+            NodeIds nodeIds,
+            int batchSize,
+            PaddedAtomicLong nextBatch,
+            int threadIndex,
+            ImportProgress progress,
+            NodeImporter importer) {
+        super(api);
+        this.terminationFlag = terminationFlag;
+        this.nodeStore = nodeStore;
+        this.nodeIds = nodeIds;
+        this.batchSize = batchSize;
+        this.nextBatch = nextBatch;
+        this.scannerIndex = threadIndex;
+        this.progress = progress;
+        this.importer = importer;
+    }
+
+    @Override
+    public String threadName() {
+        return "node-label-scan-" + scannerIndex;
+    }
+
+    @Override
+    public void accept(KernelTransaction transaction) {
+        Read read = transaction.dataRead();
+        CursorFactory cursors = transaction.cursors();
+        NodesBatchBuffer batches = new NodesBatchBuffer(
+            nodeStore,
+            nodeIds.labels,
+            batchSize,
+            importer.readsProperties()
+        );
+        ImportProgress progress = this.progress;
+        try (NodeCursor nodeCursor = cursors.allocateNodeCursor()) {
+            long start;
+            while ((start = nextBatch.getAndAdd(batchSize)) < nodeIds.count) {
+                terminationFlag.assertRunning();
+                long end = Math.min(nodeIds.count, start + batchSize);
+                batches.reset();
+                for (long index = start; index < end; index++) {
+                    long nodeId = nodeIds.ids.get(index);
+                    read.singleNode(nodeId, nodeCursor);
+                    // the node might have been deleted since we read the label scan store
+                    if (nodeCursor.next() && !nodeIds.seenWithEarlierLabel(index, nodeCursor)) {
+                        batches.add(nodeId, nodeCursor.propertiesReference());
+                    }
+                }
+                long imported = importer.importNodes(batches, read, cursors);
+                int batchImportedNodes = RawValues.getHead(imported);
+                int batchImportedProperties = RawValues.getTail(imported);
+                progress.nodesImported(batchImportedNodes);
+                nodesImported += batchImportedNodes;
+                propertiesImported += batchImportedProperties;
+            }
+        }
+    }
+
+    @Override
+    public long propertiesImported() {
+        return propertiesImported;
+    }
+
+    @Override
+    public long recordsImported() {
+        return nodesImported;
+    }
+
+    /**
+     * Node ids read from the label scan store, grouped by label.
+     * The ids of the i-th label are stored in {@code [labelOffsets[i], labelOffsets[i + 1])}.
+     */
+    static final class NodeIds {
+        private final LongSet labels;
+        private final int[] labelIds;
+        private final long[] labelOffsets;
+        private final HugeLongArray ids;
+        private final long count;
+
+        NodeIds(LongSet labels, int[] labelIds, long[] labelOffsets, HugeLongArray ids, long count) {
+            this.labels = labels;
+            this.labelIds = labelIds;
+            this.labelOffsets = labelOffsets;
+            this.ids = ids;
+            this.count = count;
+        }
+
+        /**
+         * Nodes with multiple projected labels are read once per label, we only import
+         * them for the first of their labels.
+         */
+        boolean seenWithEarlierLabel(long index, NodeCursor nodeCursor) {
+            for (int i = 0; i < labelIds.length && labelOffsets[i + 1] <= index; i++) {
+                if (nodeCursor.hasLabel(labelIds[i])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class NodeIdCollector extends StatementFunction<NodeIds> {
+        private final LongSet labels;
+        private final long capacity;
+        private final AllocationTracker tracker;
+
+        NodeIdCollector(GraphDatabaseAPI api, LongSet labels, long capacity, AllocationTracker tracker) {
+            super(api);
+            this.labels = labels;
+            this.capacity = capacity;
+            this.tracker = tracker;
+        }
+
+        @Override
+        public String threadName() {
+            return "node-label-index-read";
+        }
+
+        @Override
+        public NodeIds apply(KernelTransaction transaction) {
+            int[] labelIds = new int[labels.size()];
+            int labelCount = 0;
+            for (LongCursor label : labels) {
+                labelIds[labelCount++] = (int) label.value;
+            }
+            Arrays.sort(labelIds);
+
+            HugeLongArray ids = HugeLongArray.newArray(capacity, tracker);
+            long[] labelOffsets = new long[labelIds.length + 1];
+            long count = 0L;
+            Read read = transaction.dataRead();
+            try (NodeLabelIndexCursor cursor = transaction.cursors().allocateNodeLabelIndexCursor()) {
+                for (int i = 0; i < labelIds.length; i++) {
+                    labelOffsets[i] = count;
+                    read.nodeLabelScan(labelIds[i], cursor);
+                    // the capacity is based on the count store, nodes created in the meantime are ignored
+                    while (count < capacity && cursor.next()) {
+                        ids.set(count++, cursor.nodeReference());
+                    }
+                }
+            }
+            labelOffsets[labelIds.length] = count;
+            return new NodeIds(labels, labelIds, labelOffsets, ids, count);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Reads a column that has been written by {@link ColumnWriter}.
+ * The file is memory mapped in windows of at most {@code 1 GiB}, so that files
+ * larger than the limit of a single {@link MappedByteBuffer} can be read sequentially.
+ */
+public final class MappedColumnReader implements AutoCloseable {
+
+    private static final long MAX_WINDOW_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    public static MappedColumnReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, READ);
+        return new MappedColumnReader(channel, channel.size());
+    }
+
+    private MappedColumnReader(FileChannel channel, long fileSize) throws IOException {
+        this.channel = channel;
+        this.fileSize = fileSize;
+        map(0L);
+    }
+
+    public int readInt() throws IOException {
+        ensureAvailable(Integer.BYTES);
+        return window.getInt();
+    }
+
+    public long readLong() throws IOException {
+        ensureAvailable(Long.BYTES);
+        return window.getLong();
+    }
+
+    public double readDouble() throws IOException {
+        ensureAvailable(Double.BYTES);
+        return window.getDouble();
+    }
+
+    public void readBytes(byte[] target, int offset, int length) throws IOException {
+        while (length > 0) {
+            ensureAvailable(1);
+            int chunk = Math.min(length, window.remaining());
+            window.get(target, offset, chunk);
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    public void readLongs(long[] target, int offset, int length) throws IOException {
+        while (length > 0) {
+            ensureAvailable(Long.BYTES);
+            int chunk = Math.min(length, window.remaining() / Long.BYTES);
+            window.asLongBuffer().get(target, offset, chunk);
+            window.position(window.position() + chunk * Long.BYTES);
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    public void readDoubles(double[] target, int offset, int length) throws IOException {
+        while (length > 0) {
+            ensureAvailable(Double.BYTES);
+            int chunk = Math.min(length, window.remaining() / Double.BYTES);
+            window.asDoubleBuffer().get(target, offset, chunk);
+            window.position(window.position() + chunk * Double.BYTES);
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private void ensureAvailable(int bytes) throws IOException {
+        if (window.remaining() < bytes) {
+            long position = windowStart + window.position();
+            if (fileSize - position < bytes) {
+                throw new IOException(String.format(
+                    "Unexpected end of file, expected %d more bytes at position %d of %d.",
+                    bytes,
+                    position,
+                    fileSize
+                ));
+            }
+            map(position);
+        }
+    }
+
+    private void map(long position) throws IOException {
+        long size = Math.min(MAX_WINDOW_SIZE, fileSize - position);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        window.order(ByteOrder.LITTLE_ENDIAN);
+        windowStart = position;
+    }
+}
@@ -28,8 +28,10 @@ import org.neo4j.graphalgo.api.GraphSetup;
 import org.neo4j.graphalgo.api.GraphStoreFactory;
 import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.huge.AdjacencyEncoding;
 import org.neo4j.graphalgo.core.huge.AdjacencyList;
 import org.neo4j.graphalgo.core.huge.AdjacencyOffsets;
+import org.neo4j.graphalgo.core.huge.AdjacencySkipIndex;
 import org.neo4j.graphalgo.core.huge.HugeGraph;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
@@ -58,21 +60,29 @@ public final class NativeFactory extends GraphStoreFactory {
 
     @Override
     public MemoryEstimation memoryEstimation(GraphDimensions dimensions) {
-        return getMemoryEstimation(dimensions);
+        return getMemoryEstimation(dimensions, setup.adjacencyEncoding());
     }
 
     public static MemoryEstimation getMemoryEstimation(GraphDimensions dimensions) {
+        return getMemoryEstimation(dimensions, AdjacencyEncoding.VAR_LONG);
+    }
+
+    public static MemoryEstimation getMemoryEstimation(GraphDimensions dimensions, AdjacencyEncoding encoding) {
         MemoryEstimations.Builder builder = MemoryEstimations
             .builder(HugeGraph.class)
             .add("nodeIdMap", IdMap.memoryEstimation());
 
+        if (ScanningNodesImporter.useLabelScan(dimensions)) {
+            builder.add("label scan", LabelScanNodesScanner.memoryEstimation());
+        }
+
         if (Objects.isNull(dimensions.relationshipProjectionMappings())) {
             throw new IllegalArgumentException("No relationship projection was specified.");
         }
 
         // node properties
         for (ResolvedPropertyMapping resolvedPropertyMapping : dimensions.nodeProperties()) {
-            builder.add(resolvedPropertyMapping.propertyKey(), NodePropertyMap.memoryEstimation());
+            builder.add(resolvedPropertyMapping.propertyKey(), NodePropertiesBuilder.memoryEstimation());
         }
 
         // relationships
@@ -87,7 +97,7 @@ public final class NativeFactory extends GraphStoreFactory {
             // adjacency list
             builder.add(
                 String.format("adjacency list for '%s'", elementIdentifier),
-                AdjacencyList.compressedMemoryEstimation(neoType, undirected)
+                AdjacencyList.compressedMemoryEstimation(neoType, undirected, encoding)
             );
             builder.add(
                 String.format("adjacency offsets for '%s'", elementIdentifier),
@@ -104,6 +114,13 @@ public final class NativeFactory extends GraphStoreFactory {
                     AdjacencyOffsets.memoryEstimation()
                 );
             });
+            // property lookups on high degree nodes
+            if (dimensions.relationshipProperties().hasMappings()) {
+                builder.add(
+                    String.format("skip index for '%s'", elementIdentifier),
+                    AdjacencySkipIndex.memoryEstimation(neoType, undirected)
+                );
+            }
         });
 
         return builder.build();
@@ -171,7 +188,7 @@ public final class NativeFactory extends GraphStoreFactory {
             .stream()
             .collect(Collectors.toMap(
                 Function.identity(),
-                mapping -> new RelationshipsBuilder(aggregations, tracker, propertyCount)
+                mapping -> new RelationshipsBuilder(aggregations, setup.adjacencyEncoding(), tracker, propertyCount)
             ));
 
         ObjectLongMap<RelationshipProjectionMapping> relationshipCounts = new ScanningRelationshipsImporter(
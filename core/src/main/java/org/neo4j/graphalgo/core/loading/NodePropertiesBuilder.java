@@ -20,13 +20,41 @@
 package org.neo4j.graphalgo.core.loading;
 
 import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.OffHeapAllocation;
 import org.neo4j.graphalgo.core.utils.paged.PagedLongDoubleMap;
 
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
 import static org.neo4j.graphalgo.compat.StatementConstantsProxy.NO_SUCH_PROPERTY_KEY;
 
 public final class NodePropertiesBuilder {
 
+    /**
+     * Minimum ratio of nodes with a value for which the properties are stored in a dense array.
+     * A dense array needs 8 bytes per node, the hash map pages need at least 12 bytes per slot
+     * at a load factor of at most 0.75, which makes the array smaller from about a third on.
+     */
+    static final double DENSE_FILL_RATIO = 1.0 / 3.0;
+
+    private static final MemoryEstimation MEMORY_ESTIMATION = MemoryEstimations
+        .builder("node properties")
+        .add("properties", NodePropertyMap.memoryEstimation())
+        // the map is only released after it has been copied into the dense array
+        .rangePerNode("dense properties", nodeCount -> MemoryRange.of(
+            0L,
+            HugeDoubleArray.memoryEstimation(nodeCount) + HugeAtomicBitSet.memoryEstimation(nodeCount)
+        ))
+        .build();
+
+    private final long numberOfNodes;
+    private final AllocationTracker tracker;
     private final double defaultValue;
     private final int propertyId;
     private final PagedLongDoubleMap properties;
@@ -42,14 +70,22 @@ public final class NodePropertiesBuilder {
     ) {
         assert propertyId != NO_SUCH_PROPERTY_KEY;
         PagedLongDoubleMap properties = PagedLongDoubleMap.of(numberOfNodes, tracker, concurrency);
-        return new NodePropertiesBuilder(defaultValue, propertyId, properties, propertyKey);
+        return new NodePropertiesBuilder(numberOfNodes, tracker, defaultValue, propertyId, properties, propertyKey);
+    }
+
+    static MemoryEstimation memoryEstimation() {
+        return MEMORY_ESTIMATION;
     }
 
     private NodePropertiesBuilder(
+            final long numberOfNodes,
+            final AllocationTracker tracker,
             final double defaultValue,
             final int propertyId,
             final PagedLongDoubleMap properties,
             final String propertyKey) {
+        this.numberOfNodes = numberOfNodes;
+        this.tracker = tracker;
         this.defaultValue = defaultValue;
         this.propertyId = propertyId;
         this.properties = properties;
@@ -73,6 +109,30 @@ public final class NodePropertiesBuilder {
     }
 
     public NodeProperties build() {
+        long size = properties.size();
+        if (numberOfNodes > 0 && size >= numberOfNodes * DENSE_FILL_RATIO) {
+            return buildDense(size);
+        }
         return new NodePropertyMap(properties, defaultValue);
     }
+
+    private NodeProperties buildDense(long size) {
+        HugeDoubleArray values = OffHeapAllocation.instance().isEnabled()
+            ? HugeDoubleArray.newOffHeapArray(numberOfNodes, tracker)
+            : HugeDoubleArray.newArray(numberOfNodes, tracker);
+        values.fill(defaultValue);
+        HugeAtomicBitSet presentValues = size < numberOfNodes
+            ? HugeAtomicBitSet.create(numberOfNodes, tracker)
+            : null;
+        LongAccumulator maxValue = new LongAccumulator(Math::max, Long.MIN_VALUE);
+        properties.forEach((nodeId, value) -> {
+            values.set(nodeId, value);
+            maxValue.accumulate((long) value);
+            if (presentValues != null) {
+                presentValues.set(nodeId);
+            }
+        });
+        properties.release();
+        return new NodePropertyArray(values, presentValues, size, OptionalLong.of(maxValue.get()));
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+
+import java.util.OptionalLong;
+
+/**
+ * Dense node property storage, used for properties that are defined on most of the nodes.
+ * Nodes without a value are backed by the loaded default value and, unless every node
+ * has a value, are tracked in a bit set so that a caller-provided default can take precedence.
+ */
+public final class NodePropertyArray implements NodeProperties {
+
+    private HugeDoubleArray properties;
+    private HugeAtomicBitSet presentValues;
+    private final long size;
+    private final OptionalLong maxValue;
+
+    /**
+     * @param properties    property values per node id, missing values are set to the loaded default value
+     * @param presentValues nodes that have a value or {@code null} if every node has a value
+     * @param size          the number of stored values
+     * @param maxValue      the maximum of the stored values, empty if there are no values
+     */
+    NodePropertyArray(HugeDoubleArray properties, HugeAtomicBitSet presentValues, long size, OptionalLong maxValue) {
+        this.properties = properties;
+        this.presentValues = presentValues;
+        this.size = size;
+        this.maxValue = maxValue;
+    }
+
+    /**
+     * Computes the maximum of the values of the nodes that have a value.
+     */
+    static OptionalLong maxValue(HugeDoubleArray properties, HugeAtomicBitSet presentValues) {
+        OptionalLong max = OptionalLong.empty();
+        long nodeCount = properties.size();
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            if (presentValues == null || presentValues.get(nodeId)) {
+                long value = (long) properties.get(nodeId);
+                if (!max.isPresent() || value > max.getAsLong()) {
+                    max = OptionalLong.of(value);
+                }
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public double nodeProperty(long nodeId) {
+        return properties.get(nodeId);
+    }
+
+    @Override
+    public double nodeProperty(long nodeId, double defaultValue) {
+        if (presentValues == null || presentValues.get(nodeId)) {
+            return properties.get(nodeId);
+        }
+        return defaultValue;
+    }
+
+    @Override
+    public OptionalLong getMaxPropertyValue() {
+        return maxValue;
+    }
+
+    @Override
+    public long release() {
+        long freed = 0L;
+        if (properties != null) {
+            freed += properties.release();
+            properties = null;
+        }
+        if (presentValues != null) {
+            freed += presentValues.release();
+            presentValues = null;
+        }
+        return freed;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+}
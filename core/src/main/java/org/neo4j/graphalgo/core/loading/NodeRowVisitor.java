@@ -30,7 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-class NodeRowVisitor implements Result.ResultVisitor<RuntimeException> {
+class NodeRowVisitor implements CypherRecordLoader.RecordVisitor {
     private static final String ID_COLUMN = "id";
     static final Set<String> RESERVED_COLUMNS = Sets.newHashSet(ID_COLUMN);
     static final Set<String> REQUIRED_COLUMNS = RESERVED_COLUMNS;
@@ -92,12 +92,10 @@ class NodeRowVisitor implements Result.ResultVisitor<RuntimeException> {
         cypherNodeProperties.clear();
     }
 
-    long rows() {
-        return rows;
-    }
-
-    long maxId() {
-        return maxNeoId;
+    @Override
+    public BatchLoadResult complete() {
+        flush();
+        return new BatchLoadResult(0L, rows, maxNeoId, rows);
     }
 
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import static org.neo4j.graphalgo.core.loading.VarLongEncoding.encodeVLongs;
+import static org.neo4j.graphalgo.core.loading.VarLongEncoding.encodedVLongSize;
+
+/**
+ * Encodes delta encoded adjacency lists as blocks of bit packed values.
+ * <p>
+ * The first value of an adjacency list is written as a VarLong. The remaining deltas are split into blocks
+ * such that every block ends at a multiple of {@link #BLOCK_SIZE} within the list, i.e. the first block holds
+ * up to {@code BLOCK_SIZE - 1} deltas and every following block up to {@code BLOCK_SIZE}.
+ * A block starts with one byte for the number of bits that is used for each of its deltas,
+ * followed by the deltas as a little endian bit stream.
+ * <p>
+ * The block size has to match the chunk size that the adjacency cursors decode at once.
+ */
+public final class PackedEncoding {
+
+    public static final int BLOCK_SIZE = 64;
+
+    // every delta must be readable from a single long, regardless of its bit offset within the first byte
+    static final int MAX_BITS = Long.SIZE - 7;
+
+    static int encodePacked(long[] values, int length, byte[] out, int into) {
+        into = encodeVLongs(values, 0, 1, out, into);
+        int start = 1;
+        int end = Math.min(length, BLOCK_SIZE);
+        while (start < end) {
+            into = encodeBlock(values, start, end, out, into);
+            start = end;
+            end = Math.min(length, end + BLOCK_SIZE);
+        }
+        return into;
+    }
+
+    /**
+     * Returns the number of bytes that {@link #encodePacked(long[], int, byte[], int)} requires for the given values.
+     */
+    static int encodedPackedSize(long[] values, int length) {
+        int size = encodedVLongSize(values[0]);
+        int start = 1;
+        int end = Math.min(length, BLOCK_SIZE);
+        while (start < end) {
+            size += 1 + packedBytes(end - start, bitsNeeded(values, start, end));
+            start = end;
+            end = Math.min(length, end + BLOCK_SIZE);
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of bytes that the given number of deltas require, if every delta uses the bits of {@code delta}.
+     * This does not include the leading VarLong of the adjacency list.
+     */
+    public static long encodedPackedDeltasSize(long deltas, long delta) {
+        if (deltas <= 0) {
+            return 0L;
+        }
+        int bits = bitsNeeded(delta);
+        long firstBlock = Math.min(deltas, BLOCK_SIZE - 1);
+        long fullBlocks = (deltas - firstBlock) / BLOCK_SIZE;
+        long lastBlock = (deltas - firstBlock) % BLOCK_SIZE;
+        long blocks = 1 + fullBlocks + (lastBlock > 0 ? 1 : 0);
+        return blocks
+               + packedBytes((int) firstBlock, bits)
+               + fullBlocks * packedBytes(BLOCK_SIZE, bits)
+               + packedBytes((int) lastBlock, bits);
+    }
+
+    private static int encodeBlock(long[] values, int start, int end, byte[] out, int into) {
+        int bits = bitsNeeded(values, start, end);
+        out[into++] = (byte) bits;
+        if (bits == 0) {
+            return into;
+        }
+
+        long buffer = 0L;
+        int buffered = 0;
+        for (int i = start; i < end; i++) {
+            buffer |= values[i] << buffered;
+            buffered += bits;
+            while (buffered >= Byte.SIZE) {
+                out[into++] = (byte) buffer;
+                buffer >>>= Byte.SIZE;
+                buffered -= Byte.SIZE;
+            }
+        }
+        if (buffered > 0) {
+            out[into++] = (byte) buffer;
+        }
+        return into;
+    }
+
+    private static int bitsNeeded(long[] values, int start, int end) {
+        long bits = 0L;
+        for (int i = start; i < end; i++) {
+            bits |= values[i];
+        }
+        return bitsNeeded(bits);
+    }
+
+    private static int bitsNeeded(long value) {
+        int bits = Long.SIZE - Long.numberOfLeadingZeros(value);
+        if (bits > MAX_BITS) {
+            throw new IllegalArgumentException(String.format(
+                "Packed adjacency lists support deltas of up to %d bits, but got %d",
+                MAX_BITS,
+                value
+            ));
+        }
+        return bits;
+    }
+
+    private static int packedBytes(int count, int bits) {
+        return (count * bits + 7) >>> 3;
+    }
+
+    private PackedEncoding() {
+        throw new UnsupportedOperationException("No instances");
+    }
+}
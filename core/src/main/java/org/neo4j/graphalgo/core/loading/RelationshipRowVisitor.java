@@ -30,7 +30,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
-class RelationshipRowVisitor implements Result.ResultVisitor<RuntimeException> {
+class RelationshipRowVisitor implements CypherRecordLoader.RecordVisitor {
 
     private static final long NO_RELATIONSHIP_REFERENCE = -1L;
     private static final String SOURCE_COLUMN = "source";
@@ -84,14 +84,6 @@ class RelationshipRowVisitor implements Result.ResultVisitor<RuntimeException> {
         this.isAnyRelTypeQuery = isAnyRelTypeQuery;
     }
 
-    public long rows() {
-        return rows;
-    }
-
-    public long relationshipCount() {
-        return relationshipCount;
-    }
-
     @Override
     public boolean visit(Result.ResultRow row) throws RuntimeException {
         rows++;
@@ -219,11 +211,13 @@ class RelationshipRowVisitor implements Result.ResultVisitor<RuntimeException> {
         localRelationshipIds.put(relationshipType, 0);
     }
 
-    void flushAll() {
+    @Override
+    public BatchLoadResult complete() {
         relationshipCount += localImporters.values().stream()
             .mapToLong(SingleTypeRelationshipImporter::importRelationships)
             .mapToInt(RawValues::getHead)
             .sum();
+        return new BatchLoadResult(0L, rows, -1L, relationshipCount);
     }
 
 }
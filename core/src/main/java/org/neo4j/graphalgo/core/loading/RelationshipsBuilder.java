@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.core.loading;
 
 
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.huge.AdjacencyEncoding;
 import org.neo4j.graphalgo.core.huge.AdjacencyList;
 import org.neo4j.graphalgo.core.huge.AdjacencyOffsets;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
@@ -32,6 +33,7 @@ public class RelationshipsBuilder {
     private static final AdjacencyListBuilder[] EMPTY_WEIGHTS = new AdjacencyListBuilder[0];
 
     private final Aggregation[] aggregations;
+    private final AdjacencyEncoding encoding;
     final AdjacencyListBuilder adjacencyListBuilder;
     final AdjacencyListBuilder[] propertyBuilders;
 
@@ -42,6 +44,15 @@ public class RelationshipsBuilder {
         Aggregation[] aggregations,
         AllocationTracker tracker,
         int numberOfRelationshipProperties
+    ) {
+        this(aggregations, AdjacencyEncoding.VAR_LONG, tracker, numberOfRelationshipProperties);
+    }
+
+    public RelationshipsBuilder(
+        Aggregation[] aggregations,
+        AdjacencyEncoding encoding,
+        AllocationTracker tracker,
+        int numberOfRelationshipProperties
     ) {
         if (Arrays.stream(aggregations).anyMatch(d -> d == Aggregation.DEFAULT)) {
             throw new IllegalArgumentException(String.format(
@@ -50,6 +61,7 @@ public class RelationshipsBuilder {
             ));
         }
         this.aggregations = aggregations;
+        this.encoding = encoding;
         adjacencyListBuilder = AdjacencyListBuilder.newBuilder(tracker);
         if (numberOfRelationshipProperties > 0) {
             propertyBuilders = new AdjacencyListBuilder[numberOfRelationshipProperties];
@@ -66,6 +78,7 @@ public class RelationshipsBuilder {
             long[][] weightOffsets) {
         return new ThreadLocalRelationshipsBuilder(
             aggregations,
+            encoding,
                 adjacencyListBuilder.newAllocator(),
                 Arrays.stream(propertyBuilders)
                         .map(AdjacencyListBuilder::newAllocator)
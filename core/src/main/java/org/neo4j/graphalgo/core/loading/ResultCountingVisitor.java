@@ -21,7 +21,7 @@ package org.neo4j.graphalgo.core.loading;
 
 import org.neo4j.graphdb.Result;
 
-class ResultCountingVisitor implements Result.ResultVisitor<RuntimeException> {
+class ResultCountingVisitor implements CypherRecordLoader.RecordVisitor {
     private long rows = 0;
 
 
@@ -31,8 +31,9 @@ class ResultCountingVisitor implements Result.ResultVisitor<RuntimeException> {
         return true;
     }
 
-    public long rows() {
-        return rows;
+    @Override
+    public BatchLoadResult complete() {
+        return new BatchLoadResult(0L, rows, -1L, -1L);
     }
 
 
@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
+import com.carrotsearch.hppc.LongSet;
 import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.PropertyMappings;
 import org.neo4j.graphalgo.ResolvedPropertyMapping;
@@ -27,6 +28,7 @@ import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArrayBuilder;
+import org.neo4j.kernel.impl.store.NodeStore;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
@@ -35,9 +37,17 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 
+import static org.neo4j.graphalgo.compat.StatementConstantsProxy.ANY_LABEL;
+
 
 final class ScanningNodesImporter extends ScanningRecordsImporter<NodeRecord, IdsAndProperties> {
 
+    /**
+     * Projected labels that match at most this fraction of all nodes are imported
+     * by reading the label scan store instead of scanning the whole node store.
+     */
+    static final double LABEL_SCAN_MAX_SELECTIVITY = 0.1;
+
     private final ImportProgress progress;
     private final AllocationTracker tracker;
     private final TerminationFlag terminationFlag;
@@ -69,6 +79,19 @@ final class ScanningNodesImporter extends ScanningRecordsImporter<NodeRecord, Id
             AbstractStorePageCacheScanner<NodeRecord> scanner) {
         idMapBuilder = HugeLongArrayBuilder.of(nodeCount, tracker);
         builders = propertyBuilders(nodeCount);
+        if (useLabelScan(dimensions)) {
+            return LabelScanNodesScanner.of(
+                    api,
+                    (NodeStore) scanner.store(),
+                    dimensions.nodeLabelIds(),
+                    nodeCount,
+                    sizing.numberOfThreads(),
+                    progress,
+                    new NodeImporter(idMapBuilder, builders.values()),
+                    tracker,
+                    terminationFlag
+            );
+        }
         return NodesScanner.of(
                 api,
                 scanner,
@@ -79,6 +102,14 @@ final class ScanningNodesImporter extends ScanningRecordsImporter<NodeRecord, Id
         );
     }
 
+    static boolean useLabelScan(GraphDimensions dimensions) {
+        LongSet labels = dimensions.nodeLabelIds();
+        return labels != null &&
+               !labels.isEmpty() &&
+               !labels.contains(ANY_LABEL) &&
+               dimensions.nodeCount() <= LABEL_SCAN_MAX_SELECTIVITY * dimensions.highestNeoId();
+    }
+
     @Override
     IdsAndProperties build() {
         IdMap hugeIdMap = IdMapBuilder.build(
@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.core.loading;
 
 import org.apache.lucene.util.LongsRef;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.huge.AdjacencyEncoding;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -38,9 +39,11 @@ class ThreadLocalRelationshipsBuilder {
     private final long[] adjacencyOffsets;
     private final long[][] weightOffsets;
     private final boolean noAggregation;
+    private final AdjacencyEncoding encoding;
 
     ThreadLocalRelationshipsBuilder(
             Aggregation[] aggregations,
+            AdjacencyEncoding encoding,
             AdjacencyListBuilder.Allocator adjacencyAllocator,
             final AdjacencyListBuilder.Allocator[] propertiesAllocators,
             long[] adjacencyOffsets,
@@ -50,6 +53,7 @@ class ThreadLocalRelationshipsBuilder {
         }
         this.aggregations = aggregations;
         this.noAggregation = Arrays.stream(aggregations).allMatch(d -> d == Aggregation.NONE);
+        this.encoding = encoding;
         this.adjacencyAllocator = adjacencyAllocator;
         this.propertiesAllocators = propertiesAllocators;
         this.adjacencyOffsets = adjacencyOffsets;
@@ -91,10 +95,10 @@ class ThreadLocalRelationshipsBuilder {
             CompressedLongArray array,
             LongsRef buffer,
             int localId) {
-        byte[] storage = array.storage();
         AdjacencyCompression.copyFrom(buffer, array);
         int degree = AdjacencyCompression.applyDeltaEncoding(buffer, aggregations[0]);
-        int requiredBytes = AdjacencyCompression.compress(buffer, storage);
+        byte[] storage = AdjacencyCompression.ensureBufferSize(buffer, array.storage(), encoding);
+        int requiredBytes = AdjacencyCompression.compress(buffer, storage, encoding);
         long address = copyIds(storage, requiredBytes, degree);
         adjacencyOffsets[localId] = address;
         array.release();
@@ -105,11 +109,11 @@ class ThreadLocalRelationshipsBuilder {
             CompressedLongArray array,
             LongsRef buffer,
             int localId) {
-        byte[] storage = array.storage();
         long[][] weights = array.weights();
         AdjacencyCompression.copyFrom(buffer, array);
         int degree = AdjacencyCompression.applyDeltaEncoding(buffer, weights, aggregations, noAggregation);
-        int requiredBytes = AdjacencyCompression.compress(buffer, storage);
+        byte[] storage = AdjacencyCompression.ensureBufferSize(buffer, array.storage(), encoding);
+        int requiredBytes = AdjacencyCompression.compress(buffer, storage, encoding);
 
         adjacencyOffsets[localId] = copyIds(storage, requiredBytes, degree);
         copyProperties(weights, degree, localId, weightOffsets);
@@ -122,7 +126,7 @@ class ThreadLocalRelationshipsBuilder {
         // sizeOf(degree) + compression bytes
         long address = adjacencyAllocator.allocate(Integer.BYTES + requiredBytes);
         int offset = adjacencyAllocator.offset;
-        offset = writeDegree(adjacencyAllocator.page, offset, degree);
+        offset = writeDegree(adjacencyAllocator.page, offset, degree, encoding);
         System.arraycopy(targets, 0, adjacencyAllocator.page, offset, requiredBytes);
         adjacencyAllocator.offset = (offset + requiredBytes);
         return address;
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
+
+/**
+ * A thread-safe, fixed-size bit set that can contain more than 2 bn. bits.
+ * <p>
+ * The bits are stored in a {@link HugeAtomicLongArray}, so that setting or clearing
+ * individual bits from multiple threads concurrently does not lose any updates.
+ * Range operations, such as {@link #set(long, long)} and {@link #clear()}, are not
+ * atomic and must not be called while other threads modify the bit set.
+ */
+public final class HugeAtomicBitSet {
+
+    private static final int NUM_BITS = Long.SIZE;
+
+    private final HugeAtomicLongArray bits;
+    private final long numBits;
+
+    public static HugeAtomicBitSet create(long size, AllocationTracker tracker) {
+        long wordsSize = wordsSize(size);
+        return new HugeAtomicBitSet(HugeAtomicLongArray.newArray(wordsSize, tracker), size);
+    }
+
+    public static long memoryEstimation(long size) {
+        long wordsSize = wordsSize(size);
+        return sizeOfInstance(HugeAtomicBitSet.class) + HugeAtomicLongArray.memoryEstimation(wordsSize);
+    }
+
+    private HugeAtomicBitSet(HugeAtomicLongArray bits, long numBits) {
+        this.bits = bits;
+        this.numBits = numBits;
+    }
+
+    /**
+     * Returns the state of the bit at the given index.
+     */
+    public boolean get(long index) {
+        assert index < numBits;
+        return (bits.get(wordIndex(index)) & bitmask(index)) != 0;
+    }
+
+    /**
+     * Sets the bit at the given index to true.
+     */
+    public void set(long index) {
+        getAndSet(index);
+    }
+
+    /**
+     * Sets the bit at the given index to true.
+     *
+     * @return the state of the bit before it has been set
+     */
+    public boolean getAndSet(long index) {
+        assert index < numBits;
+        long wordIndex = wordIndex(index);
+        long bitmask = bitmask(index);
+        long oldWord;
+        do {
+            oldWord = bits.get(wordIndex);
+            if ((oldWord & bitmask) != 0) {
+                return true;
+            }
+        } while (!bits.compareAndSet(wordIndex, oldWord, oldWord | bitmask));
+        return false;
+    }
+
+    /**
+     * Sets all bits from the start index (inclusive) to the end index (exclusive) to true.
+     */
+    public void set(long startIndex, long endIndex) {
+        assert startIndex <= endIndex && endIndex <= numBits;
+        for (long index = startIndex; index < endIndex; ) {
+            long wordIndex = wordIndex(index);
+            if ((index & (NUM_BITS - 1)) == 0 && index + NUM_BITS <= endIndex) {
+                bits.set(wordIndex, -1L);
+                index += NUM_BITS;
+            } else {
+                bits.set(wordIndex, bits.get(wordIndex) | bitmask(index));
+                index++;
+            }
+        }
+    }
+
+    /**
+     * Sets the bit at the given index to false.
+     */
+    public void clear(long index) {
+        assert index < numBits;
+        long wordIndex = wordIndex(index);
+        long bitmask = ~bitmask(index);
+        long oldWord;
+        do {
+            oldWord = bits.get(wordIndex);
+            if ((oldWord & ~bitmask) == 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(wordIndex, oldWord, oldWord & bitmask));
+    }
+
+    /**
+     * Sets all bits to false.
+     */
+    public void clear() {
+        long wordsSize = bits.size();
+        for (long wordIndex = 0; wordIndex < wordsSize; wordIndex++) {
+            bits.set(wordIndex, 0L);
+        }
+    }
+
+    /**
+     * Returns the index of the first set bit that occurs on or after the given index,
+     * or {@code -1} if there is no such bit.
+     */
+    public long nextSetBit(long index) {
+        return nextSetBit(index, numBits);
+    }
+
+    /**
+     * Returns the index of the first set bit that occurs on or after the start index
+     * and before the end index, or {@code -1} if there is no such bit.
+     */
+    public long nextSetBit(long startIndex, long endIndex) {
+        assert endIndex <= numBits;
+        if (startIndex >= endIndex) {
+            return -1;
+        }
+        long wordIndex = wordIndex(startIndex);
+        long lastWordIndex = wordIndex(endIndex - 1);
+        long word = bits.get(wordIndex) & (-1L << startIndex);
+        while (word == 0) {
+            if (++wordIndex > lastWordIndex) {
+                return -1;
+            }
+            word = bits.get(wordIndex);
+        }
+        long index = wordIndex * NUM_BITS + Long.numberOfTrailingZeros(word);
+        return index < endIndex ? index : -1;
+    }
+
+    /**
+     * Returns the number of set bits in the bit set.
+     */
+    public long cardinality() {
+        long setBitCount = 0;
+        long wordsSize = bits.size();
+        for (long wordIndex = 0; wordIndex < wordsSize; wordIndex++) {
+            setBitCount += Long.bitCount(bits.get(wordIndex));
+        }
+        return setBitCount;
+    }
+
+    /**
+     * Returns the number of bits in the bit set.
+     */
+    public long size() {
+        return numBits;
+    }
+
+    /**
+     * @return the amount of memory freed, in bytes.
+     * @see HugeAtomicLongArray#release()
+     */
+    public long release() {
+        return bits.release();
+    }
+
+    private static long wordsSize(long numBits) {
+        return (numBits + NUM_BITS - 1) >>> 6;
+    }
+
+    private static long wordIndex(long index) {
+        return index >>> 6;
+    }
+
+    private static long bitmask(long index) {
+        return 1L << index;
+    }
+}
@@ -101,6 +101,15 @@ public abstract class HugeAtomicLongArray {
      */
     public abstract void update(long index, LongUnaryOperator updateFunction);
 
+    /**
+     * Atomically adds the given delta to the value at index {@code index}.
+     *
+     * @param index the index
+     * @param delta the value to add
+     * @return the previous value
+     */
+    public abstract long getAndAdd(long index, long delta);
+
     /**
      * Returns the length of this array.
      * <p>
@@ -258,6 +267,17 @@ public abstract class HugeAtomicLongArray {
             } while (!compareAndSetRaw(offset, prev, next));
         }
 
+        @Override
+        public long getAndAdd(long index, long delta) {
+            assert index < size;
+            long offset = memoryOffset((int) index);
+            long prev;
+            do {
+                prev = getRaw(offset);
+            } while (!compareAndSetRaw(offset, prev, prev + delta));
+            return prev;
+        }
+
         @Override
         public long size() {
             return size;
@@ -369,6 +389,20 @@ public abstract class HugeAtomicLongArray {
             } while (!compareAndSetRaw(page, offset, prev, next));
         }
 
+        @Override
+        public long getAndAdd(long index, long delta) {
+            assert index < size && index >= 0;
+            int pageIndex = pageIndex(index);
+            int indexInPage = indexInPage(index);
+            long[] page = pages[pageIndex];
+            long offset = memoryOffset(indexInPage);
+            long prev;
+            do {
+                prev = getRaw(page, offset);
+            } while (!compareAndSetRaw(page, offset, prev, prev + delta));
+            return prev;
+        }
+
         @Override
         public long size() {
             return size;
@@ -186,4 +186,88 @@ public abstract class HugeCursor<Array> implements AutoCloseable {
             pageIndex = -1;
         }
     }
+
+    /**
+     * Cursor over an array that is stored in native memory.
+     * Every slice is copied into a buffer on the heap. Values of {@code array} that have been changed are written back
+     * to the underlying array when the cursor moves to the next slice or is closed, so writing through the cursor
+     * behaves like for the other cursors, as long as the cursor is closed after the last write.
+     * Values that have not been changed are not written back and do not overwrite concurrent updates.
+     * The slices have the same boundaries as the pages of a paged array.
+     */
+    abstract static class OffHeapCursor<Array> extends HugeCursor<Array> {
+
+        private final long capacity;
+        // the values of the current slice as they were loaded, to detect the values that have been changed
+        private Array loaded;
+        private long position;
+        private long end;
+        private boolean hasSlice;
+
+        OffHeapCursor(final long capacity, final Array buffer, final Array loaded) {
+            super();
+            this.capacity = capacity;
+            this.array = buffer;
+            this.loaded = loaded;
+        }
+
+        /**
+         * Copies {@code length} values, starting from {@code index}, into the buffer, starting from {@code offset}.
+         */
+        abstract void load(long index, Array buffer, int offset, int length);
+
+        /**
+         * Copies the values of the buffer that differ from the loaded values, starting from {@code offset},
+         * into the array, starting from {@code index}.
+         */
+        abstract void store(long index, Array buffer, Array loaded, int offset, int length);
+
+        @Override
+        void setRange() {
+            setRange(0L, capacity);
+        }
+
+        @Override
+        void setRange(long start, long end) {
+            writeBack();
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public final boolean next() {
+            writeBack();
+            if (position >= end) {
+                return false;
+            }
+            base = (long) pageIndex(position) << PAGE_SHIFT;
+            offset = indexInPage(position);
+            limit = (int) Math.min(end - base, PAGE_SIZE);
+            load(position, array, offset, limit - offset);
+            System.arraycopy(array, offset, loaded, offset, limit - offset);
+            hasSlice = true;
+            position = base + limit;
+            return true;
+        }
+
+        private void writeBack() {
+            if (hasSlice) {
+                hasSlice = false;
+                store(base + offset, array, loaded, offset, limit - offset);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (array != null) {
+                writeBack();
+            }
+            array = null;
+            loaded = null;
+            base = 0L;
+            limit = 0;
+            position = 0L;
+            end = 0L;
+        }
+    }
 }
@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.core.utils.paged;
 
+import org.neo4j.graphalgo.compat.UnsafeProxy;
 import org.neo4j.graphalgo.core.utils.ArrayUtil;
 import org.neo4j.graphalgo.core.write.PropertyTranslator;
 
@@ -27,6 +28,7 @@ import java.util.function.IntToDoubleFunction;
 import java.util.function.LongFunction;
 import java.util.function.LongToDoubleFunction;
 import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
 
 import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfDoubleArray;
 import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
@@ -181,6 +183,18 @@ public abstract class HugeDoubleArray extends HugeArray<double[], Double, HugeDo
         return dumpToArray(double[].class);
     }
 
+    /**
+     * Copies the values one by one, for arrays with different storage.
+     */
+    final void copyToByElement(HugeDoubleArray dest, long length) {
+        for (long index = 0; index < length; index++) {
+            dest.set(index, get(index));
+        }
+        for (long index = length; index < dest.size(); index++) {
+            dest.set(index, 0D);
+        }
+    }
+
     /**
      * Creates a new array of the given size, tracking the memory requirements into the given {@link AllocationTracker}.
      * The tracker is no longer referenced, as the arrays do not dynamically change their size.
@@ -210,6 +224,15 @@ public abstract class HugeDoubleArray extends HugeArray<double[], Double, HugeDo
         return sizeOfInstance + memoryUsed + sizeOfDoubleArray(lastPageSize);
     }
 
+    /**
+     * Creates a new array of the given size that is stored in native memory outside of the Java heap.
+     * The memory is tracked in the given {@link AllocationTracker} and must be freed with {@link #release()}.
+     * Slices of the array that are accessed through a {@link HugeCursor} are copies.
+     */
+    public static HugeDoubleArray newOffHeapArray(long size, AllocationTracker tracker) {
+        return OffHeapHugeDoubleArray.of(size, tracker);
+    }
+
     public static HugeDoubleArray of(final double... values) {
         return new HugeDoubleArray.SingleHugeDoubleArray(values.length, values);
     }
@@ -313,6 +336,8 @@ public abstract class HugeDoubleArray extends HugeArray<double[], Double, HugeDo
                         remaining -= toCopy;
                     }
                 }
+            } else {
+                copyToByElement(dest, length);
             }
         }
 
@@ -465,6 +490,8 @@ public abstract class HugeDoubleArray extends HugeArray<double[], Double, HugeDo
                 for (int i = pageLen; i < dst.pages.length; i++) {
                     Arrays.fill(dst.pages[i], 0D);
                 }
+            } else {
+                copyToByElement(dest, length);
             }
         }
 
@@ -497,4 +524,127 @@ public abstract class HugeDoubleArray extends HugeArray<double[], Double, HugeDo
             return Arrays.stream(pages).flatMapToDouble(Arrays::stream);
         }
     }
+
+    private static final class OffHeapHugeDoubleArray extends HugeDoubleArray {
+
+        private static HugeDoubleArray of(long size, AllocationTracker tracker) {
+            OffHeapHugeDoubleArray array = new OffHeapHugeDoubleArray(size);
+            array.allocation = NativeMemory.allocate(array, size * Double.BYTES, tracker);
+            array.address = array.allocation.address();
+            return array;
+        }
+
+        private final long size;
+        private NativeMemory.Allocation allocation;
+        private long address;
+
+        private OffHeapHugeDoubleArray(long size) {
+            this.size = size;
+        }
+
+        private long addressOf(long index) {
+            return address + (index << 3);
+        }
+
+        @Override
+        public double get(long index) {
+            assert index < size;
+            double value = UnsafeProxy.getDouble(addressOf(index));
+            NativeMemory.reachabilityFence(this);
+            return value;
+        }
+
+        @Override
+        public void set(long index, double value) {
+            assert index < size;
+            UnsafeProxy.putDouble(addressOf(index), value);
+            NativeMemory.reachabilityFence(this);
+        }
+
+        @Override
+        public void addTo(long index, double value) {
+            assert index < size;
+            long address = addressOf(index);
+            UnsafeProxy.putDouble(address, UnsafeProxy.getDouble(address) + value);
+            NativeMemory.reachabilityFence(this);
+        }
+
+        @Override
+        public void setAll(LongToDoubleFunction gen) {
+            for (long index = 0; index < size; index++) {
+                UnsafeProxy.putDouble(addressOf(index), gen.applyAsDouble(index));
+            }
+            NativeMemory.reachabilityFence(this);
+        }
+
+        @Override
+        public void fill(double value) {
+            for (long index = 0; index < size; index++) {
+                UnsafeProxy.putDouble(addressOf(index), value);
+            }
+            NativeMemory.reachabilityFence(this);
+        }
+
+        @Override
+        public void copyTo(HugeDoubleArray dest, long length) {
+            if (length > size) {
+                length = size;
+            }
+            if (length > dest.size()) {
+                length = dest.size();
+            }
+            if (dest instanceof OffHeapHugeDoubleArray) {
+                OffHeapHugeDoubleArray dst = (OffHeapHugeDoubleArray) dest;
+                UnsafeProxy.copyMemory(address, dst.address, length * Double.BYTES);
+                UnsafeProxy.setMemory(dst.addressOf(length), (dst.size - length) * Double.BYTES, (byte) 0);
+                NativeMemory.reachabilityFence(dst);
+                NativeMemory.reachabilityFence(this);
+            } else {
+                copyToByElement(dest, length);
+            }
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public long sizeOf() {
+            return allocation.bytes();
+        }
+
+        @Override
+        public long release() {
+            // the memory is freed right away, so the array must not be accessed afterwards
+            return allocation.release();
+        }
+
+        @Override
+        public HugeCursor<double[]> newCursor() {
+            int bufferSize = (int) Math.min(size, PAGE_SIZE);
+            return new HugeCursor.OffHeapCursor<double[]>(size, new double[bufferSize], new double[bufferSize]) {
+                @Override
+                void load(long index, double[] buffer, int offset, int length) {
+                    for (int i = 0; i < length; i++) {
+                        buffer[offset + i] = get(index + i);
+                    }
+                }
+
+                @Override
+                void store(long index, double[] buffer, double[] loaded, int offset, int length) {
+                    for (int i = 0; i < length; i++) {
+                        if (Double.doubleToRawLongBits(buffer[offset + i]) != Double.doubleToRawLongBits(loaded[offset + i])) {
+                            set(index + i, buffer[offset + i]);
+                        }
+                    }
+                }
+            };
+        }
+
+        @Override
+        public DoubleStream stream() {
+            return LongStream.range(0, size).mapToDouble(this::get);
+        }
+    }
 }
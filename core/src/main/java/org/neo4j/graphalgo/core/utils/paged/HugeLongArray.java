@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.core.utils.paged;
 
+import org.neo4j.graphalgo.compat.UnsafeProxy;
 import org.neo4j.graphalgo.core.loading.SparseNodeMapping;
 import org.neo4j.graphalgo.core.utils.ArrayUtil;
 import org.neo4j.graphalgo.core.write.PropertyTranslator;
@@ -188,6 +189,18 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
         fill(value);
     }
 
+    /**
+     * Copies the values one by one, for arrays with different storage.
+     */
+    final void copyToByElement(HugeLongArray dest, long length) {
+        for (long index = 0; index < length; index++) {
+            dest.set(index, get(index));
+        }
+        for (long index = length; index < dest.size(); index++) {
+            dest.set(index, 0L);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -207,6 +220,15 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
         return PagedHugeLongArray.of(size, tracker);
     }
 
+    /**
+     * Creates a new array of the given size that is stored in native memory outside of the Java heap.
+     * The memory is tracked in the given {@link AllocationTracker} and must be freed with {@link #release()}.
+     * Slices of the array that are accessed through a {@link HugeCursor} are copies.
+     */
+    public static HugeLongArray newOffHeapArray(long size, AllocationTracker tracker) {
+        return OffHeapHugeLongArray.of(size, tracker);
+    }
+
     public static long memoryEstimation(long size) {
         assert size >= 0;
 
@@ -340,6 +362,8 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
                         remaining -= toCopy;
                     }
                 }
+            } else {
+                copyToByElement(dest, length);
             }
         }
 
@@ -503,6 +527,8 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
                 for (int i = pageLen; i < dst.pages.length; i++) {
                     Arrays.fill(dst.pages[i], 0L);
                 }
+            } else {
+                copyToByElement(dest, length);
             }
         }
 
@@ -530,4 +556,145 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
             return new HugeCursor.PagedCursor<>(size, pages);
         }
     }
+
+    private static final class OffHeapHugeLongArray extends HugeLongArray {
+
+        private static HugeLongArray of(long size, AllocationTracker tracker) {
+            OffHeapHugeLongArray array = new OffHeapHugeLongArray(size);
+            array.allocation = NativeMemory.allocate(array, size * Long.BYTES, tracker);
+            array.address = array.allocation.address();
+            return array;
+        }
+
+        private final long size;
+        private NativeMemory.Allocation allocation;
+        private long address;
+
+        private OffHeapHugeLongArray(long size) {
+            this.size = size;
+        }
+
+        private long addressOf(long index) {
+            return address + (index << 3);
+        }
+
+        @Override
+        public long get(long index) {
+            assert index < size;
+            long value = UnsafeProxy.getLong(addressOf(index));
+            NativeMemory.reachabilityFence(this);
+            return value;
+        }
+
+        @Override
+        public void set(long index, long value) {
+            assert index < size;
+            UnsafeProxy.putLong(addressOf(index), value);
+            NativeMemory.reachabilityFence(this);
+        }
+
+        @Override
+        public void or(long index, final long value) {
+            assert index < size;
+            long address = addressOf(index);
+            UnsafeProxy.putLong(address, UnsafeProxy.getLong(address) | value);
+            NativeMemory.reachabilityFence(this);
+        }
+
+        @Override
+        public long and(long index, final long value) {
+            assert index < size;
+            long address = addressOf(index);
+            long result = UnsafeProxy.getLong(address) & value;
+            UnsafeProxy.putLong(address, result);
+            NativeMemory.reachabilityFence(this);
+            return result;
+        }
+
+        @Override
+        public void addTo(long index, long value) {
+            assert index < size;
+            long address = addressOf(index);
+            UnsafeProxy.putLong(address, UnsafeProxy.getLong(address) + value);
+            NativeMemory.reachabilityFence(this);
+        }
+
+        @Override
+        public void setAll(LongUnaryOperator gen) {
+            for (long index = 0; index < size; index++) {
+                UnsafeProxy.putLong(addressOf(index), gen.applyAsLong(index));
+            }
+            NativeMemory.reachabilityFence(this);
+        }
+
+        @Override
+        public void fill(long value) {
+            if (value == 0L) {
+                UnsafeProxy.setMemory(address, size * Long.BYTES, (byte) 0);
+                NativeMemory.reachabilityFence(this);
+                return;
+            }
+            for (long index = 0; index < size; index++) {
+                UnsafeProxy.putLong(addressOf(index), value);
+            }
+            NativeMemory.reachabilityFence(this);
+        }
+
+        @Override
+        public void copyTo(HugeLongArray dest, long length) {
+            if (length > size) {
+                length = size;
+            }
+            if (length > dest.size()) {
+                length = dest.size();
+            }
+            if (dest instanceof OffHeapHugeLongArray) {
+                OffHeapHugeLongArray dst = (OffHeapHugeLongArray) dest;
+                UnsafeProxy.copyMemory(address, dst.address, length * Long.BYTES);
+                UnsafeProxy.setMemory(dst.addressOf(length), (dst.size - length) * Long.BYTES, (byte) 0);
+                NativeMemory.reachabilityFence(dst);
+                NativeMemory.reachabilityFence(this);
+            } else {
+                copyToByElement(dest, length);
+            }
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public long sizeOf() {
+            return allocation.bytes();
+        }
+
+        @Override
+        public long release() {
+            // the memory is freed right away, so the array must not be accessed afterwards
+            return allocation.release();
+        }
+
+        @Override
+        public HugeCursor<long[]> newCursor() {
+            int bufferSize = (int) Math.min(size, PAGE_SIZE);
+            return new HugeCursor.OffHeapCursor<long[]>(size, new long[bufferSize], new long[bufferSize]) {
+                @Override
+                void load(long index, long[] buffer, int offset, int length) {
+                    for (int i = 0; i < length; i++) {
+                        buffer[offset + i] = get(index + i);
+                    }
+                }
+
+                @Override
+                void store(long index, long[] buffer, long[] loaded, int offset, int length) {
+                    for (int i = 0; i < length; i++) {
+                        if (buffer[offset + i] != loaded[offset + i]) {
+                            set(index + i, buffer[offset + i]);
+                        }
+                    }
+                }
+            };
+        }
+    }
 }
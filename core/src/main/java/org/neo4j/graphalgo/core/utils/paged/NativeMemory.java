@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.neo4j.graphalgo.compat.UnsafeProxy;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Allocates native memory for data structures that are stored off-heap.
+ * <p>
+ * The memory of an {@link Allocation} is freed as soon as it has been released by all of its holders.
+ * Data structures that are shared by concurrent copies of a graph, such as adjacency lists and offsets,
+ * register every copy with {@link Allocation#retain(Object)}, so that the memory stays valid while a copy is
+ * still in use after the graph has been released. Copies are never released explicitly, their reference is
+ * dropped once they become unreachable. If the owner of an allocation becomes unreachable before it has been
+ * released, the memory is freed as well. Unreachable owners and holders are processed during the next
+ * allocation or release. Owners must call {@link #reachabilityFence(Object)} after every access
+ * to their memory, so that they are not considered unreachable while an access is still in progress.
+ */
+public final class NativeMemory {
+
+    private static final ReferenceQueue<Object> UNREACHABLE_OWNERS = new ReferenceQueue<>();
+    private static final Set<Allocation> LIVE_ALLOCATIONS = ConcurrentHashMap.newKeySet();
+    private static final Set<Retention> LIVE_RETENTIONS = ConcurrentHashMap.newKeySet();
+
+    private static final MethodHandle REACHABILITY_FENCE = findReachabilityFence();
+
+    // never assigned, only read by the fallback of reachabilityFence
+    private static volatile Object fenceSentinel;
+
+    private NativeMemory() {}
+
+    /**
+     * Allocates the given number of bytes, which are initialized to zero.
+     *
+     * @param owner   the data structure that uses the memory; the memory is freed at the latest once the owner becomes unreachable
+     * @param bytes   the number of bytes to allocate
+     * @param tracker the tracker to which the allocated bytes are added
+     */
+    public static Allocation allocate(Object owner, long bytes, AllocationTracker tracker) {
+        reclaimUnreachable();
+        UnsafeProxy.assertHasUnsafe();
+        // allocating zero bytes may return the null address, which we reserve for released memory
+        long allocatedBytes = Math.max(bytes, Long.BYTES);
+        long address = UnsafeProxy.allocateMemory(allocatedBytes);
+        UnsafeProxy.setMemory(address, allocatedBytes, (byte) 0);
+        tracker.add(allocatedBytes);
+        Allocation allocation = new Allocation(owner, address, allocatedBytes, tracker);
+        LIVE_ALLOCATIONS.add(allocation);
+        return allocation;
+    }
+
+    /**
+     * Ensures that the given owner is strongly reachable up to this point, so that its memory is not freed
+     * while it is accessed. Uses {@code Reference.reachabilityFence} when running on Java 9 or later.
+     */
+    public static void reachabilityFence(Object owner) {
+        if (REACHABILITY_FENCE != null) {
+            try {
+                REACHABILITY_FENCE.invokeExact(owner);
+            } catch (Throwable e) {
+                throw new AssertionError(e);
+            }
+        } else if (owner == fenceSentinel) {
+            // Java 8 has no fence; using the owner after a volatile read keeps it reachable until here
+            throw new AssertionError("The fence sentinel is never assigned");
+        }
+    }
+
+    /* test-only */
+    static long liveAllocations() {
+        reclaimUnreachable();
+        return LIVE_ALLOCATIONS.size();
+    }
+
+    private static void reclaimUnreachable() {
+        Reference<?> reference;
+        while ((reference = UNREACHABLE_OWNERS.poll()) != null) {
+            if (reference instanceof Retention) {
+                Retention retention = (Retention) reference;
+                LIVE_RETENTIONS.remove(retention);
+                Allocation allocation = retention.allocation;
+                // the graph has already been released, the unreachable copy was the last holder
+                if (allocation.releaseReference()) {
+                    allocation.tracker.remove(allocation.bytes);
+                    allocation.free();
+                }
+            } else {
+                Allocation allocation = (Allocation) reference;
+                // the owner has not released all of its references, so the memory is still tracked
+                if (allocation.references.getAndSet(0) > 0) {
+                    allocation.tracker.remove(allocation.bytes);
+                }
+                allocation.free();
+            }
+        }
+    }
+
+    private static MethodHandle findReachabilityFence() {
+        try {
+            return MethodHandles.publicLookup().findStatic(
+                Reference.class,
+                "reachabilityFence",
+                MethodType.methodType(void.class, Object.class)
+            );
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    public static final class Allocation extends PhantomReference<Object> {
+
+        private final long address;
+        private final long bytes;
+        private final AllocationTracker tracker;
+        private final AtomicInteger references;
+        private final AtomicBoolean released;
+        private final AtomicBoolean freed;
+
+        private Allocation(Object owner, long address, long bytes, AllocationTracker tracker) {
+            super(owner, UNREACHABLE_OWNERS);
+            this.address = address;
+            this.bytes = bytes;
+            this.tracker = tracker;
+            this.references = new AtomicInteger(1);
+            this.released = new AtomicBoolean(false);
+            this.freed = new AtomicBoolean(false);
+        }
+
+        public long address() {
+            return address;
+        }
+
+        public long bytes() {
+            return bytes;
+        }
+
+        public boolean isFreed() {
+            return freed.get();
+        }
+
+        /**
+         * Registers another holder of the memory. The memory is not freed while the holder is reachable,
+         * even if all other holders have released it.
+         *
+         * @throws IllegalStateException if the memory has already been freed
+         */
+        public void retain(Object holder) {
+            int current;
+            do {
+                current = references.get();
+                if (current == 0) {
+                    throw new IllegalStateException("The native memory has already been released.");
+                }
+            } while (!references.compareAndSet(current, current + 1));
+            LIVE_RETENTIONS.add(new Retention(holder, this));
+        }
+
+        /**
+         * Releases the memory on behalf of its owner and frees it right away unless a retained holder is still reachable.
+         * The memory must not be accessed by the owner afterwards. Releasing more than once has no effect.
+         * Like the {@code release} methods of the paged data structures, this does not update the tracker.
+         *
+         * @return the number of bytes that have been freed, or 0 if retained holders still use the memory
+         */
+        public long release() {
+            reclaimUnreachable();
+            if (!released.compareAndSet(false, true) || !releaseReference()) {
+                return 0L;
+            }
+            free();
+            return bytes;
+        }
+
+        /**
+         * Drops one reference and returns whether it has been the last one.
+         */
+        private boolean releaseReference() {
+            int current;
+            do {
+                current = references.get();
+                if (current == 0) {
+                    return false;
+                }
+            } while (!references.compareAndSet(current, current - 1));
+            return current == 1;
+        }
+
+        private void free() {
+            if (freed.compareAndSet(false, true)) {
+                // the owner no longer has to be observed once the memory is gone
+                clear();
+                LIVE_ALLOCATIONS.remove(this);
+                UnsafeProxy.free(address, bytes);
+            }
+        }
+    }
+
+    /**
+     * A reference of a holder that has been registered with {@link Allocation#retain(Object)}.
+     */
+    private static final class Retention extends PhantomReference<Object> {
+
+        private final Allocation allocation;
+
+        private Retention(Object holder, Allocation allocation) {
+            super(holder, UNREACHABLE_OWNERS);
+            this.allocation = allocation;
+        }
+    }
+}
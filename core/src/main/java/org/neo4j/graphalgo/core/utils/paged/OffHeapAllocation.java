@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+/**
+ * Decides whether the large arrays of a graph are allocated in native memory instead of on the Java heap.
+ * Off-heap allocation is configured through the database settings and is disabled by default.
+ */
+public final class OffHeapAllocation {
+
+    private static final OffHeapAllocation INSTANCE = new OffHeapAllocation();
+
+    public static OffHeapAllocation instance() {
+        return INSTANCE;
+    }
+
+    private volatile boolean enabled;
+
+    private OffHeapAllocation() {
+        this.enabled = false;
+    }
+
+    public void enable(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void reset() {
+        enable(false);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -20,6 +20,8 @@
 package org.neo4j.graphalgo.core.utils.paged;
 
 import com.carrotsearch.hppc.IntDoubleMap;
+import com.carrotsearch.hppc.procedures.IntDoubleProcedure;
+import com.carrotsearch.hppc.procedures.LongDoubleProcedure;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
@@ -27,8 +29,10 @@ import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.OptionalLong;
+import java.util.stream.IntStream;
 
 import static org.neo4j.graphalgo.core.concurrency.ParallelUtil.parallelStream;
+import static org.neo4j.graphalgo.core.concurrency.ParallelUtil.parallelStreamConsume;
 import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfObjectArray;
 
 public final class PagedLongDoubleMap {
@@ -132,6 +136,22 @@ public final class PagedLongDoubleMap {
         return subMap;
     }
 
+    /**
+     * Calls the given procedure for every stored entry.
+     * The pages are visited in parallel, so the procedure must be safe to be called from multiple threads.
+     * The order of the entries is undefined.
+     */
+    public void forEach(LongDoubleProcedure procedure) {
+        TrackingIntDoubleHashMap[] pages = this.pages;
+        parallelStreamConsume(IntStream.range(0, pages.length), concurrency, stream -> stream.forEach(pageIndex -> {
+            TrackingIntDoubleHashMap page = pages[pageIndex];
+            if (page != null) {
+                long base = (long) pageIndex << PAGE_SHIFT;
+                page.forEach((IntDoubleProcedure) (indexInPage, value) -> procedure.apply(base + indexInPage, value));
+            }
+        }));
+    }
+
     public OptionalLong getMaxValue() {
         return parallelStream(Arrays.stream(pages), concurrency, stream -> stream
                 .filter(Objects::nonNull)
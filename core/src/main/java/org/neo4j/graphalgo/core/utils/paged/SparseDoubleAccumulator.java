@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import com.carrotsearch.hppc.BitSet;
+import org.apache.lucene.util.ArrayUtil;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfBitset;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+
+/**
+ * Sums up double values for keys in {@code [0, capacity)}, e.g. the relationship weights
+ * from a node to each of its neighbouring communities.
+ * <p>
+ * The values are stored in a dense array indexed by key and the touched keys are tracked
+ * in a separate list, so that adding a value and clearing the accumulator only cost time
+ * proportional to the number of touched keys and never allocate once the key list has grown
+ * to the largest number of distinct keys seen so far.
+ * An instance is meant to be reused for many rounds of accumulation by a single thread,
+ * see {@link Pool} for sharing instances between the tasks of a parallel computation.
+ */
+public final class SparseDoubleAccumulator {
+
+    private static final int INITIAL_KEYS_SIZE = 64;
+
+    private final HugeDoubleArray values;
+    private final BitSet touched;
+    private long[] keys;
+    private int size;
+
+    public static SparseDoubleAccumulator create(long capacity, AllocationTracker tracker) {
+        HugeDoubleArray values = HugeDoubleArray.newArray(capacity, tracker);
+        tracker.add(sizeOfBitset(capacity));
+        return new SparseDoubleAccumulator(values, new BitSet(capacity));
+    }
+
+    public static MemoryRange memoryEstimation(long capacity) {
+        long fixedSize = sizeOfInstance(SparseDoubleAccumulator.class) +
+                         HugeDoubleArray.memoryEstimation(capacity) +
+                         sizeOfBitset(capacity);
+        return MemoryRange.of(
+            fixedSize + sizeOfLongArray(INITIAL_KEYS_SIZE),
+            fixedSize + sizeOfLongArray((int) Math.min(ArrayUtil.MAX_ARRAY_LENGTH, Math.max(INITIAL_KEYS_SIZE, capacity)))
+        );
+    }
+
+    private SparseDoubleAccumulator(HugeDoubleArray values, BitSet touched) {
+        this.values = values;
+        this.touched = touched;
+        this.keys = new long[INITIAL_KEYS_SIZE];
+    }
+
+    /**
+     * Adds the given value to the sum of the given key.
+     */
+    public void add(long key, double value) {
+        if (!touched.get(key)) {
+            touched.set(key);
+            if (size == keys.length) {
+                // there are never more distinct keys than the capacity
+                int newLength = (int) Math.min(ArrayUtil.oversize(size + 1, Long.BYTES), values.size());
+                keys = Arrays.copyOf(keys, newLength);
+            }
+            keys[size++] = key;
+        }
+        values.addTo(key, value);
+    }
+
+    /**
+     * Returns the sum of the given key or 0 if no value has been added for the key since the last {@link #clear()}.
+     */
+    public double get(long key) {
+        return values.get(key);
+    }
+
+    /**
+     * Returns the number of distinct keys that have been added since the last {@link #clear()}.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the i-th distinct key, in the order they have been added.
+     */
+    public long key(int index) {
+        assert index < size;
+        return keys[index];
+    }
+
+    /**
+     * Resets the sums of all touched keys to 0.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            long key = keys[i];
+            values.set(key, 0.0D);
+            touched.clear(key);
+        }
+        size = 0;
+    }
+
+    public long release() {
+        long freed = values.release();
+        if (freed > 0) {
+            freed += sizeOfBitset(touched.size());
+        }
+        return freed;
+    }
+
+    /**
+     * Hands out accumulators of a fixed capacity to tasks and takes them back once the task is done,
+     * so that a parallel computation only creates as many accumulators as tasks are running at the same time.
+     */
+    public static final class Pool {
+        private final long capacity;
+        private final AllocationTracker tracker;
+        private final Queue<SparseDoubleAccumulator> idle;
+
+        public Pool(long capacity, AllocationTracker tracker) {
+            this.capacity = capacity;
+            this.tracker = tracker;
+            this.idle = new ConcurrentLinkedQueue<>();
+        }
+
+        /**
+         * Returns an empty accumulator that is exclusively owned by the caller until it is handed back with {@link #recycle(SparseDoubleAccumulator)}.
+         */
+        public SparseDoubleAccumulator acquire() {
+            SparseDoubleAccumulator accumulator = idle.poll();
+            return accumulator != null ? accumulator : create(capacity, tracker);
+        }
+
+        public void recycle(SparseDoubleAccumulator accumulator) {
+            accumulator.clear();
+            idle.offer(accumulator);
+        }
+
+        /**
+         * Releases all accumulators that have been handed back to the pool.
+         */
+        public void release() {
+            SparseDoubleAccumulator accumulator;
+            while ((accumulator = idle.poll()) != null) {
+                tracker.remove(accumulator.release());
+            }
+        }
+    }
+}
@@ -110,7 +110,12 @@ public final class HugeAtomicDisjointSetStruct implements DisjointSetStruct {
         return parent.get(id);
     }
 
-    private long find(long id) {
+    /**
+     * Returns the representative of the set of the given element.
+     * Unlike {@link #setIdOf(long)}, elements with the same seed value that
+     * have not been joined yet have different representatives.
+     */
+    public long find(long id) {
         long parent;
         while (id != (parent = parent(id))) {
             long grandParent = parent(parent);
@@ -27,10 +27,14 @@ import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
 import static org.neo4j.graphalgo.core.utils.partition.Partition.MAX_NODE_COUNT;
 
 public final class PartitionUtils {
 
+    // number of partitions per thread, so that threads finishing early can pick up more work
+    static final int PARTITIONS_PER_THREAD = 4;
+
     private PartitionUtils() {}
 
     public static List<Partition> numberAlignedPartitioning(
@@ -77,4 +81,67 @@ public final class PartitionUtils {
         return partitions;
     }
 
+    /**
+     * Cuts the node id space into contiguous ranges that carry about the same amount of work.
+     * <p>
+     * The work of a node is estimated as its degree plus one, so that ranges of isolated
+     * nodes are not unbounded. The target weight of a range is chosen such that every thread
+     * can process {@value #PARTITIONS_PER_THREAD} ranges, but is never smaller than
+     * {@code minPartitionWeight}. A node whose degree alone exceeds the target weight is put
+     * into a range of its own, instead of dominating an otherwise full range.
+     * <p>
+     * The resulting partitions are intended to be processed with
+     * {@link ParallelUtil#runWithWorkStealing}, which lets idle threads take over the
+     * remaining partitions. As that method starts the tasks in list order, the ranges of
+     * such heavy nodes come first, followed by all other ranges in node id order.
+     */
+    public static List<Partition> degreeBalancedPartitioning(Graph graph, int concurrency, long minPartitionWeight) {
+        return degreeBalancedPartitioning(
+            graph,
+            graph.nodeCount(),
+            graph.relationshipCount(),
+            concurrency,
+            minPartitionWeight
+        );
+    }
+
+    /**
+     * @param relationshipCount the sum of all degrees, used to compute the target weight of a range
+     * @see #degreeBalancedPartitioning(Graph, int, long)
+     */
+    public static List<Partition> degreeBalancedPartitioning(
+        Degrees degrees,
+        long nodeCount,
+        long relationshipCount,
+        int concurrency,
+        long minPartitionWeight
+    ) {
+        long partitionCount = Math.max(1L, concurrency) * PARTITIONS_PER_THREAD;
+        long totalWeight = nodeCount + Math.max(0L, relationshipCount);
+        long partitionWeight = Math.max(ceilDiv(totalWeight, partitionCount), Math.max(1L, minPartitionWeight));
+        return weightedPartitioning(degrees, nodeCount, partitionWeight);
+    }
+
+    private static List<Partition> weightedPartitioning(Degrees degrees, long nodeCount, long partitionWeight) {
+        List<Partition> heavyPartitions = new ArrayList<>();
+        List<Partition> partitions = new ArrayList<>();
+        long start = 0L;
+        long weight = 0L;
+        for (long nodeId = 0L; nodeId < nodeCount; nodeId++) {
+            long nodeWeight = degrees.degree(nodeId) + 1L;
+            // close the current range before a node that would overflow it
+            if (nodeId > start && (weight + nodeWeight > partitionWeight || nodeId - start >= MAX_NODE_COUNT)) {
+                (weight > partitionWeight ? heavyPartitions : partitions).add(new Partition(start, nodeId - start));
+                start = nodeId;
+                weight = 0L;
+            }
+            weight += nodeWeight;
+        }
+        if (start < nodeCount) {
+            (weight > partitionWeight ? heavyPartitions : partitions).add(new Partition(start, nodeCount - start));
+        }
+        heavyPartitions.addAll(partitions);
+        return heavyPartitions;
+    }
+
 }
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.queue;
+
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+/**
+ * A PriorityQueue for node ids in {@code [0, capacity)} that maintains a partial ordering of
+ * its elements such that the smallest value can always be found in constant time.
+ * Add()'s, set()'s and pop()'s require log(size) time.
+ * <p>
+ * Unlike {@link LongPriorityQueue}, all buffers are paged and allocated upfront, so the queue
+ * supports more than {@code 2^31} elements and the cost of an element can be lowered in place.
+ * The cost of an element remains available through {@link #cost(long)} after it has been popped,
+ * until it is added to the queue again.
+ */
+public abstract class HugeLongPriorityQueue {
+
+    private static final long NOT_IN_QUEUE = 0L;
+
+    public static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(HugeLongPriorityQueue.class)
+            .perNode("heap", nodeCount -> HugeLongArray.memoryEstimation(nodeCount + 1))
+            .perNode("positions", HugeLongArray::memoryEstimation)
+            .perNode("costs", HugeDoubleArray::memoryEstimation)
+            .build();
+    }
+
+    private final long capacity;
+    // NOTE: all access to heap is 1-based not 0-based, heap[0] is unused.
+    private HugeLongArray heap;
+    // position of an element in the heap or NOT_IN_QUEUE
+    private HugeLongArray positions;
+    protected HugeDoubleArray costs;
+    private long size;
+
+    HugeLongPriorityQueue(long capacity, AllocationTracker tracker) {
+        this.capacity = capacity;
+        this.heap = HugeLongArray.newArray(capacity + 1, tracker);
+        this.positions = HugeLongArray.newArray(capacity, tracker);
+        this.costs = HugeDoubleArray.newArray(capacity, tracker);
+    }
+
+    protected abstract boolean lessThan(long a, long b);
+
+    /**
+     * Adds an element that is not yet part of the queue associated with the given cost in log(size) time.
+     */
+    public void add(long element, double cost) {
+        assert element < capacity;
+        assert !containsElement(element);
+        size++;
+        heap.set(size, element);
+        positions.set(element, size);
+        costs.set(element, cost);
+        upHeap(size);
+    }
+
+    /**
+     * Adds the element if it is not yet part of the queue, otherwise updates its cost in log(size) time.
+     */
+    public void set(long element, double cost) {
+        if (containsElement(element)) {
+            costs.set(element, cost);
+            long position = positions.get(element);
+            if (!upHeap(position)) {
+                downHeap(position);
+            }
+        } else {
+            add(element, cost);
+        }
+    }
+
+    /**
+     * @return true iff the element is currently stored in the queue.
+     */
+    public boolean containsElement(long element) {
+        return positions.get(element) != NOT_IN_QUEUE;
+    }
+
+    /**
+     * @return the cost the element has been added or set with last.
+     */
+    public double cost(long element) {
+        return costs.get(element);
+    }
+
+    /**
+     * @return the least element of the queue in constant time.
+     */
+    public long top() {
+        assert size > 0;
+        return heap.get(1);
+    }
+
+    public double topCost() {
+        return costs.get(top());
+    }
+
+    /**
+     * Removes and returns the least element of the queue in log(size) time.
+     *
+     * @return the least element of the queue or -1 if the queue is empty.
+     */
+    public long pop() {
+        if (size > 0) {
+            long result = heap.get(1);
+            positions.set(result, NOT_IN_QUEUE);
+            if (size > 1) {
+                long last = heap.get(size);
+                heap.set(1, last);
+                positions.set(last, 1);
+            }
+            size--;
+            downHeap(1);
+            return result;
+        } else {
+            return -1;
+        }
+    }
+
+    /**
+     * @return the number of elements currently stored in the queue.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return true iff there are currently no elements stored in the queue.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all entries from the queue in O(size) time.
+     */
+    public void clear() {
+        for (long i = 1; i <= size; i++) {
+            positions.set(heap.get(i), NOT_IN_QUEUE);
+        }
+        size = 0;
+    }
+
+    /**
+     * Removes all entries from the queue, releases all buffers.
+     * The queue can no longer be used afterwards.
+     *
+     * @return the amount of memory freed, in bytes.
+     */
+    public long release() {
+        size = 0;
+        long freed = heap.release() + positions.release() + costs.release();
+        heap = null;
+        positions = null;
+        costs = null;
+        return freed;
+    }
+
+    private boolean upHeap(long origPos) {
+        long i = origPos;
+        long node = heap.get(i);          // save bottom node
+        long j = i >>> 1;
+        while (j > 0 && lessThan(node, heap.get(j))) {
+            moveTo(heap.get(j), i);       // shift parents down
+            i = j;
+            j = j >>> 1;
+        }
+        moveTo(node, i);                  // install saved node
+        return i != origPos;
+    }
+
+    private void downHeap(long i) {
+        if (size == 0) {
+            return;
+        }
+        long node = heap.get(i);          // save top node
+        long j = i << 1;                  // find smaller child
+        long k = j + 1;
+        if (k <= size && lessThan(heap.get(k), heap.get(j))) {
+            j = k;
+        }
+        while (j <= size && lessThan(heap.get(j), node)) {
+            moveTo(heap.get(j), i);       // shift up child
+            i = j;
+            j = i << 1;
+            k = j + 1;
+            if (k <= size && lessThan(heap.get(k), heap.get(j))) {
+                j = k;
+            }
+        }
+        moveTo(node, i);                  // install saved node
+    }
+
+    private void moveTo(long element, long position) {
+        heap.set(position, element);
+        positions.set(element, position);
+    }
+
+    public static HugeLongPriorityQueue min(long capacity, AllocationTracker tracker) {
+        return new HugeLongPriorityQueue(capacity, tracker) {
+            @Override
+            protected boolean lessThan(long a, long b) {
+                return costs.get(a) < costs.get(b);
+            }
+        };
+    }
+
+    public static HugeLongPriorityQueue max(long capacity, AllocationTracker tracker) {
+        return new HugeLongPriorityQueue(capacity, tracker) {
+            @Override
+            protected boolean lessThan(long a, long b) {
+                return costs.get(a) > costs.get(b);
+            }
+        };
+    }
+}
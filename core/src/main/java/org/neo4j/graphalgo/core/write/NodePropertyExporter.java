@@ -79,6 +79,30 @@ public final class NodePropertyExporter extends StatementApi {
         void accept(Write ops, long value) throws Exception;
     }
 
+    public static final class NodeProperty<T> {
+        private final String propertyKey;
+        private final T data;
+        private final PropertyTranslator<T> translator;
+
+        public static <T> NodeProperty<T> of(String propertyKey, T data, PropertyTranslator<T> translator) {
+            return new NodeProperty<>(propertyKey, data, translator);
+        }
+
+        private NodeProperty(String propertyKey, T data, PropertyTranslator<T> translator) {
+            this.propertyKey = propertyKey;
+            this.data = data;
+            this.translator = translator;
+        }
+
+        public String propertyKey() {
+            return propertyKey;
+        }
+
+        Value toProperty(int propertyId, long nodeId) {
+            return translator.toProperty(propertyId, data, nodeId);
+        }
+    }
+
     private NodePropertyExporter(
             GraphDatabaseAPI db,
             long nodeCount,
@@ -134,6 +158,26 @@ public final class NodePropertyExporter extends StatementApi {
         }
     }
 
+    /**
+     * Writes all given properties in a single pass over the nodes.
+     */
+    public void write(Collection<NodeProperty<?>> properties) {
+        final NodeProperty<?>[] nodeProperties = properties.toArray(new NodeProperty<?>[0]);
+        final int[] propertyIds = new int[nodeProperties.length];
+        for (int i = 0; i < nodeProperties.length; i++) {
+            propertyIds[i] = getOrCreatePropertyToken(nodeProperties[i].propertyKey());
+            if (propertyIds[i] == -1) {
+                throw new IllegalStateException("no write property id is set");
+            }
+        }
+        WriteConsumer writer = (ops, offset) -> doWrite(nodeProperties, propertyIds, ops, offset);
+        if (ParallelUtil.canRunInParallel(executorService)) {
+            writeParallel(writer);
+        } else {
+            writeSequential(writer);
+        }
+    }
+
     public long propertiesWritten() {
         return propertiesWritten.longValue();
     }
@@ -290,4 +334,19 @@ public final class NodePropertyExporter extends StatementApi {
             propertiesWritten.increment();
         }
     }
+
+    private void doWrite(
+            NodeProperty<?>[] properties,
+            int[] propertyIds,
+            Write ops,
+            long nodeId) throws Exception {
+        final long originalNodeId = toOriginalId.applyAsLong(nodeId);
+        for (int i = 0; i < properties.length; i++) {
+            Value prop = properties[i].toProperty(propertyIds[i], nodeId);
+            if (prop != null) {
+                ops.nodeSetProperty(originalNodeId, propertyIds[i], prop);
+                propertiesWritten.increment();
+            }
+        }
+    }
 }
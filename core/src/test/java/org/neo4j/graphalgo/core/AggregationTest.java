@@ -31,11 +31,27 @@ class AggregationTest {
     private static final double[] inputs = new double[]{0.5, 1.4};
 
     @ParameterizedTest
-    @CsvSource({"MAX, 1.4", "MIN, 0.5", "SINGLE, 0.5", "SUM, 1.9"})
+    @CsvSource({"MAX, 1.4", "MIN, 0.5", "SINGLE, 0.5", "SUM, 1.9", "AVG, 0.95", "FIRST, 0.5", "LAST, 1.4"})
     void testSuccessfulDuplateRelationshipStrategies(Aggregation strategy, double expected) {
         assertEquals(expected, strategy.merge(inputs[0], inputs[1]));
     }
 
+    @Test
+    void testCountIgnoresValues() {
+        double count = Aggregation.COUNT.normalize(0.5);
+        count = Aggregation.COUNT.merge(count, 1.4, 1);
+        count = Aggregation.COUNT.merge(count, 2.1, 2);
+        assertEquals(3.0, count);
+    }
+
+    @Test
+    void testAverageOfManyValues() {
+        double average = Aggregation.AVG.normalize(1.0);
+        average = Aggregation.AVG.merge(average, 2.0, 1);
+        average = Aggregation.AVG.merge(average, 6.0, 2);
+        assertEquals(3.0, average, 1e-9);
+    }
+
     @Test
     void testFailingDuplicateRelationshipStrategies() {
         UnsupportedOperationException exception = assertThrows(
@@ -54,7 +54,11 @@ import static org.neo4j.graphalgo.TestSupport.toArguments;
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.getAllNodes;
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.getAllRelationships;
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.runInTransaction;
+import static org.neo4j.graphalgo.core.Aggregation.AVG;
+import static org.neo4j.graphalgo.core.Aggregation.COUNT;
 import static org.neo4j.graphalgo.core.Aggregation.DEFAULT;
+import static org.neo4j.graphalgo.core.Aggregation.FIRST;
+import static org.neo4j.graphalgo.core.Aggregation.LAST;
 import static org.neo4j.graphalgo.core.Aggregation.MAX;
 import static org.neo4j.graphalgo.core.Aggregation.MIN;
 import static org.neo4j.graphalgo.core.Aggregation.NONE;
@@ -177,6 +181,38 @@ class GraphLoaderMultipleRelTypesAndPropertiesTest {
         assertGraphEquals(Arrays.asList(expected1, expected2), graph);
     }
 
+    static Stream<Arguments> orderedAggregationParams() {
+        return crossArguments(toArguments(TestSupport::allTypes), () -> Stream.of(
+            Arguments.of(FIRST),
+            Arguments.of(LAST)
+        ));
+    }
+
+    // without an ORDER BY in a Cypher projection, the import order of parallel relationships is not defined
+    @ParameterizedTest
+    @MethodSource("orderedAggregationParams")
+    void parallelRelationshipsWithOrderedAggregationPickAnyRelationship(
+        Class<? extends GraphStoreFactory> graphStoreFactory,
+        Aggregation aggregation
+    ) {
+        Graph graph = TestGraphLoader.from(db)
+            .withDefaultAggregation(aggregation)
+            .withRelationshipProperties(PropertyMapping.of("weight", 1.0))
+            .graph(graphStoreFactory);
+
+        String expectedGraph =
+            "(n1)" +
+            "(n2)" +
+            "(n3)" +
+            "(n1)-[{weight: 1.0d}]->(n2)" +
+            "(n1)-[{weight: 1.0d}]->(n3)" +
+            "(n2)-[{weight: %fd}]->(n3)";
+
+        Graph expected1 = fromGdl(String.format(expectedGraph, 42.0));
+        Graph expected2 = fromGdl(String.format(expectedGraph, 1337.0));
+        assertGraphEquals(Arrays.asList(expected1, expected2), graph);
+    }
+
     @AllGraphTypesTest
     void multipleTypes(Class<? extends GraphStoreFactory> graphStoreFactory) {
         GraphStore graphStore = TestGraphLoader.from(db)
@@ -392,7 +428,9 @@ class GraphLoaderMultipleRelTypesAndPropertiesTest {
         return Stream.of(
             Arguments.of(MIN, 42, 45, 1337, 1340),
             Arguments.of(MAX, 44, 46, 1339, 1341),
-            Arguments.of(SUM, 129, 91, 4014, 2681)
+            Arguments.of(SUM, 129, 91, 4014, 2681),
+            Arguments.of(COUNT, 3, 2, 3, 2),
+            Arguments.of(AVG, 43, 45.5, 1338, 1340.5)
         );
     }
 
@@ -454,6 +492,36 @@ class GraphLoaderMultipleRelTypesAndPropertiesTest {
         assertGraphEquals(expectedP2Graph, p2Graph);
     }
 
+    @AllGraphTypesTest
+    void countAndSumOfSamePropertyInOneProjection(Class<? extends GraphStoreFactory> graphStoreFactory) {
+        GraphDatabaseAPI localDb = TestDatabaseCreator.createTestDatabase();
+        runQuery(localDb,
+            "CREATE" +
+            "  (a:Node)" +
+            ", (b:Node)" +
+            ", (a)-[:REL {p1: 43}]->(a)" +
+            ", (a)-[:REL {p1: 42}]->(a)" +
+            ", (a)-[:REL {p1: 44}]->(a)" +
+            ", (b)-[:REL {p1: 45}]->(b)"
+        );
+
+        GraphStore graphs = TestGraphLoader.from(localDb)
+            .withRelationshipProperties(
+                PropertyMapping.of("count", "p1", 0.0, COUNT),
+                PropertyMapping.of("sum", "p1", 0.0, SUM)
+            )
+            .graphStore(graphStoreFactory);
+
+        assertGraphEquals(
+            fromGdl("(a)-[{w: 3.0d}]->(a), (b)-[{w: 1.0d}]->(b)"),
+            graphs.getGraph("*", Optional.of("count"))
+        );
+        assertGraphEquals(
+            fromGdl("(a)-[{w: 129.0d}]->(a), (b)-[{w: 45.0d}]->(b)"),
+            graphs.getGraph("*", Optional.of("sum"))
+        );
+    }
+
     @AllGraphTypesTest
     void multipleTypesWithSameProperty(Class<? extends GraphStoreFactory> graphStoreFactory) {
         GraphDatabaseAPI localDb = TestDatabaseCreator.createTestDatabase();
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JobSchedulerTest {
+
+    @Test
+    void shouldFairShareThreadsBetweenJobs() {
+        JobScheduler scheduler = new JobScheduler(8);
+
+        try (Job large = scheduler.startJob("large", "alice", 16)) {
+            assertEquals(8, large.concurrency());
+
+            try (Job small = scheduler.startJob("small", "bob", 2)) {
+                assertEquals(2, small.concurrency());
+                assertEquals(6, large.concurrency());
+
+                try (Job other = scheduler.startJob("other", "carol", 16)) {
+                    assertEquals(2, small.concurrency());
+                    assertEquals(3, large.concurrency());
+                    assertEquals(3, other.concurrency());
+                    assertEquals(3, scheduler.jobs().size());
+                }
+
+                assertEquals(6, large.concurrency());
+                assertSame(small, JobScheduler.currentJob());
+            }
+
+            assertSame(large, JobScheduler.currentJob());
+
+            assertEquals(8, large.concurrency());
+        }
+
+        assertTrue(scheduler.jobs().isEmpty());
+        assertNull(JobScheduler.currentJob());
+    }
+
+    @Test
+    void shouldLimitRunningTasksToTheJobConcurrency() throws InterruptedException {
+        JobScheduler scheduler = new JobScheduler(4);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (Job job = scheduler.startJob("job", "alice", 2)) {
+            for (int i = 0; i < 6; i++) {
+                job.execute(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+            }
+
+            awaitUntil(() -> job.activeTasks() == 2);
+            assertEquals(4, job.queuedTasks());
+            assertEquals(0, job.completedTasks());
+
+            release.countDown();
+            awaitUntil(() -> job.completedTasks() == 6);
+            assertEquals(0, job.activeTasks());
+            assertEquals(0, job.queuedTasks());
+        }
+    }
+
+    @Test
+    void shouldForkNestedTasksOntoThePool() throws Exception {
+        JobScheduler scheduler = new JobScheduler(2);
+        AtomicReference<Thread> outerThread = new AtomicReference<>();
+        List<Thread> nestedThreads = new ArrayList<>();
+        FutureTask<Void> outer = new FutureTask<>(() -> {
+            outerThread.set(Thread.currentThread());
+            List<Future<?>> nested = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                FutureTask<Void> task = new FutureTask<>(() -> {
+                    synchronized (nestedThreads) {
+                        nestedThreads.add(Thread.currentThread());
+                    }
+                }, null);
+                nested.add(task);
+                // would never run if it had to wait for the only slot of the job
+                JobScheduler.currentJob().execute(task);
+            }
+            ParallelUtil.awaitTermination(nested);
+        }, null);
+
+        try (Job job = scheduler.startJob("job", "alice", 1)) {
+            job.execute(outer);
+            outer.get(10, TimeUnit.SECONDS);
+            awaitUntil(() -> job.completedTasks() == 3);
+        }
+
+        assertEquals(2, nestedThreads.size());
+        for (Thread thread : nestedThreads) {
+            assertNotSame(outerThread.get(), thread);
+            assertTrue(thread.getName().startsWith("gds-scheduler-"), thread.getName());
+        }
+    }
+
+    @Test
+    void shouldRouteTasksOfTheDefaultPoolToTheCurrentJob() throws Exception {
+        List<Future<?>> futures = new ArrayList<>();
+        List<String> threadNames = new ArrayList<>();
+
+        try (Job job = JobScheduler.instance().startJob("job", "alice", 2)) {
+            for (int i = 0; i < 4; i++) {
+                futures.add(Pools.DEFAULT.submit(() -> {
+                    synchronized (threadNames) {
+                        threadNames.add(Thread.currentThread().getName());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+            awaitUntil(() -> job.completedTasks() == 4);
+        }
+
+        assertEquals(4, threadNames.size());
+        threadNames.forEach(name -> assertTrue(name.startsWith("gds-scheduler-"), name));
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 10 seconds");
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+}
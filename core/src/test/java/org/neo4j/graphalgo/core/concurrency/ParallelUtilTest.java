@@ -30,6 +30,7 @@ import org.neo4j.graphalgo.core.loading.HugeParallelGraphImporter;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
 
 import java.util.AbstractCollection;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
@@ -388,6 +389,69 @@ final class ParallelUtilTest {
         verify(pool, times(11)).getActiveCount();
     }
 
+    @Test
+    void shouldRunEveryTaskOnceWithWorkStealing() {
+        int taskCount = 100;
+        int concurrency = 4;
+        withPool(concurrency, pool -> {
+            AtomicInteger[] runs = new AtomicInteger[taskCount];
+            AtomicInteger running = new AtomicInteger();
+            LongAccumulator maxRunning = new LongAccumulator(Long::max, Long.MIN_VALUE);
+            List<Runnable> tasks = IntStream.range(0, taskCount).mapToObj(i -> {
+                runs[i] = new AtomicInteger();
+                return (Runnable) () -> {
+                    maxRunning.accumulate(running.incrementAndGet());
+                    runs[i].incrementAndGet();
+                    // the first task is a lot more expensive than the others
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(i == 0 ? 50 : 1));
+                    running.decrementAndGet();
+                };
+            }).collect(Collectors.toList());
+
+            ParallelUtil.runWithWorkStealing(concurrency, tasks, TerminationFlag.RUNNING_TRUE, pool);
+
+            for (AtomicInteger run : runs) {
+                assertEquals(1, run.get());
+            }
+            assertTrue(maxRunning.get() <= concurrency);
+        });
+    }
+
+    @Test
+    void shouldRunWorkStealingTasksSequentiallyWithoutExecutor() {
+        long currentThreadId = Thread.currentThread().getId();
+        List<Long> order = new ArrayList<>();
+        List<Runnable> tasks = LongStream.range(0, 10).mapToObj(i -> (Runnable) () -> {
+            assertEquals(currentThreadId, Thread.currentThread().getId());
+            order.add(i);
+        }).collect(Collectors.toList());
+
+        ParallelUtil.runWithWorkStealing(4, tasks, TerminationFlag.RUNNING_TRUE, null);
+
+        assertEquals(LongStream.range(0, 10).boxed().collect(Collectors.toList()), order);
+    }
+
+    @Test
+    void shouldStopTakingTasksAfterAFailure() {
+        withPool(2, pool -> {
+            AtomicInteger started = new AtomicInteger();
+            List<Runnable> tasks = IntStream.range(0, 1000).mapToObj(i -> (Runnable) () -> {
+                started.incrementAndGet();
+                if (i == 0) {
+                    throw new IllegalStateException("failed task");
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }).collect(Collectors.toList());
+
+            IllegalStateException error = assertThrows(
+                IllegalStateException.class,
+                () -> ParallelUtil.runWithWorkStealing(2, tasks, TerminationFlag.RUNNING_TRUE, pool)
+            );
+            assertEquals("failed task", error.getMessage());
+            assertTrue(started.get() < 1000);
+        });
+    }
+
     private static void withPool(
             int nThreads,
             ThrowingConsumer<ExecutorService, ? extends Throwable> block) {
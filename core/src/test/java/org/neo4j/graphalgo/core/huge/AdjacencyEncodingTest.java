@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.TestDatabaseCreator;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.compat.GraphDbApi;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.loading.NativeFactory;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.RelationshipType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.createNode;
+import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.runInTransaction;
+
+final class AdjacencyEncodingTest {
+
+    private static final RelationshipType TYPE = RelationshipType.withName("TYPE");
+    private static final int NODE_COUNT = 2000;
+    private static final int HUB_DEGREE = 1500;
+
+    private GraphDbApi db;
+
+    @BeforeEach
+    void setup() {
+        db = TestDatabaseCreator.createTestDatabase();
+        Random random = new Random(42L);
+        runInTransaction(db, tx -> {
+            Node[] nodes = new Node[NODE_COUNT];
+            for (int i = 0; i < NODE_COUNT; i++) {
+                nodes[i] = createNode(db, tx);
+            }
+            // a hub with parallel relationships and blocks of different bit widths
+            for (int i = 0; i < HUB_DEGREE; i++) {
+                int target = i < HUB_DEGREE / 2 ? i : random.nextInt(NODE_COUNT);
+                nodes[0].createRelationshipTo(nodes[target], TYPE).setProperty("weight", random.nextDouble());
+            }
+            for (int source = 1; source < NODE_COUNT; source++) {
+                int degree = random.nextInt(20);
+                for (int i = 0; i < degree; i++) {
+                    Node target = nodes[random.nextInt(NODE_COUNT)];
+                    nodes[source].createRelationshipTo(target, TYPE).setProperty("weight", random.nextDouble());
+                }
+            }
+        });
+    }
+
+    @AfterEach
+    void teardown() {
+        db.shutdown();
+    }
+
+    @Test
+    void shouldDecodeTheSameRelationships() {
+        Graph varLong = loadGraph(AdjacencyEncoding.VAR_LONG, Orientation.NATURAL);
+        Graph packed = loadGraph(AdjacencyEncoding.PACKED, Orientation.NATURAL);
+
+        assertEquals(varLong.relationshipCount(), packed.relationshipCount());
+        varLong.forEachNode(nodeId -> {
+            assertEquals(varLong.degree(nodeId), packed.degree(nodeId));
+            assertEquals(relationships(varLong, nodeId), relationships(packed, nodeId));
+            return true;
+        });
+    }
+
+    @Test
+    void shouldLookUpTheSameRelationshipProperties() {
+        Graph varLong = loadGraph(AdjacencyEncoding.VAR_LONG, Orientation.NATURAL);
+        Graph packed = loadGraph(AdjacencyEncoding.PACKED, Orientation.NATURAL);
+
+        for (long source : new long[]{0, 1, NODE_COUNT - 1}) {
+            for (long target = 0; target < NODE_COUNT; target++) {
+                assertEquals(
+                    varLong.relationshipProperty(source, target),
+                    packed.relationshipProperty(source, target),
+                    "Wrong propertyValue for (" + source + ")->(" + target + ")"
+                );
+            }
+        }
+    }
+
+    @Test
+    void shouldIntersectTheSameRelationships() {
+        assertEquals(
+            triangles(loadGraph(AdjacencyEncoding.VAR_LONG, Orientation.UNDIRECTED)),
+            triangles(loadGraph(AdjacencyEncoding.PACKED, Orientation.UNDIRECTED))
+        );
+    }
+
+    private static List<String> relationships(Graph graph, long nodeId) {
+        List<String> relationships = new ArrayList<>();
+        graph.forEachRelationship(nodeId, Double.NaN, (source, target, property) -> {
+            relationships.add(target + ":" + property);
+            return true;
+        });
+        return relationships;
+    }
+
+    private static List<String> triangles(Graph graph) {
+        List<String> triangles = new ArrayList<>();
+        graph.forEachNode(nodeId -> {
+            graph.intersection().intersectAll(nodeId, (a, b, c) -> triangles.add(a + "-" + b + "-" + c));
+            return true;
+        });
+        return triangles;
+    }
+
+    private Graph loadGraph(AdjacencyEncoding encoding, Orientation orientation) {
+        StoreLoaderBuilder builder = new StoreLoaderBuilder()
+            .api(db)
+            .loadAnyLabel()
+            .loadAnyRelationshipType()
+            .globalOrientation(orientation)
+            .adjacencyEncoding(encoding);
+        if (orientation == Orientation.NATURAL) {
+            builder
+                .globalAggregation(Aggregation.NONE)
+                .addRelationshipProperty(PropertyMapping.of("weight", 0.0));
+        }
+        return builder.build().graph(NativeFactory.class);
+    }
+}
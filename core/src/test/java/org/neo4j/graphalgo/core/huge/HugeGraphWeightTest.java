@@ -23,19 +23,32 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
+import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.StoreLoaderBuilder;
 import org.neo4j.graphalgo.TestDatabaseCreator;
 import org.neo4j.graphalgo.api.Graph;
-import org.neo4j.graphalgo.core.loading.NativeFactory;
 import org.neo4j.graphalgo.compat.GraphDbApi;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.GraphStore;
+import org.neo4j.graphalgo.core.loading.HugeGraphUtil;
+import org.neo4j.graphalgo.core.loading.IdMap;
+import org.neo4j.graphalgo.core.loading.NativeFactory;
+import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.PageUtil;
 import org.neo4j.graphdb.Relationship;
 import org.neo4j.graphdb.RelationshipType;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.createNode;
@@ -88,6 +101,101 @@ final class HugeGraphWeightTest {
         loadGraph(db);
     }
 
+    @Test
+    void shouldLookUpWeightsOfHighDegreeNodes() {
+        int nodeCount = 10 * AdjacencySkipIndex.MIN_INDEXED_DEGREE;
+        Graph graph = hubGraph(nodeCount, AllocationTracker.EMPTY);
+
+        Map<Long, Double> firstPropertyByTarget = new HashMap<>();
+        graph.forEachRelationship(0, Double.NaN, (source, target, property) -> {
+            firstPropertyByTarget.putIfAbsent(target, property);
+            return true;
+        });
+
+        for (long target = 1; target < nodeCount; target++) {
+            double expected = firstPropertyByTarget.getOrDefault(target, Double.NaN);
+            assertEquals(
+                expected,
+                graph.relationshipProperty(0, target),
+                "Wrong propertyValue for (0)->(" + target + ")"
+            );
+        }
+    }
+
+    @Test
+    void shouldLookUpWeightsOfHighDegreeNodesWithoutSkipIndex() {
+        int nodeCount = 10 * AdjacencySkipIndex.MIN_INDEXED_DEGREE;
+        HugeGraph indexedGraph = hubGraph(nodeCount, AllocationTracker.EMPTY);
+        HugeGraph.Relationships relationships = indexedGraph.relationships();
+        HugeGraph graph = HugeGraph.create(
+            indexedGraph.idMapping(),
+            Collections.emptyMap(),
+            relationships.topology(),
+            relationships.properties(),
+            // incoming relationships are not used
+            concurrency -> null,
+            null,
+            AllocationTracker.EMPTY
+        );
+
+        for (long target = 1; target < nodeCount; target++) {
+            assertEquals(
+                indexedGraph.relationshipProperty(0, target),
+                graph.relationshipProperty(0, target),
+                "Wrong propertyValue for (0)->(" + target + ")"
+            );
+        }
+    }
+
+    @Test
+    void shouldTrackSkipIndexOfGraphStore() {
+        int nodeCount = 10 * AdjacencySkipIndex.MIN_INDEXED_DEGREE;
+        AllocationTracker tracker = AllocationTracker.create();
+        GraphStore graphStore = GraphStore.of(hubGraph(nodeCount, tracker), "TYPE", Optional.of("weight"), tracker);
+
+        long trackedBeforeIndexing = tracker.tracked();
+        Graph graph = graphStore.getGraph("TYPE", Optional.of("weight"));
+        graph.relationshipProperty(0, 2);
+        graph.concurrentCopy().relationshipProperty(0, 4);
+
+        int numberOfPages = (int) BitUtil.ceilDiv(nodeCount, AdjacencySkipIndex.PAGE_SIZE);
+        long expectedIndexSize =
+            MemoryUsage.sizeOfInstance(AtomicReferenceArray.class) + MemoryUsage.sizeOfObjectArray(numberOfPages) +
+            MemoryUsage.sizeOfInstance(AtomicReferenceArray.class) + MemoryUsage.sizeOfObjectArray(AdjacencySkipIndex.PAGE_SIZE) +
+            MemoryUsage.sizeOfLongArray(2 * ((graph.degree(0) - 1) / AdjacencySkipIndex.BLOCK_SIZE));
+        assertEquals(trackedBeforeIndexing + expectedIndexSize, tracker.tracked());
+
+        graphStore.release();
+        assertEquals(trackedBeforeIndexing, tracker.tracked());
+        graphStore.release();
+        assertEquals(trackedBeforeIndexing, tracker.tracked());
+    }
+
+    private static HugeGraph hubGraph(int nodeCount, AllocationTracker tracker) {
+        HugeGraphUtil.IdMapBuilder idMapBuilder = HugeGraphUtil.idMapBuilder(nodeCount, Pools.DEFAULT, tracker);
+        for (long node = 0; node < nodeCount; node++) {
+            idMapBuilder.addNode(node);
+        }
+        IdMap idMap = idMapBuilder.build();
+
+        HugeGraphUtil.RelationshipsBuilder relationshipsBuilder = HugeGraphUtil.createRelImporter(
+            idMap,
+            Orientation.NATURAL,
+            true,
+            Aggregation.NONE,
+            Pools.DEFAULT,
+            tracker
+        );
+        // connect the hub to every other node, with parallel relationships to every third target
+        for (long target = 2; target < nodeCount; target += 2) {
+            relationshipsBuilder.add(0, target, target);
+            if (target % 3 == 0) {
+                relationshipsBuilder.add(0, target, -target);
+            }
+        }
+        return HugeGraphUtil.create(idMap, relationshipsBuilder.build(), tracker);
+    }
+
     private void mkDb(int nodes, int relsPerNode) {
         long[] nodeIds = new long[nodes];
 
@@ -101,7 +101,7 @@ class CypherFactoryAggregationTest {
     }
 
     @ParameterizedTest
-    @CsvSource({"SUM, 14.0", "MAX, 10.0", "MIN, 4.0"})
+    @CsvSource({"SUM, 14.0", "MAX, 10.0", "MIN, 4.0", "COUNT, 2.0", "AVG, 7.0"})
     void testLoadCypherDuplicateRelationshipsWithWeightsAggregation(
         Aggregation aggregation,
         double expectedWeight
@@ -120,4 +120,49 @@ class CypherFactoryAggregationTest {
         double[] weights = collectTargetProperties(graph, graph.toMappedNodeId(id1));
         assertArrayEquals(new double[]{expectedWeight}, weights);
     }
+
+    @ParameterizedTest
+    @CsvSource({"FIRST, 4.0", "LAST, 10.0"})
+    void testLoadCypherDuplicateRelationshipsWithOrderedAggregation(
+        Aggregation aggregation,
+        double expectedWeight
+    ) {
+        String nodes = "MATCH (n) RETURN id(n) AS id";
+        String rels = "MATCH (n)-[r]-(m) RETURN id(n) AS source, id(m) AS target, r.weight AS weight ORDER BY r.weight";
+
+        Graph graph = applyInTransaction(db, tx -> new CypherLoaderBuilder().api(db)
+                .nodeQuery(nodes)
+                .relationshipQuery(rels)
+                .addRelationshipProperty(PropertyMapping.of("weight", 1.0))
+                .globalAggregation(aggregation)
+                .build()
+                .load(CypherFactory.class));
+
+        double[] weights = collectTargetProperties(graph, graph.toMappedNodeId(id1));
+        assertArrayEquals(new double[]{expectedWeight}, weights);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"FIRST, 1.0", "LAST, 1000.0"})
+    void testLoadCypherOrderedAggregationConcurrently(Aggregation aggregation, double expectedWeight) {
+        runQueryWithRowConsumer(
+            db,
+            "MATCH (n1 {id: 1}), (n2 {id: 2}) UNWIND range(1, 1000) AS i CREATE (n1)-[:PARALLEL {weight: i}]->(n2) RETURN count(*)",
+            row -> {}
+        );
+        String nodes = "MATCH (n) RETURN id(n) AS id";
+        String rels = "MATCH (n)-[r:PARALLEL]->(m) RETURN id(n) AS source, id(m) AS target, r.weight AS weight ORDER BY r.weight";
+
+        Graph graph = applyInTransaction(db, tx -> new CypherLoaderBuilder().api(db)
+                .nodeQuery(nodes)
+                .relationshipQuery(rels)
+                .addRelationshipProperty(PropertyMapping.of("weight", 1.0))
+                .globalAggregation(aggregation)
+                .concurrency(4)
+                .build()
+                .load(CypherFactory.class));
+
+        double[] weights = collectTargetProperties(graph, graph.toMappedNodeId(id1));
+        assertArrayEquals(new double[]{expectedWeight}, weights);
+    }
 }
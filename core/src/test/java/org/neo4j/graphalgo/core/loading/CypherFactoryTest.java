@@ -244,6 +244,33 @@ class CypherFactoryTest {
         loadAndTestGraph(nodeStatement, relStatement, Aggregation.SINGLE, parallel);
     }
 
+    @Test
+    void streamRowsToImportersInMultipleBatches() {
+        String nodeStatement = "MATCH (n) RETURN id(n) AS id";
+        String relStatement =
+            "UNWIND range(1, 5) AS copy " +
+            "MATCH (n)-[r:REL]->(m) RETURN id(n) AS source, id(m) AS target, r.prop/5.0 AS weight";
+
+        loadAndTestGraph(nodeStatement, relStatement, Aggregation.SUM, true);
+    }
+
+    @Test
+    void loadPagedQueriesInASinglePass() {
+        String nodeStatement = "MATCH (n) " + SKIP_LIMIT + " RETURN id(n) AS id";
+        String relStatement = "MATCH (n)-[r:REL]->(m) " + SKIP_LIMIT + " RETURN id(n) AS source, id(m) AS target";
+
+        Graph graph = applyInTransaction(db, tx -> new CypherLoaderBuilder()
+            .api(db)
+            .nodeQuery(nodeStatement)
+            .relationshipQuery(relStatement)
+            .concurrency(1)
+            .build()
+            .load(CypherFactory.class));
+
+        assertEquals(COUNT, graph.nodeCount());
+        assertEquals(COUNT, graph.relationshipCount());
+    }
+
     @Test
     void testInitNodePropertiesFromQuery() {
         GraphDatabaseAPI db = TestDatabaseCreator.createTestDatabase();
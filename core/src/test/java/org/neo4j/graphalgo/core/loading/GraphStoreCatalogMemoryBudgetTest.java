@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.TestDatabaseCreator;
+import org.neo4j.graphalgo.compat.GraphDbApi;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.GraphLoader;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.QueryRunner.runQuery;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+
+class GraphStoreCatalogMemoryBudgetTest {
+
+    private GraphDbApi db;
+
+    @TempDir
+    Path spillDirectory;
+
+    @BeforeEach
+    void setup() {
+        db = TestDatabaseCreator.createTestDatabase();
+        runQuery(db, " CREATE (a:A)" +
+                     " CREATE (b:A)" +
+                     " CREATE (c:A)" +
+                     " CREATE (a)-[:T]->(b)" +
+                     " CREATE (b)-[:T]->(c)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+        GraphStoreCatalog.removeAllLoadedGraphs();
+        CatalogMemoryBudget.instance().reset();
+    }
+
+    @Test
+    void shouldSpillLeastRecentlyUsedGraph() throws IOException {
+        GraphStore first = load("first");
+        CatalogMemoryBudget.instance().configure(first.sizeInBytes() * 2 + 1, spillDirectory);
+
+        GraphStoreCatalog.set(config("first"), first);
+        GraphStoreCatalog.set(config("second"), load("second"));
+        // touch the first graph, so that the second one is the least recently used
+        GraphStoreCatalog.get("", "first");
+        GraphStoreCatalog.set(config("third"), load("third"));
+
+        assertFalse(GraphStoreCatalog.isSpilled("", "first"));
+        assertTrue(GraphStoreCatalog.isSpilled("", "second"));
+        assertFalse(GraphStoreCatalog.isSpilled("", "third"));
+        assertEquals(1, spilledGraphs());
+        assertTrue(GraphStoreCatalog.residentSizeInBytes() <= CatalogMemoryBudget.instance().budgetInBytes());
+    }
+
+    @Test
+    void shouldLoadSpilledGraphOnAccess() throws IOException {
+        GraphStore first = load("first");
+        CatalogMemoryBudget.instance().configure(first.sizeInBytes() + 1, spillDirectory);
+
+        GraphStoreCatalog.set(config("first"), first);
+        GraphStoreCatalog.set(config("second"), load("second"));
+        assertTrue(GraphStoreCatalog.isSpilled("", "first"));
+
+        GraphStoreWithConfig loaded = GraphStoreCatalog.get("", "first");
+
+        assertEquals("first", loaded.config().graphName());
+        // the spilled graph store has been released, so the loaded graph is compared to a freshly loaded one
+        assertGraphEquals(load("expected").getUnion(), loaded.graphStore().getUnion());
+        assertFalse(GraphStoreCatalog.isSpilled("", "first"));
+        assertTrue(GraphStoreCatalog.isSpilled("", "second"));
+        assertEquals(1, spilledGraphs());
+    }
+
+    @Test
+    void shouldReleaseSpilledGraph() {
+        GraphStore first = load("first");
+        long loadedSize = first.sizeInBytes();
+        CatalogMemoryBudget.instance().configure(loadedSize + 1, spillDirectory);
+
+        GraphStoreCatalog.set(config("first"), first);
+        GraphStoreCatalog.set(config("second"), load("second"));
+
+        assertTrue(GraphStoreCatalog.isSpilled("", "first"));
+        assertTrue(first.sizeInBytes() < loadedSize);
+    }
+
+    @Test
+    void shouldDeleteSpilledGraphOnRemove() throws IOException {
+        GraphStore first = load("first");
+        CatalogMemoryBudget.instance().configure(first.sizeInBytes() + 1, spillDirectory);
+
+        GraphStoreCatalog.set(config("first"), first);
+        GraphStoreCatalog.set(config("second"), load("second"));
+        AtomicReference<GraphSummary> removed = new AtomicReference<>();
+        GraphStoreCatalog.remove("", "first", removed::set);
+
+        assertFalse(GraphStoreCatalog.exists("", "first"));
+        assertEquals(0, spilledGraphs());
+        assertEquals(3, removed.get().nodeCount());
+        assertEquals(2, removed.get().relationshipCount());
+        // the removed graph is reported without loading it back, which would have spilled the second graph
+        assertFalse(GraphStoreCatalog.isSpilled("", "second"));
+    }
+
+    @Test
+    void shouldListSpilledGraphWithoutLoadingIt() {
+        GraphStore first = load("first");
+        CatalogMemoryBudget.instance().configure(first.sizeInBytes() + 1, spillDirectory);
+
+        GraphStoreCatalog.set(config("first"), first);
+        GraphStoreCatalog.set(config("second"), load("second"));
+
+        Map<String, GraphSummary> summaries = GraphStoreCatalog.getGraphSummaries("").stream()
+            .collect(Collectors.toMap(summary -> summary.config().graphName(), summary -> summary));
+
+        assertEquals(3, summaries.get("first").nodeCount());
+        assertEquals(2, summaries.get("first").relationshipCount());
+        assertFalse(summaries.get("first").graph().isPresent());
+        assertTrue(summaries.get("second").graph().isPresent());
+        assertTrue(GraphStoreCatalog.isSpilled("", "first"));
+        assertTrue(GraphStoreCatalog.getLoadedGraphs("").keySet().stream()
+            .noneMatch(config -> config.graphName().equals("first")));
+    }
+
+    @Test
+    void shouldCountMutationsTowardsTheBudget() {
+        GraphStore graphStore = load("first");
+        long loadedSize = graphStore.sizeInBytes();
+        CatalogMemoryBudget.instance().configure(loadedSize * 3, spillDirectory);
+        GraphStoreCatalog.set(config("first"), graphStore);
+
+        graphStore.addNodeProperty("score", nodeId -> 42.0);
+        graphStore.inverseRelationships("T");
+
+        assertTrue(graphStore.sizeInBytes() >= loadedSize + HugeDoubleArray.memoryEstimation(3));
+        assertEquals(graphStore.sizeInBytes(), GraphStoreCatalog.residentSizeInBytes());
+    }
+
+    @Test
+    void shouldFailForGraphsLargerThanTheBudget() {
+        GraphStore graphStore = load("huge");
+        CatalogMemoryBudget.instance().configure(graphStore.sizeInBytes() - 1, spillDirectory);
+
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> GraphStoreCatalog.set(config("huge"), graphStore)
+        );
+
+        assertTrue(exception.getMessage().startsWith("Graph `huge` requires"));
+        assertFalse(GraphStoreCatalog.exists("", "huge"));
+    }
+
+    private GraphStore load(String graphName) {
+        GraphStore graphStore = loader(graphName).graphStore(NativeFactory.class);
+        assertTrue(graphStore.sizeInBytes() > 0);
+        return graphStore;
+    }
+
+    private GraphCreateConfig config(String graphName) {
+        return loader(graphName).createConfig();
+    }
+
+    private GraphLoader loader(String graphName) {
+        return new StoreLoaderBuilder()
+            .api(db)
+            .graphName(graphName)
+            .addNodeLabel("A")
+            .addRelationshipType("T")
+            .tracker(AllocationTracker.create())
+            .build();
+    }
+
+    private long spilledGraphs() throws IOException {
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.PropertyMappings;
+import org.neo4j.graphalgo.RelationshipProjection;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.TestDatabaseCreator;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.compat.GraphDbApi;
+import org.neo4j.graphalgo.config.GraphCreateFromCypherConfig;
+import org.neo4j.graphalgo.config.ImmutableGraphCreateFromCypherConfig;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.GraphLoader;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.nCopies;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.QueryRunner.runQuery;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+
+class GraphStoreFilesTest {
+
+    private GraphDbApi db;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setup() {
+        db = TestDatabaseCreator.createTestDatabase();
+        runQuery(db, " CREATE (a:A {p: 1.0})" +
+                     " CREATE (b:A {p: 2.0})" +
+                     " CREATE (c:A)" +
+                     " CREATE (a)-[:T1 {w: 42}]->(b)" +
+                     " CREATE (a)-[:T1 {w: 43}]->(c)" +
+                     " CREATE (b)-[:T2]->(c)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+    }
+
+    @Test
+    void shouldLoadPersistedGraphStore() {
+        GraphLoader graphLoader = new StoreLoaderBuilder()
+            .api(db)
+            .graphName("myGraph")
+            .addNodeLabel("A")
+            .addNodeProperty(PropertyMapping.of("p", -1.0))
+            .relationshipProjections(asList(
+                RelationshipProjection.builder()
+                    .type("T1")
+                    .orientation(Orientation.UNDIRECTED)
+                    .properties(PropertyMappings.builder().addMapping("w", "w", 1.0, Aggregation.NONE).build())
+                    .build(),
+                RelationshipProjection.of("T2", Orientation.NATURAL)
+            ))
+            .build();
+        GraphStore graphStore = graphLoader.graphStore(NativeFactory.class);
+        GraphStoreWithConfig persisted = ImmutableGraphStoreWithConfig.of(graphStore, graphLoader.createConfig());
+
+        Path directory = tempDir.resolve("myGraph");
+        GraphStoreFiles.write(persisted, directory);
+        GraphStoreWithConfig loaded = GraphStoreFiles.read(directory, "alice", "copy", AllocationTracker.EMPTY);
+
+        assertEquals("alice", loaded.config().username());
+        assertEquals("copy", loaded.config().graphName());
+        assertEquals(persisted.config().nodeProjections(), loaded.config().nodeProjections());
+        assertEquals(persisted.config().relationshipProjections(), loaded.config().relationshipProjections());
+
+        GraphStore loadedStore = loaded.graphStore();
+        assertEquals(graphStore.nodeCount(), loadedStore.nodeCount());
+        assertEquals(graphStore.relationshipCount(), loadedStore.relationshipCount());
+        assertEquals(graphStore.relationshipTypes(), loadedStore.relationshipTypes());
+        assertEquals(graphStore.nodePropertyKeys(), loadedStore.nodePropertyKeys());
+
+        assertGraphEquals(graphStore.getGraph("T1", Optional.of("w")), loadedStore.getGraph("T1", Optional.of("w")));
+        assertGraphEquals(graphStore.getGraph("T2"), loadedStore.getGraph("T2"));
+        assertGraphEquals(graphStore.getUnion(), loadedStore.getUnion());
+
+        Graph graph = graphStore.getGraph(singletonList("*"), Optional.empty());
+        Graph loadedGraph = loadedStore.getGraph(singletonList("*"), Optional.empty());
+        NodeProperties properties = graph.nodeProperties("p");
+        NodeProperties loadedProperties = loadedGraph.nodeProperties("p");
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            assertEquals(graph.toOriginalNodeId(nodeId), loadedGraph.toOriginalNodeId(nodeId));
+            assertEquals(nodeId, loadedGraph.toMappedNodeId(graph.toOriginalNodeId(nodeId)));
+            assertEquals(properties.nodeProperty(nodeId), loadedProperties.nodeProperty(nodeId));
+            assertEquals(properties.nodeProperty(nodeId, Double.NaN), loadedProperties.nodeProperty(nodeId, Double.NaN));
+        }
+        assertTrue(Double.isNaN(loadedProperties.nodeProperty(2, Double.NaN)));
+    }
+
+    @Test
+    void shouldPersistCypherQueriesLongerThan64KB() {
+        GraphLoader graphLoader = new StoreLoaderBuilder().api(db).graphName("myGraph").build();
+        String nodeQuery = GraphCreateFromCypherConfig.ALL_NODES_QUERY + " // " + String.join("", nCopies(70_000, "x"));
+        GraphCreateFromCypherConfig config = ImmutableGraphCreateFromCypherConfig.builder()
+            .username("")
+            .graphName("myGraph")
+            .nodeQuery(nodeQuery)
+            .relationshipQuery(GraphCreateFromCypherConfig.ALL_RELATIONSHIPS_QUERY)
+            .build();
+        GraphStoreWithConfig persisted = ImmutableGraphStoreWithConfig.of(
+            graphLoader.graphStore(NativeFactory.class),
+            config
+        );
+
+        Path directory = tempDir.resolve("myGraph");
+        GraphStoreFiles.write(persisted, directory);
+        GraphStoreWithConfig loaded = GraphStoreFiles.read(directory, "", "myGraph", AllocationTracker.EMPTY);
+
+        GraphCreateFromCypherConfig loadedConfig = (GraphCreateFromCypherConfig) loaded.config();
+        assertEquals(nodeQuery, loadedConfig.nodeQuery());
+        assertEquals(GraphCreateFromCypherConfig.ALL_RELATIONSHIPS_QUERY, loadedConfig.relationshipQuery());
+    }
+
+    @Test
+    void shouldFailToWriteIntoNonEmptyDirectory() throws Exception {
+        Files.createFile(tempDir.resolve("existing"));
+
+        GraphLoader graphLoader = new StoreLoaderBuilder().api(db).graphName("myGraph").build();
+        GraphStoreWithConfig graphStoreWithConfig = ImmutableGraphStoreWithConfig.of(
+            graphLoader.graphStore(NativeFactory.class),
+            graphLoader.createConfig()
+        );
+
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> GraphStoreFiles.write(graphStoreWithConfig, tempDir)
+        );
+        assertEquals(String.format("Directory `%s` is not empty.", tempDir), exception.getMessage());
+    }
+
+    @Test
+    void shouldNotLeaveFilesBehindIfWritingFails() throws Exception {
+        GraphLoader graphLoader = new StoreLoaderBuilder().api(db).graphName("myGraph").build();
+        GraphStore graphStore = graphLoader.graphStore(NativeFactory.class);
+        NodeProperties failingProperties = nodeId -> {
+            throw new IllegalStateException("failed to read property");
+        };
+        GraphStore failingGraphStore = GraphStore.of(
+            graphStore.nodes(),
+            singletonMap("p", failingProperties),
+            emptyMap(),
+            emptyMap(),
+            AllocationTracker.EMPTY
+        );
+        GraphStoreWithConfig graphStoreWithConfig = ImmutableGraphStoreWithConfig.of(
+            failingGraphStore,
+            graphLoader.createConfig()
+        );
+
+        Path directory = tempDir.resolve("myGraph");
+        IllegalStateException exception = assertThrows(
+            IllegalStateException.class,
+            () -> GraphStoreFiles.write(graphStoreWithConfig, directory)
+        );
+        assertEquals("failed to read property", exception.getMessage());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void shouldFailToReadFromDirectoryWithoutGraph() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> GraphStoreFiles.read(tempDir, "", "myGraph", AllocationTracker.EMPTY)
+        );
+        assertEquals(String.format("Directory `%s` does not contain a persisted graph.", tempDir), exception.getMessage());
+    }
+}
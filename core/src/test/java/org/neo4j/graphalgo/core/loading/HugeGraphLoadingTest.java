@@ -137,6 +137,42 @@ final class HugeGraphLoadingTest {
         assertEquals(nodeCount, graph.nodeCount());
     }
 
+    @Test
+    void testSparseLabelLoading() {
+        // few enough labeled nodes to import them from the label scan store
+        int nodeCount = 10_000;
+        Label foo = Label.label("Foo");
+        Label bar = Label.label("Bar");
+        runInTransaction(db, tx -> {
+            for (int j = 0; j < nodeCount; j++) {
+                Node node = createNode(db, tx);
+                if (j % 100 == 0) {
+                    node.addLabel(foo);
+                    node.setProperty("bar", node.getId());
+                }
+                if (j % 200 == 0) {
+                    node.addLabel(bar);
+                }
+            }
+        });
+
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel(foo.name())
+            .addNodeLabel(bar.name())
+            .addNodeProperty(PropertyMapping.of("bar", -1.0))
+            .loadAnyRelationshipType()
+            .build()
+            .graph(NativeFactory.class);
+
+        assertEquals(nodeCount / 100, graph.nodeCount());
+        NodeProperties nodeProperties = graph.nodeProperties("bar");
+        for (int nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            long neoId = graph.toOriginalNodeId(nodeId);
+            assertEquals(neoId, (long) nodeProperties.nodeProperty(nodeId));
+        }
+    }
+
     @Test
     void testParallelEdgeWithHugeOffsetLoading() {
         RelationshipType fooRelType = RelationshipType.withName("FOO");
@@ -25,9 +25,15 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -129,6 +135,83 @@ class HugeGraphUtilTest {
         assertGraphEquals(expectedWithoutAggregation(Orientation.UNDIRECTED), graph);
     }
 
+    @Test
+    void idMapBuilderKeepsInsertionOrder() {
+        HugeGraphUtil.IdMapBuilder idMapBuilder = HugeGraphUtil.idMapBuilder(42, Pools.DEFAULT, AllocationTracker.EMPTY);
+        idMapBuilder.addNode(42);
+        idMapBuilder.addNode(7);
+        idMapBuilder.addNode(42);
+        idMapBuilder.addNode(13);
+
+        IdMap idMap = idMapBuilder.build();
+        assertEquals(3, idMap.nodeCount());
+        assertEquals(42, idMap.toOriginalNodeId(0));
+        assertEquals(7, idMap.toOriginalNodeId(1));
+        assertEquals(13, idMap.toOriginalNodeId(2));
+    }
+
+    @Test
+    void parallelSummaryEqualsSequentialSummary() {
+        Random random = new Random(42L);
+        long maxOriginalId = 10_000;
+        long[][] relationships = new long[50_000][];
+        for (int i = 0; i < relationships.length; i++) {
+            // sparse original ids, few distinct pairs so that many relationships are aggregated
+            relationships[i] = new long[]{random.nextInt(1_000) * 10L, random.nextInt(1_000) * 10L, random.nextInt(5)};
+        }
+
+        Graph sequential = summarize(relationships, maxOriginalId, 1);
+        Graph parallel = summarize(relationships, maxOriginalId, 4);
+
+        for (long nodeId = 0; nodeId < sequential.nodeCount(); nodeId++) {
+            assertEquals(sequential.toOriginalNodeId(nodeId), parallel.toOriginalNodeId(nodeId));
+        }
+        assertGraphEquals(sequential, parallel);
+    }
+
+    private static Graph summarize(long[][] relationships, long maxOriginalId, int concurrency) {
+        int batchSize = (int) BitUtil.ceilDiv(relationships.length, concurrency);
+
+        HugeGraphUtil.ConcurrentIdMapBuilder idMapBuilder = HugeGraphUtil.concurrentIdMapBuilder(
+            maxOriginalId,
+            AllocationTracker.EMPTY
+        );
+        ParallelUtil.runWithConcurrency(concurrency, batches(relationships.length, batchSize, (start, end) -> () -> {
+            for (int i = start; i < end; i++) {
+                idMapBuilder.addNode(relationships[i][0]);
+                idMapBuilder.addNode(relationships[i][1]);
+            }
+        }), Pools.DEFAULT);
+        IdMap idMap = idMapBuilder.build();
+
+        HugeGraphUtil.RelationshipsBuilder relationshipsBuilder = HugeGraphUtil.createRelImporter(
+            idMap,
+            Orientation.NATURAL,
+            true,
+            Aggregation.SUM,
+            concurrency,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+        ParallelUtil.runWithConcurrency(concurrency, batches(relationships.length, batchSize, (start, end) -> () -> {
+            HugeGraphUtil.LocalRelationshipsBuilder localBuilder = relationshipsBuilder.localBuilder();
+            for (int i = start; i < end; i++) {
+                localBuilder.add(relationships[i][0], relationships[i][1], relationships[i][2]);
+            }
+            localBuilder.flush();
+        }), Pools.DEFAULT);
+
+        return HugeGraphUtil.create(idMap, relationshipsBuilder.build(), AllocationTracker.EMPTY);
+    }
+
+    private static List<Runnable> batches(int length, int batchSize, BiFunction<Integer, Integer, Runnable> taskFn) {
+        List<Runnable> tasks = new ArrayList<>();
+        for (int start = 0; start < length; start += batchSize) {
+            tasks.add(taskFn.apply(start, Math.min(length, start + batchSize)));
+        }
+        return tasks;
+    }
+
     private Graph generateGraph(Orientation orientation, Aggregation aggregation) {
         int nodeCount = 4;
 
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InverseAdjacencyBuilderTest {
+
+    private static final int NODE_COUNT = 5_000;
+
+    @Test
+    void shouldInvertDirectedGraph() {
+        HugeGraph graph = randomGraph(Orientation.NATURAL);
+        assertIncomingRelationships(graph, graph);
+    }
+
+    @Test
+    void shouldInvertReverseGraph() {
+        HugeGraph graph = randomGraph(Orientation.REVERSE);
+        assertIncomingRelationships(graph, graph);
+    }
+
+    @Test
+    void shouldNotInvertUndirectedGraph() {
+        HugeGraph graph = randomGraph(Orientation.UNDIRECTED);
+        HugeGraph.TopologyCSR topology = graph.relationships().topology();
+
+        HugeGraph.TopologyCSR inverse = InverseAdjacencyBuilder.build(
+            graph.idMapping(),
+            topology,
+            4,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+
+        assertSame(topology, inverse);
+        for (long nodeId = 0; nodeId < NODE_COUNT; nodeId++) {
+            assertEquals(graph.degree(nodeId), graph.inDegree(nodeId));
+        }
+    }
+
+    @Test
+    void shouldCacheInverseInGraphStore() {
+        HugeGraph graph = randomGraph(Orientation.NATURAL);
+        GraphStore graphStore = GraphStore.of(graph, "REL", Optional.empty(), AllocationTracker.EMPTY);
+
+        HugeGraph.TopologyCSR inverse = graphStore.inverseRelationships("REL");
+        assertSame(inverse, graphStore.inverseRelationships("REL"));
+        assertEquals(graph.relationshipCount(), inverse.elementCount());
+        assertEquals(Orientation.REVERSE, inverse.orientation());
+
+        assertIncomingRelationships(graph, graphStore.getGraph("REL"));
+    }
+
+    @Test
+    void shouldReleaseInverseWithGraphStore() {
+        AllocationTracker tracker = AllocationTracker.create();
+        GraphStore graphStore = GraphStore.of(randomGraph(Orientation.NATURAL), "REL", Optional.empty(), tracker);
+
+        Graph graph = graphStore.getGraph("REL");
+        graph.prepareIncomingRelationships(4);
+        long trackedWithInverse = tracker.tracked();
+        assertTrue(trackedWithInverse > 0);
+
+        // the graph only shares the inverse of the graph store
+        graph.release();
+        assertEquals(trackedWithInverse, tracker.tracked());
+
+        graphStore.release();
+        long trackedAfterRelease = tracker.tracked();
+        assertTrue(trackedAfterRelease < trackedWithInverse);
+
+        graphStore.release();
+        assertEquals(trackedAfterRelease, tracker.tracked());
+    }
+
+    private static void assertIncomingRelationships(Graph expected, Graph actual) {
+        List<List<Long>> incoming = new ArrayList<>(NODE_COUNT);
+        for (int i = 0; i < NODE_COUNT; i++) {
+            incoming.add(new ArrayList<>());
+        }
+        for (long nodeId = 0; nodeId < NODE_COUNT; nodeId++) {
+            expected.forEachRelationship(nodeId, (sourceNodeId, targetNodeId) -> {
+                incoming.get((int) targetNodeId).add(sourceNodeId);
+                return true;
+            });
+        }
+
+        for (long nodeId = 0; nodeId < NODE_COUNT; nodeId++) {
+            List<Long> expectedSources = incoming.get((int) nodeId);
+            Collections.sort(expectedSources);
+
+            List<Long> actualSources = new ArrayList<>();
+            long targetNodeId = nodeId;
+            actual.forEachIncomingRelationship(nodeId, (node, sourceNodeId) -> {
+                assertEquals(targetNodeId, node);
+                actualSources.add(sourceNodeId);
+                return true;
+            });
+
+            assertEquals(expectedSources, actualSources);
+            assertEquals(expectedSources.size(), actual.inDegree(nodeId));
+        }
+    }
+
+    private static HugeGraph randomGraph(Orientation orientation) {
+        HugeGraphUtil.IdMapBuilder idMapBuilder = HugeGraphUtil.idMapBuilder(
+            NODE_COUNT,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+        for (int i = 0; i < NODE_COUNT; i++) {
+            idMapBuilder.addNode(i);
+        }
+        IdMap idMap = idMapBuilder.build();
+
+        HugeGraphUtil.RelationshipsBuilder relationshipsBuilder = HugeGraphUtil.createRelImporter(
+            idMap,
+            orientation,
+            false,
+            Aggregation.NONE,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+
+        Random random = new Random(42L);
+        for (int i = 0; i < NODE_COUNT; i++) {
+            int degree = random.nextInt(10);
+            for (int j = 0; j < degree; j++) {
+                // skew the targets towards low ids to create high in-degree nodes
+                int target = random.nextBoolean() ? random.nextInt(10) : random.nextInt(NODE_COUNT);
+                relationshipsBuilder.add(i, target);
+            }
+            // parallel relationship
+            relationshipsBuilder.add(i, (i + 1) % NODE_COUNT);
+            relationshipsBuilder.add(i, (i + 1) % NODE_COUNT);
+        }
+
+        return HugeGraphUtil.create(idMap, relationshipsBuilder.build(), AllocationTracker.EMPTY);
+    }
+}
@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
+import com.carrotsearch.hppc.LongHashSet;
 import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.RelationshipProjectionMapping;
@@ -27,6 +28,7 @@ import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTree;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -42,8 +44,8 @@ class NativeFactoryTest {
 
         MemoryEstimation memoryEstimation = NativeFactory.getMemoryEstimation(dimensions);
         MemoryTree estimate = memoryEstimation.estimate(dimensions, 1);
-        assertEquals(3_405_981_448L, estimate.memoryUsage().min);
-        assertEquals(4_606_168_240L, estimate.memoryUsage().max);
+        assertEquals(3_405_981_456L, estimate.memoryUsage().min);
+        assertEquals(4_606_168_248L, estimate.memoryUsage().max);
     }
 
     @Test
@@ -60,9 +62,28 @@ class NativeFactoryTest {
 
         MemoryTree estimate = NativeFactory.getMemoryEstimation(dimensions).estimate(dimensions, 1);
         long idMapMemoryUsage = IdMap.memoryEstimation().estimate(dimensions, 1).memoryUsage().min;
-        int instanceSize = 72;
+        int instanceSize = 80;
 
-        assertEquals(3_205_950_312L * 2 - idMapMemoryUsage - instanceSize, estimate.memoryUsage().min);
-        assertEquals(6_011_568_216L, estimate.memoryUsage().max);
+        assertEquals(3_205_950_320L * 2 - idMapMemoryUsage - instanceSize, estimate.memoryUsage().min);
+        assertEquals(6_011_568_224L, estimate.memoryUsage().max);
     }
-}
\ No newline at end of file
+
+    @Test
+    void memoryEstimationForSelectiveLabels() {
+        ImmutableGraphDimensions.Builder dimensionsBuilder = ImmutableGraphDimensions.builder()
+            .nodeCount(1_000_000L)
+            .highestNeoId(100_000_000L)
+            .maxRelCount(5_000_000L)
+            .relationshipProjectionMappings(RelationshipProjectionMappings.all());
+        GraphDimensions allNodes = dimensionsBuilder.build();
+        GraphDimensions labelScan = dimensionsBuilder.nodeLabelIds(LongHashSet.from(0L)).build();
+
+        MemoryTree allNodesEstimate = NativeFactory.getMemoryEstimation(allNodes).estimate(allNodes, 1);
+        MemoryTree labelScanEstimate = NativeFactory.getMemoryEstimation(labelScan).estimate(labelScan, 1);
+        long nodeIdsMemoryUsage = LabelScanNodesScanner.memoryEstimation().estimate(labelScan, 1).memoryUsage().min;
+
+        assertTrue(nodeIdsMemoryUsage > HugeLongArray.memoryEstimation(1_000_000L));
+        assertEquals(allNodesEstimate.memoryUsage().min + nodeIdsMemoryUsage, labelScanEstimate.memoryUsage().min);
+        assertEquals(allNodesEstimate.memoryUsage().max + nodeIdsMemoryUsage, labelScanEstimate.memoryUsage().max);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class NodePropertiesBuilderTest {
+
+    private static final int NODE_COUNT = 100_000;
+
+    @Test
+    void shouldStoreFullyPopulatedPropertiesDensely() {
+        NodePropertiesBuilder builder = builder(NODE_COUNT);
+        for (long nodeId = 0; nodeId < NODE_COUNT; nodeId++) {
+            builder.set(nodeId, nodeId * 2);
+        }
+        NodeProperties properties = builder.build();
+
+        assertTrue(properties instanceof NodePropertyArray);
+        assertEquals(NODE_COUNT, properties.size());
+        assertEquals(42.0, properties.nodeProperty(21));
+        assertEquals(42.0, properties.nodeProperty(21, 1337.0));
+        assertEquals(OptionalLong.of((NODE_COUNT - 1) * 2), properties.getMaxPropertyValue());
+    }
+
+    @Test
+    void shouldStoreMostlyPopulatedPropertiesDensely() {
+        NodePropertiesBuilder builder = builder(NODE_COUNT);
+        for (long nodeId = 0; nodeId < NODE_COUNT; nodeId += 2) {
+            builder.set(nodeId, nodeId);
+        }
+        NodeProperties properties = builder.build();
+
+        assertTrue(properties instanceof NodePropertyArray);
+        assertEquals(NODE_COUNT / 2, properties.size());
+        assertEquals(42.0, properties.nodeProperty(42));
+        assertEquals(42.0, properties.nodeProperty(42, Double.NaN));
+        assertEquals(-1.0, properties.nodeProperty(43));
+        assertTrue(Double.isNaN(properties.nodeProperty(43, Double.NaN)));
+        assertEquals(OptionalLong.of(NODE_COUNT - 2), properties.getMaxPropertyValue());
+    }
+
+    @Test
+    void shouldCopyPropertiesConcurrently() {
+        NodePropertiesBuilder builder = NodePropertiesBuilder.of(NODE_COUNT, AllocationTracker.EMPTY, -1.0, 0, "prop", 4);
+        for (long nodeId = 0; nodeId < NODE_COUNT; nodeId++) {
+            if (nodeId % 3 != 0) {
+                builder.set(nodeId, NODE_COUNT - nodeId);
+            }
+        }
+        NodeProperties properties = builder.build();
+
+        assertTrue(properties instanceof NodePropertyArray);
+        for (long nodeId = 0; nodeId < NODE_COUNT; nodeId++) {
+            double expected = nodeId % 3 != 0 ? NODE_COUNT - nodeId : -1.0;
+            assertEquals(expected, properties.nodeProperty(nodeId));
+        }
+        assertEquals(OptionalLong.of(NODE_COUNT - 1), properties.getMaxPropertyValue());
+    }
+
+    @Test
+    void shouldStoreSparselyPopulatedPropertiesInMap() {
+        NodePropertiesBuilder builder = builder(NODE_COUNT);
+        for (long nodeId = 0; nodeId < NODE_COUNT; nodeId += 10) {
+            builder.set(nodeId, nodeId);
+        }
+        NodeProperties properties = builder.build();
+
+        assertTrue(properties instanceof NodePropertyMap);
+        assertEquals(NODE_COUNT / 10, properties.size());
+        assertEquals(40.0, properties.nodeProperty(40));
+        assertEquals(-1.0, properties.nodeProperty(42));
+        assertTrue(Double.isNaN(properties.nodeProperty(42, Double.NaN)));
+    }
+
+    @Test
+    void shouldReportEmptyMaxValueForEmptyProperties() {
+        NodeProperties properties = builder(NODE_COUNT).build();
+
+        assertEquals(0, properties.size());
+        assertEquals(OptionalLong.empty(), properties.getMaxPropertyValue());
+    }
+
+    private static NodePropertiesBuilder builder(long nodeCount) {
+        return NodePropertiesBuilder.of(nodeCount, AllocationTracker.EMPTY, -1.0, 0, "prop", 1);
+    }
+}
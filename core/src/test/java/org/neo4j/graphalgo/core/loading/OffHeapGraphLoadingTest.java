@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.PropertyMappings;
+import org.neo4j.graphalgo.RelationshipProjection;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.TestDatabaseCreator;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.compat.GraphDbApi;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.GraphLoader;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.OffHeapAllocation;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.graphalgo.QueryRunner.runQuery;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+
+class OffHeapGraphLoadingTest {
+
+    private GraphDbApi db;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setup() {
+        db = TestDatabaseCreator.createTestDatabase();
+        runQuery(db, " CREATE (a:A {p: 1.0})" +
+                     " CREATE (b:A {p: 2.0})" +
+                     " CREATE (c:A {p: 3.0})" +
+                     " CREATE (a)-[:T {w: 42}]->(b)" +
+                     " CREATE (a)-[:T {w: 43}]->(c)" +
+                     " CREATE (b)-[:T {w: 44}]->(c)");
+        // a high degree node, whose adjacency list is searched through the skip index
+        runQuery(db, " CREATE (hub:A {p: 4.0})" +
+                     " WITH hub" +
+                     " UNWIND range(1, 300) AS i" +
+                     " CREATE (hub)-[:T {w: i}]->(:A {p: 5.0})");
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+        OffHeapAllocation.instance().reset();
+    }
+
+    @Test
+    void shouldLoadTheSameGraphOffHeap() {
+        GraphStore onHeap = loader().graphStore(NativeFactory.class);
+        OffHeapAllocation.instance().enable(true);
+        GraphStore offHeap = loader().graphStore(NativeFactory.class);
+
+        assertSameGraph(onHeap, offHeap);
+    }
+
+    @Test
+    void shouldReadPersistedGraphOffHeap() {
+        GraphLoader loader = loader();
+        GraphStore onHeap = loader.graphStore(NativeFactory.class);
+        Path directory = tempDir.resolve("graph");
+        GraphStoreFiles.write(ImmutableGraphStoreWithConfig.of(onHeap, loader.createConfig()), directory);
+
+        OffHeapAllocation.instance().enable(true);
+        GraphStore offHeap = GraphStoreFiles
+            .read(directory, "", "graph", AllocationTracker.create())
+            .graphStore();
+
+        assertSameGraph(onHeap, offHeap);
+    }
+
+    private GraphLoader loader() {
+        return new StoreLoaderBuilder()
+            .api(db)
+            .graphName("graph")
+            .addNodeLabel("A")
+            .addNodeProperty(PropertyMapping.of("p", 0.0))
+            .addRelationshipProjection(RelationshipProjection.builder()
+                .type("T")
+                .orientation(Orientation.NATURAL)
+                .properties(PropertyMappings.builder().addMapping("w", "w", 1.0, Aggregation.NONE).build())
+                .build())
+            .tracker(AllocationTracker.create())
+            .build();
+    }
+
+    private void assertSameGraph(GraphStore expected, GraphStore actual) {
+        Graph expectedGraph = expected.getGraph(singletonList("*"), Optional.of("w"));
+        Graph actualGraph = actual.getGraph(singletonList("*"), Optional.of("w"));
+        assertGraphEquals(expectedGraph, actualGraph);
+
+        NodeProperties expectedProperties = expectedGraph.nodeProperties("p");
+        NodeProperties actualProperties = actualGraph.nodeProperties("p");
+        for (long nodeId = 0; nodeId < expectedGraph.nodeCount(); nodeId++) {
+            assertEquals(expectedGraph.toOriginalNodeId(nodeId), actualGraph.toOriginalNodeId(nodeId));
+            assertEquals(expectedProperties.nodeProperty(nodeId), actualProperties.nodeProperty(nodeId));
+            expectedGraph.forEachRelationship(nodeId, (sourceNodeId, targetNodeId) -> {
+                assertEquals(
+                    expectedGraph.relationshipProperty(sourceNodeId, targetNodeId),
+                    actualGraph.relationshipProperty(sourceNodeId, targetNodeId)
+                );
+                return true;
+            });
+        }
+    }
+}
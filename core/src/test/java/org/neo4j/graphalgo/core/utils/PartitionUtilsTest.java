@@ -26,6 +26,8 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.utils.partition.Partition;
 import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -120,4 +122,62 @@ class PartitionUtilsTest {
         assertEquals(3, partitions.get(0).nodeCount);
     }
 
-}
\ No newline at end of file
+
+    @Test
+    void testDegreeBalancedPartitioningIsolatesSuperNodes() {
+        StringBuilder gdl = new StringBuilder();
+        for (int i = 0; i < 99; i++) {
+            gdl.append(String.format("(center)-->(leaf%d)", i));
+        }
+        Graph graph = TestGraph.Builder.fromGdl(gdl.toString());
+        long centerId = -1;
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            if (graph.degree(nodeId) == 99) {
+                centerId = nodeId;
+            }
+        }
+
+        // 100 nodes and 99 relationships, cut into 2 * 4 partitions
+        long partitionWeight = 25;
+        List<Partition> partitions = PartitionUtils.degreeBalancedPartitioning(graph, 2, 1);
+
+        // the range of the center node is started first
+        assertEquals(centerId, partitions.get(0).startNode);
+        assertEquals(1, partitions.get(0).nodeCount);
+
+        List<Partition> sortedPartitions = new ArrayList<>(partitions);
+        sortedPartitions.sort(Comparator.comparingLong(partition -> partition.startNode));
+        long expectedStart = 0;
+        for (Partition partition : sortedPartitions) {
+            assertEquals(expectedStart, partition.startNode);
+            long weight = 0;
+            for (long nodeId = partition.startNode; nodeId < partition.startNode + partition.nodeCount; nodeId++) {
+                weight += graph.degree(nodeId) + 1;
+            }
+            if (partition.startNode <= centerId && centerId < partition.startNode + partition.nodeCount) {
+                assertEquals(1, partition.nodeCount);
+            } else {
+                assertTrue(weight <= partitionWeight, String.format("partition weight %d exceeds %d", weight, partitionWeight));
+            }
+            expectedStart += partition.nodeCount;
+        }
+        assertEquals(graph.nodeCount(), expectedStart);
+        assertTrue(partitions.size() >= 5);
+    }
+
+    @Test
+    void testDegreeBalancedPartitioningRespectsMinPartitionWeight() {
+        Graph graph = TestGraph.Builder.fromGdl(
+            "(a)-->(b)" +
+            "(a)-->(c)" +
+            "(b)-->(a)" +
+            "(b)-->(c)"
+        );
+
+        List<Partition> partitions = PartitionUtils.degreeBalancedPartitioning(graph, 4, 100);
+        assertEquals(1, partitions.size());
+        assertEquals(0, partitions.get(0).startNode);
+        assertEquals(3, partitions.get(0).nodeCount);
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class HugeAtomicBitSetTest {
+
+    @Test
+    void testGetSetClear() {
+        HugeAtomicBitSet bitSet = HugeAtomicBitSet.create(42, AllocationTracker.EMPTY);
+        assertFalse(bitSet.get(7));
+        assertFalse(bitSet.getAndSet(7));
+        assertTrue(bitSet.get(7));
+        assertTrue(bitSet.getAndSet(7));
+        bitSet.set(41);
+        assertTrue(bitSet.get(41));
+        bitSet.clear(7);
+        assertFalse(bitSet.get(7));
+        assertTrue(bitSet.get(41));
+        assertEquals(42, bitSet.size());
+    }
+
+    @Test
+    void testSetRange() {
+        HugeAtomicBitSet bitSet = HugeAtomicBitSet.create(200, AllocationTracker.EMPTY);
+        bitSet.set(3, 150);
+        assertFalse(bitSet.get(2));
+        assertTrue(bitSet.get(3));
+        assertTrue(bitSet.get(64));
+        assertTrue(bitSet.get(149));
+        assertFalse(bitSet.get(150));
+        assertEquals(147, bitSet.cardinality());
+    }
+
+    @Test
+    void testNextSetBit() {
+        HugeAtomicBitSet bitSet = HugeAtomicBitSet.create(300, AllocationTracker.EMPTY);
+        assertEquals(-1, bitSet.nextSetBit(0));
+        bitSet.set(5);
+        bitSet.set(64);
+        bitSet.set(299);
+        assertEquals(5, bitSet.nextSetBit(0));
+        assertEquals(5, bitSet.nextSetBit(5));
+        assertEquals(64, bitSet.nextSetBit(6));
+        assertEquals(299, bitSet.nextSetBit(65));
+        assertEquals(-1, bitSet.nextSetBit(300));
+        assertEquals(64, bitSet.nextSetBit(6, 65));
+        assertEquals(-1, bitSet.nextSetBit(6, 64));
+        assertEquals(-1, bitSet.nextSetBit(65, 299));
+    }
+
+    @Test
+    void testClearAll() {
+        HugeAtomicBitSet bitSet = HugeAtomicBitSet.create(100, AllocationTracker.EMPTY);
+        bitSet.set(0, 100);
+        assertEquals(100, bitSet.cardinality());
+        bitSet.clear();
+        assertEquals(0, bitSet.cardinality());
+    }
+
+    @Test
+    void testSetInMultipleThreads() throws InterruptedException {
+        int size = 10_000;
+        HugeAtomicBitSet bitSet = HugeAtomicBitSet.create(size, AllocationTracker.EMPTY);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            pool.execute(() -> {
+                for (int i = offset; i < size; i += 4) {
+                    bitSet.set(i);
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(size, bitSet.cardinality());
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class NativeMemoryTest {
+
+    @Test
+    void shouldFreeMemoryOnRelease() {
+        AllocationTracker tracker = AllocationTracker.create();
+        Object owner = new Object();
+        NativeMemory.Allocation allocation = NativeMemory.allocate(owner, 64, tracker);
+        assertEquals(64, tracker.tracked());
+
+        tracker.remove(allocation.release());
+
+        assertTrue(allocation.isFreed());
+        assertEquals(0, tracker.tracked());
+        assertEquals(0, allocation.release());
+    }
+
+    @Test
+    void shouldKeepRetainedMemoryWhileTheHolderIsReachable() {
+        Object owner = new Object();
+        Object holder = new Object();
+        NativeMemory.Allocation allocation = NativeMemory.allocate(owner, 64, AllocationTracker.EMPTY);
+        allocation.retain(holder);
+
+        assertEquals(0, allocation.release());
+        // releasing again must not drop the reference of the holder
+        assertEquals(0, allocation.release());
+        assertFalse(allocation.isFreed());
+        NativeMemory.reachabilityFence(holder);
+    }
+
+    @Test
+    void shouldNotRetainReleasedMemory() {
+        NativeMemory.Allocation allocation = NativeMemory.allocate(new Object(), 64, AllocationTracker.EMPTY);
+        allocation.release();
+
+        assertThrows(IllegalStateException.class, () -> allocation.retain(new Object()));
+    }
+}
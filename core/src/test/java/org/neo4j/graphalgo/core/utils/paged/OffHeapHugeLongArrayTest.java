@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.junit.jupiter.api.Test;
+
+import static io.qala.datagen.RandomShortApi.integer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class OffHeapHugeLongArrayTest extends HugeArrayTestBase<long[], Long, HugeLongArray> {
+
+    @Test
+    void shouldAddToValues() {
+        testArray(10, array -> {
+            int index = integer(2, 8);
+            int value = integer(42, 1337);
+            array.set(index, value);
+            int newValue = integer(42, 1337);
+            array.addTo(index, newValue);
+            assertEquals(value + newValue, array.get(index));
+        });
+    }
+
+    @Test
+    void shouldBinaryOrAndAndValues() {
+        testArray(10, array -> {
+            array.set(4, 0b1100);
+            array.or(4, 0b0011);
+            assertEquals(0b1111, array.get(4));
+            assertEquals(0b0101, array.and(4, 0b0101));
+            assertEquals(0b0101, array.get(4));
+        });
+    }
+
+    @Test
+    void shouldCopyFromAndToHeapArrays() {
+        int size = integer(100_000, 200_000);
+        HugeLongArray onHeap = HugeLongArray.newPagedArray(size, AllocationTracker.EMPTY);
+        onHeap.setAll(index -> index + 42);
+        HugeLongArray offHeap = HugeLongArray.newOffHeapArray(size + 10, AllocationTracker.EMPTY);
+        offHeap.fill(1337);
+
+        onHeap.copyTo(offHeap, size);
+        for (long index = 0; index < size; index++) {
+            assertEquals(index + 42, offHeap.get(index));
+        }
+        for (long index = size; index < size + 10; index++) {
+            assertEquals(0L, offHeap.get(index));
+        }
+
+        HugeLongArray copy = HugeLongArray.newSingleArray(size, AllocationTracker.EMPTY);
+        offHeap.copyTo(copy, size);
+        for (long index = 0; index < size; index++) {
+            assertEquals(index + 42, copy.get(index));
+        }
+    }
+
+    @Test
+    void shouldTrackAndFreeNativeMemory() {
+        AllocationTracker tracker = AllocationTracker.create();
+        HugeLongArray array = HugeLongArray.newOffHeapArray(1000, tracker);
+
+        assertEquals(8000, tracker.tracked());
+        assertEquals(8000, array.sizeOf());
+        assertEquals(8000, array.release());
+        assertEquals(0, array.release());
+    }
+
+    @Test
+    void shouldFreeMemoryOnRelease() {
+        long liveAllocations = NativeMemory.liveAllocations();
+        HugeLongArray array = HugeLongArray.newOffHeapArray(10, AllocationTracker.EMPTY);
+        assertEquals(liveAllocations + 1, NativeMemory.liveAllocations());
+
+        array.release();
+
+        assertEquals(liveAllocations, NativeMemory.liveAllocations());
+    }
+
+    @Test
+    void shouldWriteThroughCursorsWithoutFlushing() {
+        int size = integer(100_000, 200_000);
+        HugeLongArray array = HugeLongArray.newOffHeapArray(size, AllocationTracker.EMPTY);
+        try (HugeCursor<long[]> cursor = array.initCursor(array.newCursor())) {
+            while (cursor.next()) {
+                for (int i = cursor.offset; i < cursor.limit; i++) {
+                    cursor.array[i] = cursor.base + i;
+                }
+            }
+        }
+        for (long index = 0; index < size; index++) {
+            assertEquals(index, array.get(index));
+        }
+    }
+
+    @Test
+    void shouldNotOverwriteConcurrentUpdatesWithUnchangedValues() {
+        HugeLongArray array = HugeLongArray.newOffHeapArray(10, AllocationTracker.EMPTY);
+        try (HugeCursor<long[]> cursor = array.initCursor(array.newCursor())) {
+            assertTrue(cursor.next());
+            cursor.array[cursor.offset + 1] = 1;
+            array.set(2, 2);
+        }
+        assertEquals(1, array.get(1));
+        assertEquals(2, array.get(2));
+    }
+
+    @Override
+    HugeLongArray singleArray(final int size) {
+        return HugeLongArray.newOffHeapArray(size, AllocationTracker.EMPTY);
+    }
+
+    @Override
+    HugeLongArray pagedArray(final int size) {
+        return HugeLongArray.newOffHeapArray(size, AllocationTracker.EMPTY);
+    }
+
+    @Override
+    long bufferSize(final int size) {
+        return (long) size * Long.BYTES;
+    }
+
+    @Override
+    Long box(final int value) {
+        return (long) value;
+    }
+
+    @Override
+    int unbox(final Long value) {
+        return value.intValue();
+    }
+
+    @Override
+    Long primitiveNull() {
+        return 0L;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+final class SparseDoubleAccumulatorTest {
+
+    @Test
+    void testAddAndClear() {
+        SparseDoubleAccumulator accumulator = SparseDoubleAccumulator.create(100, AllocationTracker.EMPTY);
+        accumulator.add(42, 1.5);
+        accumulator.add(7, 2.0);
+        accumulator.add(42, 0.5);
+        assertEquals(2, accumulator.size());
+        assertEquals(42, accumulator.key(0));
+        assertEquals(7, accumulator.key(1));
+        assertEquals(2.0, accumulator.get(42));
+        assertEquals(2.0, accumulator.get(7));
+        assertEquals(0.0, accumulator.get(13));
+
+        accumulator.clear();
+        assertEquals(0, accumulator.size());
+        assertEquals(0.0, accumulator.get(42));
+        assertEquals(0.0, accumulator.get(7));
+
+        accumulator.add(7, 1.0);
+        assertEquals(1, accumulator.size());
+        assertEquals(7, accumulator.key(0));
+        assertEquals(1.0, accumulator.get(7));
+    }
+
+    @Test
+    void testGrowsKeysUpToCapacity() {
+        int capacity = 1000;
+        SparseDoubleAccumulator accumulator = SparseDoubleAccumulator.create(capacity, AllocationTracker.EMPTY);
+        for (int round = 0; round < 2; round++) {
+            for (int key = capacity - 1; key >= 0; key--) {
+                accumulator.add(key, key);
+                accumulator.add(key, 1.0);
+            }
+            assertEquals(capacity, accumulator.size());
+            for (int i = 0; i < capacity; i++) {
+                long key = accumulator.key(i);
+                assertEquals(capacity - 1 - i, key);
+                assertEquals(key + 1.0, accumulator.get(key));
+            }
+            accumulator.clear();
+        }
+    }
+
+    @Test
+    void testPoolReusesAccumulators() {
+        AllocationTracker tracker = AllocationTracker.create();
+        SparseDoubleAccumulator.Pool pool = new SparseDoubleAccumulator.Pool(100, tracker);
+        SparseDoubleAccumulator accumulator = pool.acquire();
+        long trackedForOne = tracker.tracked();
+        accumulator.add(3, 1.0);
+        pool.recycle(accumulator);
+
+        SparseDoubleAccumulator reused = pool.acquire();
+        assertSame(accumulator, reused);
+        assertEquals(0, reused.size());
+        assertEquals(0.0, reused.get(3));
+        assertEquals(trackedForOne, tracker.tracked());
+
+        pool.recycle(reused);
+        pool.release();
+        assertEquals(0, tracker.tracked());
+    }
+}
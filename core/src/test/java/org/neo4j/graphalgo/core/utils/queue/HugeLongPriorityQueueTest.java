@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.queue;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static io.qala.datagen.RandomShortApi.integer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class HugeLongPriorityQueueTest {
+
+    @Test
+    void testIsEmpty() {
+        int capacity = integer(10, 20);
+        HugeLongPriorityQueue queue = HugeLongPriorityQueue.min(capacity, AllocationTracker.EMPTY);
+        assertEquals(0, queue.size());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void testClear() {
+        int maxSize = integer(3, 10);
+        HugeLongPriorityQueue queue = HugeLongPriorityQueue.min(maxSize, AllocationTracker.EMPTY);
+        int iterations = integer(3, maxSize);
+        for (int i = 0; i < iterations; i++) {
+            queue.add(i, integer(1, 5));
+        }
+        assertEquals(iterations, queue.size());
+        queue.clear();
+        assertEquals(0, queue.size());
+        for (int i = 0; i < iterations; i++) {
+            assertFalse(queue.containsElement(i));
+        }
+    }
+
+    @Test
+    void testAddAndPop() {
+        int capacity = integer(50, 100);
+        HugeLongPriorityQueue queue = HugeLongPriorityQueue.min(capacity, AllocationTracker.EMPTY);
+        Random random = new Random(42L);
+        double[] costs = new double[capacity];
+        for (int i = 0; i < capacity; i++) {
+            costs[i] = random.nextDouble();
+            queue.add(i, costs[i]);
+            assertTrue(queue.containsElement(i));
+        }
+
+        Integer[] expected = IntStream.range(0, capacity).boxed().toArray(Integer[]::new);
+        Arrays.sort(expected, Comparator.comparingDouble(i -> costs[i]));
+        for (int element : expected) {
+            assertEquals(costs[element], queue.topCost());
+            assertEquals(element, queue.pop());
+            assertFalse(queue.containsElement(element));
+            assertEquals(costs[element], queue.cost(element));
+        }
+        assertTrue(queue.isEmpty());
+        assertEquals(-1, queue.pop());
+    }
+
+    @Test
+    void testSet() {
+        int capacity = integer(50, 100);
+        HugeLongPriorityQueue queue = HugeLongPriorityQueue.max(capacity, AllocationTracker.EMPTY);
+        Random random = new Random(42L);
+        double[] costs = new double[capacity];
+        for (int i = 0; i < capacity; i++) {
+            costs[i] = random.nextDouble();
+            queue.set(i, costs[i]);
+        }
+        // move some elements up and some down
+        for (int i = 0; i < capacity; i += 3) {
+            costs[i] = random.nextDouble() * 2 - 0.5;
+            queue.set(i, costs[i]);
+        }
+        assertEquals(capacity, queue.size());
+
+        Integer[] expected = IntStream.range(0, capacity).boxed().toArray(Integer[]::new);
+        Arrays.sort(expected, Comparator.comparingDouble(i -> -costs[i]));
+        for (int element : expected) {
+            assertEquals(element, queue.pop());
+        }
+        assertTrue(queue.isEmpty());
+    }
+}
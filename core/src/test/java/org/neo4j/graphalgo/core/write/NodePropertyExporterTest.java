@@ -28,6 +28,7 @@ import org.neo4j.graphalgo.core.huge.DirectIdMapping;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
 
+import java.util.Arrays;
 import java.util.concurrent.ExecutorService;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -70,6 +71,24 @@ class NodePropertyExporterTest {
         transactionTerminationTest(Pools.DEFAULT);
     }
 
+    @Test
+    void writesMultiplePropertiesInSinglePass() {
+        NodePropertyExporter exporter = NodePropertyExporter.of(DB, new DirectIdMapping(3), TerminationFlag.RUNNING_TRUE)
+            .parallel(Pools.DEFAULT, 4)
+            .build();
+
+        exporter.write(Arrays.asList(
+            NodePropertyExporter.NodeProperty.of("multi1", 1.0, new DoublePropertyTranslator()),
+            NodePropertyExporter.NodeProperty.of("multi2", 2.0, new DoublePropertyTranslator())
+        ));
+
+        assertEquals(6, exporter.propertiesWritten());
+        runQueryWithRowConsumer(DB, "MATCH (n) RETURN SUM(n.multi1) AS sum1, SUM(n.multi2) AS sum2", row -> {
+            assertEquals(3.0, row.getNumber("sum1").doubleValue());
+            assertEquals(6.0, row.getNumber("sum2").doubleValue());
+        });
+    }
+
     private void transactionTerminationTest(ExecutorService executorService) {
         TerminationFlag terminationFlag = () -> false;
         NodePropertyExporter exporter = NodePropertyExporter.of(DB, new DirectIdMapping(3), terminationFlag)
@@ -19,15 +19,14 @@
  */
 package gds.example;
 
+import org.neo4j.graphalgo.beta.pregel.Messages;
 import org.neo4j.graphalgo.beta.pregel.PregelComputation;
 import org.neo4j.graphalgo.beta.pregel.PregelContext;
 
-import java.util.Queue;
-
 public class K1Coloring implements PregelComputation {
 
     @Override
-    public void compute(PregelContext context, long nodeId, Queue<Double> messages) {
+    public void compute(PregelContext context, long nodeId, Messages messages) {
         // your implementation here
     }
 }
@@ -21,17 +21,16 @@ package gds.example;
 
 import com.carrotsearch.hppc.BitSet;
 import com.carrotsearch.hppc.BitSetIterator;
+import org.neo4j.graphalgo.beta.pregel.Messages;
 import org.neo4j.graphalgo.beta.pregel.PregelComputation;
 import org.neo4j.graphalgo.beta.pregel.PregelContext;
 
-import java.util.Queue;
-
 // only works because we run through all maxIterations
 // does not terminate under normal circumstances
 public class K1ColoringAdvancedExample implements PregelComputation {
 
     @Override
-    public void compute(PregelContext context, long nodeId, Queue<Double> messages) {
+    public void compute(PregelContext context, long nodeId, Messages messages) {
         double nodeColor = context.getNodeValue(nodeId);
         double newColor;
         if (context.isInitialSuperStep()) {
@@ -40,13 +39,12 @@ public class K1ColoringAdvancedExample implements PregelComputation {
         } else {
             // We start by keeping our existing color
             newColor = nodeColor;
-            if (messages != null) {
+            if (messages.hasNext()) {
                 // There are messages for us. We keep track of all the neighbor's colors
                 // and choose the smallest one that is free
                 BitSet neighborColors = new BitSet();
-                Double message;
-                while ((message = messages.poll()) != null && !message.isNaN()) {
-                    neighborColors.set(message.longValue());
+                while (messages.hasNext()) {
+                    neighborColors.set((long) messages.next());
                 }
                 if (!neighborColors.isEmpty()) {
                     int possibleColor = 0;
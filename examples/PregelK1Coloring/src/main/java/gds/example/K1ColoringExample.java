@@ -19,15 +19,14 @@
  */
 package gds.example;
 
+import org.neo4j.graphalgo.beta.pregel.Messages;
 import org.neo4j.graphalgo.beta.pregel.PregelComputation;
 import org.neo4j.graphalgo.beta.pregel.PregelContext;
 
-import java.util.Queue;
-
 public class K1ColoringExample implements PregelComputation {
 
     @Override
-    public void compute(PregelContext context, long nodeId, Queue<Double> messages) {
+    public void compute(PregelContext context, long nodeId, Messages messages) {
         double nodeColor = context.getNodeValue(nodeId);
         double newColor;
         if (context.isInitialSuperStep()) {
@@ -36,15 +35,14 @@ public class K1ColoringExample implements PregelComputation {
         } else {
             // We start by keeping our existing color
             newColor = nodeColor;
-            if (messages != null) {
+            if (messages.hasNext()) {
                 // There are messages for us. We keep track if there is a neighbor
                 // that has the same color as us. If so, we will choose a new color
                 // that is one larger that the maximum of the neighbor's colors
                 double maxColor = 0;
                 boolean neighborWithSameColor = false;
-                Double message;
-                while ((message = messages.poll()) != null && !message.isNaN()) {
-                    double neighborColor = message;
+                while (messages.hasNext()) {
+                    double neighborColor = messages.next();
                     maxColor = Math.max(maxColor, neighborColor);
                     if (neighborColor == nodeColor) {
                         neighborWithSameColor = true;
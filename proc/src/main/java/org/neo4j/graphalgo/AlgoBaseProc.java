@@ -26,6 +26,7 @@ import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.GraphStoreFactory;
+import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.GraphLoader;
@@ -33,7 +34,10 @@ import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
 import org.neo4j.graphalgo.core.loading.GraphStore;
 import org.neo4j.graphalgo.core.loading.GraphStoreWithConfig;
+import org.neo4j.graphalgo.core.loading.GraphSummary;
 import org.neo4j.graphalgo.core.loading.ImmutableGraphStoreWithConfig;
+import org.neo4j.graphalgo.core.concurrency.Job;
+import org.neo4j.graphalgo.core.concurrency.JobScheduler;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
@@ -46,6 +50,7 @@ import org.neo4j.graphalgo.core.write.PropertyTranslator;
 import org.neo4j.graphalgo.config.AlgoBaseConfig;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.config.GraphCreateFromCypherConfig;
+import org.neo4j.graphalgo.config.MutateConfig;
 import org.neo4j.graphalgo.config.NodeWeightConfig;
 import org.neo4j.graphalgo.config.RelationshipWeightConfig;
 import org.neo4j.graphalgo.config.SeedConfig;
@@ -85,6 +90,10 @@ public abstract class AlgoBaseProc<A extends Algorithm<A, RESULT>, RESULT, CONFI
         }
         CONFIG algoConfig = newConfig(getUsername(), graphName, maybeImplicitCreate, config);
         validateConfig(config, algoConfig);
+        if (algoConfig instanceof MutateConfig && !graphName.isPresent()) {
+            throw new IllegalArgumentException(
+                "Cannot mutate implicitly loaded graphs. Use a loaded graph in the graph-catalog");
+        }
         return algoConfig;
     }
 
@@ -128,9 +137,9 @@ public abstract class AlgoBaseProc<A extends Algorithm<A, RESULT>, RESULT, CONFI
 
             // TODO get the dimensions from the graph itself.
             GraphCreateConfig graphCreateConfig = GraphStoreCatalog
-                .getLoadedGraphs(getUsername())
-                .keySet()
+                .getGraphSummaries(getUsername())
                 .stream()
+                .map(GraphSummary::config)
                 .filter(graph -> graph.graphName().equals(graphName))
                 .findFirst()
                 .get();
@@ -202,16 +211,19 @@ public abstract class AlgoBaseProc<A extends Algorithm<A, RESULT>, RESULT, CONFI
             throw new IllegalStateException("There must be either a graph name or an implicit create config");
         }
 
-        validateConfig(graphCandidate.config(), config);
+        validateConfig(graphCandidate, config);
         return graphCandidate.graphStore().getGraph(relationshipTypes, weightProperty);
     }
 
-    private void validateConfig(GraphCreateConfig graphCreateConfig, CONFIG config) {
+    private void validateConfig(GraphStoreWithConfig graphCandidate, CONFIG config) {
+        GraphCreateConfig graphCreateConfig = graphCandidate.config();
+        GraphStore graphStore = graphCandidate.graphStore();
         if (graphCreateConfig instanceof GraphCreateFromCypherConfig) {
             return;
         }
         if (config instanceof SeedConfig) {
-            Set<String> nodeProperties = graphCreateConfig.nodeProjections().allProperties();
+            Set<String> nodeProperties = new HashSet<>(graphCreateConfig.nodeProjections().allProperties());
+            nodeProperties.addAll(graphStore.nodePropertyKeys());
             String seedProperty = ((SeedConfig) config).seedProperty();
             if (seedProperty != null && !nodeProperties.contains(seedProperty)) {
                 throw new IllegalArgumentException(String.format(
@@ -223,6 +235,7 @@ public abstract class AlgoBaseProc<A extends Algorithm<A, RESULT>, RESULT, CONFI
         }
         if (config instanceof NodeWeightConfig) {
             Set<String> properties = new HashSet<>(graphCreateConfig.nodeProjections().allProperties());
+            properties.addAll(graphStore.nodePropertyKeys());
 
             String weightProperty = ((NodeWeightConfig) config).nodeWeightProperty();
             if (weightProperty != null && !properties.contains(weightProperty)) {
@@ -235,6 +248,7 @@ public abstract class AlgoBaseProc<A extends Algorithm<A, RESULT>, RESULT, CONFI
         }
         if (config instanceof RelationshipWeightConfig) {
             Set<String> properties = new HashSet<>(graphCreateConfig.relationshipProjections().allProperties());
+            graphStore.relationshipTypes().forEach(type -> properties.addAll(graphStore.relationshipPropertyKeys(type)));
 
             String weightProperty = ((RelationshipWeightConfig) config).relationshipWeightProperty();
             if (weightProperty != null && !properties.contains(weightProperty)) {
@@ -293,8 +307,23 @@ public abstract class AlgoBaseProc<A extends Algorithm<A, RESULT>, RESULT, CONFI
         RESULT result = runWithExceptionLogging(
             "Computation failed",
             () -> {
+                Job job = JobScheduler.instance().startJob(algoName(), getUsername(), config.concurrency());
+                boolean streaming = false;
                 try (ProgressTimer ignored = ProgressTimer.start(builder::computeMillis)) {
-                    return algo.compute();
+                    RESULT computed = algo.compute();
+                    if (computed instanceof Stream) {
+                        // streaming algorithms keep computing while the stream is consumed,
+                        // so their job only ends once the stream is closed
+                        streaming = true;
+                        return (RESULT) ((Stream<?>) computed).onClose(job::close);
+                    }
+                    return computed;
+                } finally {
+                    if (streaming) {
+                        job.detach();
+                    } else {
+                        job.close();
+                    }
                 }
             }
         );
@@ -358,6 +387,35 @@ public abstract class AlgoBaseProc<A extends Algorithm<A, RESULT>, RESULT, CONFI
         }
     }
 
+    protected NodeProperties nodeProperties(ComputationResult<A, RESULT, CONFIG> computationResult) {
+        throw new UnsupportedOperationException(
+            "Mutate procedures needs to implement org.neo4j.graphalgo.AlgoBaseProc.nodeProperties");
+    }
+
+    protected void mutateNodeProperties(
+        AbstractResultBuilder<?> mutateBuilder,
+        ComputationResult<A, RESULT, CONFIG> computationResult
+    ) {
+        NodeProperties resultProperties = nodeProperties(computationResult);
+
+        CONFIG config = computationResult.config();
+        if (!(config instanceof MutateConfig)) {
+            throw new IllegalArgumentException(String.format(
+                "Can only mutate results if the config implements %s.",
+                MutateConfig.class
+            ));
+        }
+
+        MutateConfig mutateConfig = (MutateConfig) config;
+        try (ProgressTimer ignored = ProgressTimer.start(mutateBuilder::withWriteMillis)) {
+            log.debug("Mutating in-memory graph");
+
+            GraphStore graphStore = GraphStoreCatalog.get(getUsername(), config.graphName().get()).graphStore();
+            graphStore.addNodeProperty(mutateConfig.mutateProperty(), resultProperties);
+            mutateBuilder.withNodePropertiesWritten(computationResult.graph().nodeCount());
+        }
+    }
+
     protected Stream<MemoryEstimateResult> computeEstimate(
         Object graphNameOrConfig,
         Map<String, Object> configuration
@@ -377,6 +435,10 @@ public abstract class AlgoBaseProc<A extends Algorithm<A, RESULT>, RESULT, CONFI
         return config instanceof WriteConfig;
     }
 
+    protected boolean shouldMutate(CONFIG config) {
+        return config instanceof MutateConfig;
+    }
+
     @ValueClass
     public interface ComputationResult<A extends Algorithm<A, RESULT>, RESULT, CONFIG extends AlgoBaseConfig> {
         long createMillis();
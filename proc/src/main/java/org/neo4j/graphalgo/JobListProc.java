@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo;
+
+import org.neo4j.graphalgo.core.concurrency.Job;
+import org.neo4j.graphalgo.core.concurrency.JobScheduler;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Procedure;
+
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+public class JobListProc {
+
+    private static final String DESCRIPTION = "Lists the running algorithms with their concurrency and task counts.";
+
+    @Procedure(name = "gds.alpha.jobs.list", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<JobInfo> list() {
+        long now = System.currentTimeMillis();
+        return JobScheduler.instance()
+            .jobs()
+            .stream()
+            .map(job -> new JobInfo(job, now));
+    }
+
+    public static class JobInfo {
+        public final long jobId;
+        public final String name;
+        public final String username;
+        public final long requestedConcurrency;
+        public final long concurrency;
+        public final long activeTasks;
+        public final long queuedTasks;
+        public final long completedTasks;
+        public final long elapsedMillis;
+
+        JobInfo(Job job, long now) {
+            this.jobId = job.id();
+            this.name = job.name();
+            this.username = job.username();
+            this.requestedConcurrency = job.requestedConcurrency();
+            this.concurrency = job.concurrency();
+            this.activeTasks = job.activeTasks();
+            this.queuedTasks = job.queuedTasks();
+            this.completedTasks = job.completedTasks();
+            this.elapsedMillis = now - job.startTime();
+        }
+    }
+}
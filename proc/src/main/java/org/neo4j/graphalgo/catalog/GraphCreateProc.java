@@ -156,7 +156,7 @@ public class GraphCreateProc extends CatalogProc {
     private GraphCreateResult createGraph(GraphCreateConfig config, Class<? extends GraphStoreFactory> factoryClazz) {
         GraphCreateResult.Builder builder = new GraphCreateResult.Builder(config);
         try (ProgressTimer ignored = ProgressTimer.start(builder::withCreateMillis)) {
-            GraphLoader loader = newLoader(config, AllocationTracker.EMPTY);
+            GraphLoader loader = newLoader(config, AllocationTracker.create());
             GraphStoreFactory graphStoreFactory = loader.build(factoryClazz);
             GraphStoreFactory.ImportResult importResult = graphStoreFactory.build();
 
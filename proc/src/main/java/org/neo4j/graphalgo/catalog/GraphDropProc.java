@@ -40,7 +40,7 @@ public class GraphDropProc extends CatalogProc {
 
         AtomicReference<GraphInfo> result = new AtomicReference<>();
         GraphStoreCatalog.remove(getUsername(), graphName, (removedGraph) -> {
-            result.set(new GraphInfo(removedGraph.config(), removedGraph.getGraph(), computeHistogram()));
+            result.set(new GraphInfo(removedGraph, computeHistogram()));
         });
 
         return Stream.of(result.get());
@@ -28,6 +28,7 @@ import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.config.GraphCreateFromCypherConfig;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.GraphSummary;
 
 import java.util.Map;
 
@@ -45,7 +46,12 @@ public class GraphInfo {
     public final long relationshipCount;
     public final Map<String, Object> degreeDistribution;
 
-    GraphInfo(GraphCreateConfig config, Graph graph, boolean computeHistogram) {
+    /**
+     * The degree distribution is only computed for graphs that are held in memory,
+     * graphs that have been spilled to disk report an empty distribution.
+     */
+    GraphInfo(GraphSummary summary, boolean computeHistogram) {
+        GraphCreateConfig config = summary.config();
         this.graphName = config.graphName();
         this.nodeProjection = config.nodeProjections().toObject();
         this.relationshipProjection = config.relationshipProjections().toObject();
@@ -55,9 +61,11 @@ public class GraphInfo {
         this.relationshipQuery = config instanceof GraphCreateFromCypherConfig
             ? ((GraphCreateFromCypherConfig) config).relationshipQuery()
             : null;
-        this.nodeCount = graph.nodeCount();
-        this.relationshipCount = graph.relationshipCount();
-        this.degreeDistribution = computeHistogram ? computeHistogram(graph) : emptyMap();
+        this.nodeCount = summary.nodeCount();
+        this.relationshipCount = summary.relationshipCount();
+        this.degreeDistribution = computeHistogram && summary.graph().isPresent()
+            ? computeHistogram(summary.graph().get())
+            : emptyMap();
     }
 
     private Map<String, Object> computeHistogram(Graph graph) {
@@ -19,14 +19,12 @@
  */
 package org.neo4j.graphalgo.catalog;
 
-import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
-import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.loading.GraphSummary;
 import org.neo4j.procedure.Description;
 import org.neo4j.procedure.Name;
 import org.neo4j.procedure.Procedure;
 
-import java.util.Map;
 import java.util.stream.Stream;
 
 import static org.neo4j.procedure.Mode.READ;
@@ -39,19 +37,18 @@ public class GraphListProc extends CatalogProc {
     @Procedure(name = "gds.graph.list", mode = READ)
     @Description(DESCRIPTION)
     public Stream<GraphInfo> list(@Name(value = "graphName", defaultValue = NO_VALUE) String graphName) {
-        Stream<Map.Entry<GraphCreateConfig, Graph>> graphEntries = GraphStoreCatalog
-            .getLoadedGraphs(getUsername())
-            .entrySet()
+        Stream<GraphSummary> graphEntries = GraphStoreCatalog
+            .getGraphSummaries(getUsername())
             .stream();
 
         if (graphName != null && !graphName.equals(NO_VALUE)) {
             validateGraphName(graphName);
 
             // we should only list the provided graph
-            graphEntries = graphEntries.filter(e -> e.getKey().graphName().equals(graphName));
+            graphEntries = graphEntries.filter(e -> e.config().graphName().equals(graphName));
         }
 
-        return graphEntries.map(e -> new GraphInfo(e.getKey(), e.getValue(), computeHistogram()));
+        return graphEntries.map(e -> new GraphInfo(e, computeHistogram()));
     }
 
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.GraphPersistenceDirectory;
+import org.neo4j.graphalgo.core.loading.GraphStore;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.loading.GraphStoreFiles;
+import org.neo4j.graphalgo.core.loading.GraphStoreWithConfig;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+public class GraphPersistProc extends CatalogProc {
+
+    private static final String DESCRIPTION = "Writes a named graph to a directory below the graph persistence directory, from which it can be loaded with `gds.graph.load`.";
+
+    @Procedure(name = "gds.graph.persist", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<PersistResult> persist(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "path") String path
+    ) {
+        validateGraphName(graphName);
+        CypherMapWrapper.failOnBlank("path", path);
+
+        GraphStoreWithConfig graphStoreWithConfig = GraphStoreCatalog.get(getUsername(), graphName);
+        Path directory = GraphPersistenceDirectory.instance().resolve(getUsername(), path);
+
+        AtomicLong persistMillis = new AtomicLong();
+        runWithExceptionLogging("Graph persistence failed", () -> {
+            try (ProgressTimer ignored = ProgressTimer.start(persistMillis::set)) {
+                GraphStoreFiles.write(graphStoreWithConfig, directory);
+            }
+        });
+
+        GraphStore graphStore = graphStoreWithConfig.graphStore();
+        return Stream.of(new PersistResult(
+            graphName,
+            path,
+            graphStore.nodeCount(),
+            graphStore.relationshipCount(),
+            persistMillis.get()
+        ));
+    }
+
+    public static class PersistResult {
+
+        public final String graphName;
+        public final String path;
+        public final long nodeCount;
+        public final long relationshipCount;
+        public final long persistMillis;
+
+        PersistResult(String graphName, String path, long nodeCount, long relationshipCount, long persistMillis) {
+            this.graphName = graphName;
+            this.path = path;
+            this.nodeCount = nodeCount;
+            this.relationshipCount = relationshipCount;
+            this.persistMillis = persistMillis;
+        }
+    }
+}
@@ -65,6 +65,8 @@ public abstract class LabelPropagationBaseProc<CONFIG extends LabelPropagationBa
             if (shouldWrite(config)) {
                 writeNodeProperties(builder, computationResult);
                 graph.releaseProperties();
+            } else if (shouldMutate(config)) {
+                mutateNodeProperties(builder, computationResult);
             }
         }
         return Stream.of(builder.build());
@@ -82,6 +82,8 @@ abstract class LouvainBaseProc<CONFIG extends LouvainBaseConfig> extends AlgoBas
         if (shouldWrite(config) && !writeConfig.writeProperty().isEmpty()) {
             writeNodeProperties(builder, computeResult);
             graph.releaseProperties();
+        } else if (shouldMutate(config)) {
+            mutateNodeProperties(builder, computeResult);
         }
 
         return Stream.of(builder.build());
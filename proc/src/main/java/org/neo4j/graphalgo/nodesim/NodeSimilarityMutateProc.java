@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.nodesim;
+
+import org.HdrHistogram.DoubleHistogram;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.loading.GraphStore;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.loading.HugeGraphUtil;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.results.MemoryEstimateResult;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+public class NodeSimilarityMutateProc extends NodeSimilarityBaseProc<NodeSimilarityMutateConfig> {
+
+    @Procedure(name = "gds.nodeSimilarity.mutate", mode = READ)
+    @Description(NODE_SIMILARITY_DESCRIPTION)
+    public Stream<NodeSimilarityWriteProc.WriteResult> mutate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<NodeSimilarity, NodeSimilarityResult, NodeSimilarityMutateConfig> result = compute(
+            graphNameOrConfig,
+            configuration
+        );
+        return mutate(result);
+    }
+
+    @Procedure(value = "gds.nodeSimilarity.mutate.estimate", mode = READ)
+    @Description(ESTIMATE_DESCRIPTION)
+    public Stream<MemoryEstimateResult> estimateMutate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        return computeEstimate(graphNameOrConfig, configuration);
+    }
+
+    @Override
+    protected NodeSimilarityMutateConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper userInput
+    ) {
+        return NodeSimilarityMutateConfig.of(username, graphName, maybeImplicitCreate, userInput);
+    }
+
+    private Stream<NodeSimilarityWriteProc.WriteResult> mutate(
+        ComputationResult<NodeSimilarity, NodeSimilarityResult, NodeSimilarityMutateConfig> computationResult
+    ) {
+        NodeSimilarityMutateConfig config = computationResult.config();
+
+        if (computationResult.isGraphEmpty()) {
+            return Stream.of(
+                new NodeSimilarityWriteProc.WriteResult(
+                    computationResult.createMillis(),
+                    0,
+                    0,
+                    0,
+                    0,
+                    0,
+                    Collections.emptyMap(),
+                    config.toMap()
+                )
+            );
+        }
+
+        SimilarityGraphResult similarityGraphResult = computationResult.result().maybeGraphResult().get();
+        Graph similarityGraph = similarityGraphResult.similarityGraph();
+
+        NodeSimilarityWriteProc.WriteResultBuilder resultBuilder = new NodeSimilarityWriteProc.WriteResultBuilder();
+        resultBuilder
+            .withNodesCompared(similarityGraphResult.comparedNodes())
+            .withRelationshipsWritten(similarityGraph.relationshipCount());
+        resultBuilder.withCreateMillis(computationResult.createMillis());
+        resultBuilder.withComputeMillis(computationResult.computeMillis());
+        resultBuilder.withConfig(config);
+
+        boolean shouldComputeHistogram = callContext
+            .outputFields()
+            .anyMatch(s -> s.equalsIgnoreCase("similarityDistribution"));
+
+        try (ProgressTimer ignored = ProgressTimer.start(resultBuilder::withWriteMillis)) {
+            GraphStore graphStore = GraphStoreCatalog.get(getUsername(), config.graphName().get()).graphStore();
+            graphStore.addRelationshipType(
+                config.mutateRelationshipType(),
+                Optional.of(config.mutateProperty()),
+                similarityRelationships(similarityGraph, graphStore, computationResult.tracker())
+            );
+        }
+
+        if (shouldComputeHistogram) {
+            try (ProgressTimer ignored = resultBuilder.timePostProcessing()) {
+                DoubleHistogram histogram = computeHistogram(similarityGraph);
+                resultBuilder.withHistogram(histogram);
+            }
+        }
+        return Stream.of(resultBuilder.build());
+    }
+
+    /**
+     * The similarity graph is already compressed when it was built from a stream of similarities.
+     * Only the top-k graph needs to be turned into adjacency lists first.
+     */
+    private HugeGraph.Relationships similarityRelationships(
+        Graph similarityGraph,
+        GraphStore graphStore,
+        AllocationTracker tracker
+    ) {
+        if (similarityGraph instanceof HugeGraph) {
+            return ((HugeGraph) similarityGraph).relationships();
+        }
+
+        HugeGraphUtil.RelationshipsBuilder relationshipsBuilder = HugeGraphUtil.createRelImporter(
+            graphStore.nodes(),
+            Orientation.NATURAL,
+            true,
+            Aggregation.NONE,
+            Pools.DEFAULT,
+            tracker
+        );
+        similarityGraph.forEachNode(nodeId -> {
+            similarityGraph.forEachRelationship(nodeId, Double.NaN, (source, target, similarity) -> {
+                relationshipsBuilder.addFromInternal(source, target, similarity);
+                return true;
+            });
+            return true;
+        });
+        return relationshipsBuilder.build();
+    }
+}
@@ -72,6 +72,8 @@ abstract class PageRankBaseProc<CONFIG extends PageRankBaseConfig> extends AlgoB
             if (shouldWrite(config) && !writeConfig.writeProperty().isEmpty()) {
                 writeNodeProperties(builder, computeResult);
                 graph.releaseProperties();
+            } else if (shouldMutate(config)) {
+                mutateNodeProperties(builder, computeResult);
             }
 
             return Stream.of(builder.build());
@@ -69,6 +69,8 @@ public abstract class WccBaseProc<CONFIG extends WccBaseConfig> extends AlgoBase
             if (shouldWrite(config)) {
                 writeNodeProperties(builder, computeResult);
                 graph.releaseProperties();
+            } else if (shouldMutate(config)) {
+                mutateNodeProperties(builder, computeResult);
             }
 
             return Stream.of(builder.build());
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.concurrency.Job;
+import org.neo4j.graphalgo.core.concurrency.JobScheduler;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.neo4j.graphalgo.compat.MapUtil.map;
+
+class JobListProcTest extends BaseProcTest {
+
+    @BeforeEach
+    void setUp() throws Exception {
+        db = TestDatabaseCreator.createTestDatabase();
+        registerProcedures(JobListProc.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+    }
+
+    @Test
+    void shouldListNoJobsWhenIdle() {
+        assertCypherResult("CALL gds.alpha.jobs.list() YIELD jobId RETURN jobId", emptyList());
+    }
+
+    @Test
+    void shouldListRunningJobs() {
+        try (Job job = JobScheduler.instance().startJob("PageRankStreamProc", "alice", 2)) {
+            assertCypherResult(
+                "CALL gds.alpha.jobs.list() " +
+                "YIELD jobId, name, username, requestedConcurrency, activeTasks, queuedTasks, completedTasks",
+                singletonList(map(
+                    "jobId", job.id(),
+                    "name", "PageRankStreamProc",
+                    "username", "alice",
+                    "requestedConcurrency", 2L,
+                    "activeTasks", 0L,
+                    "queuedTasks", 0L,
+                    "completedTasks", 0L
+                ))
+            );
+        }
+    }
+}
@@ -28,16 +28,22 @@ import org.neo4j.graphalgo.beta.k1coloring.K1ColoringWriteProc;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationStreamProc;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimizationWriteProc;
 import org.neo4j.graphalgo.compat.MapUtil;
+import org.neo4j.graphalgo.labelpropagation.LabelPropagationMutateProc;
 import org.neo4j.graphalgo.labelpropagation.LabelPropagationStreamProc;
 import org.neo4j.graphalgo.labelpropagation.LabelPropagationWriteProc;
+import org.neo4j.graphalgo.louvain.LouvainMutateProc;
 import org.neo4j.graphalgo.louvain.LouvainStreamProc;
 import org.neo4j.graphalgo.louvain.LouvainWriteProc;
 import org.neo4j.graphalgo.catalog.GraphCreateProc;
 import org.neo4j.graphalgo.catalog.GraphDropProc;
 import org.neo4j.graphalgo.catalog.GraphExistsProc;
 import org.neo4j.graphalgo.catalog.GraphListProc;
+import org.neo4j.graphalgo.catalog.GraphLoadProc;
+import org.neo4j.graphalgo.catalog.GraphPersistProc;
+import org.neo4j.graphalgo.pagerank.PageRankMutateProc;
 import org.neo4j.graphalgo.pagerank.PageRankStreamProc;
 import org.neo4j.graphalgo.pagerank.PageRankWriteProc;
+import org.neo4j.graphalgo.wcc.WccMutateProc;
 import org.neo4j.graphalgo.wcc.WccStreamProc;
 import org.neo4j.graphalgo.wcc.WccWriteProc;
 
@@ -71,7 +77,11 @@ class ListProcTest extends BaseProcTest {
         "gds.graph.drop",
         "gds.graph.exists",
         "gds.graph.list",
+        "gds.graph.load",
+        "gds.graph.persist",
 
+        "gds.labelPropagation.mutate",
+        "gds.labelPropagation.mutate.estimate",
         "gds.labelPropagation.stats",
         "gds.labelPropagation.stats.estimate",
         "gds.labelPropagation.stream",
@@ -79,6 +89,8 @@ class ListProcTest extends BaseProcTest {
         "gds.labelPropagation.write",
         "gds.labelPropagation.write.estimate",
 
+        "gds.louvain.mutate",
+        "gds.louvain.mutate.estimate",
         "gds.louvain.stats",
         "gds.louvain.stats.estimate",
         "gds.louvain.stream",
@@ -86,6 +98,8 @@ class ListProcTest extends BaseProcTest {
         "gds.louvain.write",
         "gds.louvain.write.estimate",
 
+        "gds.pageRank.mutate",
+        "gds.pageRank.mutate.estimate",
         "gds.pageRank.stats",
         "gds.pageRank.stats.estimate",
         "gds.pageRank.stream",
@@ -93,6 +107,8 @@ class ListProcTest extends BaseProcTest {
         "gds.pageRank.write",
         "gds.pageRank.write.estimate",
 
+        "gds.wcc.mutate",
+        "gds.wcc.mutate.estimate",
         "gds.wcc.stats",
         "gds.wcc.stats.estimate",
         "gds.wcc.stream",
@@ -108,6 +124,8 @@ class ListProcTest extends BaseProcTest {
     );
 
     private static final List<String> PAGE_RANK = asList(
+        "gds.pageRank.mutate",
+        "gds.pageRank.mutate.estimate",
         "gds.pageRank.stats",
         "gds.pageRank.stats.estimate",
         "gds.pageRank.stream",
@@ -126,18 +144,24 @@ class ListProcTest extends BaseProcTest {
             GraphDropProc.class,
             GraphExistsProc.class,
             GraphListProc.class,
+            GraphLoadProc.class,
+            GraphPersistProc.class,
             GraphGenerateProc.class,
             K1ColoringWriteProc.class,
             K1ColoringStreamProc.class,
+            LabelPropagationMutateProc.class,
             LabelPropagationWriteProc.class,
             LabelPropagationStreamProc.class,
             ListProc.class,
+            LouvainMutateProc.class,
             LouvainWriteProc.class,
             LouvainStreamProc.class,
             ModularityOptimizationWriteProc.class,
             ModularityOptimizationStreamProc.class,
+            PageRankMutateProc.class,
             PageRankWriteProc.class,
             PageRankStreamProc.class,
+            WccMutateProc.class,
             WccWriteProc.class,
             WccStreamProc.class
         );
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Base class for tests of mutate procedures, which store their result as a node property of a graph in the catalog.
+ * Node properties are read by their Neo4j node id, so that they can be compared to the results of other modes.
+ */
+public abstract class MutateBaseProcTest extends BaseProcTest {
+
+    @AfterEach
+    void teardown() {
+        db.shutdown();
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    /**
+     * Asserts that the stream query returns the same values that have been stored in the given node property.
+     *
+     * @param streamQuery  a stream procedure call that yields `nodeId` and the given result column
+     * @param resultColumn the column of the stream procedure that corresponds to the mutated property
+     */
+    protected void assertMutatedPropertyMatchesStream(
+        String graphName,
+        String mutateProperty,
+        String streamQuery,
+        String resultColumn
+    ) {
+        Map<Long, Double> expected = new HashMap<>();
+        runQueryWithRowConsumer(
+            streamQuery,
+            row -> expected.put(row.getNumber("nodeId").longValue(), row.getNumber(resultColumn).doubleValue())
+        );
+
+        assertMapEquals(expected, mutatedProperty(graphName, mutateProperty));
+    }
+
+    /**
+     * Returns the values of the given node property of a graph in the catalog, keyed by Neo4j node id.
+     */
+    protected Map<Long, Double> mutatedProperty(String graphName, String mutateProperty) {
+        Graph graph = GraphStoreCatalog.get(getUsername(), graphName).getGraph();
+        NodeProperties properties = graph.nodeProperties(mutateProperty);
+        Map<Long, Double> values = new HashMap<>();
+        graph.forEachNode(nodeId -> {
+            values.put(graph.toOriginalNodeId(nodeId), properties.nodeProperty(nodeId));
+            return true;
+        });
+        return values;
+    }
+
+    /**
+     * Returns the values of the given node property as an array that is indexed by Neo4j node id.
+     */
+    protected long[] mutatedCommunities(String graphName, String mutateProperty) {
+        Map<Long, Double> values = mutatedProperty(graphName, mutateProperty);
+        long[] communities = new long[values.size()];
+        values.forEach((nodeId, community) -> communities[Math.toIntExact(nodeId)] = community.longValue());
+        return communities;
+    }
+}
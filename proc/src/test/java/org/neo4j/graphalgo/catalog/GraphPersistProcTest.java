@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.TestDatabaseCreator;
+import org.neo4j.graphalgo.core.loading.GraphPersistenceDirectory;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.nio.file.Path;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.neo4j.graphalgo.compat.MapUtil.map;
+
+class GraphPersistProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:A {p: 1.0})" +
+        ", (b:A {p: 2.0})" +
+        ", (a)-[:REL {w: 4.2}]->(b)" +
+        ", (b)-[:REL {w: 1.3}]->(a)";
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setup() throws Exception {
+        db = TestDatabaseCreator.createTestDatabase();
+        registerProcedures(
+            GraphCreateProc.class,
+            GraphDropProc.class,
+            GraphListProc.class,
+            GraphPersistProc.class,
+            GraphLoadProc.class
+        );
+        runQuery(DB_CYPHER);
+        GraphPersistenceDirectory.instance().configure(tempDir);
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+        GraphStoreCatalog.removeAllLoadedGraphs();
+        GraphPersistenceDirectory.instance().reset();
+    }
+
+    @Test
+    void shouldLoadPersistedGraph() {
+        String path = "graphs/graph";
+        runQuery("CALL gds.graph.create('g', {A: {properties: 'p'}}, {REL: {properties: 'w'}})");
+
+        assertCypherResult(
+            "CALL gds.graph.persist('g', $path)",
+            map("path", path),
+            singletonList(map(
+                "graphName", "g",
+                "path", path,
+                "nodeCount", 2L,
+                "relationshipCount", 2L,
+                "persistMillis", greaterThanOrEqualTo(0L)
+            ))
+        );
+
+        runQuery("CALL gds.graph.drop('g')");
+
+        assertCypherResult(
+            "CALL gds.graph.load('g', $path)",
+            map("path", path),
+            singletonList(map(
+                "graphName", "g",
+                "path", path,
+                "nodeCount", 2L,
+                "relationshipCount", 2L,
+                "loadMillis", greaterThanOrEqualTo(0L)
+            ))
+        );
+
+        assertCypherResult(
+            "CALL gds.graph.list('g') YIELD graphName, nodeProjection, relationshipProjection, nodeCount, relationshipCount",
+            singletonList(map(
+                "graphName", "g",
+                "nodeProjection", map(
+                    "A", map(
+                        "label", "A",
+                        "properties", map("p", map("property", "p", "defaultValue", Double.NaN))
+                    )
+                ),
+                "relationshipProjection", map(
+                    "REL", map(
+                        "type", "REL",
+                        "orientation", "NATURAL",
+                        "aggregation", "DEFAULT",
+                        "properties", map("w", map("property", "w", "defaultValue", Double.NaN, "aggregation", "DEFAULT"))
+                    )
+                ),
+                "nodeCount", 2L,
+                "relationshipCount", 2L
+            ))
+        );
+    }
+
+    @Test
+    void shouldFailToLoadIntoExistingGraph() {
+        String path = "graphs/graph";
+        runQuery("CALL gds.graph.create('g', 'A', 'REL')");
+        runQuery("CALL gds.graph.persist('g', $path)", map("path", path));
+
+        assertError(
+            "CALL gds.graph.load('g', $path)",
+            map("path", path),
+            "A graph with name 'g' already exists."
+        );
+    }
+
+    @Test
+    void shouldFailToPersistIntoNonEmptyDirectory() {
+        String path = "graphs/graph";
+        runQuery("CALL gds.graph.create('g', 'A', 'REL')");
+        runQuery("CALL gds.graph.persist('g', $path)", map("path", path));
+
+        assertError(
+            "CALL gds.graph.persist('g', $path)",
+            map("path", path),
+            String.format(
+                "Directory `%s` is not empty.",
+                GraphPersistenceDirectory.instance().resolve(getUsername(), path)
+            )
+        );
+    }
+
+    @Test
+    void shouldFailToPersistToAbsolutePath() {
+        String path = tempDir.resolve("graph").toAbsolutePath().toString();
+        runQuery("CALL gds.graph.create('g', 'A', 'REL')");
+
+        assertError(
+            "CALL gds.graph.persist('g', $path)",
+            map("path", path),
+            String.format("Path `%s` must be relative to the graph persistence directory.", path)
+        );
+    }
+
+    @Test
+    void shouldFailToPersistOutsideOfTheUserDirectory() {
+        String path = "graphs/../../alice/graph";
+        runQuery("CALL gds.graph.create('g', 'A', 'REL')");
+
+        assertError(
+            "CALL gds.graph.persist('g', $path)",
+            map("path", path),
+            String.format("Path `%s` must not contain `.` or `..` segments.", path)
+        );
+    }
+
+    @Test
+    void shouldNotLoadGraphsPersistedByOtherUsers() {
+        String path = "graph";
+        runQuery("alice", "CALL gds.graph.create('g', 'A', 'REL')", emptyMap());
+        runQuery("alice", "CALL gds.graph.persist('g', $path)", map("path", path));
+
+        assertError(
+            "CALL gds.graph.load('g', $path)",
+            map("path", path),
+            String.format(
+                "Directory `%s` does not contain a persisted graph.",
+                GraphPersistenceDirectory.instance().resolve(getUsername(), path)
+            )
+        );
+    }
+}
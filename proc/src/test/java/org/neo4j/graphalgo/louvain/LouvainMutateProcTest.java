@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.louvain;
+
+import org.intellij.lang.annotations.Language;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.CommunityHelper;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.MutateBaseProcTest;
+import org.neo4j.graphalgo.TestDatabaseCreator;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.wcc.WccMutateProc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LouvainMutateProcTest extends MutateBaseProcTest {
+
+    private static final long[][] EXPECTED_COMMUNITIES = {new long[]{0L, 1L, 2L, 3L}, new long[]{4L, 5L, 6L, 7L}};
+
+    @BeforeEach
+    void setupGraph() throws Exception {
+        db = TestDatabaseCreator.createTestDatabase();
+
+        @Language("Cypher") String cypher =
+            "CREATE" +
+            "  (a:Node)" +
+            ", (b:Node)" +
+            ", (c:Node)" +
+            ", (d:Node)" +
+            ", (e:Node)" +
+            ", (f:Node)" +
+            ", (g:Node)" +
+            ", (h:Node)" +
+            ", (a)-[:TYPE]->(b)" +
+            ", (a)-[:TYPE]->(c)" +
+            ", (a)-[:TYPE]->(d)" +
+            ", (b)-[:TYPE]->(c)" +
+            ", (b)-[:TYPE]->(d)" +
+            ", (c)-[:TYPE]->(d)" +
+            ", (e)-[:TYPE]->(f)" +
+            ", (e)-[:TYPE]->(g)" +
+            ", (e)-[:TYPE]->(h)" +
+            ", (f)-[:TYPE]->(g)" +
+            ", (f)-[:TYPE]->(h)" +
+            ", (g)-[:TYPE]->(h)";
+
+        registerProcedures(LouvainMutateProc.class, WccMutateProc.class, GraphCreateProc.class);
+        runQuery(cypher);
+        runQuery("CALL gds.graph.create('myGraph', 'Node', {TYPE: {orientation: 'UNDIRECTED'}})");
+    }
+
+    @Test
+    void testMutate() {
+        String query = GdsCypher.call()
+            .explicitCreation("myGraph")
+            .algo("louvain")
+            .mutateMode()
+            .addParameter("mutateProperty", "community")
+            .yields("nodePropertiesWritten", "communityCount");
+
+        runQueryWithRowConsumer(query, row -> {
+            assertEquals(8L, row.getNumber("nodePropertiesWritten"));
+            assertEquals(2L, row.getNumber("communityCount"));
+        });
+
+        CommunityHelper.assertCommunities(mutatedCommunities("myGraph", "community"), EXPECTED_COMMUNITIES);
+    }
+
+    @Test
+    void testMutateSeededByMutatedComponents() {
+        runQuery("CALL gds.wcc.mutate('myGraph', {mutateProperty: 'componentId'})");
+
+        String query = GdsCypher.call()
+            .explicitCreation("myGraph")
+            .algo("louvain")
+            .mutateMode()
+            .addParameter("mutateProperty", "community")
+            .addParameter("seedProperty", "componentId")
+            .yields("communityCount");
+
+        runQueryWithRowConsumer(query, row -> assertEquals(2L, row.getNumber("communityCount")));
+
+        long[] components = mutatedCommunities("myGraph", "componentId");
+        long[] communities = mutatedCommunities("myGraph", "community");
+        CommunityHelper.assertCommunities(communities, EXPECTED_COMMUNITIES);
+        for (int nodeId = 0; nodeId < communities.length; nodeId++) {
+            assertEquals(components[nodeId], communities[nodeId]);
+        }
+    }
+
+    @Test
+    void testMutateFailsWithIntermediateCommunities() {
+        assertError(
+            "CALL gds.louvain.mutate('myGraph', {mutateProperty: 'community', includeIntermediateCommunities: true})",
+            "Intermediate communities cannot be stored as a node property of the in-memory graph."
+        );
+    }
+}
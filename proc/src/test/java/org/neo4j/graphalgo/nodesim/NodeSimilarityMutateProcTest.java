@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.nodesim;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.TestDatabaseCreator;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.graphalgo.nodesim.NodeSimilarityBaseProcTest.DB_CYPHER;
+
+class NodeSimilarityMutateProcTest extends BaseProcTest {
+
+    @BeforeEach
+    void setupGraph() throws Exception {
+        db = TestDatabaseCreator.createTestDatabase();
+        registerProcedures(NodeSimilarityMutateProc.class, GraphCreateProc.class);
+        runQuery(DB_CYPHER);
+        runQuery("CALL gds.graph.create('myGraph', ['Person', 'Item'], 'LIKES')");
+    }
+
+    @AfterEach
+    void teardown() {
+        db.shutdown();
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void testMutateTopK() {
+        String query = GdsCypher.call()
+            .explicitCreation("myGraph")
+            .algo("nodeSimilarity")
+            .mutateMode()
+            .addParameter("mutateRelationshipType", "SIMILAR")
+            .addParameter("mutateProperty", "score")
+            .yields("nodesCompared", "relationshipsWritten");
+
+        runQueryWithRowConsumer(query, row -> {
+            assertEquals(3L, row.getNumber("nodesCompared"));
+            assertEquals(4L, row.getNumber("relationshipsWritten"));
+        });
+
+        Graph similarityGraph = GraphStoreCatalog.get("", "myGraph")
+            .graphStore()
+            .getGraph("SIMILAR", Optional.of("score"));
+
+        assertEquals(4L, similarityGraph.relationshipCount());
+        assertEquals(2 / 3.0, similarityGraph.relationshipProperty(0, 1), 1E-5);
+        assertEquals(1 / 3.0, similarityGraph.relationshipProperty(0, 2), 1E-5);
+        assertEquals(2 / 3.0, similarityGraph.relationshipProperty(1, 0), 1E-5);
+        assertEquals(1 / 3.0, similarityGraph.relationshipProperty(2, 0), 1E-5);
+    }
+
+    @Test
+    void testMutateTopN() {
+        String query = GdsCypher.call()
+            .explicitCreation("myGraph")
+            .algo("nodeSimilarity")
+            .mutateMode()
+            .addParameter("mutateRelationshipType", "SIMILAR")
+            .addParameter("mutateProperty", "score")
+            .addParameter("topN", 1)
+            .yields("relationshipsWritten");
+
+        runQueryWithRowConsumer(query, row -> assertEquals(1L, row.getNumber("relationshipsWritten")));
+
+        Graph similarityGraph = GraphStoreCatalog.get("", "myGraph")
+            .graphStore()
+            .getGraph("SIMILAR", Optional.of("score"));
+
+        assertEquals(1L, similarityGraph.relationshipCount());
+        assertEquals(2 / 3.0, similarityGraph.relationshipProperty(0, 1), 1E-5);
+    }
+
+    @Test
+    void testMutateFailsOnExistingRelationshipType() {
+        assertError(
+            "CALL gds.nodeSimilarity.mutate('myGraph', {mutateRelationshipType: 'LIKES', mutateProperty: 'score'})",
+            "Relationship type `LIKES` already exists in the in-memory graph."
+        );
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.pagerank;
+
+import org.intellij.lang.annotations.Language;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.MutateBaseProcTest;
+import org.neo4j.graphalgo.TestDatabaseCreator;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PageRankMutateProcTest extends MutateBaseProcTest {
+
+    @BeforeEach
+    void setupGraph() throws Exception {
+        db = TestDatabaseCreator.createTestDatabase();
+
+        @Language("Cypher") String cypher =
+            "CREATE" +
+            "  (a:Node)" +
+            ", (b:Node)" +
+            ", (c:Node)" +
+            ", (d:Node)" +
+            ", (e:Node)" +
+            ", (f:Node)" +
+            ", (a)-[:TYPE]->(b)" +
+            ", (b)-[:TYPE]->(c)" +
+            ", (c)-[:TYPE]->(a)" +
+            ", (d)-[:TYPE]->(a)" +
+            ", (e)-[:TYPE]->(f)" +
+            ", (f)-[:TYPE]->(e)";
+
+        registerProcedures(PageRankMutateProc.class, PageRankStreamProc.class, GraphCreateProc.class);
+        runQuery(cypher);
+        runQuery("CALL gds.graph.create('myGraph', 'Node', 'TYPE')");
+    }
+
+    @Test
+    void testMutateMatchesStream() {
+        String query = GdsCypher.call()
+            .explicitCreation("myGraph")
+            .algo("pageRank")
+            .mutateMode()
+            .addParameter("mutateProperty", "score")
+            .yields("nodePropertiesWritten");
+
+        runQueryWithRowConsumer(query, row -> assertEquals(6L, row.getNumber("nodePropertiesWritten")));
+
+        String streamQuery = GdsCypher.call()
+            .explicitCreation("myGraph")
+            .algo("pageRank")
+            .streamMode()
+            .yields("nodeId", "score");
+        assertMutatedPropertyMatchesStream("myGraph", "score", streamQuery, "score");
+    }
+}
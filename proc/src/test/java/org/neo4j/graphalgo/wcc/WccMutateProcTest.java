@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.wcc;
+
+import org.intellij.lang.annotations.Language;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.CommunityHelper;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.MutateBaseProcTest;
+import org.neo4j.graphalgo.TestDatabaseCreator;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WccMutateProcTest extends MutateBaseProcTest {
+
+    private static final long[][] EXPECTED_COMMUNITIES = {new long[]{0L, 1L, 2L, 3L, 4, 5, 6}, new long[]{7, 8}, new long[]{9}};
+
+    @BeforeEach
+    void setupGraph() throws Exception {
+        db = TestDatabaseCreator.createTestDatabase();
+
+        @Language("Cypher") String cypher =
+            "CREATE" +
+            " (nA)" +
+            ",(nB)" +
+            ",(nC)" +
+            ",(nD)" +
+            ",(nE)" +
+            ",(nF)" +
+            ",(nG)" +
+            ",(nH)" +
+            ",(nI)" +
+            ",(nJ)" +
+            // {A, B, C, D, E, F, G}
+            ",(nA)-[:TYPE]->(nB)" +
+            ",(nB)-[:TYPE]->(nC)" +
+            ",(nC)-[:TYPE]->(nD)" +
+            ",(nD)-[:TYPE]->(nE)" +
+            ",(nE)-[:TYPE]->(nF)" +
+            ",(nF)-[:TYPE]->(nG)" +
+            // {H, I}
+            ",(nH)-[:TYPE]->(nI)";
+
+        registerProcedures(WccMutateProc.class, WccStreamProc.class, GraphCreateProc.class);
+        runQuery(cypher);
+        runQuery("CALL gds.graph.create('myGraph', '*', '*')");
+    }
+
+    @Test
+    void testMutate() {
+        String query = GdsCypher.call()
+            .explicitCreation("myGraph")
+            .algo("wcc")
+            .mutateMode()
+            .addParameter("mutateProperty", "componentId")
+            .yields("nodePropertiesWritten", "componentCount");
+
+        runQueryWithRowConsumer(query, row -> {
+            assertEquals(10L, row.getNumber("nodePropertiesWritten"));
+            assertEquals(3L, row.getNumber("componentCount"));
+        });
+
+        CommunityHelper.assertCommunities(mutatedCommunities("myGraph", "componentId"), EXPECTED_COMMUNITIES);
+    }
+
+    @Test
+    void testMutatedPropertyCanSeedSubsequentRuns() {
+        runQuery("CALL gds.wcc.mutate('myGraph', {mutateProperty: 'componentId', consecutiveIds: true})");
+
+        String query = GdsCypher.call()
+            .explicitCreation("myGraph")
+            .algo("wcc")
+            .streamMode()
+            .addParameter("seedProperty", "componentId")
+            .yields("nodeId", "componentId");
+
+        long[] communities = new long[10];
+        runQueryWithRowConsumer(query, row -> {
+            int nodeId = row.getNumber("nodeId").intValue();
+            communities[nodeId] = row.getNumber("componentId").longValue();
+        });
+
+        CommunityHelper.assertCommunities(communities, EXPECTED_COMMUNITIES);
+        for (long community : communities) {
+            assertTrue(community < 3L, "seeded component ids are expected to be consecutive");
+        }
+    }
+
+    @Test
+    void testMutateFailsOnExistingProperty() {
+        runQuery("CALL gds.wcc.mutate('myGraph', {mutateProperty: 'componentId'})");
+
+        assertError(
+            "CALL gds.wcc.mutate('myGraph', {mutateProperty: 'componentId'})",
+            "Node property `componentId` already exists in the in-memory graph."
+        );
+    }
+
+    @Test
+    void testMutateFailsOnImplicitGraph() {
+        String query = GdsCypher.call()
+            .withAnyLabel()
+            .withAnyRelationshipType()
+            .algo("wcc")
+            .mutateMode()
+            .addParameter("mutateProperty", "componentId")
+            .yields();
+
+        assertError(query, "Cannot mutate implicitly loaded graphs");
+    }
+}
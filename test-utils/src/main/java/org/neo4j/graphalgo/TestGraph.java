@@ -177,6 +177,30 @@ public final class TestGraph implements Graph {
         }
     }
 
+    @Override
+    public void forEachIncomingRelationship(long nodeId, RelationshipConsumer consumer) {
+        for (Adjacency adjacency : adjacencyList.values()) {
+            for (Relationship relationship : adjacency.edges) {
+                if (relationship.targetId == nodeId && !consumer.accept(nodeId, relationship.sourceId)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public int inDegree(long nodeId) {
+        int inDegree = 0;
+        for (Adjacency adjacency : adjacencyList.values()) {
+            for (Relationship relationship : adjacency.edges) {
+                if (relationship.targetId == nodeId) {
+                    inDegree++;
+                }
+            }
+        }
+        return inDegree;
+    }
+
     @Override
     public boolean exists(long sourceNodeId, long targetNodeId) {
         ExistsConsumer consumer = new ExistsConsumer(targetNodeId);